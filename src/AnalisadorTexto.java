@@ -0,0 +1,103 @@
+package src;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Análise de textos em português para a busca textual ({@link IndiceBuscaLivros}): o texto é decomposto em termos
+ * sem acentos e em minúsculas ({@code "Histórias do Brasil"} → {@code historia}, {@code brasil}), as palavras vazias
+ * (artigos, preposições, conjunções) são descartadas e cada termo é reduzido por um radicalizador leve, que
+ * remove apenas as flexões de plural ({@code canções} → {@code cancao}, {@code jornais} → {@code jornal}).
+ * A mesma análise é aplicada aos documentos indexados e às consultas.
+ */
+public final class AnalisadorTexto {
+
+    /**
+     * Palavras vazias, já sem acentos.
+     */
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "em", "no", "na", "nos", "nas",
+            "um", "uma", "uns", "umas", "ao", "aos", "para", "pra", "por", "pelo", "pela", "pelos", "pelas",
+            "com", "sem", "que", "se", "ou", "mas", "seu", "sua", "seus", "suas", "entre", "sobre");
+
+    private AnalisadorTexto() {
+    }
+
+    /**
+     * @param texto Um texto qualquer (pode ser {@code null}).
+     * @return Os termos do texto, na ordem em que aparecem, com repetições.
+     */
+    public static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null) {
+            return termos;
+        }
+        String dobrado = dobrar(texto);
+        int inicio = -1;
+        for (int i = 0; i <= dobrado.length(); i++) {
+            boolean letra = i < dobrado.length() && Character.isLetterOrDigit(dobrado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                String palavra = dobrado.substring(inicio, i);
+                if (!PALAVRAS_VAZIAS.contains(palavra)) {
+                    termos.add(radical(palavra));
+                }
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Remove os acentos e o cedilha (marcas combinantes da decomposição canônica) e passa o texto para minúsculas.
+     */
+    static String dobrar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder dobrado = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                dobrado.append(Character.toLowerCase(c));
+            }
+        }
+        return dobrado.toString();
+    }
+
+    /**
+     * Radicalizador leve: reduz as terminações de plural do português à forma do singular.
+     * Termos curtos (até três letras) são mantidos.
+     */
+    static String radical(String termo) {
+        int n = termo.length();
+        if (n <= 3) {
+            return termo;
+        }
+        if (termo.endsWith("oes") || termo.endsWith("aes")) {
+            return termo.substring(0, n - 3) + "ao"; // canções, pães
+        }
+        if (n > 4) {
+            if (termo.endsWith("ais")) {
+                return termo.substring(0, n - 2) + "l"; // jornais
+            }
+            if (termo.endsWith("eis")) {
+                return termo.substring(0, n - 3) + "el"; // papéis
+            }
+            if (termo.endsWith("ois")) {
+                return termo.substring(0, n - 3) + "ol"; // anzóis
+            }
+        }
+        if (termo.endsWith("ns")) {
+            return termo.substring(0, n - 2) + "m"; // homens
+        }
+        if (termo.endsWith("res") || termo.endsWith("zes") || termo.endsWith("ses")) {
+            return termo.substring(0, n - 2); // flores, luzes, meses
+        }
+        if (termo.endsWith("s") && !termo.endsWith("ss") && !termo.endsWith("us") && !termo.endsWith("is")) {
+            return termo.substring(0, n - 1); // livros, histórias
+        }
+        return termo;
+    }
+}
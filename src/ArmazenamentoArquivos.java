@@ -0,0 +1,652 @@
+package src;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Motor de armazenamento em arquivos, em um diretório de dados (por padrão, {@link Util#DIRETORIO_DADOS}).
+ * <ul>
+ *   <li>cada coleção tem um arquivo no formato do {@link CodecBinario} (o último checkpoint);</li>
+ *   <li>cada alteração é anexada ao {@link DiarioOperacoes} e reproduzida na próxima inicialização;</li>
+ *   <li>estoque e preço são gravados no próprio lugar no {@link EstoqueMapeado};</li>
+ *   <li>o {@link Manifesto}, gravado ao fim de cada checkpoint, descreve os arquivos das coleções
+ *       e guarda os próximos IDs de cada entidade.</li>
+ * </ul>
+ * Na abertura, os arquivos de livros, autores, editoras e categorias são lidos em paralelo, e o diário é reproduzido
+ * sobre eles. O arquivo de jornais só é lido no primeiro acesso (ou se o diário contiver registros de jornais).
+ * <p>
+ * Os tamanhos dos arquivos são conferidos com o manifesto antes da leitura, e o CRC32 de cada arquivo durante a leitura.
+ * Uma divergência indica um checkpoint interrompido no meio (arquivos de gravações diferentes): os IDs passam a ser
+ * recalculados a partir das coleções e todas as coleções são regravadas no próximo checkpoint. O diário, que só é
+ * descartado depois do manifesto, continua completo e é reproduzido normalmente.
+ */
+public class ArmazenamentoArquivos implements MotorArmazenamento {
+
+    static final String ARQUIVO_LIVROS = "livros.dat";
+    static final String ARQUIVO_JORNAIS = "jornais.dat";
+    static final String ARQUIVO_AUTORES = "autores.dat";
+    static final String ARQUIVO_EDITORAS = "editoras.dat";
+    static final String ARQUIVO_CATEGORIAS = "categorias.dat";
+    private static final String ARQUIVO_DIARIO = "diario.log";
+    private static final String ARQUIVO_ESTOQUE = "estoque.map";
+    static final String ARQUIVO_MANIFESTO = "manifesto.dat";
+    /**
+     * Arquivo de metadados das versões anteriores (apenas os próximos IDs), substituído pelo manifesto.
+     */
+    private static final String ARQUIVO_METADADOS_LEGADO = "metadados.dat";
+    /**
+     * Quantidade máxima de threads usadas para ler os arquivos das coleções na abertura.
+     */
+    private static final int THREADS_CARGA = 4;
+    /**
+     * Tamanho do diário de operações, em bytes, a partir do qual um checkpoint é agendado.
+     * Como os segmentos selados do diário são compactados em segundo plano, o diário tende a ficar próximo
+     * do tamanho das entidades alteradas, e o checkpoint (que regrava coleções inteiras) passa a ser raro.
+     */
+    private static final long LIMITE_DIARIO_BYTES = 64L * 1024 * 1024;
+
+    private List<Livro> livros;
+    /**
+     * Jornais carregados sob demanda; {@code null} enquanto o arquivo ainda não foi lido.
+     */
+    private volatile List<Jornal> jornais;
+    private List<Autor> autores;
+    private List<Editora> editoras;
+    private List<Categoria> categorias;
+    private final Object travaJornais = new Object();
+
+    /**
+     * Diretório onde ficam todos os arquivos deste armazenamento.
+     */
+    private final File diretorio;
+    private final DiarioOperacoes diario;
+    private final EstoqueMapeado estoqueMapeado;
+    /**
+     * Nomes dos arquivos cujas coleções foram alteradas desde o último ponto de corte.
+     */
+    private final Set<String> arquivosAlterados = new LinkedHashSet<>();
+    /**
+     * Nomes dos arquivos alterados antes do ponto de corte do checkpoint em andamento e ainda não gravados;
+     * voltam a ser marcados como alterados se o checkpoint falhar.
+     */
+    private final Set<String> alteradosNoCorte = new LinkedHashSet<>();
+    /**
+     * Último segmento do diário contido no checkpoint em andamento (ver {@link DiarioOperacoes#selar()}).
+     */
+    private volatile long corteDiario;
+    /**
+     * Manifesto do último checkpoint, atualizado a cada coleção gravada; {@code null} se não houver um.
+     */
+    private Manifesto manifesto;
+    /**
+     * Indica se os arquivos das coleções conferem com o manifesto (mesma gravação).
+     */
+    private volatile boolean manifestoConsistente;
+    /**
+     * Indica se alguma coleção não pôde ser gravada no checkpoint em andamento.
+     */
+    private volatile boolean falhaNoCheckpoint;
+
+    private final Repositorio<Livro> repositorioLivros;
+    private final Repositorio<Jornal> repositorioJornais;
+    private final Repositorio<Autor> repositorioAutores;
+    private final Repositorio<Editora> repositorioEditoras;
+    private final Repositorio<Categoria> repositorioCategorias;
+
+    /**
+     * Abre o armazenamento: lê os arquivos das coleções em paralelo, reproduz o diário de operações
+     * e aplica o estoque e o preço guardados no {@link EstoqueMapeado}.
+     * Os arquivos ficam no diretório {@link Util#DIRETORIO_DADOS}.
+     */
+    public ArmazenamentoArquivos() {
+        this(Path.of(Util.DIRETORIO_DADOS));
+    }
+
+    /**
+     * Abre o armazenamento em outro diretório de dados (ver {@link #ArmazenamentoArquivos()}),
+     * por exemplo um backup gravado por {@link InstantaneoCatalogo#salvarBackup(File)}.
+     * @param diretorio O diretório dos arquivos; é criado na primeira gravação, se não existir.
+     */
+    public ArmazenamentoArquivos(Path diretorio) {
+        this.diretorio = diretorio.toFile();
+        estoqueMapeado = new EstoqueMapeado(arquivo(ARQUIVO_ESTOQUE), Configuracao.getDurabilidadeEstoque());
+        manifesto = Manifesto.ler(arquivo(ARQUIVO_MANIFESTO));
+        manifestoConsistente = manifesto != null;
+        if (manifesto != null) {
+            List<String> divergentes = manifesto.verificarTamanhos(this.diretorio);
+            if (!divergentes.isEmpty()) {
+                registrarGravacaoIncompleta(divergentes);
+            }
+        }
+        carregarColecoes();
+        diario = new DiarioOperacoes(this.diretorio, ARQUIVO_DIARIO);
+        DestinoReproducao reproducao = new DestinoReproducao();
+        diario.reproduzir(reproducao);
+        reproducao.concluir();
+        estoqueMapeado.aplicar(livros);
+        if (jornais != null) {
+            estoqueMapeado.aplicar(jornais);
+        }
+
+        repositorioLivros = new RepositorioArquivo<>(ARQUIVO_LIVROS, CodecBinario.LIVRO, () -> livros,
+                diario::registrarLivro, diario::registrarExclusaoLivro, estoqueMapeado::gravar, estoqueMapeado::remover);
+        repositorioJornais = new RepositorioArquivo<>(ARQUIVO_JORNAIS, CodecBinario.JORNAL, this::jornais,
+                diario::registrarJornal, diario::registrarExclusaoJornal, estoqueMapeado::gravar, estoqueMapeado::remover);
+        repositorioAutores = new RepositorioArquivo<>(ARQUIVO_AUTORES, CodecBinario.AUTOR, () -> autores,
+                diario::registrarAutor, diario::registrarExclusaoAutor, null, null);
+        repositorioEditoras = new RepositorioArquivo<>(ARQUIVO_EDITORAS, CodecBinario.EDITORA, () -> editoras,
+                diario::registrarEditora, diario::registrarExclusaoEditora, null, null);
+        repositorioCategorias = new RepositorioArquivo<>(ARQUIVO_CATEGORIAS, CodecBinario.CATEGORIA, () -> categorias,
+                diario::registrarCategoria, diario::registrarExclusaoCategoria, null, null);
+    }
+
+    /**
+     * @param nome O nome de um arquivo do armazenamento.
+     * @return O arquivo dentro do diretório de dados deste armazenamento.
+     */
+    private File arquivo(String nome) {
+        return new File(diretorio, nome);
+    }
+
+    /**
+     * Lê os arquivos de livros, autores, editoras e categorias. Os arquivos são independentes entre si
+     * e são lidos em paralelo por um pequeno executor, de modo que o tempo de abertura fica limitado
+     * pelo maior arquivo, e não pela soma de todos.
+     */
+    private void carregarColecoes() {
+        ExecutorService executorCarga = Executors.newFixedThreadPool(THREADS_CARGA, r -> {
+            Thread thread = new Thread(r, "carga-dados");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            CompletableFuture<List<Livro>> cargaLivros = CompletableFuture.supplyAsync(
+                    () -> carregarConferindo(ARQUIVO_LIVROS, CodecBinario.LIVRO), executorCarga);
+            CompletableFuture<List<Autor>> cargaAutores = CompletableFuture.supplyAsync(
+                    () -> carregarConferindo(ARQUIVO_AUTORES, CodecBinario.AUTOR), executorCarga);
+            CompletableFuture<List<Editora>> cargaEditoras = CompletableFuture.supplyAsync(
+                    () -> carregarConferindo(ARQUIVO_EDITORAS, CodecBinario.EDITORA), executorCarga);
+            CompletableFuture<List<Categoria>> cargaCategorias = CompletableFuture.supplyAsync(
+                    () -> carregarConferindo(ARQUIVO_CATEGORIAS, CodecBinario.CATEGORIA), executorCarga);
+            livros = cargaLivros.join();
+            autores = cargaAutores.join();
+            editoras = cargaEditoras.join();
+            categorias = cargaCategorias.join();
+        } finally {
+            executorCarga.shutdown();
+        }
+    }
+
+    /**
+     * Lê o arquivo de uma coleção calculando seu CRC32 e confere o CRC32 e a quantidade de registros com o manifesto.
+     */
+    private <T> List<T> carregarConferindo(String arquivo, CodecBinario.Entidade<T> codec) {
+        Manifesto.Colecao esperada = manifesto == null ? null : manifesto.getColecao(arquivo);
+        if (esperada == null) {
+            return Util.carregarDados(arquivo(arquivo), codec);
+        }
+        CRC32 soma = new CRC32();
+        List<T> lista = Util.carregarDados(arquivo(arquivo), codec, soma);
+        if ((int) soma.getValue() != esperada.getCrc() || lista.size() != esperada.getRegistros()) {
+            registrarGravacaoIncompleta(List.of(arquivo));
+        }
+        return lista;
+    }
+
+    /**
+     * Registra que os arquivos das coleções não pertencem todos à gravação descrita pelo manifesto.
+     * Todas as coleções são marcadas como alteradas, para que o próximo checkpoint grave um conjunto consistente.
+     */
+    private void registrarGravacaoIncompleta(List<String> divergentes) {
+        System.err.println("Gravação incompleta detectada: " + String.join(", ", divergentes)
+                + " não confere(m) com o manifesto " + ARQUIVO_MANIFESTO + ". Os IDs serão recalculados.");
+        manifestoConsistente = false;
+        for (String arquivo : List.of(ARQUIVO_LIVROS, ARQUIVO_JORNAIS, ARQUIVO_AUTORES, ARQUIVO_EDITORAS, ARQUIVO_CATEGORIAS)) {
+            marcarAlterado(arquivo);
+        }
+    }
+
+    /**
+     * Retorna a lista de jornais, lendo o arquivo da coleção (e aplicando o estoque mapeado) no primeiro acesso.
+     * Se o arquivo não conferir com o manifesto, o contador de IDs de publicações é elevado acima do maior ID lido,
+     * pois ele pode já ter sido restaurado do manifesto antes desta leitura.
+     */
+    private List<Jornal> jornais() {
+        List<Jornal> carregados = jornais;
+        if (carregados == null) {
+            synchronized (travaJornais) {
+                carregados = jornais;
+                if (carregados == null) {
+                    boolean consistenteAntes = manifestoConsistente;
+                    carregados = carregarConferindo(ARQUIVO_JORNAIS, CodecBinario.JORNAL);
+                    if (consistenteAntes && !manifestoConsistente) {
+                        Publicacao.setProximoIdEstatico(carregados.stream().mapToInt(Publicacao::getId).max().orElse(0) + 1);
+                    }
+                    estoqueMapeado.aplicar(carregados);
+                    jornais = carregados;
+                }
+            }
+        }
+        return carregados;
+    }
+
+    @Override
+    public Repositorio<Livro> getLivros() {
+        return repositorioLivros;
+    }
+
+    @Override
+    public Repositorio<Jornal> getJornais() {
+        return repositorioJornais;
+    }
+
+    @Override
+    public Repositorio<Autor> getAutores() {
+        return repositorioAutores;
+    }
+
+    @Override
+    public Repositorio<Editora> getEditoras() {
+        return repositorioEditoras;
+    }
+
+    @Override
+    public Repositorio<Categoria> getCategorias() {
+        return repositorioCategorias;
+    }
+
+    /**
+     * Grava o estoque e o preço no {@link EstoqueMapeado}: uma escrita no próprio lugar, sem regravar a coleção.
+     * A escrita é feita (e, em {@link ModoDurabilidade#FSYNC_POR_COMMIT}, forçada para o disco) antes do retorno,
+     * por isso o futuro já está concluído.
+     */
+    @Override
+    public CompletableFuture<Void> gravarEstoque(Publicacao publicacao) {
+        estoqueMapeado.gravar(publicacao);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Anexa todo o lote ao diário com uma única gravação e grava o estoque das publicações no {@link EstoqueMapeado}.
+     */
+    @Override
+    public CompletableFuture<Void> salvarLote(LoteCadastros lote) {
+        CompletableFuture<Void> gravacao = diario.registrarLote(lote);
+        lote.getLivros().forEach(estoqueMapeado::gravar);
+        lote.getJornais().forEach(estoqueMapeado::gravar);
+        if (!lote.getLivros().isEmpty()) marcarAlterado(ARQUIVO_LIVROS);
+        if (!lote.getJornais().isEmpty()) marcarAlterado(ARQUIVO_JORNAIS);
+        if (!lote.getAutores().isEmpty()) marcarAlterado(ARQUIVO_AUTORES);
+        if (!lote.getEditoras().isEmpty()) marcarAlterado(ARQUIVO_EDITORAS);
+        if (!lote.getCategorias().isEmpty()) marcarAlterado(ARQUIVO_CATEGORIAS);
+        return gravacao;
+    }
+
+    /**
+     * Restaura os próximos IDs de cada entidade a partir do manifesto do último checkpoint.
+     * Entidades cadastradas depois dele já avançaram os contadores durante a reprodução do diário.
+     * @return {@code true} se o manifesto existe e confere com os arquivos das coleções, {@code false} caso contrário.
+     */
+    @Override
+    public boolean restaurarProximosIds() {
+        if (!manifestoConsistente) {
+            return false;
+        }
+        manifesto.restaurarProximosIds();
+        return true;
+    }
+
+    /**
+     * Marca o ponto de corte: sela o segmento ativo do diário, captura os próximos IDs no manifesto e passa as coleções
+     * alteradas até aqui para o checkpoint. O manifesto só é gravado ao final, em {@link #concluirCheckpoint()}.
+     */
+    @Override
+    public synchronized void iniciarCheckpoint() {
+        falhaNoCheckpoint = false;
+        corteDiario = diario.selar();
+        if (manifesto == null) {
+            manifesto = new Manifesto();
+        }
+        manifesto.capturarProximosIds();
+        synchronized (arquivosAlterados) {
+            alteradosNoCorte.addAll(arquivosAlterados);
+            arquivosAlterados.clear();
+        }
+    }
+
+    /**
+     * Grava o manifesto com os próximos IDs e a descrição dos arquivos recém-gravados e, só então, descarta os
+     * segmentos do diário até o ponto de corte, cujo conteúdo passa a estar contido nos arquivos das coleções.
+     * Os registros posteriores ao corte continuam no diário.
+     * Se alguma coleção do checkpoint ou o manifesto não puderem ser gravados, o diário é mantido: ele continua sendo
+     * a única cópia durável das alterações, e as coleções não gravadas voltam a ser marcadas como alteradas.
+     */
+    @Override
+    public synchronized void concluirCheckpoint() {
+        if (falhaNoCheckpoint || !manifesto.gravar(arquivo(ARQUIVO_MANIFESTO))) {
+            System.err.println("Checkpoint incompleto: o diário de operações foi mantido.");
+            synchronized (arquivosAlterados) {
+                arquivosAlterados.addAll(alteradosNoCorte);
+                alteradosNoCorte.clear();
+            }
+            return;
+        }
+        synchronized (arquivosAlterados) {
+            alteradosNoCorte.clear();
+        }
+        manifestoConsistente = true;
+        arquivo(ARQUIVO_METADADOS_LEGADO).delete();
+        diario.truncarAte(corteDiario);
+    }
+
+    @Override
+    public boolean precisaCheckpoint() {
+        return diario.getTamanho() >= LIMITE_DIARIO_BYTES;
+    }
+
+    /**
+     * Compacta os segmentos selados do diário de operações (ver {@link DiarioOperacoes#compactar()}).
+     */
+    @Override
+    public long compactar() {
+        return diario.compactar();
+    }
+
+    @Override
+    public void close() {
+        diario.close();
+        estoqueMapeado.close();
+    }
+
+    private synchronized void registrarNoManifesto(Manifesto.Colecao gravada) {
+        if (manifesto == null) {
+            manifesto = new Manifesto();
+        }
+        manifesto.registrarColecao(gravada);
+    }
+
+    private void marcarAlterado(String arquivo) {
+        synchronized (arquivosAlterados) {
+            arquivosAlterados.add(arquivo);
+        }
+    }
+
+    /**
+     * Repositório de uma coleção gravada em um arquivo do {@link CodecBinario}, com as alterações
+     * registradas no diário de operações até o próximo checkpoint.
+     */
+    private class RepositorioArquivo<T> implements Repositorio<T> {
+        private final String arquivo;
+        private final CodecBinario.Entidade<T> codec;
+        private final Supplier<List<T>> carga;
+        private final Function<T, CompletableFuture<Void>> registro;
+        private final IntFunction<CompletableFuture<Void>> registroExclusao;
+        private final Consumer<? super T> aposSalvar;
+        private final IntConsumer aposExcluir;
+
+        RepositorioArquivo(String arquivo, CodecBinario.Entidade<T> codec, Supplier<List<T>> carga,
+                           Function<T, CompletableFuture<Void>> registro, IntFunction<CompletableFuture<Void>> registroExclusao,
+                           Consumer<? super T> aposSalvar, IntConsumer aposExcluir) {
+            this.arquivo = arquivo;
+            this.codec = codec;
+            this.carga = carga;
+            this.registro = registro;
+            this.registroExclusao = registroExclusao;
+            this.aposSalvar = aposSalvar;
+            this.aposExcluir = aposExcluir;
+        }
+
+        @Override
+        public List<T> carregarTodos() {
+            return carga.get();
+        }
+
+        @Override
+        public CompletableFuture<Void> salvar(T entidade) {
+            CompletableFuture<Void> gravacao = registro.apply(entidade);
+            if (aposSalvar != null) {
+                aposSalvar.accept(entidade);
+            }
+            marcarAlterado(arquivo);
+            return gravacao;
+        }
+
+        @Override
+        public CompletableFuture<Void> excluir(int id) {
+            CompletableFuture<Void> gravacao = registroExclusao.apply(id);
+            if (aposExcluir != null) {
+                aposExcluir.accept(id);
+            }
+            marcarAlterado(arquivo);
+            return gravacao;
+        }
+
+        @Override
+        public void salvarTodos(List<T> entidades) {
+            Manifesto.Colecao gravada = Util.salvarDados(entidades, arquivo(arquivo), codec);
+            if (gravada == null) {
+                falhaNoCheckpoint = true;
+                return;
+            }
+            registrarNoManifesto(gravada);
+            synchronized (arquivosAlterados) {
+                alteradosNoCorte.remove(arquivo);
+            }
+        }
+
+        @Override
+        public boolean possuiAlteracoes() {
+            synchronized (arquivosAlterados) {
+                return arquivosAlterados.contains(arquivo);
+            }
+        }
+    }
+
+    /**
+     * Aplica às coleções carregadas os registros reproduzidos do diário de operações.
+     * <p>
+     * Cada coleção ganha, no primeiro registro que a afeta, um mapa ID → posição na lista ({@link ColecaoReproduzida}),
+     * de modo que substituições, exclusões e estoques custam O(1) por registro, e não uma varredura da lista:
+     * um diário de até {@value #LIMITE_DIARIO_BYTES} bytes é reproduzido em tempo proporcional ao número de registros.
+     * As exclusões apenas esvaziam a posição; as listas são compactadas uma única vez em {@link #concluir()}.
+     */
+    private class DestinoReproducao implements DiarioOperacoes.Destino {
+        private ColecaoReproduzida<Livro> livrosReproduzidos;
+        private ColecaoReproduzida<Jornal> jornaisReproduzidos;
+        private ColecaoReproduzida<Autor> autoresReproduzidos;
+        private ColecaoReproduzida<Editora> editorasReproduzidas;
+        private ColecaoReproduzida<Categoria> categoriasReproduzidas;
+
+        private ColecaoReproduzida<Livro> colecaoLivros() {
+            if (livrosReproduzidos == null) {
+                livrosReproduzidos = new ColecaoReproduzida<>(livros, Livro::getId);
+            }
+            return livrosReproduzidos;
+        }
+
+        private ColecaoReproduzida<Jornal> colecaoJornais() {
+            if (jornaisReproduzidos == null) {
+                jornaisReproduzidos = new ColecaoReproduzida<>(jornais(), Jornal::getId);
+            }
+            return jornaisReproduzidos;
+        }
+
+        private ColecaoReproduzida<Autor> colecaoAutores() {
+            if (autoresReproduzidos == null) {
+                autoresReproduzidos = new ColecaoReproduzida<>(autores, Autor::getId);
+            }
+            return autoresReproduzidos;
+        }
+
+        private ColecaoReproduzida<Editora> colecaoEditoras() {
+            if (editorasReproduzidas == null) {
+                editorasReproduzidas = new ColecaoReproduzida<>(editoras, Editora::getId);
+            }
+            return editorasReproduzidas;
+        }
+
+        private ColecaoReproduzida<Categoria> colecaoCategorias() {
+            if (categoriasReproduzidas == null) {
+                categoriasReproduzidas = new ColecaoReproduzida<>(categorias, Categoria::getId);
+            }
+            return categoriasReproduzidas;
+        }
+
+        @Override
+        public void restaurarLivro(Livro livro) {
+            colecaoLivros().substituirOuAdicionar(livro);
+            marcarAlterado(ARQUIVO_LIVROS);
+        }
+
+        @Override
+        public void restaurarJornal(Jornal jornal) {
+            colecaoJornais().substituirOuAdicionar(jornal);
+            marcarAlterado(ARQUIVO_JORNAIS);
+        }
+
+        @Override
+        public void restaurarAutor(Autor autor) {
+            colecaoAutores().substituirOuAdicionar(autor);
+            marcarAlterado(ARQUIVO_AUTORES);
+        }
+
+        @Override
+        public void restaurarEditora(Editora editora) {
+            colecaoEditoras().substituirOuAdicionar(editora);
+            marcarAlterado(ARQUIVO_EDITORAS);
+        }
+
+        @Override
+        public void restaurarCategoria(Categoria categoria) {
+            colecaoCategorias().substituirOuAdicionar(categoria);
+            marcarAlterado(ARQUIVO_CATEGORIAS);
+        }
+
+        @Override
+        public void restaurarExclusaoLivro(int idLivro) {
+            if (colecaoLivros().excluir(idLivro)) marcarAlterado(ARQUIVO_LIVROS);
+        }
+
+        @Override
+        public void restaurarExclusaoJornal(int idJornal) {
+            if (colecaoJornais().excluir(idJornal)) marcarAlterado(ARQUIVO_JORNAIS);
+        }
+
+        @Override
+        public void restaurarExclusaoAutor(int idAutor) {
+            if (colecaoAutores().excluir(idAutor)) marcarAlterado(ARQUIVO_AUTORES);
+        }
+
+        @Override
+        public void restaurarExclusaoEditora(int idEditora) {
+            if (colecaoEditoras().excluir(idEditora)) marcarAlterado(ARQUIVO_EDITORAS);
+        }
+
+        @Override
+        public void restaurarExclusaoCategoria(int idCategoria) {
+            if (colecaoCategorias().excluir(idCategoria)) marcarAlterado(ARQUIVO_CATEGORIAS);
+        }
+
+        @Override
+        public void restaurarEstoque(int idPublicacao, int estoque) {
+            Livro livro = colecaoLivros().buscar(idPublicacao);
+            if (livro != null) {
+                livro.setEstoqueDisponivel(estoque);
+                marcarAlterado(ARQUIVO_LIVROS);
+                return;
+            }
+            Jornal jornal = colecaoJornais().buscar(idPublicacao);
+            if (jornal != null) {
+                jornal.setEstoqueDisponivel(estoque);
+                marcarAlterado(ARQUIVO_JORNAIS);
+            }
+        }
+
+        /**
+         * Remove das listas as posições esvaziadas pelas exclusões reproduzidas.
+         */
+        private void concluir() {
+            for (ColecaoReproduzida<?> colecao : Arrays.asList(livrosReproduzidos, jornaisReproduzidos,
+                    autoresReproduzidos, editorasReproduzidas, categoriasReproduzidas)) {
+                if (colecao != null) {
+                    colecao.compactar();
+                }
+            }
+        }
+    }
+
+    /**
+     * Uma coleção durante a reprodução do diário: a lista e o mapa ID → posição, criado uma única vez.
+     * Uma exclusão deixa {@code null} na posição, para não deslocar as demais; {@link #compactar()} as remove no fim.
+     */
+    private static final class ColecaoReproduzida<T> {
+        private final List<T> lista;
+        private final ToIntFunction<T> extratorId;
+        private final Map<Integer, Integer> posicoes;
+        private boolean possuiExcluidos;
+
+        private ColecaoReproduzida(List<T> lista, ToIntFunction<T> extratorId) {
+            this.lista = lista;
+            this.extratorId = extratorId;
+            posicoes = new HashMap<>(lista.size() * 2);
+            for (int i = 0; i < lista.size(); i++) {
+                posicoes.put(extratorId.applyAsInt(lista.get(i)), i);
+            }
+        }
+
+        /**
+         * Substitui o elemento de mesmo ID na lista ou, se não houver, adiciona o novo elemento ao final.
+         */
+        private void substituirOuAdicionar(T elemento) {
+            int id = extratorId.applyAsInt(elemento);
+            Integer posicao = posicoes.get(id);
+            if (posicao != null) {
+                lista.set(posicao, elemento);
+            } else {
+                posicoes.put(id, lista.size());
+                lista.add(elemento);
+            }
+        }
+
+        private T buscar(int id) {
+            Integer posicao = posicoes.get(id);
+            return posicao == null ? null : lista.get(posicao);
+        }
+
+        /**
+         * @return {@code true} se havia um elemento com o ID.
+         */
+        private boolean excluir(int id) {
+            Integer posicao = posicoes.remove(id);
+            if (posicao == null) {
+                return false;
+            }
+            lista.set(posicao, null);
+            possuiExcluidos = true;
+            return true;
+        }
+
+        private void compactar() {
+            if (possuiExcluidos) {
+                lista.removeIf(Objects::isNull);
+            }
+        }
+    }
+}
@@ -0,0 +1,635 @@
+package src;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Motor de armazenamento em um banco de dados SQL embutido (por exemplo, H2 ou SQLite em um arquivo local), acessado por JDBC.
+ * É usado pelo {@link Sistema} quando {@link Configuracao#getArmazenamento()} é {@code JDBC}; o banco é escolhido pela URL
+ * (veja {@link Configuracao#getUrlJdbc()}, por padrão um banco H2 em {@code <diretório de dados>/catalogo}).
+ * O driver JDBC não acompanha a aplicação e precisa estar no classpath (para o padrão, o H2, {@code com.h2database:h2}).
+ * <p>
+ * Cada entidade é uma linha da sua tabela, e cada alteração feita pelo {@link Sistema} atualiza apenas as linhas afetadas:
+ * o cadastro e a edição gravam a linha com um {@code UPDATE} seguido de um {@code INSERT} apenas se ela ainda não existir
+ * (um {@code MERGE} com SQL aceito por qualquer banco), e as alterações de estoque são um único {@code UPDATE} de estoque e preço. As operações são enfileiradas em um
+ * {@link EscritorAssincrono} e executadas por uma única conexão, com instruções preparadas reaproveitadas;
+ * cada lote é confirmado em uma única transação. A sincronização completa de uma coleção usa inserções em lote
+ * ({@link PreparedStatement#addBatch()}). Há índices em {@code livro.isbn}, {@code livro.titulo},
+ * {@code jornal.titulo} e {@code jornal.data_publicacao}.
+ * <p>
+ * O banco substitui apenas os arquivos: o {@link Sistema} continua carregando o catálogo inteiro na abertura
+ * ({@link Repositorio#carregarTodos()}) e respondendo às buscas e listagens paginadas com seus índices em memória.
+ * Leituras paginadas direto do banco, sem manter o catálogo em memória, estão fora do escopo deste motor.
+ */
+public class ArmazenamentoJdbc implements MotorArmazenamento {
+
+    /**
+     * Uma operação executada na conexão do banco pela thread do escritor.
+     */
+    private interface OperacaoSql {
+        void executar(ArmazenamentoJdbc banco) throws SQLException;
+    }
+
+    private static final String[] ESQUEMA = {
+        "CREATE TABLE autor (id INTEGER PRIMARY KEY, nome VARCHAR(255), nacionalidade VARCHAR(255), data_nascimento DATE)",
+        "CREATE TABLE editora (id INTEGER PRIMARY KEY, nome VARCHAR(255))",
+        "CREATE TABLE categoria (id INTEGER PRIMARY KEY, nome VARCHAR(255))",
+        "CREATE TABLE livro (id INTEGER PRIMARY KEY, titulo VARCHAR(255), preco REAL, estoque INTEGER, editora_id INTEGER,"
+                + " paginas INTEGER, isbn VARCHAR(32), categoria_id INTEGER)",
+        "CREATE TABLE livro_autor (livro_id INTEGER NOT NULL, ordem INTEGER NOT NULL, autor_id INTEGER, PRIMARY KEY (livro_id, ordem))",
+        "CREATE TABLE jornal (id INTEGER PRIMARY KEY, titulo VARCHAR(255), preco REAL, estoque INTEGER, editora_id INTEGER, data_publicacao DATE)",
+        "CREATE INDEX idx_livro_isbn ON livro (isbn)",
+        "CREATE INDEX idx_livro_titulo ON livro (titulo)",
+        "CREATE INDEX idx_jornal_titulo ON jornal (titulo)",
+        "CREATE INDEX idx_jornal_data ON jornal (data_publicacao)"
+    };
+
+    private static final String INSERIR_AUTOR = "INSERT INTO autor (id, nome, nacionalidade, data_nascimento) VALUES (?, ?, ?, ?)";
+    private static final String INSERIR_EDITORA = "INSERT INTO editora (id, nome) VALUES (?, ?)";
+    private static final String INSERIR_CATEGORIA = "INSERT INTO categoria (id, nome) VALUES (?, ?)";
+    private static final String INSERIR_LIVRO = "INSERT INTO livro (id, titulo, preco, estoque, editora_id, paginas, isbn, categoria_id)"
+            + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERIR_LIVRO_AUTOR = "INSERT INTO livro_autor (livro_id, ordem, autor_id) VALUES (?, ?, ?)";
+    private static final String INSERIR_JORNAL = "INSERT INTO jornal (id, titulo, preco, estoque, editora_id, data_publicacao)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String ATUALIZAR_AUTOR = "UPDATE autor SET nome = ?, nacionalidade = ?, data_nascimento = ? WHERE id = ?";
+    private static final String ATUALIZAR_LIVRO = "UPDATE livro SET titulo = ?, preco = ?, estoque = ?, editora_id = ?, paginas = ?,"
+            + " isbn = ?, categoria_id = ? WHERE id = ?";
+    private static final String ATUALIZAR_LIVRO_AUTOR = "UPDATE livro_autor SET autor_id = ? WHERE livro_id = ? AND ordem = ?";
+    private static final String ATUALIZAR_JORNAL = "UPDATE jornal SET titulo = ?, preco = ?, estoque = ?, editora_id = ?,"
+            + " data_publicacao = ? WHERE id = ?";
+
+    private final Connection conexao;
+    /**
+     * Instruções preparadas reaproveitadas, por SQL. Usadas apenas pela thread do escritor.
+     */
+    private final Map<String, PreparedStatement> instrucoes = new HashMap<>();
+    private final EscritorAssincrono<OperacaoSql> escritor;
+
+    private final Repositorio<Livro> repositorioLivros = new RepositorioLivros();
+    private final Repositorio<Jornal> repositorioJornais = new RepositorioJornais();
+    private final Repositorio<Autor> repositorioAutores = new RepositorioAutores();
+    private final Repositorio<Editora> repositorioEditoras = new RepositorioNomeado<>("editora", INSERIR_EDITORA, Editora::new, Editora::getId, Editora::getNome);
+    private final Repositorio<Categoria> repositorioCategorias = new RepositorioNomeado<>("categoria", INSERIR_CATEGORIA, Categoria::new, Categoria::getId, Categoria::getNome);
+
+    /**
+     * Abre (ou cria) o banco de dados e as tabelas do catálogo.
+     * @param url A URL JDBC do banco.
+     * @param usuario O usuário do banco.
+     * @param senha A senha do banco.
+     * @throws IllegalStateException Se não for possível abrir o banco ou criar as tabelas.
+     */
+    public ArmazenamentoJdbc(String url, String usuario, String senha) {
+        try {
+            conexao = DriverManager.getConnection(url, usuario, senha);
+            conexao.setAutoCommit(false);
+            criarEsquema();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Não foi possível abrir o banco de dados " + url + ": " + e.getMessage(), e);
+        }
+        escritor = new EscritorAssincrono<>("escritor-jdbc", Configuracao.getJanelaGravacaoMs(),
+                Configuracao.getTamanhoLoteGravacao(), this::executarLote);
+    }
+
+    /**
+     * Cria as tabelas e os índices, se ainda não existirem.
+     */
+    private void criarEsquema() throws SQLException {
+        if (existeTabela("livro")) {
+            return;
+        }
+        try (Statement statement = conexao.createStatement()) {
+            for (String ddl : ESQUEMA) {
+                statement.execute(ddl);
+            }
+        }
+        conexao.commit();
+    }
+
+    private boolean existeTabela(String nome) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        for (String variante : new String[] {nome, nome.toUpperCase()}) {
+            try (ResultSet tabelas = metadados.getTables(null, null, variante, new String[] {"TABLE"})) {
+                if (tabelas.next()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Executa um lote de operações em uma única transação. Chamado pela thread do {@link EscritorAssincrono}.
+     */
+    private void executarLote(List<OperacaoSql> operacoes) throws IOException {
+        synchronized (conexao) {
+            try {
+                for (OperacaoSql operacao : operacoes) {
+                    operacao.executar(this);
+                }
+                conexao.commit();
+            } catch (SQLException e) {
+                try {
+                    conexao.rollback();
+                } catch (SQLException erroRollback) {
+                    e.addSuppressed(erroRollback);
+                }
+                throw new IOException("Erro ao gravar no banco de dados: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private PreparedStatement preparar(String sql) throws SQLException {
+        PreparedStatement instrucao = instrucoes.get(sql);
+        if (instrucao == null) {
+            instrucao = conexao.prepareStatement(sql);
+            instrucoes.put(sql, instrucao);
+        }
+        return instrucao;
+    }
+
+    private void executar(String sql, Object... parametros) throws SQLException {
+        PreparedStatement instrucao = preparar(sql);
+        definirParametros(instrucao, parametros);
+        instrucao.executeUpdate();
+    }
+
+    /**
+     * Grava uma linha cujas primeiras colunas formam a chave: atualiza a linha existente com a instrução de atualização
+     * (com a chave nos últimos parâmetros) e, apenas se nenhuma linha for atualizada, insere uma nova.
+     */
+    private void gravarLinha(String atualizacao, String insercao, int colunasChave, Object[] linha) throws SQLException {
+        Object[] parametros = new Object[linha.length];
+        System.arraycopy(linha, colunasChave, parametros, 0, linha.length - colunasChave);
+        System.arraycopy(linha, 0, parametros, linha.length - colunasChave, colunasChave);
+        PreparedStatement instrucao = preparar(atualizacao);
+        definirParametros(instrucao, parametros);
+        if (instrucao.executeUpdate() == 0) {
+            executar(insercao, linha);
+        }
+    }
+
+    private static void definirParametros(PreparedStatement instrucao, Object... parametros) throws SQLException {
+        for (int i = 0; i < parametros.length; i++) {
+            Object valor = parametros[i];
+            if (valor instanceof Integer) {
+                instrucao.setInt(i + 1, (Integer) valor);
+            } else if (valor instanceof Float) {
+                instrucao.setFloat(i + 1, (Float) valor);
+            } else if (valor instanceof LocalDate) {
+                instrucao.setDate(i + 1, Date.valueOf((LocalDate) valor));
+            } else if (valor instanceof String) {
+                instrucao.setString(i + 1, (String) valor);
+            } else {
+                instrucao.setNull(i + 1, Types.VARCHAR);
+            }
+        }
+    }
+
+    /**
+     * Grava toda a coleção em uma tabela: apaga as linhas existentes e insere as novas em lote.
+     */
+    private void substituirTabela(String tabela, String insercao, List<Object[]> linhas) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.executeUpdate("DELETE FROM " + tabela);
+        }
+        inserirEmLote(insercao, linhas);
+    }
+
+    /**
+     * Executa uma instrução de inserção para todas as linhas, com {@link PreparedStatement#addBatch()}.
+     */
+    private void inserirEmLote(String insercao, List<Object[]> linhas) throws SQLException {
+        if (linhas.isEmpty()) {
+            return;
+        }
+        PreparedStatement instrucao = preparar(insercao);
+        for (Object[] linha : linhas) {
+            definirParametros(instrucao, linha);
+            instrucao.addBatch();
+        }
+        instrucao.executeBatch();
+    }
+
+    /**
+     * Enfileira uma operação para a thread do escritor, que a executa no próximo lote.
+     */
+    private CompletableFuture<Void> enviar(OperacaoSql operacao) {
+        return escritor.enviar(operacao);
+    }
+
+    private static int idOuZero(Editora editora) {
+        return editora != null ? editora.getId() : 0;
+    }
+
+    private static Object[] linhaLivro(Livro livro) {
+        return new Object[] {livro.getId(), livro.getTitulo(), livro.getPreco(), livro.getEstoqueDisponivel(),
+                idOuZero(livro.getEditora()), livro.getQuantidadePaginas(), livro.getIsbn(),
+                livro.getCategoria() != null ? livro.getCategoria().getId() : 0};
+    }
+
+    private static List<Object[]> linhasAutores(Livro livro) {
+        List<Object[]> linhas = new ArrayList<>();
+        List<Autor> autores = livro.getAutores();
+        for (int i = 0; i < autores.size(); i++) {
+            linhas.add(new Object[] {livro.getId(), i, autores.get(i).getId()});
+        }
+        return linhas;
+    }
+
+    private static Object[] linhaJornal(Jornal jornal) {
+        return new Object[] {jornal.getId(), jornal.getTitulo(), jornal.getPreco(), jornal.getEstoqueDisponivel(),
+                idOuZero(jornal.getEditora()), jornal.getDataPublicacao()};
+    }
+
+    private static Object[] linhaAutor(Autor autor) {
+        return new Object[] {autor.getId(), autor.getNome(), autor.getNacionalidade(), autor.getDataNascimento()};
+    }
+
+    @Override
+    public Repositorio<Livro> getLivros() {
+        return repositorioLivros;
+    }
+
+    @Override
+    public Repositorio<Jornal> getJornais() {
+        return repositorioJornais;
+    }
+
+    @Override
+    public Repositorio<Autor> getAutores() {
+        return repositorioAutores;
+    }
+
+    @Override
+    public Repositorio<Editora> getEditoras() {
+        return repositorioEditoras;
+    }
+
+    @Override
+    public Repositorio<Categoria> getCategorias() {
+        return repositorioCategorias;
+    }
+
+    /**
+     * Atualiza apenas o estoque e o preço da linha da publicação, na mesma fila de gravação das demais alterações.
+     */
+    @Override
+    public CompletableFuture<Void> gravarEstoque(Publicacao publicacao) {
+        String tabela = publicacao instanceof Livro ? "livro" : "jornal";
+        int id = publicacao.getId();
+        int estoque = publicacao.getEstoqueDisponivel();
+        float preco = publicacao.getPreco();
+        return enviar(banco -> banco.executar("UPDATE " + tabela + " SET estoque = ?, preco = ? WHERE id = ?", estoque, preco, id));
+    }
+
+    /**
+     * Insere todas as linhas do lote em lotes de {@link PreparedStatement#addBatch()}, em uma única transação.
+     */
+    @Override
+    public CompletableFuture<Void> salvarLote(LoteCadastros lote) {
+        List<Object[]> editoras = new ArrayList<>();
+        lote.getEditoras().forEach(e -> editoras.add(new Object[] {e.getId(), e.getNome()}));
+        List<Object[]> autores = new ArrayList<>();
+        lote.getAutores().forEach(a -> autores.add(linhaAutor(a)));
+        List<Object[]> categorias = new ArrayList<>();
+        lote.getCategorias().forEach(c -> categorias.add(new Object[] {c.getId(), c.getNome()}));
+        List<Object[]> livros = new ArrayList<>();
+        List<Object[]> livrosAutores = new ArrayList<>();
+        for (Livro livro : lote.getLivros()) {
+            livros.add(linhaLivro(livro));
+            livrosAutores.addAll(linhasAutores(livro));
+        }
+        List<Object[]> jornais = new ArrayList<>();
+        lote.getJornais().forEach(j -> jornais.add(linhaJornal(j)));
+        return enviar(banco -> {
+            banco.inserirEmLote(INSERIR_EDITORA, editoras);
+            banco.inserirEmLote(INSERIR_AUTOR, autores);
+            banco.inserirEmLote(INSERIR_CATEGORIA, categorias);
+            banco.inserirEmLote(INSERIR_LIVRO, livros);
+            banco.inserirEmLote(INSERIR_LIVRO_AUTOR, livrosAutores);
+            banco.inserirEmLote(INSERIR_JORNAL, jornais);
+        });
+    }
+
+    /**
+     * Restaura os contadores de ID a partir do maior ID de cada tabela (consultas resolvidas pelas chaves primárias).
+     */
+    @Override
+    public boolean restaurarProximosIds() {
+        try {
+            Publicacao.setProximoIdEstatico(Math.max(maiorId("livro"), maiorId("jornal")) + 1);
+            Autor.setProximoIdEstatico(maiorId("autor") + 1);
+            Editora.setProximoIdEstatico(maiorId("editora") + 1);
+            Categoria.setProximoIdEstatico(maiorId("categoria") + 1);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Erro ao consultar os IDs no banco de dados: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private int maiorId(String tabela) throws SQLException {
+        synchronized (conexao) {
+            try (Statement statement = conexao.createStatement();
+                 ResultSet resultado = statement.executeQuery("SELECT MAX(id) FROM " + tabela)) {
+                return resultado.next() ? resultado.getInt(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * As alterações já são gravadas linha a linha; o checkpoint apenas aguarda as operações enfileiradas.
+     */
+    @Override
+    public void iniciarCheckpoint() {
+        enviar(banco -> { }).join();
+    }
+
+    @Override
+    public void concluirCheckpoint() {
+        enviar(banco -> { }).join();
+    }
+
+    @Override
+    public boolean precisaCheckpoint() {
+        return false;
+    }
+
+    @Override
+    public long compactar() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        escritor.close();
+        try {
+            for (PreparedStatement instrucao : instrucoes.values()) {
+                instrucao.close();
+            }
+            conexao.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao fechar o banco de dados: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Converte a linha atual de um {@link ResultSet} em uma entidade.
+     */
+    private interface LeitorLinha<T> {
+        T ler(ResultSet linha) throws SQLException;
+    }
+
+    /**
+     * Executa uma consulta de carga na conexão compartilhada com o escritor, depois de aguardar as operações enfileiradas.
+     * Uma falha interrompe a carga: devolver uma lista parcial deixaria o {@link Sistema} com um catálogo truncado,
+     * e a próxima sincronização completa ({@link Repositorio#salvarTodos(List)}) apagaria as linhas não lidas.
+     * @throws IllegalStateException Se a consulta falhar.
+     */
+    private <T> List<T> consultar(String sql, LeitorLinha<T> leitor) {
+        enviar(banco -> { }).join();
+        List<T> resultado = new ArrayList<>();
+        synchronized (conexao) {
+            try (Statement statement = conexao.createStatement();
+                 ResultSet linhas = statement.executeQuery(sql)) {
+                while (linhas.next()) {
+                    resultado.add(leitor.ler(linhas));
+                }
+                conexao.commit();
+            } catch (SQLException e) {
+                try {
+                    conexao.rollback();
+                } catch (SQLException erroRollback) {
+                    e.addSuppressed(erroRollback);
+                }
+                throw new IllegalStateException("Erro ao carregar dados do banco de dados: " + e.getMessage(), e);
+            }
+        }
+        return resultado;
+    }
+
+    private static LocalDate lerData(ResultSet linha, String coluna) throws SQLException {
+        Date data = linha.getDate(coluna);
+        return data != null ? data.toLocalDate() : null;
+    }
+
+    private static Editora referenciaEditora(int id) {
+        return id != 0 ? new Editora(id, null) : null;
+    }
+
+    /**
+     * Repositório de livros: tabela {@code livro} e autores na tabela {@code livro_autor}, na ordem do livro.
+     */
+    private class RepositorioLivros implements Repositorio<Livro> {
+        @Override
+        public List<Livro> carregarTodos() {
+            List<Livro> livros = consultar("SELECT id, titulo, preco, estoque, editora_id, paginas, isbn, categoria_id FROM livro ORDER BY id", linha -> {
+                Livro livro = new Livro(linha.getInt("id"), linha.getString("titulo"), linha.getFloat("preco"),
+                        referenciaEditora(linha.getInt("editora_id")), linha.getInt("paginas"), linha.getString("isbn"));
+                livro.setEstoqueDisponivel(linha.getInt("estoque"));
+                int idCategoria = linha.getInt("categoria_id");
+                livro.setCategoria(idCategoria != 0 ? new Categoria(idCategoria, null) : null);
+                return livro;
+            });
+            Map<Integer, Livro> porId = new HashMap<>();
+            livros.forEach(l -> porId.put(l.getId(), l));
+            consultar("SELECT livro_id, autor_id FROM livro_autor ORDER BY livro_id, ordem", linha -> {
+                Livro livro = porId.get(linha.getInt("livro_id"));
+                if (livro != null) {
+                    livro.addAutor(new Autor(linha.getInt("autor_id"), null, null, null));
+                }
+                return null;
+            });
+            return livros;
+        }
+
+        @Override
+        public CompletableFuture<Void> salvar(Livro livro) {
+            Object[] linha = linhaLivro(livro);
+            List<Object[]> autores = linhasAutores(livro);
+            return enviar(banco -> {
+                banco.gravarLinha(ATUALIZAR_LIVRO, INSERIR_LIVRO, 1, linha);
+                for (Object[] autor : autores) {
+                    banco.gravarLinha(ATUALIZAR_LIVRO_AUTOR, INSERIR_LIVRO_AUTOR, 2, autor);
+                }
+                banco.executar("DELETE FROM livro_autor WHERE livro_id = ? AND ordem >= ?", linha[0], autores.size());
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> excluir(int id) {
+            return enviar(banco -> {
+                banco.executar("DELETE FROM livro_autor WHERE livro_id = ?", id);
+                banco.executar("DELETE FROM livro WHERE id = ?", id);
+            });
+        }
+
+        @Override
+        public void salvarTodos(List<Livro> livros) {
+            List<Object[]> linhas = new ArrayList<>(livros.size());
+            List<Object[]> autores = new ArrayList<>();
+            for (Livro livro : livros) {
+                linhas.add(linhaLivro(livro));
+                autores.addAll(linhasAutores(livro));
+            }
+            enviar(banco -> {
+                banco.substituirTabela("livro", INSERIR_LIVRO, linhas);
+                banco.substituirTabela("livro_autor", INSERIR_LIVRO_AUTOR, autores);
+            }).join();
+        }
+
+        @Override
+        public boolean possuiAlteracoes() {
+            return false;
+        }
+    }
+
+    /**
+     * Repositório de jornais: tabela {@code jornal}.
+     */
+    private class RepositorioJornais implements Repositorio<Jornal> {
+        @Override
+        public List<Jornal> carregarTodos() {
+            return consultar("SELECT id, titulo, preco, estoque, editora_id, data_publicacao FROM jornal ORDER BY id", linha -> {
+                Jornal jornal = new Jornal(linha.getInt("id"), linha.getString("titulo"), linha.getFloat("preco"),
+                        referenciaEditora(linha.getInt("editora_id")), lerData(linha, "data_publicacao"));
+                jornal.setEstoqueDisponivel(linha.getInt("estoque"));
+                return jornal;
+            });
+        }
+
+        @Override
+        public CompletableFuture<Void> salvar(Jornal jornal) {
+            Object[] linha = linhaJornal(jornal);
+            return enviar(banco -> banco.gravarLinha(ATUALIZAR_JORNAL, INSERIR_JORNAL, 1, linha));
+        }
+
+        @Override
+        public CompletableFuture<Void> excluir(int id) {
+            return enviar(banco -> banco.executar("DELETE FROM jornal WHERE id = ?", id));
+        }
+
+        @Override
+        public void salvarTodos(List<Jornal> jornais) {
+            List<Object[]> linhas = new ArrayList<>(jornais.size());
+            jornais.forEach(j -> linhas.add(linhaJornal(j)));
+            enviar(banco -> banco.substituirTabela("jornal", INSERIR_JORNAL, linhas)).join();
+        }
+
+        @Override
+        public boolean possuiAlteracoes() {
+            return false;
+        }
+    }
+
+    /**
+     * Repositório de autores: tabela {@code autor}.
+     */
+    private class RepositorioAutores implements Repositorio<Autor> {
+        @Override
+        public List<Autor> carregarTodos() {
+            return consultar("SELECT id, nome, nacionalidade, data_nascimento FROM autor ORDER BY id", linha ->
+                    new Autor(linha.getInt("id"), linha.getString("nome"), linha.getString("nacionalidade"), lerData(linha, "data_nascimento")));
+        }
+
+        @Override
+        public CompletableFuture<Void> salvar(Autor autor) {
+            Object[] linha = linhaAutor(autor);
+            return enviar(banco -> banco.gravarLinha(ATUALIZAR_AUTOR, INSERIR_AUTOR, 1, linha));
+        }
+
+        @Override
+        public CompletableFuture<Void> excluir(int id) {
+            return enviar(banco -> banco.executar("DELETE FROM autor WHERE id = ?", id));
+        }
+
+        @Override
+        public void salvarTodos(List<Autor> autores) {
+            List<Object[]> linhas = new ArrayList<>(autores.size());
+            autores.forEach(a -> linhas.add(linhaAutor(a)));
+            enviar(banco -> banco.substituirTabela("autor", INSERIR_AUTOR, linhas)).join();
+        }
+
+        @Override
+        public boolean possuiAlteracoes() {
+            return false;
+        }
+    }
+
+    /**
+     * Construtor de entidades que têm apenas ID e nome ({@link Editora} e {@link Categoria}).
+     */
+    private interface ConstrutorNomeado<T> {
+        T criar(int id, String nome);
+    }
+
+    /**
+     * Repositório de entidades que têm apenas ID e nome.
+     */
+    private class RepositorioNomeado<T> implements Repositorio<T> {
+        private final String tabela;
+        private final String insercao;
+        private final String atualizacao;
+        private final ConstrutorNomeado<T> construtor;
+        private final ToIntFunction<T> extratorId;
+        private final Function<T, String> extratorNome;
+
+        RepositorioNomeado(String tabela, String insercao, ConstrutorNomeado<T> construtor,
+                           ToIntFunction<T> extratorId, Function<T, String> extratorNome) {
+            this.tabela = tabela;
+            this.insercao = insercao;
+            this.atualizacao = "UPDATE " + tabela + " SET nome = ? WHERE id = ?";
+            this.construtor = construtor;
+            this.extratorId = extratorId;
+            this.extratorNome = extratorNome;
+        }
+
+        @Override
+        public List<T> carregarTodos() {
+            return consultar("SELECT id, nome FROM " + tabela + " ORDER BY id", linha -> construtor.criar(linha.getInt("id"), linha.getString("nome")));
+        }
+
+        @Override
+        public CompletableFuture<Void> salvar(T entidade) {
+            int id = extratorId.applyAsInt(entidade);
+            String nome = extratorNome.apply(entidade);
+            return enviar(banco -> banco.gravarLinha(atualizacao, insercao, 1, new Object[] {id, nome}));
+        }
+
+        @Override
+        public CompletableFuture<Void> excluir(int id) {
+            return enviar(banco -> banco.executar("DELETE FROM " + tabela + " WHERE id = ?", id));
+        }
+
+        @Override
+        public void salvarTodos(List<T> entidades) {
+            List<Object[]> linhas = new ArrayList<>(entidades.size());
+            for (T entidade : entidades) {
+                linhas.add(new Object[] {extratorId.applyAsInt(entidade), extratorNome.apply(entidade)});
+            }
+            enviar(banco -> banco.substituirTabela(tabela, insercao, linhas)).join();
+        }
+
+        @Override
+        public boolean possuiAlteracoes() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Árvore BK (Burkhard-Keller) de um texto das entidades (nome, título), para a busca aproximada por distância de
+ * edição (Levenshtein) sem calcular a distância para todo o dicionário.
+ * <p>
+ * Os textos são comparados sem acentos e sem diferenciar maiúsculas ({@link AnalisadorTexto#dobrar(String)}).
+ * Cada nó guarda um texto distinto e as entidades que o têm; o filho de distância {@code d} contém os textos a
+ * distância {@code d} do nó. Pela desigualdade triangular, uma busca com tolerância {@code k} a partir de um nó a
+ * distância {@code d} da consulta só precisa descer nos filhos de distância entre {@code d - k} e {@code d + k}.
+ * <p>
+ * A exclusão apenas esvazia a lista de entidades do nó, que continua na árvore para orientar as buscas
+ * e é reaproveitado se o texto voltar a ser usado. Como a chave vem do estado atual da entidade, ela deve ser
+ * removida antes de o texto mudar e adicionada de novo depois.
+ * Os métodos são sincronizados no próprio índice, como em {@link IndiceTrigramas}.
+ * @param <T> O tipo da entidade indexada.
+ */
+public class ArvoreBK<T> {
+
+    /**
+     * Entidade encontrada por uma busca aproximada e a sua distância de edição até a consulta.
+     */
+    private static final class Encontrado<T> {
+        private final T entidade;
+        private final int distancia;
+
+        private Encontrado(T entidade, int distancia) {
+            this.entidade = entidade;
+            this.distancia = distancia;
+        }
+    }
+
+    private static final class No<T> {
+        private final String texto;
+        private final List<T> entidades = new ArrayList<>(1);
+        private int[] distancias = new int[0];
+        private List<No<T>> filhos = new ArrayList<>(0);
+
+        private No(String texto) {
+            this.texto = texto;
+        }
+
+        private No<T> filho(int distancia) {
+            for (int i = 0; i < distancias.length; i++) {
+                if (distancias[i] == distancia) {
+                    return filhos.get(i);
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Function<T, String> extratorTexto;
+    private final ToIntFunction<T> extratorId;
+    private No<T> raiz;
+    /**
+     * Linhas da programação dinâmica do cálculo da distância, reaproveitadas entre os cálculos.
+     */
+    private int[] linhaAnterior = new int[32];
+    private int[] linhaAtual = new int[32];
+
+    /**
+     * @param extratorTexto Função que devolve o texto indexado (por exemplo, o nome).
+     * @param extratorId Função que devolve o ID de uma entidade, usado para desempatar resultados de mesma distância.
+     */
+    public ArvoreBK(Function<T, String> extratorTexto, ToIntFunction<T> extratorId) {
+        this.extratorTexto = extratorTexto;
+        this.extratorId = extratorId;
+    }
+
+    /**
+     * Cria uma árvore já preenchida com as entidades informadas.
+     */
+    public ArvoreBK(Function<T, String> extratorTexto, ToIntFunction<T> extratorId, Collection<? extends T> iniciais) {
+        this(extratorTexto, extratorId);
+        iniciais.forEach(this::adicionar);
+    }
+
+    private String chave(T entidade) {
+        String texto = extratorTexto.apply(entidade);
+        return texto == null ? "" : AnalisadorTexto.dobrar(texto.trim());
+    }
+
+    /**
+     * Adiciona uma entidade, pelo seu texto atual.
+     */
+    public synchronized void adicionar(T entidade) {
+        String chave = chave(entidade);
+        if (raiz == null) {
+            raiz = new No<>(chave);
+            raiz.entidades.add(entidade);
+            return;
+        }
+        No<T> no = raiz;
+        while (true) {
+            int distancia = distancia(chave, no.texto);
+            if (distancia == 0) {
+                no.entidades.add(entidade);
+                return;
+            }
+            No<T> filho = no.filho(distancia);
+            if (filho == null) {
+                filho = new No<>(chave);
+                filho.entidades.add(entidade);
+                no.distancias = Arrays.copyOf(no.distancias, no.distancias.length + 1);
+                no.distancias[no.distancias.length - 1] = distancia;
+                no.filhos.add(filho);
+                return;
+            }
+            no = filho;
+        }
+    }
+
+    /**
+     * Remove uma entidade, pelo seu texto atual.
+     */
+    public synchronized void remover(T entidade) {
+        String chave = chave(entidade);
+        No<T> no = raiz;
+        while (no != null) {
+            int distancia = distancia(chave, no.texto);
+            if (distancia == 0) {
+                no.entidades.removeIf(e -> e == entidade);
+                return;
+            }
+            no = no.filho(distancia);
+        }
+    }
+
+    /**
+     * Busca as entidades cujo texto está a no máximo {@code distanciaMaxima} edições (inserção, remoção ou troca
+     * de um caractere) da consulta.
+     * @param consulta O texto procurado.
+     * @param distanciaMaxima A distância de edição máxima aceita.
+     * @return As entidades encontradas, da mais próxima para a mais distante (empates em ordem de cadastro).
+     */
+    public synchronized List<T> buscar(String consulta, int distanciaMaxima) {
+        List<Encontrado<T>> encontrados = new ArrayList<>();
+        if (raiz == null || consulta == null) {
+            return new ArrayList<>();
+        }
+        String chave = AnalisadorTexto.dobrar(consulta.trim());
+        List<No<T>> pendentes = new ArrayList<>();
+        pendentes.add(raiz);
+        while (!pendentes.isEmpty()) {
+            No<T> no = pendentes.remove(pendentes.size() - 1);
+            int distancia = distancia(chave, no.texto);
+            if (distancia <= distanciaMaxima) {
+                for (T entidade : no.entidades) {
+                    encontrados.add(new Encontrado<>(entidade, distancia));
+                }
+            }
+            for (int i = 0; i < no.distancias.length; i++) {
+                if (Math.abs(no.distancias[i] - distancia) <= distanciaMaxima) {
+                    pendentes.add(no.filhos.get(i));
+                }
+            }
+        }
+        encontrados.sort(Comparator.<Encontrado<T>>comparingInt(e -> e.distancia)
+                .thenComparingInt(e -> extratorId.applyAsInt(e.entidade)));
+        List<T> resultado = new ArrayList<>(encontrados.size());
+        encontrados.forEach(e -> resultado.add(e.entidade));
+        return resultado;
+    }
+
+    /**
+     * Distância de Levenshtein entre dois textos, com duas linhas da matriz de programação dinâmica.
+     */
+    private int distancia(String a, String b) {
+        if (b.length() + 1 > linhaAnterior.length) {
+            linhaAnterior = new int[b.length() + 1];
+            linhaAtual = new int[b.length() + 1];
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            linhaAnterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            linhaAtual[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int troca = linhaAnterior[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                linhaAtual[j] = Math.min(troca, Math.min(linhaAnterior[j], linhaAtual[j - 1]) + 1);
+            }
+            int[] troca = linhaAnterior;
+            linhaAnterior = linhaAtual;
+            linhaAtual = troca;
+        }
+        return linhaAnterior[b.length()];
+    }
+}
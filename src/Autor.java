@@ -3,6 +3,7 @@ package src;
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,7 +36,8 @@ public class Autor implements Serializable {
      */
     private LocalDate dataNascimento;
     /**
-     * Uma lista de objetos {@link Livro} publicados por este autor.
+     * Uma lista de objetos {@link Livro} publicados por este autor: o índice inverso autor → livros,
+     * mantido pelo {@link Sistema} no cadastro, na edição e na exclusão de livros, e reconstruído na carga dos dados.
      */
     private List<Livro> livrosPublicados;
 
@@ -55,6 +57,24 @@ public class Autor implements Serializable {
         this.livrosPublicados = new ArrayList<>();
     }
 
+    /**
+     * Construtor para restaurar um Autor com um ID já conhecido (usado na reprodução do {@link DiarioOperacoes}).
+     * O contador estático é ajustado para que novos IDs não colidam com o ID restaurado.
+     *
+     * @param id O ID original do autor.
+     * @param nome O nome do autor.
+     * @param nacionalidade A nacionalidade do autor.
+     * @param dataNascimento A data de nascimento do autor.
+     */
+    Autor(int id, String nome, String nacionalidade, LocalDate dataNascimento) {
+        this.id = id;
+        this.nome = nome;
+        this.nacionalidade = nacionalidade;
+        this.dataNascimento = dataNascimento;
+        this.livrosPublicados = new ArrayList<>();
+        setProximoIdEstatico(id + 1);
+    }
+
     /**
      * Retorna o ID único do autor.
      * @return O ID do autor.
@@ -113,10 +133,10 @@ public class Autor implements Serializable {
 
     /**
      * Retorna a lista de livros publicados por este autor.
-     * @return Uma lista de objetos {@link Livro} publicados pelo autor.
+     * @return Uma lista somente leitura de objetos {@link Livro} publicados pelo autor.
      */
     public List<Livro> getLivrosPublicados() {
-        return livrosPublicados;
+        return Collections.unmodifiableList(livrosPublicados);
     }
 
     /**
@@ -130,6 +150,14 @@ public class Autor implements Serializable {
         }
     }
 
+    /**
+     * Esvazia a lista de livros publicados, antes de o {@link Sistema} reconstruí-la a partir dos livros carregados
+     * (arquivos de versões antigas guardavam cópias dos livros nesta lista).
+     */
+    void limparLivrosPublicados() {
+        livrosPublicados = new ArrayList<>();
+    }
+
     /**
      * Remove um livro da lista de livros publicados por este autor.
      * @param livro O {@link Livro} a ser removido.
@@ -153,6 +181,15 @@ public class Autor implements Serializable {
         }
     }
 
+    /**
+     * Retorna o próximo ID estático que será atribuído a um novo objeto Autor.
+     * Utilizado para persistir os contadores de ID junto com os dados.
+     * @return O próximo ID a ser gerado.
+     */
+    public static int getProximoIdEstatico() {
+        return proximoId;
+    }
+
     /**
      * Retorna uma representação em String do objeto Autor.
      * @return Uma String contendo o ID, Nome, Nacionalidade e Data de Nascimento do autor.
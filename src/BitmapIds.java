@@ -0,0 +1,379 @@
+package src;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Conjunto de IDs comprimido no estilo "roaring bitmap": os IDs são agrupados pelos 16 bits altos, e cada grupo
+ * (contêiner) guarda os 16 bits baixos em um vetor ordenado de {@code char}, enquanto tiver até
+ * {@value #LIMITE_VETOR} elementos, ou em um mapa de 65.536 bits ({@code long[1024]}), quando for mais denso.
+ * Assim, conjuntos esparsos (uma categoria com poucos livros) ocupam 2 bytes por ID, e conjuntos densos
+ * (os livros em estoque) ocupam no máximo 1 bit por ID possível.
+ * <p>
+ * A interseção ({@link #e(BitmapIds)}) e a união ({@link #ou(BitmapIds)}) trabalham contêiner a contêiner,
+ * com {@code AND}/{@code OR} de palavras de 64 bits entre mapas de bits e intercalação entre vetores,
+ * sem visitar os IDs um a um. Usado pelo {@link IndiceBitmapsLivros}.
+ */
+public class BitmapIds {
+
+    /**
+     * Tamanho máximo de um contêiner em vetor; acima disso, o mapa de bits (8 KB) ocupa menos.
+     */
+    static final int LIMITE_VETOR = 4096;
+    private static final int PALAVRAS = 1024;
+
+    /**
+     * Os 16 bits baixos dos IDs de um grupo, em vetor ordenado ({@code vetor != null}) ou em mapa de bits.
+     */
+    private static final class Conteiner {
+        private char[] vetor;
+        private long[] bits;
+        private int cardinalidade;
+
+        private static Conteiner vazio() {
+            Conteiner c = new Conteiner();
+            c.vetor = new char[4];
+            return c;
+        }
+
+        private boolean contem(char baixo) {
+            if (vetor != null) {
+                return Arrays.binarySearch(vetor, 0, cardinalidade, baixo) >= 0;
+            }
+            return (bits[baixo >>> 6] & (1L << baixo)) != 0;
+        }
+
+        private boolean adicionar(char baixo) {
+            if (vetor == null) {
+                long antes = bits[baixo >>> 6];
+                bits[baixo >>> 6] = antes | (1L << baixo);
+                if (antes == bits[baixo >>> 6]) {
+                    return false;
+                }
+                cardinalidade++;
+                return true;
+            }
+            int posicao = Arrays.binarySearch(vetor, 0, cardinalidade, baixo);
+            if (posicao >= 0) {
+                return false;
+            }
+            if (cardinalidade == LIMITE_VETOR) {
+                converterParaBits();
+                return adicionar(baixo);
+            }
+            posicao = -posicao - 1;
+            if (cardinalidade == vetor.length) {
+                vetor = Arrays.copyOf(vetor, Math.min(LIMITE_VETOR, cardinalidade * 2));
+            }
+            System.arraycopy(vetor, posicao, vetor, posicao + 1, cardinalidade - posicao);
+            vetor[posicao] = baixo;
+            cardinalidade++;
+            return true;
+        }
+
+        private boolean remover(char baixo) {
+            if (vetor != null) {
+                int posicao = Arrays.binarySearch(vetor, 0, cardinalidade, baixo);
+                if (posicao < 0) {
+                    return false;
+                }
+                System.arraycopy(vetor, posicao + 1, vetor, posicao, cardinalidade - posicao - 1);
+                cardinalidade--;
+                return true;
+            }
+            long antes = bits[baixo >>> 6];
+            bits[baixo >>> 6] = antes & ~(1L << baixo);
+            if (antes == bits[baixo >>> 6]) {
+                return false;
+            }
+            cardinalidade--;
+            if (cardinalidade <= LIMITE_VETOR / 2) {
+                converterParaVetor(); // Histerese: evita alternar de representação a cada inclusão e remoção.
+            }
+            return true;
+        }
+
+        private void converterParaBits() {
+            bits = new long[PALAVRAS];
+            for (int i = 0; i < cardinalidade; i++) {
+                bits[vetor[i] >>> 6] |= 1L << vetor[i];
+            }
+            vetor = null;
+        }
+
+        private void converterParaVetor() {
+            char[] novo = new char[Math.max(4, cardinalidade)];
+            int n = 0;
+            for (int palavra = 0; palavra < PALAVRAS; palavra++) {
+                long w = bits[palavra];
+                while (w != 0) {
+                    novo[n++] = (char) ((palavra << 6) + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+            vetor = novo;
+            bits = null;
+        }
+
+        private static Conteiner deBits(long[] bits) {
+            Conteiner c = new Conteiner();
+            c.bits = bits;
+            for (long w : bits) {
+                c.cardinalidade += Long.bitCount(w);
+            }
+            if (c.cardinalidade <= LIMITE_VETOR) {
+                c.converterParaVetor();
+            }
+            return c;
+        }
+
+        private static Conteiner deVetor(char[] vetor, int cardinalidade) {
+            Conteiner c = new Conteiner();
+            c.vetor = vetor;
+            c.cardinalidade = cardinalidade;
+            return c;
+        }
+
+        /**
+         * @return A interseção, ou {@code null} se vazia.
+         */
+        private static Conteiner e(Conteiner a, Conteiner b) {
+            Conteiner resultado;
+            if (a.vetor != null && b.vetor != null) {
+                char[] saida = new char[Math.min(a.cardinalidade, b.cardinalidade)];
+                int n = 0;
+                for (int i = 0, j = 0; i < a.cardinalidade && j < b.cardinalidade; ) {
+                    if (a.vetor[i] < b.vetor[j]) {
+                        i++;
+                    } else if (a.vetor[i] > b.vetor[j]) {
+                        j++;
+                    } else {
+                        saida[n++] = a.vetor[i];
+                        i++;
+                        j++;
+                    }
+                }
+                resultado = deVetor(saida, n);
+            } else if (a.vetor != null || b.vetor != null) {
+                Conteiner comVetor = a.vetor != null ? a : b;
+                Conteiner comBits = a.vetor != null ? b : a;
+                char[] saida = new char[comVetor.cardinalidade];
+                int n = 0;
+                for (int i = 0; i < comVetor.cardinalidade; i++) {
+                    if (comBits.contem(comVetor.vetor[i])) {
+                        saida[n++] = comVetor.vetor[i];
+                    }
+                }
+                resultado = deVetor(saida, n);
+            } else {
+                long[] saida = new long[PALAVRAS];
+                for (int i = 0; i < PALAVRAS; i++) {
+                    saida[i] = a.bits[i] & b.bits[i];
+                }
+                resultado = deBits(saida);
+            }
+            return resultado.cardinalidade == 0 ? null : resultado;
+        }
+
+        private static Conteiner ou(Conteiner a, Conteiner b) {
+            if (a.vetor != null && b.vetor != null && a.cardinalidade + b.cardinalidade <= LIMITE_VETOR) {
+                char[] saida = new char[a.cardinalidade + b.cardinalidade];
+                int n = 0;
+                int i = 0;
+                int j = 0;
+                while (i < a.cardinalidade && j < b.cardinalidade) {
+                    char x = a.vetor[i];
+                    char y = b.vetor[j];
+                    if (x <= y) {
+                        saida[n++] = x;
+                        i++;
+                        if (x == y) {
+                            j++;
+                        }
+                    } else {
+                        saida[n++] = y;
+                        j++;
+                    }
+                }
+                while (i < a.cardinalidade) {
+                    saida[n++] = a.vetor[i++];
+                }
+                while (j < b.cardinalidade) {
+                    saida[n++] = b.vetor[j++];
+                }
+                return deVetor(saida, n);
+            }
+            long[] saida = new long[PALAVRAS];
+            for (Conteiner c : new Conteiner[]{a, b}) {
+                if (c.vetor != null) {
+                    for (int k = 0; k < c.cardinalidade; k++) {
+                        saida[c.vetor[k] >>> 6] |= 1L << c.vetor[k];
+                    }
+                } else {
+                    for (int k = 0; k < PALAVRAS; k++) {
+                        saida[k] |= c.bits[k];
+                    }
+                }
+            }
+            return deBits(saida);
+        }
+
+        private void paraCada(int alto, IntConsumer acao) {
+            int base = alto << 16;
+            if (vetor != null) {
+                for (int i = 0; i < cardinalidade; i++) {
+                    acao.accept(base | vetor[i]);
+                }
+                return;
+            }
+            for (int palavra = 0; palavra < PALAVRAS; palavra++) {
+                long w = bits[palavra];
+                while (w != 0) {
+                    acao.accept(base | (palavra << 6) + Long.numberOfTrailingZeros(w));
+                    w &= w - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Os 16 bits altos de cada contêiner, em ordem crescente, paralelos a {@link #conteineres}.
+     */
+    private char[] altos = new char[0];
+    private Conteiner[] conteineres = new Conteiner[0];
+    private int quantidade;
+
+    private int posicao(char alto) {
+        return Arrays.binarySearch(altos, 0, quantidade, alto);
+    }
+
+    /**
+     * @param id Um ID não negativo.
+     * @return {@code true} se o ID pertence ao conjunto.
+     */
+    public boolean contem(int id) {
+        int p = posicao((char) (id >>> 16));
+        return p >= 0 && conteineres[p].contem((char) id);
+    }
+
+    /**
+     * Adiciona um ID não negativo.
+     * @return {@code true} se o ID foi adicionado; {@code false} se já pertencia ao conjunto.
+     */
+    public boolean adicionar(int id) {
+        char alto = (char) (id >>> 16);
+        int p = posicao(alto);
+        if (p < 0) {
+            p = -p - 1;
+            if (quantidade == altos.length) {
+                altos = Arrays.copyOf(altos, quantidade * 2 + 1);
+                conteineres = Arrays.copyOf(conteineres, quantidade * 2 + 1);
+            }
+            System.arraycopy(altos, p, altos, p + 1, quantidade - p);
+            System.arraycopy(conteineres, p, conteineres, p + 1, quantidade - p);
+            altos[p] = alto;
+            conteineres[p] = Conteiner.vazio();
+            quantidade++;
+        }
+        return conteineres[p].adicionar((char) id);
+    }
+
+    /**
+     * Remove um ID.
+     * @return {@code true} se o ID foi removido; {@code false} se não pertencia ao conjunto.
+     */
+    public boolean remover(int id) {
+        int p = posicao((char) (id >>> 16));
+        if (p < 0 || !conteineres[p].remover((char) id)) {
+            return false;
+        }
+        if (conteineres[p].cardinalidade == 0) {
+            System.arraycopy(altos, p + 1, altos, p, quantidade - p - 1);
+            System.arraycopy(conteineres, p + 1, conteineres, p, quantidade - p - 1);
+            conteineres[--quantidade] = null;
+        }
+        return true;
+    }
+
+    /**
+     * @return A quantidade de IDs no conjunto.
+     */
+    public int cardinalidade() {
+        int total = 0;
+        for (int i = 0; i < quantidade; i++) {
+            total += conteineres[i].cardinalidade;
+        }
+        return total;
+    }
+
+    /**
+     * @return {@code true} se o conjunto está vazio.
+     */
+    public boolean isVazio() {
+        return quantidade == 0;
+    }
+
+    /**
+     * @return Um novo conjunto com os IDs presentes neste e no outro (este conjunto não é alterado).
+     */
+    public BitmapIds e(BitmapIds outro) {
+        BitmapIds resultado = new BitmapIds();
+        int capacidade = Math.min(quantidade, outro.quantidade);
+        resultado.altos = new char[capacidade];
+        resultado.conteineres = new Conteiner[capacidade];
+        for (int i = 0, j = 0; i < quantidade && j < outro.quantidade; ) {
+            if (altos[i] < outro.altos[j]) {
+                i++;
+            } else if (altos[i] > outro.altos[j]) {
+                j++;
+            } else {
+                Conteiner c = Conteiner.e(conteineres[i], outro.conteineres[j]);
+                if (c != null) {
+                    resultado.altos[resultado.quantidade] = altos[i];
+                    resultado.conteineres[resultado.quantidade++] = c;
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return Um novo conjunto com os IDs presentes neste ou no outro (este conjunto não é alterado).
+     * Contêineres presentes em apenas um dos lados são compartilhados com o resultado, que deve ser tratado como somente leitura.
+     */
+    public BitmapIds ou(BitmapIds outro) {
+        BitmapIds resultado = new BitmapIds();
+        resultado.altos = new char[quantidade + outro.quantidade];
+        resultado.conteineres = new Conteiner[quantidade + outro.quantidade];
+        int i = 0;
+        int j = 0;
+        while (i < quantidade || j < outro.quantidade) {
+            char alto;
+            Conteiner c;
+            if (j == outro.quantidade || (i < quantidade && altos[i] < outro.altos[j])) {
+                alto = altos[i];
+                c = conteineres[i++];
+            } else if (i == quantidade || altos[i] > outro.altos[j]) {
+                alto = outro.altos[j];
+                c = outro.conteineres[j++];
+            } else {
+                alto = altos[i];
+                c = Conteiner.ou(conteineres[i++], outro.conteineres[j++]);
+            }
+            resultado.altos[resultado.quantidade] = alto;
+            resultado.conteineres[resultado.quantidade++] = c;
+        }
+        return resultado;
+    }
+
+    /**
+     * Executa a ação para cada ID, em ordem crescente.
+     */
+    public void paraCada(IntConsumer acao) {
+        for (int i = 0; i < quantidade; i++) {
+            conteineres[i].paraCada(altos[i], acao);
+        }
+    }
+}
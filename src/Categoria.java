@@ -32,6 +32,18 @@ public class Categoria implements Serializable {
         this.nome = nome;
     }
 
+    /**
+     * Construtor para restaurar uma Categoria com um ID já conhecido (usado na reprodução do {@link DiarioOperacoes}).
+     * O contador estático é ajustado para que novos IDs não colidam com o ID restaurado.
+     * @param id O ID original da categoria.
+     * @param nome O nome da categoria.
+     */
+    Categoria(int id, String nome) {
+        this.id = id;
+        this.nome = nome;
+        setProximoIdEstatico(id + 1);
+    }
+
     /**
      * Retorna o ID único da categoria.
      * @return O ID da categoria.
@@ -69,6 +81,15 @@ public class Categoria implements Serializable {
         }
     }
 
+    /**
+     * Retorna o próximo ID estático que será atribuído a um novo objeto Categoria.
+     * Utilizado para persistir os contadores de ID junto com os dados.
+     * @return O próximo ID a ser gerado.
+     */
+    public static int getProximoIdEstatico() {
+        return proximoId;
+    }
+
     /**
      * Retorna uma representação em String do objeto Categoria.
      * @return Uma String contendo o ID e o Nome da categoria.
@@ -0,0 +1,383 @@
+package src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Codec binário compacto, escrito à mão, usado para persistir as entidades do catálogo
+ * no lugar da serialização padrão do Java.
+ * <p>
+ * Convenções do formato:
+ * <ul>
+ *   <li>IDs, contagens e tamanhos são gravados como varint (7 bits por byte);</li>
+ *   <li>textos são gravados em UTF-8, precedidos do seu tamanho em bytes (0 indica {@code null});</li>
+ *   <li>datas ({@link LocalDate}) são gravadas como o dia da época (epoch-day) em varint zigzag (0 indica {@code null});</li>
+ *   <li>cada arquivo começa com um cabeçalho: número mágico, versão do formato e tipo de entidade;</li>
+ *   <li>a partir da versão 2, livros e jornais referenciam editora, autores e categoria apenas pelo ID;</li>
+ *   <li>a partir da versão 3, cada entidade é gravada em um quadro próprio, precedida do seu tamanho (varint)
+ *       e do CRC32 dos seus bytes, de modo que um registro danificado pode ser ignorado sem perder os demais;</li>
+ *   <li>a partir da versão 4, o cabeçalho inclui o código do algoritmo de compressão do corpo do arquivo
+ *       (ver {@link CompressaoBlocos}); o código 0 indica o corpo sem compressão.</li>
+ * </ul>
+ * As referências lidas pelo ID chegam como instâncias provisórias (apenas com o ID preenchido)
+ * e devem ser religadas às instâncias canônicas depois que todas as coleções forem carregadas
+ * (ver {@code Sistema.resolverReferencias}).
+ */
+public class CodecBinario {
+
+    /**
+     * Número mágico que identifica os arquivos gravados por este codec ("ESLT").
+     */
+    public static final int MAGICO = 0x45534C54;
+    /**
+     * Versão atual do formato binário.
+     */
+    public static final byte VERSAO_FORMATO = 4;
+    /**
+     * Última versão do formato cujo cabeçalho não registra o algoritmo de compressão (o corpo nunca é comprimido).
+     */
+    public static final byte VERSAO_SEM_COMPRESSAO = 3;
+    /**
+     * Última versão do formato em que as entidades eram gravadas em sequência, sem tamanho nem CRC32 por registro.
+     */
+    public static final byte VERSAO_REGISTROS_SEM_QUADRO = 2;
+    /**
+     * Primeira versão do formato, em que livros e jornais gravavam suas entidades relacionadas por completo.
+     * Continua sendo lida para migrar arquivos antigos.
+     */
+    private static final byte VERSAO_ENTIDADES_EMBUTIDAS = 1;
+
+    /**
+     * Codificador e decodificador de um tipo de entidade do catálogo.
+     * @param <T> O tipo da entidade.
+     */
+    public interface Entidade<T> {
+        /**
+         * Retorna o código que identifica o tipo de entidade no cabeçalho do arquivo.
+         * @return O código do tipo de entidade.
+         */
+        byte getTipo();
+
+        /**
+         * Grava uma entidade na saída.
+         * @param out A saída binária.
+         * @param entidade A entidade a ser gravada.
+         * @throws IOException Em caso de erro de escrita.
+         */
+        void escrever(DataOutput out, T entidade) throws IOException;
+
+        /**
+         * Lê uma entidade da entrada.
+         * @param in A entrada binária.
+         * @param versao A versão do formato em que a entidade foi gravada.
+         * @return A entidade lida.
+         * @throws IOException Em caso de erro de leitura ou de dados inválidos.
+         */
+        T ler(DataInput in, int versao) throws IOException;
+    }
+
+    /**
+     * Codec de {@link Autor}: id, nome, nacionalidade e data de nascimento.
+     */
+    public static final Entidade<Autor> AUTOR = new Entidade<Autor>() {
+        @Override
+        public byte getTipo() {
+            return 1;
+        }
+
+        @Override
+        public void escrever(DataOutput out, Autor autor) throws IOException {
+            escreverVarInt(out, autor.getId());
+            escreverTexto(out, autor.getNome());
+            escreverTexto(out, autor.getNacionalidade());
+            escreverData(out, autor.getDataNascimento());
+        }
+
+        @Override
+        public Autor ler(DataInput in, int versao) throws IOException {
+            return new Autor(lerVarInt(in), lerTexto(in), lerTexto(in), lerData(in));
+        }
+    };
+
+    /**
+     * Codec de {@link Editora}: id e nome. A lista de publicações não é gravada.
+     */
+    public static final Entidade<Editora> EDITORA = new Entidade<Editora>() {
+        @Override
+        public byte getTipo() {
+            return 2;
+        }
+
+        @Override
+        public void escrever(DataOutput out, Editora editora) throws IOException {
+            escreverVarInt(out, editora.getId());
+            escreverTexto(out, editora.getNome());
+        }
+
+        @Override
+        public Editora ler(DataInput in, int versao) throws IOException {
+            return new Editora(lerVarInt(in), lerTexto(in));
+        }
+    };
+
+    /**
+     * Codec de {@link Categoria}: id e nome.
+     */
+    public static final Entidade<Categoria> CATEGORIA = new Entidade<Categoria>() {
+        @Override
+        public byte getTipo() {
+            return 3;
+        }
+
+        @Override
+        public void escrever(DataOutput out, Categoria categoria) throws IOException {
+            escreverVarInt(out, categoria.getId());
+            escreverTexto(out, categoria.getNome());
+        }
+
+        @Override
+        public Categoria ler(DataInput in, int versao) throws IOException {
+            return new Categoria(lerVarInt(in), lerTexto(in));
+        }
+    };
+
+    /**
+     * Codec de {@link Livro}: atributos de publicação, páginas, ISBN e os IDs da editora, dos autores e da categoria.
+     */
+    public static final Entidade<Livro> LIVRO = new Entidade<Livro>() {
+        @Override
+        public byte getTipo() {
+            return 4;
+        }
+
+        @Override
+        public void escrever(DataOutput out, Livro livro) throws IOException {
+            escreverVarInt(out, livro.getId());
+            escreverTexto(out, livro.getTitulo());
+            out.writeFloat(livro.getPreco());
+            escreverVarInt(out, livro.getEstoqueDisponivel());
+            escreverVarInt(out, livro.getEditora() != null ? livro.getEditora().getId() : 0);
+            escreverVarInt(out, livro.getQuantidadePaginas());
+            escreverTexto(out, livro.getIsbn());
+            escreverVarInt(out, livro.getAutores().size());
+            for (Autor autor : livro.getAutores()) {
+                escreverVarInt(out, autor.getId());
+            }
+            escreverVarInt(out, livro.getCategoria() != null ? livro.getCategoria().getId() : 0);
+        }
+
+        @Override
+        public Livro ler(DataInput in, int versao) throws IOException {
+            boolean embutidas = versao == VERSAO_ENTIDADES_EMBUTIDAS;
+            int id = lerVarInt(in);
+            String titulo = lerTexto(in);
+            float preco = in.readFloat();
+            int estoque = lerVarInt(in);
+            Editora editora = embutidas ? lerOpcional(in, EDITORA, versao) : lerReferenciaEditora(in);
+            int paginas = lerVarInt(in);
+            String isbn = lerTexto(in);
+            Livro livro = construir(() -> new Livro(id, titulo, preco, editora, paginas, isbn));
+            livro.setEstoqueDisponivel(estoque);
+            int quantidadeAutores = lerVarInt(in);
+            for (int i = 0; i < quantidadeAutores; i++) {
+                livro.addAutor(embutidas ? AUTOR.ler(in, versao) : new Autor(lerVarInt(in), null, null, null));
+            }
+            if (embutidas) {
+                livro.setCategoria(lerOpcional(in, CATEGORIA, versao));
+            } else {
+                int idCategoria = lerVarInt(in);
+                livro.setCategoria(idCategoria != 0 ? new Categoria(idCategoria, null) : null);
+            }
+            return livro;
+        }
+    };
+
+    /**
+     * Codec de {@link Jornal}: atributos de publicação, ID da editora e data de publicação.
+     */
+    public static final Entidade<Jornal> JORNAL = new Entidade<Jornal>() {
+        @Override
+        public byte getTipo() {
+            return 5;
+        }
+
+        @Override
+        public void escrever(DataOutput out, Jornal jornal) throws IOException {
+            escreverVarInt(out, jornal.getId());
+            escreverTexto(out, jornal.getTitulo());
+            out.writeFloat(jornal.getPreco());
+            escreverVarInt(out, jornal.getEstoqueDisponivel());
+            escreverVarInt(out, jornal.getEditora() != null ? jornal.getEditora().getId() : 0);
+            escreverData(out, jornal.getDataPublicacao());
+        }
+
+        @Override
+        public Jornal ler(DataInput in, int versao) throws IOException {
+            int id = lerVarInt(in);
+            String titulo = lerTexto(in);
+            float preco = in.readFloat();
+            int estoque = lerVarInt(in);
+            Editora editora = versao == VERSAO_ENTIDADES_EMBUTIDAS ? lerOpcional(in, EDITORA, versao) : lerReferenciaEditora(in);
+            LocalDate dataPublicacao = lerData(in);
+            Jornal jornal = construir(() -> new Jornal(id, titulo, preco, editora, dataPublicacao));
+            jornal.setEstoqueDisponivel(estoque);
+            return jornal;
+        }
+    };
+
+    /**
+     * Grava o cabeçalho do arquivo: número mágico, versão do formato, tipo de entidade e algoritmo de compressão.
+     * @param out A saída binária.
+     * @param codec O codec das entidades que serão gravadas em seguida.
+     * @param compressao O algoritmo com que o corpo do arquivo será comprimido.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    public static void escreverCabecalho(DataOutput out, Entidade<?> codec, CompressaoBlocos.Algoritmo compressao) throws IOException {
+        out.writeInt(MAGICO);
+        out.writeByte(VERSAO_FORMATO);
+        out.writeByte(codec.getTipo());
+        out.writeByte(compressao.getCodigo());
+    }
+
+    /**
+     * Lê e valida a versão e o tipo de entidade do cabeçalho, após o número mágico já ter sido lido.
+     * A partir da versão 4, o byte seguinte (algoritmo de compressão) deve ser lido por quem chama.
+     * @param in A entrada binária.
+     * @param codec O codec esperado para as entidades do arquivo.
+     * @return A versão do formato em que o arquivo foi gravado.
+     * @throws IOException Se a versão não for suportada ou o tipo de entidade não corresponder ao esperado.
+     */
+    public static int validarCabecalho(DataInput in, Entidade<?> codec) throws IOException {
+        byte versao = in.readByte();
+        if (versao < VERSAO_ENTIDADES_EMBUTIDAS || versao > VERSAO_FORMATO) {
+            throw new StreamCorruptedException("Versão de formato não suportada: " + versao);
+        }
+        byte tipo = in.readByte();
+        if (tipo != codec.getTipo()) {
+            throw new StreamCorruptedException("Tipo de entidade inesperado no arquivo: " + tipo);
+        }
+        return versao;
+    }
+
+    /**
+     * Grava um inteiro não negativo em formato varint (7 bits por byte, bit mais alto indica continuação).
+     * @param out A saída binária.
+     * @param valor O valor a ser gravado.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    public static void escreverVarInt(DataOutput out, int valor) throws IOException {
+        while ((valor & ~0x7F) != 0) {
+            out.writeByte((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        out.writeByte(valor);
+    }
+
+    /**
+     * Lê um inteiro gravado em formato varint.
+     * @param in A entrada binária.
+     * @return O valor lido.
+     * @throws IOException Em caso de erro de leitura ou de varint malformado.
+     */
+    public static int lerVarInt(DataInput in) throws IOException {
+        int valor = 0;
+        for (int deslocamento = 0; deslocamento < 32; deslocamento += 7) {
+            byte b = in.readByte();
+            valor |= (b & 0x7F) << deslocamento;
+            if ((b & 0x80) == 0) {
+                return valor;
+            }
+        }
+        throw new StreamCorruptedException("Varint malformado.");
+    }
+
+    /**
+     * Grava um texto em UTF-8 precedido do seu tamanho em bytes mais um (0 representa {@code null}).
+     * @param out A saída binária.
+     * @param texto O texto a ser gravado, possivelmente {@code null}.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    public static void escreverTexto(DataOutput out, String texto) throws IOException {
+        if (texto == null) {
+            escreverVarInt(out, 0);
+            return;
+        }
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        escreverVarInt(out, bytes.length + 1);
+        out.write(bytes);
+    }
+
+    /**
+     * Lê um texto gravado por {@link #escreverTexto(DataOutput, String)}.
+     * @param in A entrada binária.
+     * @return O texto lido, ou {@code null}.
+     * @throws IOException Em caso de erro de leitura.
+     */
+    public static String lerTexto(DataInput in) throws IOException {
+        int tamanho = lerVarInt(in);
+        if (tamanho == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho - 1];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Grava uma data como epoch-day em varint zigzag, deslocado em um (0 representa {@code null}).
+     * @param out A saída binária.
+     * @param data A data a ser gravada, possivelmente {@code null}.
+     * @throws IOException Em caso de erro de escrita.
+     */
+    public static void escreverData(DataOutput out, LocalDate data) throws IOException {
+        if (data == null) {
+            escreverVarInt(out, 0);
+            return;
+        }
+        int epochDay = (int) data.toEpochDay();
+        escreverVarInt(out, ((epochDay << 1) ^ (epochDay >> 31)) + 1);
+    }
+
+    /**
+     * Lê uma data gravada por {@link #escreverData(DataOutput, LocalDate)}.
+     * @param in A entrada binária.
+     * @return A data lida, ou {@code null}.
+     * @throws IOException Em caso de erro de leitura.
+     */
+    public static LocalDate lerData(DataInput in) throws IOException {
+        int valor = lerVarInt(in);
+        if (valor == 0) {
+            return null;
+        }
+        int zigzag = valor - 1;
+        return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    private static <T> T lerOpcional(DataInput in, Entidade<T> codec, int versao) throws IOException {
+        return in.readBoolean() ? codec.ler(in, versao) : null;
+    }
+
+    /**
+     * Lê o ID de uma editora e devolve uma instância provisória contendo apenas esse ID.
+     */
+    private static Editora lerReferenciaEditora(DataInput in) throws IOException {
+        int idEditora = lerVarInt(in);
+        return idEditora != 0 ? new Editora(idEditora, null) : null;
+    }
+
+    /**
+     * Constrói uma entidade, convertendo a rejeição dos dados pelo construtor em erro de leitura.
+     */
+    private static <T> T construir(Supplier<T> construtor) throws IOException {
+        try {
+            return construtor.get();
+        } catch (IllegalArgumentException e) {
+            throw new StreamCorruptedException("Registro inválido: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package src;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressão em blocos do corpo dos arquivos de dados.
+ * O conteúdo é dividido em blocos de tamanho fixo, comprimidos de forma independente pelo {@link Algoritmo} escolhido.
+ * Cada bloco é gravado como {@code [varint tamanhoOriginal][varint tamanhoGravado][bytes]}; quando a compressão
+ * não reduz o bloco, ele é gravado sem compressão ({@code tamanhoGravado == tamanhoOriginal}).
+ * Um bloco de tamanho original 0 marca o fim do corpo.
+ * <p>
+ * Os algoritmos são identificados por um código de um byte gravado no cabeçalho do arquivo, de modo que
+ * a leitura não depende da configuração atual. O {@link #DEFLATE} (JDK) vem registrado; algoritmos mais rápidos
+ * podem ser acrescentados com {@link #registrar(Algoritmo)}.
+ */
+public class CompressaoBlocos {
+
+    /**
+     * Um algoritmo de compressão de blocos.
+     */
+    public interface Algoritmo {
+        /**
+         * Retorna o código que identifica o algoritmo no cabeçalho dos arquivos.
+         * @return O código do algoritmo (0 é reservado para a ausência de compressão).
+         */
+        byte getCodigo();
+
+        /**
+         * Retorna o nome usado para selecionar o algoritmo na configuração.
+         * @return O nome do algoritmo.
+         */
+        String getNome();
+
+        /**
+         * Comprime um bloco.
+         * @param dados O buffer com o bloco original.
+         * @param tamanho A quantidade de bytes válidos no buffer.
+         * @param nivel O nível de compressão configurado (o significado depende do algoritmo).
+         * @return Os bytes comprimidos.
+         */
+        byte[] comprimir(byte[] dados, int tamanho, int nivel);
+
+        /**
+         * Descomprime um bloco.
+         * @param comprimido O buffer com o bloco comprimido.
+         * @param tamanhoComprimido A quantidade de bytes válidos no buffer.
+         * @param destino O buffer que receberá o bloco original.
+         * @param tamanhoOriginal O tamanho exato do bloco original.
+         * @throws IOException Se os dados comprimidos estiverem corrompidos.
+         */
+        void descomprimir(byte[] comprimido, int tamanhoComprimido, byte[] destino, int tamanhoOriginal) throws IOException;
+    }
+
+    /**
+     * Ausência de compressão: o corpo do arquivo é gravado diretamente, sem divisão em blocos.
+     */
+    public static final Algoritmo NENHUMA = new Algoritmo() {
+        @Override
+        public byte getCodigo() { return 0; }
+
+        @Override
+        public String getNome() { return "NENHUMA"; }
+
+        @Override
+        public byte[] comprimir(byte[] dados, int tamanho, int nivel) {
+            return Arrays.copyOf(dados, tamanho);
+        }
+
+        @Override
+        public void descomprimir(byte[] comprimido, int tamanhoComprimido, byte[] destino, int tamanhoOriginal) {
+            System.arraycopy(comprimido, 0, destino, 0, tamanhoOriginal);
+        }
+    };
+
+    /**
+     * Compressão DEFLATE do JDK ({@link Deflater}/{@link Inflater}), com o checksum Adler-32 do formato zlib em cada bloco.
+     * O nível vai de 0 (sem compressão) a 9 (máxima compressão).
+     */
+    public static final Algoritmo DEFLATE = new Algoritmo() {
+        @Override
+        public byte getCodigo() { return 1; }
+
+        @Override
+        public String getNome() { return "DEFLATE"; }
+
+        @Override
+        public byte[] comprimir(byte[] dados, int tamanho, int nivel) {
+            Deflater deflater = new Deflater(Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, nivel)));
+            try {
+                deflater.setInput(dados, 0, tamanho);
+                deflater.finish();
+                byte[] saida = new byte[tamanho + (tamanho >> 3) + 64];
+                int gravados = 0;
+                while (!deflater.finished()) {
+                    if (gravados == saida.length) {
+                        saida = Arrays.copyOf(saida, saida.length * 2);
+                    }
+                    gravados += deflater.deflate(saida, gravados, saida.length - gravados);
+                }
+                return Arrays.copyOf(saida, gravados);
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public void descomprimir(byte[] comprimido, int tamanhoComprimido, byte[] destino, int tamanhoOriginal) throws IOException {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(comprimido, 0, tamanhoComprimido);
+                int lidos = 0;
+                while (lidos < tamanhoOriginal && !inflater.finished()) {
+                    int n = inflater.inflate(destino, lidos, tamanhoOriginal - lidos);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    lidos += n;
+                }
+                if (lidos != tamanhoOriginal) {
+                    throw new StreamCorruptedException("Bloco comprimido incompleto: " + lidos + " de " + tamanhoOriginal + " bytes.");
+                }
+            } catch (DataFormatException e) {
+                throw new StreamCorruptedException("Bloco comprimido corrompido: " + e.getMessage());
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    private static final Map<Byte, Algoritmo> ALGORITMOS = new ConcurrentHashMap<>();
+
+    static {
+        registrar(NENHUMA);
+        registrar(DEFLATE);
+    }
+
+    /**
+     * Registra um algoritmo de compressão, tornando-o disponível para leitura e para seleção na configuração.
+     * @param algoritmo O algoritmo a ser registrado.
+     * @throws IllegalArgumentException Se já houver outro algoritmo registrado com o mesmo código.
+     */
+    public static void registrar(Algoritmo algoritmo) {
+        Algoritmo anterior = ALGORITMOS.putIfAbsent(algoritmo.getCodigo(), algoritmo);
+        if (anterior != null && anterior != algoritmo) {
+            throw new IllegalArgumentException("Código de compressão já registrado: " + algoritmo.getCodigo());
+        }
+    }
+
+    /**
+     * Busca um algoritmo registrado pelo código gravado no cabeçalho de um arquivo.
+     * @param codigo O código do algoritmo.
+     * @return O algoritmo correspondente.
+     * @throws StreamCorruptedException Se nenhum algoritmo estiver registrado com o código.
+     */
+    public static Algoritmo buscar(byte codigo) throws StreamCorruptedException {
+        Algoritmo algoritmo = ALGORITMOS.get(codigo);
+        if (algoritmo == null) {
+            throw new StreamCorruptedException("Algoritmo de compressão desconhecido: " + codigo);
+        }
+        return algoritmo;
+    }
+
+    /**
+     * Busca um algoritmo registrado pelo nome (sem diferenciar maiúsculas de minúsculas).
+     * @param nome O nome do algoritmo.
+     * @return O algoritmo correspondente, ou {@code null} se não houver.
+     */
+    public static Algoritmo buscarPorNome(String nome) {
+        for (Algoritmo algoritmo : ALGORITMOS.values()) {
+            if (algoritmo.getNome().equalsIgnoreCase(nome)) {
+                return algoritmo;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Saída que acumula os bytes escritos e grava cada bloco completo comprimido na saída de destino.
+     * {@link #finalizar()} grava o último bloco e o marcador de fim sem fechar a saída de destino.
+     */
+    public static class SaidaBlocos extends OutputStream {
+        private final DataOutputStream destino;
+        private final Algoritmo algoritmo;
+        private final int nivel;
+        private final byte[] bloco;
+        private int ocupados;
+        private long totalOriginal;
+        private long totalGravado;
+        private long nanosCompressao;
+
+        /**
+         * Cria a saída em blocos.
+         * @param destino A saída onde os blocos serão gravados.
+         * @param algoritmo O algoritmo de compressão.
+         * @param tamanhoBloco O tamanho, em bytes, de cada bloco antes da compressão.
+         * @param nivel O nível de compressão.
+         */
+        public SaidaBlocos(OutputStream destino, Algoritmo algoritmo, int tamanhoBloco, int nivel) {
+            this.destino = new DataOutputStream(destino);
+            this.algoritmo = algoritmo;
+            this.nivel = nivel;
+            this.bloco = new byte[Math.max(1, tamanhoBloco)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (ocupados == bloco.length) {
+                gravarBloco();
+            }
+            bloco[ocupados++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (ocupados == bloco.length) {
+                    gravarBloco();
+                }
+                int n = Math.min(len, bloco.length - ocupados);
+                System.arraycopy(b, off, bloco, ocupados, n);
+                ocupados += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        /**
+         * Grava o bloco pendente e o marcador de fim. A saída de destino continua aberta.
+         * @throws IOException Em caso de erro de escrita.
+         */
+        public void finalizar() throws IOException {
+            gravarBloco();
+            CodecBinario.escreverVarInt(destino, 0);
+            destino.flush();
+        }
+
+        /**
+         * Retorna a quantidade de bytes recebidos antes da compressão.
+         * @return O total de bytes originais.
+         */
+        public long getTotalOriginal() {
+            return totalOriginal;
+        }
+
+        /**
+         * Retorna a quantidade de bytes de blocos gravados no destino (sem contar os tamanhos de cada bloco).
+         * @return O total de bytes gravados.
+         */
+        public long getTotalGravado() {
+            return totalGravado;
+        }
+
+        /**
+         * Retorna o tempo gasto comprimindo os blocos, em nanossegundos.
+         * @return O tempo de compressão.
+         */
+        public long getNanosCompressao() {
+            return nanosCompressao;
+        }
+
+        private void gravarBloco() throws IOException {
+            if (ocupados == 0) {
+                return;
+            }
+            long inicio = System.nanoTime();
+            byte[] comprimido = algoritmo.comprimir(bloco, ocupados, nivel);
+            nanosCompressao += System.nanoTime() - inicio;
+            CodecBinario.escreverVarInt(destino, ocupados);
+            if (comprimido.length < ocupados) {
+                CodecBinario.escreverVarInt(destino, comprimido.length);
+                destino.write(comprimido);
+                totalGravado += comprimido.length;
+            } else {
+                CodecBinario.escreverVarInt(destino, ocupados);
+                destino.write(bloco, 0, ocupados);
+                totalGravado += ocupados;
+            }
+            totalOriginal += ocupados;
+            ocupados = 0;
+        }
+    }
+
+    /**
+     * Entrada que lê e descomprime, um de cada vez, os blocos gravados por {@link SaidaBlocos}.
+     */
+    public static class EntradaBlocos extends InputStream {
+        private final DataInputStream origem;
+        private final Algoritmo algoritmo;
+        private byte[] bloco = new byte[0];
+        private byte[] comprimido = new byte[0];
+        private int posicao;
+        private int disponiveis;
+        private boolean fim;
+
+        /**
+         * Cria a entrada em blocos.
+         * @param origem A entrada de onde os blocos serão lidos.
+         * @param algoritmo O algoritmo registrado no cabeçalho do arquivo.
+         */
+        public EntradaBlocos(InputStream origem, Algoritmo algoritmo) {
+            this.origem = new DataInputStream(origem);
+            this.algoritmo = algoritmo;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (posicao == disponiveis && !lerBloco()) {
+                return -1;
+            }
+            return bloco[posicao++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (posicao == disponiveis && !lerBloco()) {
+                return -1;
+            }
+            int n = Math.min(len, disponiveis - posicao);
+            System.arraycopy(bloco, posicao, b, off, n);
+            posicao += n;
+            return n;
+        }
+
+        private boolean lerBloco() throws IOException {
+            if (fim) {
+                return false;
+            }
+            int tamanhoOriginal = CodecBinario.lerVarInt(origem);
+            if (tamanhoOriginal == 0) {
+                fim = true;
+                return false;
+            }
+            int tamanhoGravado = CodecBinario.lerVarInt(origem);
+            if (tamanhoOriginal < 0 || tamanhoGravado < 0 || tamanhoGravado > tamanhoOriginal) {
+                throw new StreamCorruptedException("Cabeçalho de bloco inválido.");
+            }
+            if (bloco.length < tamanhoOriginal) {
+                bloco = new byte[tamanhoOriginal];
+            }
+            if (tamanhoGravado == tamanhoOriginal) {
+                origem.readFully(bloco, 0, tamanhoOriginal);
+            } else {
+                if (comprimido.length < tamanhoGravado) {
+                    comprimido = new byte[tamanhoGravado];
+                }
+                origem.readFully(comprimido, 0, tamanhoGravado);
+                algoritmo.descomprimir(comprimido, tamanhoGravado, bloco, tamanhoOriginal);
+            }
+            posicao = 0;
+            disponiveis = tamanhoOriginal;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package src;
+
+/**
+ * Classe utilitária que centraliza os parâmetros configuráveis da aplicação.
+ * Os valores são lidos das propriedades de sistema da JVM (por exemplo, {@code -Destacao.estoque.durabilidade=FSYNC_POR_COMMIT}),
+ * permitindo ajustar cada instalação sem recompilar; na ausência da propriedade, o valor padrão é utilizado.
+ */
+public class Configuracao {
+
+    /**
+     * Retorna o diretório onde os arquivos de dados são gravados, sempre terminado em {@code /}.
+     * Propriedade: {@code estacao.diretorio} (padrão {@code data/}).
+     * @return O diretório de dados.
+     */
+    public static String getDiretorioDados() {
+        String valor = System.getProperty("estacao.diretorio", "data/").trim();
+        if (valor.isEmpty()) {
+            return "data/";
+        }
+        return valor.endsWith("/") ? valor : valor + "/";
+    }
+
+    /**
+     * Retorna o motor de armazenamento usado pelo {@link Sistema}: {@code ARQUIVOS} ({@link ArmazenamentoArquivos})
+     * ou {@code JDBC} ({@link ArmazenamentoJdbc}).
+     * Propriedade: {@code estacao.armazenamento} (padrão {@code ARQUIVOS}).
+     * @return O nome do motor de armazenamento.
+     */
+    public static String getArmazenamento() {
+        return System.getProperty("estacao.armazenamento", "ARQUIVOS").trim();
+    }
+
+    /**
+     * Retorna a URL JDBC do banco usado por {@link ArmazenamentoJdbc}.
+     * Propriedade: {@code estacao.jdbc.url} (padrão: um banco H2 em arquivo, {@code catalogo}, no diretório de dados).
+     * @return A URL JDBC.
+     */
+    public static String getUrlJdbc() {
+        return System.getProperty("estacao.jdbc.url", "jdbc:h2:./" + getDiretorioDados() + "catalogo");
+    }
+
+    /**
+     * Retorna o usuário do banco usado por {@link ArmazenamentoJdbc}.
+     * Propriedade: {@code estacao.jdbc.usuario} (padrão {@code sa}).
+     * @return O usuário do banco.
+     */
+    public static String getUsuarioJdbc() {
+        return System.getProperty("estacao.jdbc.usuario", "sa");
+    }
+
+    /**
+     * Retorna a senha do banco usado por {@link ArmazenamentoJdbc}.
+     * Propriedade: {@code estacao.jdbc.senha} (padrão vazia).
+     * @return A senha do banco.
+     */
+    public static String getSenhaJdbc() {
+        return System.getProperty("estacao.jdbc.senha", "");
+    }
+
+    /**
+     * Retorna o modo de durabilidade geral da instalação, aplicado ao diário de operações e aos arquivos das coleções.
+     * Propriedade: {@code estacao.durabilidade} (padrão {@code NENHUMA}).
+     * @return O {@link ModoDurabilidade} configurado.
+     */
+    public static ModoDurabilidade getDurabilidade() {
+        return lerModo("estacao.durabilidade", ModoDurabilidade.NENHUMA);
+    }
+
+    /**
+     * Retorna o modo de sincronização do arquivo mapeado de estoque e preço.
+     * Propriedade: {@code estacao.estoque.durabilidade} (padrão: o valor de {@link #getDurabilidade()}).
+     * @return O {@link ModoDurabilidade} configurado.
+     */
+    public static ModoDurabilidade getDurabilidadeEstoque() {
+        return lerModo("estacao.estoque.durabilidade", getDurabilidade());
+    }
+
+    /**
+     * Retorna o intervalo, em milissegundos, entre sincronizações no modo {@link ModoDurabilidade#FSYNC_PERIODICO}.
+     * Propriedade: {@code estacao.durabilidade.intervaloMs} (padrão 1000).
+     * @return O intervalo de sincronização em milissegundos.
+     */
+    public static long getIntervaloSincronizacaoMs() {
+        return Math.max(1, Long.getLong("estacao.durabilidade.intervaloMs", 1000L));
+    }
+
+    /**
+     * Retorna o tempo máximo, em milissegundos, que o escritor do diário espera por novas alterações
+     * para gravá-las no mesmo lote (group commit).
+     * Propriedade: {@code estacao.gravacao.janelaMs} (padrão 5).
+     * @return A janela de agrupamento em milissegundos.
+     */
+    public static long getJanelaGravacaoMs() {
+        return Math.max(0, Long.getLong("estacao.gravacao.janelaMs", 5L));
+    }
+
+    /**
+     * Retorna a quantidade máxima de registros gravados pelo escritor do diário em um único lote.
+     * Propriedade: {@code estacao.gravacao.tamanhoLote} (padrão 256).
+     * @return O tamanho máximo do lote.
+     */
+    public static int getTamanhoLoteGravacao() {
+        return Math.max(1, Integer.getInteger("estacao.gravacao.tamanhoLote", 256));
+    }
+
+    /**
+     * Retorna a quantidade de linhas lidas, validadas e cadastradas de uma só vez pelo {@link ImportadorCatalogo}.
+     * Propriedade: {@code estacao.importacao.tamanhoLote} (padrão 1000).
+     * @return A quantidade de linhas por lote de importação.
+     */
+    public static int getTamanhoLoteImportacao() {
+        return Math.max(1, Integer.getInteger("estacao.importacao.tamanhoLote", 1000));
+    }
+
+    /**
+     * Retorna o tamanho, em bytes, a partir do qual o segmento ativo do diário de operações é selado
+     * e um novo segmento é iniciado.
+     * Propriedade: {@code estacao.diario.tamanhoSegmento} (padrão 1048576).
+     * @return O tamanho máximo de um segmento em bytes.
+     */
+    public static long getTamanhoSegmentoDiario() {
+        return Math.max(1, Long.getLong("estacao.diario.tamanhoSegmento", 1024L * 1024));
+    }
+
+    /**
+     * Retorna a quantidade de segmentos selados do diário que dispara uma compactação automática em segundo plano.
+     * Com o valor 0, a compactação só ocorre quando solicitada (por exemplo, em horário de menor movimento,
+     * por meio de {@link Sistema#compactarDiario()}).
+     * Propriedade: {@code estacao.diario.segmentosCompactacao} (padrão 4).
+     * @return A quantidade de segmentos selados que dispara a compactação, ou 0 para desativá-la.
+     */
+    public static int getSegmentosCompactacao() {
+        return Math.max(0, Integer.getInteger("estacao.diario.segmentosCompactacao", 4));
+    }
+
+    /**
+     * Retorna o algoritmo usado para comprimir os arquivos das coleções ao gravá-los.
+     * Arquivos já gravados são lidos com o algoritmo registrado em seu cabeçalho, independentemente deste valor.
+     * Propriedade: {@code estacao.compressao} (padrão {@code NENHUMA}; também aceita {@code DEFLATE}
+     * ou o nome de qualquer algoritmo registrado em {@link CompressaoBlocos}).
+     * @return O {@link CompressaoBlocos.Algoritmo} configurado.
+     */
+    public static CompressaoBlocos.Algoritmo getCompressao() {
+        String valor = System.getProperty("estacao.compressao");
+        if (valor == null || valor.trim().isEmpty()) {
+            return CompressaoBlocos.NENHUMA;
+        }
+        CompressaoBlocos.Algoritmo algoritmo = CompressaoBlocos.buscarPorNome(valor.trim());
+        if (algoritmo == null) {
+            System.err.println("Valor inválido para estacao.compressao: " + valor + ". Usando " + CompressaoBlocos.NENHUMA.getNome() + ".");
+            return CompressaoBlocos.NENHUMA;
+        }
+        return algoritmo;
+    }
+
+    /**
+     * Retorna o nível de compressão (para o {@link CompressaoBlocos#DEFLATE}, de 0 a 9).
+     * Propriedade: {@code estacao.compressao.nivel} (padrão 6).
+     * @return O nível de compressão.
+     */
+    public static int getNivelCompressao() {
+        return Integer.getInteger("estacao.compressao.nivel", 6);
+    }
+
+    /**
+     * Retorna o tamanho, em bytes, de cada bloco comprimido de forma independente.
+     * Blocos maiores comprimem melhor; blocos menores reduzem a memória usada na leitura.
+     * Propriedade: {@code estacao.compressao.tamanhoBloco} (padrão 65536).
+     * @return O tamanho do bloco em bytes.
+     */
+    public static int getTamanhoBlocoCompressao() {
+        return Math.max(512, Integer.getInteger("estacao.compressao.tamanhoBloco", 64 * 1024));
+    }
+
+    /**
+     * Lê um {@link ModoDurabilidade} de uma propriedade de sistema. Valores inválidos são ignorados com um aviso.
+     */
+    private static ModoDurabilidade lerModo(String propriedade, ModoDurabilidade padrao) {
+        String valor = System.getProperty(propriedade);
+        if (valor == null || valor.trim().isEmpty()) {
+            return padrao;
+        }
+        try {
+            return ModoDurabilidade.valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Valor inválido para " + propriedade + ": " + valor + ". Usando " + padrao + ".");
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,904 @@
+package src;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Diário (journal) de operações do catálogo, gravado apenas por anexação (append-only).
+ * Cada alteração feita pelo {@link Sistema} é registrada como um registro compacto contendo
+ * o estado final da entidade afetada, em vez de regravar coleções inteiras a cada edição.
+ * <p>
+ * Formato de cada registro: {@code [int tamanho][int crc32][byte tipo][dados]}.
+ * Os registros descrevem estados (e não comandos), portanto reaplicá-los sobre um checkpoint
+ * mais novo é inofensivo. Um registro incompleto ou corrompido no final do arquivo (por exemplo,
+ * após uma queda durante a gravação) é descartado na reprodução.
+ * <p>
+ * A gravação no arquivo é feita por um {@link EscritorAssincrono}: os registros são apenas enfileirados
+ * e a thread do escritor agrupa os que chegam próximos em uma única escrita (group commit).
+ * <p>
+ * O diário é dividido em segmentos ({@code diario-000001.log}, {@code diario-000002.log}, ...). Os registros são
+ * sempre anexados ao segmento ativo; quando ele atinge {@link Configuracao#getTamanhoSegmentoDiario()}, é selado
+ * (passa a ser imutável) e um novo segmento é iniciado. Um compactador em segundo plano funde os segmentos selados
+ * em um só, mantendo apenas o registro mais recente de cada entidade: estados substituídos por edições posteriores
+ * e entidades excluídas (das quais resta apenas o registro de exclusão) são descartados.
+ */
+public class DiarioOperacoes implements Closeable {
+
+    /**
+     * Destino dos registros reproduzidos do diário: recebe cada estado ou exclusão registrado, na ordem de gravação.
+     * Editora, autores e categoria de livros e jornais chegam como instâncias provisórias (apenas com o ID),
+     * que devem ser religadas às instâncias canônicas depois da carga.
+     */
+    public interface Destino {
+        void restaurarLivro(Livro livro);
+        void restaurarJornal(Jornal jornal);
+        void restaurarAutor(Autor autor);
+        void restaurarEditora(Editora editora);
+        void restaurarCategoria(Categoria categoria);
+        void restaurarExclusaoLivro(int idLivro);
+        void restaurarExclusaoJornal(int idJornal);
+        void restaurarExclusaoAutor(int idAutor);
+        void restaurarExclusaoEditora(int idEditora);
+        void restaurarExclusaoCategoria(int idCategoria);
+        void restaurarEstoque(int idPublicacao, int estoque);
+    }
+
+    private static final byte TIPO_LIVRO = 1;
+    private static final byte TIPO_JORNAL = 2;
+    private static final byte TIPO_AUTOR = 3;
+    private static final byte TIPO_EDITORA = 4;
+    private static final byte TIPO_CATEGORIA = 5;
+    private static final byte TIPO_EXCLUSAO_LIVRO = 6;
+    private static final byte TIPO_EXCLUSAO_JORNAL = 7;
+    /**
+     * Estoque absoluto de uma publicação. Não é mais gravado (o estoque fica no {@link EstoqueMapeado}),
+     * mas continua sendo reproduzido para diários gravados por versões anteriores.
+     */
+    private static final byte TIPO_ESTOQUE = 8;
+    private static final byte TIPO_EXCLUSAO_AUTOR = 9;
+    private static final byte TIPO_EXCLUSAO_EDITORA = 10;
+    private static final byte TIPO_EXCLUSAO_CATEGORIA = 11;
+
+    /**
+     * Valor gravado no lugar de uma data ausente.
+     */
+    private static final long DATA_NULA = Long.MIN_VALUE;
+
+    /**
+     * Diretório onde ficam os segmentos do diário.
+     */
+    private final File diretorio;
+    /**
+     * Prefixo do nome dos segmentos (o nome do arquivo do diário sem a extensão).
+     */
+    private final String prefixo;
+    /**
+     * Arquivo único gravado por versões anteriores (sem segmentos); é reproduzido antes dos segmentos e tratado como selado.
+     */
+    private final File arquivoLegado;
+    /**
+     * Segmentos selados (imutáveis), na ordem em que devem ser reproduzidos.
+     */
+    private final List<File> selados = new ArrayList<>();
+    /**
+     * Número de sequência do segmento ativo, que recebe os novos registros.
+     */
+    private long sequenciaAtiva;
+    /**
+     * Tamanho do segmento ativo em bytes.
+     */
+    private long tamanhoAtivo;
+    /**
+     * Fluxo de saída do segmento ativo, aberto em modo de anexação.
+     */
+    private FileOutputStream saida;
+    /**
+     * Tamanho atual do diário (todos os segmentos) em bytes.
+     */
+    private long tamanho;
+    /**
+     * Escritor em segundo plano que agrupa os registros enfileirados em lotes.
+     */
+    private final EscritorAssincrono<byte[]> escritor;
+    /**
+     * Quando os lotes gravados são forçados para o disco.
+     */
+    private final ModoDurabilidade modo;
+    /**
+     * Tamanho a partir do qual o segmento ativo é selado.
+     */
+    private final long tamanhoMaximoSegmento;
+    /**
+     * Quantidade de segmentos selados que dispara a compactação automática (0 desativa).
+     */
+    private final int segmentosCompactacao;
+    /**
+     * Indica se houve gravação desde a última sincronização (usado no modo periódico).
+     */
+    private boolean pendente;
+    private ScheduledExecutorService sincronizador;
+    /**
+     * Executor de uma única thread (daemon) que realiza as compactações automáticas.
+     */
+    private final ExecutorService compactador;
+    /**
+     * Serializa a compactação com o descarte do diário ({@link #truncarAte(long)}).
+     * Deve ser obtida sempre antes do monitor do próprio diário.
+     */
+    private final Object travaCompactacao = new Object();
+    private boolean compactacaoAgendada;
+
+    /**
+     * Cria (ou reabre) o diário de operações no diretório de dados.
+     * O momento em que os lotes são forçados para o disco segue {@link Configuracao#getDurabilidade()}.
+     * @param nomeArquivo O nome do arquivo do diário dentro de {@link Util#DIRETORIO_DADOS}; os segmentos recebem
+     *                    o mesmo nome, sem a extensão, seguido do número de sequência.
+     */
+    public DiarioOperacoes(String nomeArquivo) {
+        this(new File(Util.DIRETORIO_DADOS), nomeArquivo);
+    }
+
+    /**
+     * Cria (ou reabre) o diário de operações em qualquer diretório (ver {@link #DiarioOperacoes(String)}).
+     * @param diretorio O diretório dos segmentos do diário.
+     * @param nomeArquivo O nome do arquivo do diário dentro do diretório.
+     */
+    public DiarioOperacoes(File diretorio, String nomeArquivo) {
+        this.diretorio = diretorio;
+        this.arquivoLegado = new File(diretorio, nomeArquivo);
+        int ponto = nomeArquivo.lastIndexOf('.');
+        this.prefixo = ponto > 0 ? nomeArquivo.substring(0, ponto) : nomeArquivo;
+        this.modo = Configuracao.getDurabilidade();
+        this.tamanhoMaximoSegmento = Configuracao.getTamanhoSegmentoDiario();
+        this.segmentosCompactacao = Configuracao.getSegmentosCompactacao();
+        listarSegmentos();
+        if (modo == ModoDurabilidade.FSYNC_PERIODICO) {
+            long intervalo = Configuracao.getIntervaloSincronizacaoMs();
+            sincronizador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "sincronizacao-diario");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sincronizador.scheduleAtFixedRate(this::sincronizarPendentes, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        }
+        this.compactador = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "compactacao-diario");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.escritor = new EscritorAssincrono<>("escritor-diario", Configuracao.getJanelaGravacaoMs(),
+                Configuracao.getTamanhoLoteGravacao(), this::gravarLote);
+    }
+
+    /**
+     * Localiza o arquivo legado e os segmentos existentes, descarta sobras de compactações interrompidas
+     * e define o número de sequência do novo segmento ativo.
+     */
+    private void listarSegmentos() {
+        TreeMap<Long, File> segmentos = new TreeMap<>();
+        File[] arquivos = diretorio.listFiles();
+        if (arquivos != null) {
+            for (File arquivo : arquivos) {
+                String nome = arquivo.getName();
+                if (!nome.startsWith(prefixo + "-")) {
+                    continue;
+                }
+                if (nome.endsWith(".tmp")) {
+                    arquivo.delete();
+                    continue;
+                }
+                Long sequencia = sequenciaDe(nome);
+                if (sequencia != null) {
+                    segmentos.put(sequencia, arquivo);
+                }
+            }
+        }
+        if (arquivoLegado.exists()) {
+            selados.add(arquivoLegado);
+        }
+        selados.addAll(segmentos.values());
+        sequenciaAtiva = segmentos.isEmpty() ? 1 : segmentos.lastKey() + 1;
+        for (File segmento : selados) {
+            tamanho += segmento.length();
+        }
+    }
+
+    /**
+     * Extrai o número de sequência do nome de um segmento ({@code prefixo-NNNNNN.log}).
+     * @return O número de sequência, ou {@code null} se o nome não for de um segmento.
+     */
+    private Long sequenciaDe(String nome) {
+        if (!nome.endsWith(".log")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(nome.substring(prefixo.length() + 1, nome.length() - 4));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private File segmento(long sequencia) {
+        return new File(diretorio, String.format("%s-%06d.log", prefixo, sequencia));
+    }
+
+    /**
+     * Retorna o tamanho atual do diário (a soma de todos os segmentos) em bytes.
+     * @return O tamanho do diário.
+     */
+    public synchronized long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Registra o estado completo de um livro (cadastro ou edição).
+     * @param livro O {@link Livro} cadastrado ou editado.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo
+     *         (e sincronizado com o disco, no modo {@link ModoDurabilidade#FSYNC_POR_COMMIT}).
+     */
+    public CompletableFuture<Void> registrarLivro(Livro livro) {
+        return anexar(registroLivro(livro));
+    }
+
+    private static byte[] registroLivro(Livro livro) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(TIPO_LIVRO);
+            escreverPublicacao(out, livro);
+            out.writeInt(livro.getQuantidadePaginas());
+            out.writeUTF(livro.getIsbn());
+            out.writeInt(livro.getAutores().size());
+            for (Autor autor : livro.getAutores()) {
+                out.writeInt(autor.getId());
+            }
+            out.writeInt(livro.getCategoria() != null ? livro.getCategoria().getId() : 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Registra o estado completo de um jornal (cadastro ou edição).
+     * @param jornal O {@link Jornal} cadastrado ou editado.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarJornal(Jornal jornal) {
+        return anexar(registroJornal(jornal));
+    }
+
+    private static byte[] registroJornal(Jornal jornal) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(TIPO_JORNAL);
+            escreverPublicacao(out, jornal);
+            escreverData(out, jornal.getDataPublicacao());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Registra o cadastro de um autor.
+     * @param autor O {@link Autor} cadastrado.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarAutor(Autor autor) {
+        return anexar(registroAutor(autor));
+    }
+
+    private static byte[] registroAutor(Autor autor) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(TIPO_AUTOR);
+            out.writeInt(autor.getId());
+            out.writeUTF(autor.getNome());
+            out.writeUTF(autor.getNacionalidade() != null ? autor.getNacionalidade() : "");
+            escreverData(out, autor.getDataNascimento());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Registra o cadastro de uma editora.
+     * @param editora A {@link Editora} cadastrada.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarEditora(Editora editora) {
+        return anexar(registroNomeado(TIPO_EDITORA, editora.getId(), editora.getNome()));
+    }
+
+    /**
+     * Registra o cadastro de uma categoria.
+     * @param categoria A {@link Categoria} cadastrada.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarCategoria(Categoria categoria) {
+        return anexar(registroNomeado(TIPO_CATEGORIA, categoria.getId(), categoria.getNome()));
+    }
+
+    /**
+     * Registra o cadastro de todas as entidades de um lote com uma única gravação no arquivo
+     * (e uma única sincronização com o disco, no modo {@link ModoDurabilidade#FSYNC_POR_COMMIT}).
+     * Cada entidade continua sendo um registro próprio, reproduzido e compactado como os demais.
+     * @param lote As entidades cadastradas; editoras, autores e categorias são registrados antes das publicações.
+     * @return Um {@link CompletableFuture} concluído quando todo o lote estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarLote(LoteCadastros lote) {
+        ByteArrayOutputStream quadros = new ByteArrayOutputStream();
+        for (Editora editora : lote.getEditoras()) {
+            quadros.writeBytes(enquadrar(registroNomeado(TIPO_EDITORA, editora.getId(), editora.getNome())));
+        }
+        for (Autor autor : lote.getAutores()) {
+            quadros.writeBytes(enquadrar(registroAutor(autor)));
+        }
+        for (Categoria categoria : lote.getCategorias()) {
+            quadros.writeBytes(enquadrar(registroNomeado(TIPO_CATEGORIA, categoria.getId(), categoria.getNome())));
+        }
+        for (Livro livro : lote.getLivros()) {
+            quadros.writeBytes(enquadrar(registroLivro(livro)));
+        }
+        for (Jornal jornal : lote.getJornais()) {
+            quadros.writeBytes(enquadrar(registroJornal(jornal)));
+        }
+        return escritor.enviar(quadros.toByteArray());
+    }
+
+    /**
+     * Registra a exclusão de um livro.
+     * @param idLivro O ID do livro excluído.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarExclusaoLivro(int idLivro) {
+        return anexar(registroInteiros(TIPO_EXCLUSAO_LIVRO, idLivro));
+    }
+
+    /**
+     * Registra a exclusão de um jornal.
+     * @param idJornal O ID do jornal excluído.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarExclusaoJornal(int idJornal) {
+        return anexar(registroInteiros(TIPO_EXCLUSAO_JORNAL, idJornal));
+    }
+
+    /**
+     * Registra a exclusão de um autor.
+     * @param idAutor O ID do autor excluído.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarExclusaoAutor(int idAutor) {
+        return anexar(registroInteiros(TIPO_EXCLUSAO_AUTOR, idAutor));
+    }
+
+    /**
+     * Registra a exclusão de uma editora.
+     * @param idEditora O ID da editora excluída.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarExclusaoEditora(int idEditora) {
+        return anexar(registroInteiros(TIPO_EXCLUSAO_EDITORA, idEditora));
+    }
+
+    /**
+     * Registra a exclusão de uma categoria.
+     * @param idCategoria O ID da categoria excluída.
+     * @return Um {@link CompletableFuture} concluído quando o registro estiver gravado no arquivo.
+     */
+    public CompletableFuture<Void> registrarExclusaoCategoria(int idCategoria) {
+        return anexar(registroInteiros(TIPO_EXCLUSAO_CATEGORIA, idCategoria));
+    }
+
+    /**
+     * Lê todos os segmentos do diário, em ordem, e reaplica cada registro no {@link Destino} informado.
+     * A leitura de um segmento para no primeiro registro incompleto ou com CRC inválido; no último segmento,
+     * o arquivo é truncado nesse ponto para que novos registros não fiquem atrás de dados corrompidos.
+     * Os segmentos existentes passam a ser selados, e os novos registros vão para um novo segmento ativo.
+     *
+     * @param destino O destino que receberá os registros reproduzidos.
+     * @return A quantidade de registros reaplicados.
+     */
+    public int reproduzir(Destino destino) {
+        synchronized (travaCompactacao) {
+            synchronized (this) {
+                int aplicados = 0;
+                tamanho = 0;
+                for (int i = 0; i < selados.size(); i++) {
+                    File arquivo = selados.get(i);
+                    long posicaoValida = 0;
+                    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+                        while (true) {
+                            byte[] registro = lerRegistro(in);
+                            if (registro == null) {
+                                break;
+                            }
+                            try {
+                                aplicar(destino, registro);
+                                aplicados++;
+                            } catch (RuntimeException e) {
+                                System.err.println("Registro do diário ignorado: " + e.getMessage());
+                            }
+                            posicaoValida += 8 + registro.length;
+                        }
+                    } catch (IOException e) {
+                        System.err.println("Erro ao ler o diário " + arquivo.getName() + ": " + e.getMessage());
+                    }
+                    if (arquivo.length() > posicaoValida) {
+                        if (i == selados.size() - 1) {
+                            System.err.println("Final do diário " + arquivo.getName() + " corrompido. Descartando " + (arquivo.length() - posicaoValida) + " bytes.");
+                            try (RandomAccessFile raf = new RandomAccessFile(arquivo, "rw")) {
+                                raf.setLength(posicaoValida);
+                            } catch (IOException e) {
+                                System.err.println("Erro ao truncar o diário " + arquivo.getName() + ": " + e.getMessage());
+                            }
+                        } else {
+                            System.err.println("Segmento " + arquivo.getName() + " corrompido. " + (arquivo.length() - posicaoValida) + " bytes ignorados.");
+                        }
+                    }
+                    tamanho += arquivo.length();
+                }
+                if (aplicados > 0) {
+                    System.out.println(aplicados + " operações reaplicadas a partir do diário " + prefixo);
+                }
+                return aplicados;
+            }
+        }
+    }
+
+    /**
+     * Sela o segmento ativo, se ele tiver registros, marcando o ponto de corte de um checkpoint: os registros
+     * gravados até aqui ficam em segmentos de sequência menor ou igual à devolvida, e os enviados depois vão para
+     * segmentos posteriores. Registros enviados antes, mas ainda na fila do escritor, também vão para segmentos
+     * posteriores; como descrevem estados, reproduzi-los sobre o checkpoint é inofensivo.
+     * @return O número de sequência do último segmento anterior ao corte.
+     */
+    public synchronized long selar() {
+        if (tamanhoAtivo > 0 || segmento(sequenciaAtiva).length() > 0) {
+            selarSegmentoAtivo();
+        }
+        return sequenciaAtiva - 1;
+    }
+
+    /**
+     * Descarta os segmentos até o ponto de corte devolvido por {@link #selar()} (e o arquivo legado), mantendo os
+     * posteriores. Deve ser chamado apenas depois que o checkpoint daquele corte tiver sido concluído. Aguarda o
+     * término de uma compactação em andamento; um segmento compactado que funde registros dos dois lados do corte
+     * é mantido.
+     * @param corte O número de sequência do último segmento contido no checkpoint.
+     */
+    public void truncarAte(long corte) {
+        synchronized (travaCompactacao) {
+            synchronized (this) {
+                Iterator<File> iterador = selados.iterator();
+                while (iterador.hasNext()) {
+                    File segmento = iterador.next();
+                    Long sequencia = segmento.equals(arquivoLegado) ? null : sequenciaDe(segmento.getName());
+                    if (sequencia != null && sequencia > corte) {
+                        continue;
+                    }
+                    long bytes = segmento.length();
+                    if (segmento.delete() || !segmento.exists()) {
+                        tamanho -= bytes;
+                        iterador.remove();
+                    } else {
+                        System.err.println("Erro ao truncar o diário " + segmento.getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Funde os segmentos selados em um único segmento, mantendo apenas o registro mais recente de cada entidade.
+     * Registros de estado substituídos por outros posteriores (edições) e estados de entidades excluídas são descartados;
+     * o registro de exclusão é mantido, pois a entidade pode existir no último checkpoint.
+     * O segmento ativo não é afetado, de modo que a gravação de novos registros continua durante a compactação.
+     * <p>
+     * O resultado é gravado em um arquivo temporário e renomeado sobre o último segmento compactado; só então os
+     * demais são apagados. Uma queda no meio do processo deixa segmentos antigos que, reproduzidos antes do
+     * compactado, levam ao mesmo estado final.
+     *
+     * @return A quantidade de bytes liberados.
+     */
+    public long compactar() {
+        synchronized (travaCompactacao) {
+            List<File> alvo;
+            synchronized (this) {
+                compactacaoAgendada = false;
+                alvo = new ArrayList<>(selados);
+            }
+            if (alvo.isEmpty()) {
+                return 0;
+            }
+            Map<Long, byte[]> vigentes = new LinkedHashMap<>();
+            long tamanhoAnterior = 0;
+            int lidos = 0;
+            long avulsos = 0;
+            for (File arquivo : alvo) {
+                tamanhoAnterior += arquivo.length();
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+                    byte[] registro;
+                    while ((registro = lerRegistro(in)) != null) {
+                        lidos++;
+                        long chave = chaveRegistro(registro);
+                        if (chave == 0) {
+                            chave = --avulsos; // Registros sem entidade própria são mantidos na ordem original.
+                        }
+                        vigentes.remove(chave);
+                        vigentes.put(chave, registro);
+                    }
+                } catch (IOException e) {
+                    System.err.println("Erro ao ler o segmento " + arquivo.getName() + " para compactação: " + e.getMessage());
+                    return 0;
+                }
+            }
+
+            File destino = alvo.get(alvo.size() - 1);
+            if (!destino.getName().startsWith(prefixo + "-")) {
+                destino = segmento(0);
+            }
+            File temporario = new File(destino.getPath() + ".tmp");
+            try {
+                try (FileOutputStream fos = new FileOutputStream(temporario);
+                     BufferedOutputStream out = new BufferedOutputStream(fos)) {
+                    for (byte[] registro : vigentes.values()) {
+                        out.write(enquadrar(registro));
+                    }
+                    out.flush();
+                    if (modo != ModoDurabilidade.NENHUMA) {
+                        fos.getChannel().force(true);
+                    }
+                }
+                synchronized (this) {
+                    try {
+                        Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    for (File arquivo : alvo) {
+                        if (!arquivo.equals(destino)) {
+                            arquivo.delete();
+                        }
+                    }
+                    selados.removeAll(alvo);
+                    selados.add(0, destino);
+                    long tamanhoNovo = destino.length();
+                    tamanho += tamanhoNovo - tamanhoAnterior;
+                    System.out.println("Diário compactado: " + alvo.size() + " segmentos, " + tamanhoAnterior + " -> " + tamanhoNovo
+                            + " bytes, " + (lidos - vigentes.size()) + " registros descartados.");
+                    return tamanhoAnterior - tamanhoNovo;
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao compactar o diário " + prefixo + ": " + e.getMessage());
+                temporario.delete();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Retorna a quantidade de segmentos selados, à espera de compactação.
+     * @return A quantidade de segmentos selados.
+     */
+    public synchronized int getQuantidadeSegmentosSelados() {
+        return selados.size();
+    }
+
+    /**
+     * Grava os registros ainda enfileirados e fecha o fluxo de saída do diário.
+     */
+    @Override
+    public void close() {
+        escritor.close();
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+        }
+        compactador.shutdown();
+        synchronized (this) {
+            sincronizarPendentes();
+            fecharSaida();
+        }
+    }
+
+    /**
+     * Enfileira um registro para ser anexado ao final do diário, precedido do seu tamanho e CRC32.
+     * @param dados O conteúdo do registro.
+     * @return O futuro concluído quando o registro estiver gravado.
+     */
+    private CompletableFuture<Void> anexar(byte[] dados) {
+        return escritor.enviar(enquadrar(dados));
+    }
+
+    /**
+     * Monta o quadro de um registro: {@code [int tamanho][int crc32][dados]}.
+     */
+    private static byte[] enquadrar(byte[] dados) {
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        ByteArrayOutputStream quadro = new ByteArrayOutputStream(dados.length + 8);
+        try (DataOutputStream out = new DataOutputStream(quadro)) {
+            out.writeInt(dados.length);
+            out.writeInt((int) crc.getValue());
+            out.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return quadro.toByteArray();
+    }
+
+    /**
+     * Grava um lote de registros já enquadrados com uma única escrita no arquivo.
+     * Chamado pela thread do {@link EscritorAssincrono}.
+     * @param quadros Os registros do lote, na ordem em que foram enfileirados.
+     * @throws IOException Em caso de erro na gravação.
+     */
+    private synchronized void gravarLote(List<byte[]> quadros) throws IOException {
+        int total = 0;
+        for (byte[] quadro : quadros) {
+            total += quadro.length;
+        }
+        byte[] lote = new byte[total];
+        int posicao = 0;
+        for (byte[] quadro : quadros) {
+            System.arraycopy(quadro, 0, lote, posicao, quadro.length);
+            posicao += quadro.length;
+        }
+        if (saida == null) {
+            diretorio.mkdirs();
+            File ativo = segmento(sequenciaAtiva);
+            tamanhoAtivo = ativo.length();
+            saida = new FileOutputStream(ativo, true);
+        }
+        saida.write(lote);
+        saida.flush();
+        if (modo == ModoDurabilidade.FSYNC_POR_COMMIT) {
+            saida.getChannel().force(false);
+        } else {
+            pendente = true;
+        }
+        tamanho += total;
+        tamanhoAtivo += total;
+        if (tamanhoAtivo >= tamanhoMaximoSegmento) {
+            selarSegmentoAtivo();
+        }
+    }
+
+    /**
+     * Sela o segmento ativo (que passa a ser imutável) e inicia um novo segmento na próxima gravação.
+     * Agenda uma compactação quando a quantidade de segmentos selados atinge o limite configurado.
+     */
+    private void selarSegmentoAtivo() {
+        sincronizarPendentes();
+        fecharSaida();
+        selados.add(segmento(sequenciaAtiva));
+        sequenciaAtiva++;
+        tamanhoAtivo = 0;
+        if (segmentosCompactacao > 0 && selados.size() >= segmentosCompactacao && !compactacaoAgendada) {
+            compactacaoAgendada = true;
+            compactador.execute(this::compactar);
+        }
+    }
+
+    /**
+     * Força para o disco os lotes gravados desde a última sincronização (modo {@link ModoDurabilidade#FSYNC_PERIODICO}).
+     */
+    private synchronized void sincronizarPendentes() {
+        if (pendente && saida != null) {
+            try {
+                saida.getChannel().force(false);
+                pendente = false;
+            } catch (IOException e) {
+                System.err.println("Erro ao sincronizar o diário " + prefixo + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void fecharSaida() {
+        if (saida != null) {
+            try {
+                saida.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o diário " + prefixo + ": " + e.getMessage());
+            }
+            saida = null;
+        }
+    }
+
+    /**
+     * Lê o próximo registro do diário, validando seu tamanho e CRC32.
+     * @return O conteúdo do registro, ou {@code null} no fim do arquivo ou em um registro inválido.
+     */
+    private static byte[] lerRegistro(DataInputStream in) throws IOException {
+        int tamanhoRegistro;
+        int crcEsperado;
+        byte[] dados;
+        try {
+            tamanhoRegistro = in.readInt();
+            crcEsperado = in.readInt();
+            if (tamanhoRegistro <= 0 || tamanhoRegistro > (1 << 24)) {
+                return null;
+            }
+            dados = new byte[tamanhoRegistro];
+            in.readFully(dados);
+        } catch (EOFException e) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+        return (int) crc.getValue() == crcEsperado ? dados : null;
+    }
+
+    /**
+     * Retorna a chave da entidade afetada por um registro (tipo de entidade e ID), usada na compactação
+     * para manter apenas o registro mais recente de cada entidade. Cadastro, edição e exclusão de uma mesma
+     * entidade têm a mesma chave.
+     * @return A chave, ou 0 para registros que não devem ser agrupados.
+     */
+    private static long chaveRegistro(byte[] registro) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(registro));
+        byte tipo = in.readByte();
+        long entidade;
+        switch (tipo) {
+            case TIPO_LIVRO:
+            case TIPO_EXCLUSAO_LIVRO:
+                entidade = TIPO_LIVRO;
+                break;
+            case TIPO_JORNAL:
+            case TIPO_EXCLUSAO_JORNAL:
+                entidade = TIPO_JORNAL;
+                break;
+            case TIPO_AUTOR:
+            case TIPO_EXCLUSAO_AUTOR:
+                entidade = TIPO_AUTOR;
+                break;
+            case TIPO_EDITORA:
+            case TIPO_EXCLUSAO_EDITORA:
+                entidade = TIPO_EDITORA;
+                break;
+            case TIPO_CATEGORIA:
+            case TIPO_EXCLUSAO_CATEGORIA:
+                entidade = TIPO_CATEGORIA;
+                break;
+            default:
+                return 0;
+        }
+        return (entidade << 32) | (in.readInt() & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Decodifica um registro e o aplica no destino.
+     */
+    private static void aplicar(Destino destino, byte[] registro) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(registro));
+        byte tipo = in.readByte();
+        switch (tipo) {
+            case TIPO_LIVRO: {
+                int id = in.readInt();
+                String titulo = in.readUTF();
+                float preco = in.readFloat();
+                int estoque = in.readInt();
+                Editora editora = referenciaEditora(in.readInt());
+                int paginas = in.readInt();
+                String isbn = in.readUTF();
+                Livro livro = new Livro(id, titulo, preco, editora, paginas, isbn);
+                livro.setEstoqueDisponivel(estoque);
+                int quantidadeAutores = in.readInt();
+                for (int i = 0; i < quantidadeAutores; i++) {
+                    livro.addAutor(new Autor(in.readInt(), null, null, null));
+                }
+                int idCategoria = in.readInt();
+                livro.setCategoria(idCategoria != 0 ? new Categoria(idCategoria, null) : null);
+                destino.restaurarLivro(livro);
+                break;
+            }
+            case TIPO_JORNAL: {
+                int id = in.readInt();
+                String titulo = in.readUTF();
+                float preco = in.readFloat();
+                int estoque = in.readInt();
+                Editora editora = referenciaEditora(in.readInt());
+                Jornal jornal = new Jornal(id, titulo, preco, editora, lerData(in));
+                jornal.setEstoqueDisponivel(estoque);
+                destino.restaurarJornal(jornal);
+                break;
+            }
+            case TIPO_AUTOR: {
+                int id = in.readInt();
+                String nome = in.readUTF();
+                String nacionalidade = in.readUTF();
+                destino.restaurarAutor(new Autor(id, nome, nacionalidade, lerData(in)));
+                break;
+            }
+            case TIPO_EDITORA:
+                destino.restaurarEditora(new Editora(in.readInt(), in.readUTF()));
+                break;
+            case TIPO_CATEGORIA:
+                destino.restaurarCategoria(new Categoria(in.readInt(), in.readUTF()));
+                break;
+            case TIPO_EXCLUSAO_LIVRO:
+                destino.restaurarExclusaoLivro(in.readInt());
+                break;
+            case TIPO_EXCLUSAO_JORNAL:
+                destino.restaurarExclusaoJornal(in.readInt());
+                break;
+            case TIPO_EXCLUSAO_AUTOR:
+                destino.restaurarExclusaoAutor(in.readInt());
+                break;
+            case TIPO_EXCLUSAO_EDITORA:
+                destino.restaurarExclusaoEditora(in.readInt());
+                break;
+            case TIPO_EXCLUSAO_CATEGORIA:
+                destino.restaurarExclusaoCategoria(in.readInt());
+                break;
+            case TIPO_ESTOQUE:
+                destino.restaurarEstoque(in.readInt(), in.readInt());
+                break;
+            default:
+                throw new IllegalStateException("Tipo de registro desconhecido: " + tipo);
+        }
+    }
+
+    private static Editora referenciaEditora(int id) {
+        return id != 0 ? new Editora(id, null) : null;
+    }
+
+    private static void escreverPublicacao(DataOutputStream out, Publicacao publicacao) throws IOException {
+        out.writeInt(publicacao.getId());
+        out.writeUTF(publicacao.getTitulo());
+        out.writeFloat(publicacao.getPreco());
+        out.writeInt(publicacao.getEstoqueDisponivel());
+        out.writeInt(publicacao.getEditora() != null ? publicacao.getEditora().getId() : 0);
+    }
+
+    private static void escreverData(DataOutputStream out, LocalDate data) throws IOException {
+        out.writeLong(data != null ? data.toEpochDay() : DATA_NULA);
+    }
+
+    private static LocalDate lerData(DataInputStream in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == DATA_NULA ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static byte[] registroNomeado(byte tipo, int id, String nome) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(tipo);
+            out.writeInt(id);
+            out.writeUTF(nome);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] registroInteiros(byte tipo, int... valores) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(tipo);
+            for (int valor : valores) {
+                out.writeInt(valor);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
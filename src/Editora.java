@@ -40,6 +40,19 @@ public class Editora implements Serializable {
         this.publicacoes = new ArrayList<>();
     }
 
+    /**
+     * Construtor para restaurar uma Editora com um ID já conhecido (usado na reprodução do {@link DiarioOperacoes}).
+     * O contador estático é ajustado para que novos IDs não colidam com o ID restaurado.
+     * @param id O ID original da editora.
+     * @param nome O nome da editora.
+     */
+    Editora(int id, String nome) {
+        this.id = id;
+        this.nome = nome;
+        this.publicacoes = new ArrayList<>();
+        setProximoIdEstatico(id + 1);
+    }
+
     /**
      * Retorna o ID único da editora.
      * @return O ID da editora.
@@ -106,6 +119,15 @@ public class Editora implements Serializable {
         }
     }
 
+    /**
+     * Retorna o próximo ID estático que será atribuído a um novo objeto Editora.
+     * Utilizado para persistir os contadores de ID junto com os dados.
+     * @return O próximo ID a ser gerado.
+     */
+    public static int getProximoIdEstatico() {
+        return proximoId;
+    }
+
     /**
      * Retorna uma representação em String do objeto Editora.
      * @return Uma String contendo o ID e o Nome da editora.
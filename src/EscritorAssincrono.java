@@ -0,0 +1,155 @@
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escritor em segundo plano com confirmação em grupo (group commit).
+ * Quem chama apenas enfileira o item a ser gravado e recebe um {@link CompletableFuture};
+ * uma thread dedicada agrupa todos os pedidos que chegam dentro de uma janela de tempo
+ * (ou até atingir o tamanho máximo do lote) e os grava de uma só vez, concluindo os futuros
+ * de todo o lote quando a gravação termina.
+ *
+ * @param <T> O tipo dos itens gravados.
+ */
+public class EscritorAssincrono<T> implements Closeable {
+
+    /**
+     * Operação que grava um lote de itens de uma só vez.
+     * @param <T> O tipo dos itens gravados.
+     */
+    public interface GravadorLote<T> {
+        /**
+         * Grava todos os itens do lote.
+         * @param itens Os itens, na ordem em que foram enviados.
+         * @throws IOException Em caso de erro na gravação; todos os futuros do lote são concluídos com o erro.
+         */
+        void gravar(List<T> itens) throws IOException;
+    }
+
+    /**
+     * Um item à espera de gravação e o futuro que será concluído após gravá-lo.
+     * Um pedido com item {@code null} sinaliza o encerramento do escritor.
+     */
+    private static class Pedido<T> {
+        private final T item;
+        private final CompletableFuture<Void> futuro = new CompletableFuture<>();
+
+        private Pedido(T item) {
+            this.item = item;
+        }
+    }
+
+    private final BlockingQueue<Pedido<T>> fila = new LinkedBlockingQueue<>();
+    private final GravadorLote<T> gravador;
+    private final long janelaNanos;
+    private final int tamanhoLote;
+    private final Thread thread;
+    private volatile boolean encerrado;
+
+    /**
+     * Cria o escritor e inicia sua thread (daemon).
+     * @param nome O nome da thread do escritor.
+     * @param janelaMs O tempo máximo, em milissegundos, que o escritor espera por novos pedidos para agrupá-los no mesmo lote.
+     * @param tamanhoLote A quantidade máxima de pedidos gravados em um único lote.
+     * @param gravador A operação que grava cada lote.
+     */
+    public EscritorAssincrono(String nome, long janelaMs, int tamanhoLote, GravadorLote<T> gravador) {
+        this.gravador = gravador;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, janelaMs));
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.thread = new Thread(this::executar, nome);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Enfileira um item para gravação, sem bloquear quem chama.
+     * @param item O item a ser gravado.
+     * @return Um {@link CompletableFuture} concluído quando o lote que contém o item tiver sido gravado.
+     * @throws IllegalStateException Se o escritor já tiver sido encerrado.
+     */
+    public CompletableFuture<Void> enviar(T item) {
+        if (encerrado) {
+            throw new IllegalStateException("Escritor encerrado.");
+        }
+        Pedido<T> pedido = new Pedido<>(item);
+        fila.add(pedido);
+        return pedido.futuro;
+    }
+
+    /**
+     * Encerra o escritor, gravando antes todos os pedidos já enfileirados.
+     */
+    @Override
+    public void close() {
+        if (encerrado) {
+            return;
+        }
+        encerrado = true;
+        fila.add(new Pedido<>(null));
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Laço da thread do escritor: aguarda o primeiro pedido, agrupa os que chegam dentro da janela e grava o lote.
+     */
+    private void executar() {
+        List<Pedido<T>> lote = new ArrayList<>();
+        boolean continuar = true;
+        while (continuar) {
+            try {
+                lote.add(fila.take());
+                long prazo = System.nanoTime() + janelaNanos;
+                while (lote.size() < tamanhoLote) {
+                    Pedido<T> proximo = fila.poll();
+                    if (proximo == null) {
+                        long restante = prazo - System.nanoTime();
+                        if (restante <= 0 || (proximo = fila.poll(restante, TimeUnit.NANOSECONDS)) == null) {
+                            break;
+                        }
+                    }
+                    lote.add(proximo);
+                }
+            } catch (InterruptedException e) {
+                continuar = false;
+            }
+            List<T> itens = new ArrayList<>(lote.size());
+            for (Pedido<T> pedido : lote) {
+                if (pedido.item == null) {
+                    continuar = false;
+                } else {
+                    itens.add(pedido.item);
+                }
+            }
+            gravarLote(lote, itens);
+            lote.clear();
+        }
+    }
+
+    private void gravarLote(List<Pedido<T>> lote, List<T> itens) {
+        try {
+            if (!itens.isEmpty()) {
+                gravador.gravar(itens);
+            }
+            for (Pedido<T> pedido : lote) {
+                pedido.futuro.complete(null);
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Erro ao gravar lote de " + itens.size() + " itens: " + e.getMessage());
+            for (Pedido<T> pedido : lote) {
+                pedido.futuro.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package src;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arquivo de registros de largura fixa, mapeado em memória, que guarda o estoque e o preço de cada publicação.
+ * Cada registro ocupa {@value #TAMANHO_REGISTRO} bytes ({@code int id, int estoqueDisponivel, float preco})
+ * e fica na posição {@code id * TAMANHO_REGISTRO}, de modo que uma alteração de estoque ou preço
+ * é uma única escrita no próprio lugar, sem regravar o restante do catálogo.
+ * <p>
+ * O primeiro registro (ID 0, que nunca é atribuído) guarda o cabeçalho do arquivo.
+ * Os demais atributos de {@link Livro} e {@link Jornal} continuam nos arquivos das coleções;
+ * ao carregar, os valores deste arquivo prevalecem sobre os de lá.
+ */
+public class EstoqueMapeado implements Closeable {
+
+    /**
+     * Tamanho, em bytes, de cada registro do arquivo.
+     */
+    public static final int TAMANHO_REGISTRO = 12;
+
+    private static final int MAGICO = 0x45535431; // "EST1"
+    private static final int CAPACIDADE_INICIAL = 1024;
+
+    private final File arquivo;
+    private final ModoDurabilidade modo;
+    private RandomAccessFile raf;
+    private FileChannel canal;
+    private MappedByteBuffer mapa;
+    /**
+     * Quantidade de registros que cabem no mapeamento atual.
+     */
+    private int capacidade;
+    /**
+     * Indica se houve escrita desde a última sincronização (usado no modo periódico).
+     */
+    private boolean pendente;
+    private ScheduledExecutorService sincronizador;
+
+    /**
+     * Abre (ou cria) o arquivo de estoque mapeado no diretório de dados.
+     * @param nomeArquivo O nome do arquivo dentro de {@link Util#DIRETORIO_DADOS}.
+     * @param modo O {@link ModoDurabilidade} que define quando o mapeamento é forçado para o disco.
+     */
+    public EstoqueMapeado(String nomeArquivo, ModoDurabilidade modo) {
+        this(new File(Util.DIRETORIO_DADOS + nomeArquivo), modo);
+    }
+
+    /**
+     * Abre (ou cria) o arquivo de estoque mapeado em qualquer diretório.
+     * @param arquivo O arquivo de estoque.
+     * @param modo O {@link ModoDurabilidade} que define quando o mapeamento é forçado para o disco.
+     */
+    public EstoqueMapeado(File arquivo, ModoDurabilidade modo) {
+        this.arquivo = arquivo;
+        this.modo = modo;
+        try {
+            arquivo.getAbsoluteFile().getParentFile().mkdirs();
+            raf = new RandomAccessFile(arquivo, "rw");
+            canal = raf.getChannel();
+            int registrosExistentes = (int) (canal.size() / TAMANHO_REGISTRO);
+            mapear(Math.max(CAPACIDADE_INICIAL, registrosExistentes));
+            if (mapa.getInt(0) != MAGICO) {
+                mapa.putInt(0, MAGICO);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao abrir o arquivo de estoque " + arquivo.getName() + ": " + e.getMessage());
+            mapa = null;
+        }
+        if (modo == ModoDurabilidade.FSYNC_PERIODICO && mapa != null) {
+            long intervalo = Configuracao.getIntervaloSincronizacaoMs();
+            sincronizador = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "sincronizacao-estoque");
+                thread.setDaemon(true);
+                return thread;
+            });
+            sincronizador.scheduleAtFixedRate(this::sincronizarPendentes, intervalo, intervalo, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Grava no lugar o estoque e o preço atuais da publicação.
+     * @param publicacao A {@link Publicacao} cujo estoque ou preço foi alterado.
+     */
+    public synchronized void gravar(Publicacao publicacao) {
+        if (mapa == null) {
+            return;
+        }
+        int id = publicacao.getId();
+        garantirCapacidade(id);
+        int posicao = id * TAMANHO_REGISTRO;
+        mapa.putInt(posicao, id);
+        mapa.putInt(posicao + 4, publicacao.getEstoqueDisponivel());
+        mapa.putFloat(posicao + 8, publicacao.getPreco());
+        aposEscrita();
+    }
+
+    /**
+     * Libera o registro de uma publicação excluída.
+     * @param idPublicacao O ID da publicação excluída.
+     */
+    public synchronized void remover(int idPublicacao) {
+        if (mapa == null || idPublicacao <= 0 || idPublicacao >= capacidade) {
+            return;
+        }
+        mapa.putInt(idPublicacao * TAMANHO_REGISTRO, 0);
+        aposEscrita();
+    }
+
+    /**
+     * Aplica às publicações carregadas o estoque e o preço guardados no arquivo mapeado.
+     * Publicações sem registro válido (por exemplo, vindas de uma versão anterior) têm seus valores gravados no arquivo.
+     * @param publicacoes As publicações carregadas dos arquivos das coleções.
+     */
+    public synchronized void aplicar(Collection<? extends Publicacao> publicacoes) {
+        if (mapa == null) {
+            return;
+        }
+        for (Publicacao publicacao : publicacoes) {
+            int id = publicacao.getId();
+            int posicao = id * TAMANHO_REGISTRO;
+            if (id > 0 && id < capacidade && mapa.getInt(posicao) == id) {
+                publicacao.setEstoqueDisponivel(mapa.getInt(posicao + 4));
+                publicacao.setPreco(mapa.getFloat(posicao + 8));
+            } else {
+                gravar(publicacao);
+            }
+        }
+    }
+
+    /**
+     * Força a gravação do mapeamento no disco, independentemente do modo configurado.
+     */
+    public synchronized void sincronizar() {
+        if (mapa != null) {
+            mapa.force();
+            pendente = false;
+        }
+    }
+
+    /**
+     * Sincroniza o mapeamento e libera o arquivo.
+     */
+    @Override
+    public synchronized void close() {
+        if (sincronizador != null) {
+            sincronizador.shutdown();
+        }
+        if (mapa != null) {
+            sincronizar();
+            mapa = null;
+        }
+        try {
+            if (raf != null) {
+                raf.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar o arquivo de estoque " + arquivo.getName() + ": " + e.getMessage());
+        }
+    }
+
+    private void aposEscrita() {
+        if (modo == ModoDurabilidade.FSYNC_POR_COMMIT) {
+            mapa.force();
+        } else {
+            pendente = true;
+        }
+    }
+
+    private synchronized void sincronizarPendentes() {
+        if (pendente) {
+            sincronizar();
+        }
+    }
+
+    /**
+     * Amplia o mapeamento (dobrando sua capacidade) até que o ID informado caiba nele.
+     */
+    private void garantirCapacidade(int id) {
+        if (id < capacidade) {
+            return;
+        }
+        int novaCapacidade = capacidade;
+        while (novaCapacidade <= id) {
+            novaCapacidade *= 2;
+        }
+        try {
+            if (modo != ModoDurabilidade.NENHUMA) {
+                mapa.force();
+            }
+            mapear(novaCapacidade);
+        } catch (IOException e) {
+            throw new IllegalStateException("Não foi possível ampliar o arquivo de estoque: " + e.getMessage(), e);
+        }
+    }
+
+    private void mapear(int novaCapacidade) throws IOException {
+        mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) novaCapacidade * TAMANHO_REGISTRO);
+        capacidade = novaCapacidade;
+    }
+}
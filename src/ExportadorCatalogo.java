@@ -0,0 +1,421 @@
+package src;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Exportação do catálogo em CSV ou JSONL, em fluxo, para consumo por outros sistemas.
+ * <p>
+ * A exportação percorre um {@link InstantaneoCatalogo}, de modo que o arquivo reflete um único ponto no tempo
+ * sem bloquear cadastros e vendas durante a gravação. Cada registro é lido do instantâneo, filtrado e
+ * escrito diretamente no {@link Writer} por um codificador próprio, sem montar textos intermediários
+ * ({@code toString()}, {@code String.format}) nem listas filtradas. Como a criação do instantâneo não copia as listas,
+ * a memória usada não depende do tamanho do catálogo. As únicas cópias são as que os escritores fazem enquanto a
+ * exportação estiver aberta: uma por publicação editada e, na primeira exclusão, uma das referências da lista afetada.
+ * <p>
+ * As colunas de livros e jornais são as mesmas aceitas pelo {@link ImportadorCatalogo}, acrescidas do {@code id},
+ * para que um arquivo exportado possa ser importado em outra instalação. O CSV usa vírgula como separador,
+ * ponto como separador decimal, datas em {@code aaaa-mm-dd} e autores separados por {@value ImportadorCatalogo#SEPARADOR_AUTORES}.
+ */
+public class ExportadorCatalogo {
+
+    /**
+     * Coleção exportada.
+     */
+    public enum Tipo { LIVROS, JORNAIS, AUTORES, EDITORAS, CATEGORIAS }
+
+    private static final String[] COLUNAS_LIVRO = {"id", "titulo", "preco", "editora", "paginas", "isbn", "autores", "categoria", "estoque"};
+    private static final String[] COLUNAS_JORNAL = {"id", "titulo", "preco", "editora", "data", "estoque"};
+    private static final String[] COLUNAS_AUTOR = {"id", "nome", "nacionalidade", "dataNascimento"};
+    private static final String[] COLUNAS_NOME = {"id", "nome"};
+
+    private final Sistema sistema;
+
+    /**
+     * @param sistema O {@link Sistema} cujo catálogo será exportado.
+     */
+    public ExportadorCatalogo(Sistema sistema) {
+        this.sistema = sistema;
+    }
+
+    /**
+     * Exporta uma coleção para um arquivo, escolhendo o formato pela extensão ({@link ImportadorCatalogo.Formato#porNomeArquivo(String)}).
+     * @param tipo A coleção exportada.
+     * @param caminho O caminho do arquivo (sobrescrito se existir).
+     * @param filtro Os critérios de seleção, ou {@code null} para exportar tudo.
+     * @return A quantidade de registros exportados, ou {@code -1} em caso de erro de escrita.
+     */
+    public int exportarArquivo(Tipo tipo, String caminho, FiltroExportacao filtro) {
+        try (Writer saida = Files.newBufferedWriter(Paths.get(caminho), StandardCharsets.UTF_8)) {
+            return exportar(tipo, saida, ImportadorCatalogo.Formato.porNomeArquivo(caminho), filtro);
+        } catch (IOException | InvalidPathException e) {
+            System.err.println("Erro ao exportar para " + caminho + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Exporta uma coleção para um fluxo de bytes, em UTF-8. O fluxo é esvaziado ({@code flush}), mas não é fechado.
+     * @param tipo A coleção exportada.
+     * @param saida O fluxo de destino.
+     * @param formato O formato de saída.
+     * @param filtro Os critérios de seleção, ou {@code null} para exportar tudo.
+     * @return A quantidade de registros exportados, ou {@code -1} em caso de erro de escrita.
+     */
+    public int exportar(Tipo tipo, OutputStream saida, ImportadorCatalogo.Formato formato, FiltroExportacao filtro) {
+        return exportar(tipo, new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8)), formato, filtro);
+    }
+
+    /**
+     * Exporta uma coleção para um {@link Writer}, que deve ser bufferizado pelo chamador.
+     * O {@code Writer} é esvaziado ({@code flush}), mas não é fechado.
+     * @param tipo A coleção exportada.
+     * @param saida O destino.
+     * @param formato O formato de saída.
+     * @param filtro Os critérios de seleção, ou {@code null} para exportar tudo.
+     * @return A quantidade de registros exportados, ou {@code -1} em caso de erro de escrita.
+     */
+    public int exportar(Tipo tipo, Writer saida, ImportadorCatalogo.Formato formato, FiltroExportacao filtro) {
+        FiltroExportacao criterios = filtro != null ? filtro : new FiltroExportacao();
+        try (InstantaneoCatalogo instantaneo = sistema.criarInstantaneo()) {
+            int exportados;
+            switch (tipo) {
+                case LIVROS: exportados = exportarLivros(instantaneo.getLivros(), new Codificador(saida, formato, COLUNAS_LIVRO), criterios); break;
+                case JORNAIS: exportados = exportarJornais(instantaneo.getJornais(), new Codificador(saida, formato, COLUNAS_JORNAL), criterios); break;
+                case AUTORES: exportados = exportarAutores(instantaneo.getAutores(), new Codificador(saida, formato, COLUNAS_AUTOR), criterios); break;
+                case EDITORAS: exportados = exportarEditoras(instantaneo.getEditoras(), new Codificador(saida, formato, COLUNAS_NOME), criterios); break;
+                default: exportados = exportarCategorias(instantaneo.getCategorias(), new Codificador(saida, formato, COLUNAS_NOME), criterios); break;
+            }
+            saida.flush();
+            return exportados;
+        } catch (IOException e) {
+            System.err.println("Erro ao exportar " + tipo.name().toLowerCase() + ": " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private static int exportarLivros(List<Livro> livros, Codificador saida, FiltroExportacao filtro) throws IOException {
+        int exportados = 0;
+        saida.cabecalho();
+        for (Livro livro : livros) {
+            if (!filtro.aceita(livro)) {
+                continue;
+            }
+            saida.inteiro(livro.getId());
+            saida.texto(livro.getTitulo());
+            saida.preco(livro.getPreco());
+            saida.texto(livro.getEditora() != null ? livro.getEditora().getNome() : null);
+            saida.inteiro(livro.getQuantidadePaginas());
+            saida.texto(livro.getIsbn());
+            saida.inicioLista();
+            for (Autor autor : livro.getAutores()) {
+                saida.itemLista(autor.getNome());
+            }
+            saida.fimLista();
+            saida.texto(livro.getCategoria() != null ? livro.getCategoria().getNome() : null);
+            saida.inteiro(livro.getEstoqueDisponivel());
+            saida.fimRegistro();
+            exportados++;
+        }
+        return exportados;
+    }
+
+    private static int exportarJornais(List<Jornal> jornais, Codificador saida, FiltroExportacao filtro) throws IOException {
+        int exportados = 0;
+        saida.cabecalho();
+        for (Jornal jornal : jornais) {
+            if (!filtro.aceita(jornal)) {
+                continue;
+            }
+            saida.inteiro(jornal.getId());
+            saida.texto(jornal.getTitulo());
+            saida.preco(jornal.getPreco());
+            saida.texto(jornal.getEditora() != null ? jornal.getEditora().getNome() : null);
+            saida.data(jornal.getDataPublicacao());
+            saida.inteiro(jornal.getEstoqueDisponivel());
+            saida.fimRegistro();
+            exportados++;
+        }
+        return exportados;
+    }
+
+    private static int exportarAutores(List<Autor> autores, Codificador saida, FiltroExportacao filtro) throws IOException {
+        int exportados = 0;
+        saida.cabecalho();
+        for (Autor autor : autores) {
+            if (!filtro.aceita(autor)) {
+                continue;
+            }
+            saida.inteiro(autor.getId());
+            saida.texto(autor.getNome());
+            saida.texto(autor.getNacionalidade());
+            saida.data(autor.getDataNascimento());
+            saida.fimRegistro();
+            exportados++;
+        }
+        return exportados;
+    }
+
+    private static int exportarEditoras(List<Editora> editoras, Codificador saida, FiltroExportacao filtro) throws IOException {
+        int exportados = 0;
+        saida.cabecalho();
+        for (Editora editora : editoras) {
+            if (filtro.aceita(editora)) {
+                saida.inteiro(editora.getId());
+                saida.texto(editora.getNome());
+                saida.fimRegistro();
+                exportados++;
+            }
+        }
+        return exportados;
+    }
+
+    private static int exportarCategorias(List<Categoria> categorias, Codificador saida, FiltroExportacao filtro) throws IOException {
+        int exportados = 0;
+        saida.cabecalho();
+        for (Categoria categoria : categorias) {
+            if (filtro.aceita(categoria)) {
+                saida.inteiro(categoria.getId());
+                saida.texto(categoria.getNome());
+                saida.fimRegistro();
+                exportados++;
+            }
+        }
+        return exportados;
+    }
+
+    /**
+     * Codificador de registros em CSV ou JSONL, que escreve cada valor diretamente no {@link Writer}.
+     * Os valores de um registro são informados na ordem das colunas, seguidos de {@link #fimRegistro()}.
+     */
+    private static final class Codificador {
+        private final Writer out;
+        private final boolean json;
+        private final String[] colunas;
+        /**
+         * Buffer para os dígitos de números e datas, reutilizado a cada valor.
+         */
+        private final char[] digitos = new char[20];
+        private int coluna;
+        private boolean primeiroItem;
+
+        private Codificador(Writer out, ImportadorCatalogo.Formato formato, String[] colunas) {
+            this.out = out;
+            this.json = formato == ImportadorCatalogo.Formato.JSONL;
+            this.colunas = colunas;
+        }
+
+        /**
+         * Escreve a linha de cabeçalho (apenas no CSV).
+         */
+        void cabecalho() throws IOException {
+            if (json) {
+                return;
+            }
+            for (int i = 0; i < colunas.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(colunas[i]);
+            }
+            out.write('\n');
+        }
+
+        /**
+         * Escreve o separador e, no JSON, o nome da próxima coluna.
+         */
+        private void proximaColuna() throws IOException {
+            if (json) {
+                out.write(coluna == 0 ? '{' : ',');
+                out.write('"');
+                out.write(colunas[coluna]);
+                out.write("\":");
+            } else if (coluna > 0) {
+                out.write(',');
+            }
+            coluna++;
+        }
+
+        void fimRegistro() throws IOException {
+            if (json) {
+                out.write('}');
+            }
+            out.write('\n');
+            coluna = 0;
+        }
+
+        void texto(String valor) throws IOException {
+            proximaColuna();
+            escreverTexto(valor);
+        }
+
+        private void escreverTexto(String valor) throws IOException {
+            if (valor == null) {
+                if (json) {
+                    out.write("null");
+                }
+            } else if (json) {
+                escreverTextoJson(valor);
+            } else {
+                escreverTextoCsv(valor);
+            }
+        }
+
+        void inteiro(long valor) throws IOException {
+            proximaColuna();
+            escreverInteiro(valor, 1);
+        }
+
+        /**
+         * Escreve um preço com duas casas decimais, a partir do valor arredondado em centavos.
+         */
+        void preco(float valor) throws IOException {
+            proximaColuna();
+            long centavos = Math.round(valor * 100.0);
+            if (centavos < 0) {
+                out.write('-');
+                centavos = -centavos;
+            }
+            escreverInteiro(centavos / 100, 1);
+            out.write('.');
+            escreverInteiro(centavos % 100, 2);
+        }
+
+        /**
+         * Escreve uma data no formato ISO ({@code aaaa-mm-dd}), ou vazio/{@code null} se ausente.
+         */
+        void data(LocalDate valor) throws IOException {
+            proximaColuna();
+            if (valor == null) {
+                if (json) {
+                    out.write("null");
+                }
+                return;
+            }
+            if (json) {
+                out.write('"');
+            }
+            escreverInteiro(valor.getYear(), 4);
+            out.write('-');
+            escreverInteiro(valor.getMonthValue(), 2);
+            out.write('-');
+            escreverInteiro(valor.getDayOfMonth(), 2);
+            if (json) {
+                out.write('"');
+            }
+        }
+
+        /**
+         * Inicia uma lista de textos: um array no JSON, ou um único campo entre aspas com os itens separados por
+         * {@value ImportadorCatalogo#SEPARADOR_AUTORES} no CSV.
+         */
+        void inicioLista() throws IOException {
+            proximaColuna();
+            primeiroItem = true;
+            out.write(json ? '[' : '"');
+        }
+
+        void itemLista(String valor) throws IOException {
+            if (!primeiroItem) {
+                out.write(json ? "," : ImportadorCatalogo.SEPARADOR_AUTORES);
+            }
+            primeiroItem = false;
+            if (json) {
+                escreverTexto(valor);
+            } else if (valor != null) {
+                escreverAspasDuplicadas(valor);
+            }
+        }
+
+        void fimLista() throws IOException {
+            out.write(json ? ']' : '"');
+        }
+
+        /**
+         * Escreve um inteiro não negativo em decimal, completando com zeros à esquerda até {@code minimoDigitos}.
+         */
+        private void escreverInteiro(long valor, int minimoDigitos) throws IOException {
+            if (valor < 0) {
+                out.write('-');
+                valor = -valor;
+            }
+            int posicao = digitos.length;
+            do {
+                digitos[--posicao] = (char) ('0' + (valor % 10));
+                valor /= 10;
+            } while (valor > 0);
+            while (digitos.length - posicao < minimoDigitos) {
+                digitos[--posicao] = '0';
+            }
+            out.write(digitos, posicao, digitos.length - posicao);
+        }
+
+        /**
+         * Escreve um campo CSV, entre aspas (com aspas internas duplicadas) apenas se contiver vírgula, aspas ou quebra de linha.
+         */
+        private void escreverTextoCsv(String valor) throws IOException {
+            boolean aspas = false;
+            for (int i = 0; i < valor.length() && !aspas; i++) {
+                char c = valor.charAt(i);
+                aspas = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!aspas) {
+                out.write(valor);
+                return;
+            }
+            out.write('"');
+            escreverAspasDuplicadas(valor);
+            out.write('"');
+        }
+
+        private void escreverAspasDuplicadas(String valor) throws IOException {
+            int inicio = 0;
+            for (int i = 0; i < valor.length(); i++) {
+                if (valor.charAt(i) == '"') {
+                    out.write(valor, inicio, i + 1 - inicio);
+                    out.write('"');
+                    inicio = i + 1;
+                }
+            }
+            out.write(valor, inicio, valor.length() - inicio);
+        }
+
+        /**
+         * Escreve um texto JSON entre aspas, escapando aspas, barras invertidas e caracteres de controle.
+         */
+        private void escreverTextoJson(String valor) throws IOException {
+            out.write('"');
+            int inicio = 0;
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c != '"' && c != '\\' && c >= 0x20) {
+                    continue;
+                }
+                out.write(valor, inicio, i - inicio);
+                inicio = i + 1;
+                switch (c) {
+                    case '"': out.write("\\\""); break;
+                    case '\\': out.write("\\\\"); break;
+                    case '\n': out.write("\\n"); break;
+                    case '\r': out.write("\\r"); break;
+                    case '\t': out.write("\\t"); break;
+                    default:
+                        out.write("\\u00");
+                        out.write(Character.forDigit(c >> 4, 16));
+                        out.write(Character.forDigit(c & 0xF, 16));
+                }
+            }
+            out.write(valor, inicio, valor.length() - inicio);
+            out.write('"');
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package src;
+
+import java.time.LocalDate;
+
+/**
+ * Critérios de seleção do {@link ExportadorCatalogo}. Cada critério não informado aceita todos os registros.
+ * <ul>
+ *     <li>Categoria: livros da categoria e a própria categoria (na exportação de categorias).</li>
+ *     <li>Editora: livros e jornais da editora e a própria editora (na exportação de editoras).</li>
+ *     <li>Período: jornais pela data de publicação e autores pela data de nascimento (limites inclusivos).</li>
+ * </ul>
+ * Nomes de categoria e editora são comparados sem diferenciar maiúsculas de minúsculas.
+ */
+public class FiltroExportacao {
+
+    private String categoria;
+    private String editora;
+    private LocalDate inicio;
+    private LocalDate fim;
+
+    /**
+     * @param nomeCategoria O nome da categoria, ou {@code null} para não filtrar.
+     * @return Este filtro.
+     */
+    public FiltroExportacao porCategoria(String nomeCategoria) {
+        this.categoria = vazioComoNulo(nomeCategoria);
+        return this;
+    }
+
+    /**
+     * @param nomeEditora O nome da editora, ou {@code null} para não filtrar.
+     * @return Este filtro.
+     */
+    public FiltroExportacao porEditora(String nomeEditora) {
+        this.editora = vazioComoNulo(nomeEditora);
+        return this;
+    }
+
+    /**
+     * @param inicio A primeira data aceita, ou {@code null} para não limitar.
+     * @param fim A última data aceita, ou {@code null} para não limitar.
+     * @return Este filtro.
+     */
+    public FiltroExportacao porPeriodo(LocalDate inicio, LocalDate fim) {
+        this.inicio = inicio;
+        this.fim = fim;
+        return this;
+    }
+
+    private static String vazioComoNulo(String texto) {
+        return texto == null || texto.trim().isEmpty() ? null : texto.trim();
+    }
+
+    private static boolean mesmoNome(String esperado, String nome) {
+        return esperado == null || (nome != null && nome.trim().equalsIgnoreCase(esperado));
+    }
+
+    private boolean noPeriodo(LocalDate data) {
+        if (inicio == null && fim == null) {
+            return true;
+        }
+        return data != null && (inicio == null || !data.isBefore(inicio)) && (fim == null || !data.isAfter(fim));
+    }
+
+    boolean aceita(Livro livro) {
+        return mesmoNome(editora, livro.getEditora() != null ? livro.getEditora().getNome() : null)
+                && mesmoNome(categoria, livro.getCategoria() != null ? livro.getCategoria().getNome() : null);
+    }
+
+    boolean aceita(Jornal jornal) {
+        return mesmoNome(editora, jornal.getEditora() != null ? jornal.getEditora().getNome() : null)
+                && noPeriodo(jornal.getDataPublicacao());
+    }
+
+    boolean aceita(Autor autor) {
+        return noPeriodo(autor.getDataNascimento());
+    }
+
+    boolean aceita(Editora editoraAvaliada) {
+        return mesmoNome(editora, editoraAvaliada.getNome());
+    }
+
+    boolean aceita(Categoria categoriaAvaliada) {
+        return mesmoNome(categoria, categoriaAvaliada.getNome());
+    }
+}
@@ -0,0 +1,109 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Critérios de seleção de livros avaliados por {@link Sistema#filtrarLivros(FiltroLivros)} sobre o
+ * {@link IndiceBitmapsLivros}. Critérios diferentes se combinam com E (categoria X e autor Y e preço até Z);
+ * valores repetidos de um mesmo critério são alternativas, combinadas com OU (categoria X ou W).
+ * Alternativas inteiras podem ser unidas com {@link #ou(FiltroLivros)}. Um filtro sem critérios aceita todos os livros.
+ * <p>
+ * As faixas de preço e de estoque têm limites inclusivos.
+ */
+public class FiltroLivros {
+
+    final ListaIds categorias = new ListaIds();
+    final ListaIds editoras = new ListaIds();
+    final ListaIds autores = new ListaIds();
+    float precoMinimo = Float.NEGATIVE_INFINITY;
+    float precoMaximo = Float.POSITIVE_INFINITY;
+    int estoqueMinimo = Integer.MIN_VALUE;
+    int estoqueMaximo = Integer.MAX_VALUE;
+    final List<FiltroLivros> alternativas = new ArrayList<>();
+
+    /**
+     * @param categoria Uma categoria aceita.
+     * @return Este filtro.
+     */
+    public FiltroLivros daCategoria(Categoria categoria) {
+        categorias.adicionar(categoria.getId());
+        return this;
+    }
+
+    /**
+     * @param editora Uma editora aceita.
+     * @return Este filtro.
+     */
+    public FiltroLivros daEditora(Editora editora) {
+        editoras.adicionar(editora.getId());
+        return this;
+    }
+
+    /**
+     * @param autor Um autor aceito (basta ser um dos autores do livro).
+     * @return Este filtro.
+     */
+    public FiltroLivros doAutor(Autor autor) {
+        autores.adicionar(autor.getId());
+        return this;
+    }
+
+    /**
+     * @param minimo O menor preço aceito, em reais.
+     * @param maximo O maior preço aceito, em reais.
+     * @return Este filtro.
+     */
+    public FiltroLivros precoEntre(float minimo, float maximo) {
+        this.precoMinimo = minimo;
+        this.precoMaximo = maximo;
+        return this;
+    }
+
+    /**
+     * @param maximo O maior preço aceito, em reais.
+     * @return Este filtro.
+     */
+    public FiltroLivros precoAte(float maximo) {
+        this.precoMaximo = maximo;
+        return this;
+    }
+
+    /**
+     * @param minimo A menor quantidade em estoque aceita.
+     * @param maximo A maior quantidade em estoque aceita.
+     * @return Este filtro.
+     */
+    public FiltroLivros estoqueEntre(int minimo, int maximo) {
+        this.estoqueMinimo = minimo;
+        this.estoqueMaximo = maximo;
+        return this;
+    }
+
+    /**
+     * Aceita apenas livros com pelo menos uma unidade em estoque.
+     * @return Este filtro.
+     */
+    public FiltroLivros emEstoque() {
+        this.estoqueMinimo = Math.max(estoqueMinimo, 1);
+        return this;
+    }
+
+    /**
+     * Une a este filtro uma alternativa: o resultado são os livros aceitos por este filtro ou pelo outro.
+     * @param outro O filtro alternativo, avaliado com os seus próprios critérios.
+     * @return Este filtro.
+     */
+    public FiltroLivros ou(FiltroLivros outro) {
+        alternativas.add(outro);
+        return this;
+    }
+
+    boolean filtraPreco() {
+        return precoMinimo != Float.NEGATIVE_INFINITY || precoMaximo != Float.POSITIVE_INFINITY;
+    }
+
+    boolean filtraEstoque() {
+        return estoqueMinimo != Integer.MIN_VALUE || estoqueMaximo != Integer.MAX_VALUE;
+    }
+}
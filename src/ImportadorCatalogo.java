@@ -0,0 +1,704 @@
+package src;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Importação em massa de livros e jornais a partir de arquivos CSV ou JSONL (um objeto JSON por linha).
+ * <p>
+ * O arquivo é lido em fluxo, em blocos de {@link Configuracao#getTamanhoLoteImportacao()} linhas. Cada linha do bloco
+ * é validada com as mesmas regras do cadastro pela interface (formato do ISBN, preço e páginas mínimos) e contra
+ * duplicidades de título, ISBN (livros) e título e data (jornais), tanto no próprio arquivo quanto no catálogo
+ * existente. Editoras, autores e categorias que ainda não existem são criados automaticamente.
+ * As linhas válidas de cada bloco são cadastradas com uma única gravação ({@link Sistema#cadastrarLote(LoteCadastros)}),
+ * e as inválidas vão para o {@link RelatorioImportacao}, que é impresso ao final com a taxa de linhas por segundo.
+ * <p>
+ * Colunas de livros: {@code titulo, preco, editora, paginas, isbn, autores, categoria, estoque}
+ * (autores separados por {@value #SEPARADOR_AUTORES}; categoria e estoque são opcionais).
+ * Colunas de jornais: {@code titulo, preco, editora, data, estoque} (data em {@code aaaa-mm-dd} ou {@code dd/mm/aaaa}).
+ * No CSV, a primeira linha é o cabeçalho, e o separador (vírgula ou ponto e vírgula) é detectado por ela.
+ * No JSONL, os autores podem ser um array de textos.
+ */
+public class ImportadorCatalogo {
+
+    /**
+     * Formato do arquivo importado.
+     */
+    public enum Formato {
+        CSV, JSONL;
+
+        /**
+         * Escolhe o formato pela extensão do nome do arquivo ({@code .jsonl} ou {@code .json} para JSONL; CSV nos demais casos).
+         * @param nomeArquivo O nome do arquivo.
+         * @return O formato correspondente.
+         */
+        public static Formato porNomeArquivo(String nomeArquivo) {
+            String nome = nomeArquivo.toLowerCase(Locale.ROOT);
+            return nome.endsWith(".jsonl") || nome.endsWith(".json") ? JSONL : CSV;
+        }
+    }
+
+    /**
+     * Separador dos nomes de autores dentro da coluna {@code autores}.
+     */
+    public static final String SEPARADOR_AUTORES = "|";
+
+    private final Sistema sistema;
+    private final int tamanhoLote;
+
+    /**
+     * Cria um importador que cadastra no sistema informado, com o tamanho de bloco da configuração.
+     * @param sistema O {@link Sistema} onde as publicações serão cadastradas.
+     */
+    public ImportadorCatalogo(Sistema sistema) {
+        this(sistema, Configuracao.getTamanhoLoteImportacao());
+    }
+
+    /**
+     * Cria um importador que cadastra no sistema informado.
+     * @param sistema O {@link Sistema} onde as publicações serão cadastradas.
+     * @param tamanhoLote A quantidade de linhas validadas e cadastradas de uma só vez.
+     */
+    public ImportadorCatalogo(Sistema sistema, int tamanhoLote) {
+        this.sistema = sistema;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    /**
+     * Uma linha de dados lida do arquivo: o número da linha no arquivo e os campos por nome de coluna normalizado,
+     * ou o motivo pelo qual a linha não pôde ser lida.
+     */
+    private static final class Registro {
+        private final int linha;
+        private final Map<String, String> campos;
+        private final String erroLeitura;
+
+        private Registro(int linha, Map<String, String> campos) {
+            this(linha, campos, null);
+        }
+
+        private Registro(int linha, Map<String, String> campos, String erroLeitura) {
+            this.linha = linha;
+            this.campos = campos;
+            this.erroLeitura = erroLeitura;
+        }
+    }
+
+    /**
+     * Leitor de registros de um formato de arquivo.
+     */
+    private interface LeitorRegistros extends Closeable {
+        /**
+         * Lê o próximo registro.
+         * @return O registro, ou {@code null} no fim do arquivo.
+         * @throws IOException Em caso de erro de leitura.
+         * @throws RegistroInvalidoException Se a linha atual for malformada; a leitura pode continuar na linha seguinte.
+         */
+        Registro proximo() throws IOException;
+    }
+
+    /**
+     * Linha malformada ou inválida, com o número da linha no arquivo.
+     */
+    private static final class RegistroInvalidoException extends IllegalArgumentException {
+        private static final long serialVersionUID = 1L;
+        private final int linha;
+
+        private RegistroInvalidoException(int linha, String mensagem) {
+            super(mensagem);
+            this.linha = linha;
+        }
+    }
+
+    /**
+     * Editoras, autores e categorias do catálogo por nome normalizado, acrescidos dos que forem criados na importação.
+     */
+    private final class Referencias {
+        private final Map<String, Editora> editoras = new HashMap<>();
+        private final Map<String, Autor> autores = new HashMap<>();
+        private final Map<String, Categoria> categorias = new HashMap<>();
+
+        private Referencias() {
+            sistema.getTodasEditoras().forEach(e -> editoras.putIfAbsent(chave(e.getNome()), e));
+            sistema.getTodosAutores().forEach(a -> autores.putIfAbsent(chave(a.getNome()), a));
+            sistema.getTodasCategorias().forEach(c -> categorias.putIfAbsent(chave(c.getNome()), c));
+        }
+
+        private Editora editora(String nome, LoteCadastros lote, RelatorioImportacao relatorio) {
+            return editoras.computeIfAbsent(chave(nome), k -> {
+                Editora editora = new Editora(nome);
+                lote.adicionarEditora(editora);
+                relatorio.registrarEditoraCriada();
+                return editora;
+            });
+        }
+
+        private Autor autor(String nome, LoteCadastros lote, RelatorioImportacao relatorio) {
+            return autores.computeIfAbsent(chave(nome), k -> {
+                Autor autor = new Autor(nome, null, null);
+                lote.adicionarAutor(autor);
+                relatorio.registrarAutorCriado();
+                return autor;
+            });
+        }
+
+        private Categoria categoria(String nome, LoteCadastros lote, RelatorioImportacao relatorio) {
+            return categorias.computeIfAbsent(chave(nome), k -> {
+                Categoria categoria = new Categoria(nome);
+                lote.adicionarCategoria(categoria);
+                relatorio.registrarCategoriaCriada();
+                return categoria;
+            });
+        }
+    }
+
+    /**
+     * Importa livros de um arquivo CSV ou JSONL.
+     * @param entrada O conteúdo do arquivo (é fechado ao final).
+     * @param formato O formato do arquivo.
+     * @return O relatório da importação, já impresso no console.
+     */
+    public RelatorioImportacao importarLivros(Reader entrada, Formato formato) {
+        RelatorioImportacao relatorio = new RelatorioImportacao("livros");
+        long inicio = System.nanoTime();
+        Referencias referencias = new Referencias();
+        Map<String, Integer> titulosArquivo = new HashMap<>();
+        Map<String, Integer> isbnsArquivo = new HashMap<>();
+
+        try (LeitorRegistros leitor = abrir(entrada, formato)) {
+            List<Registro> bloco = new ArrayList<>(tamanhoLote);
+            while (lerBloco(leitor, bloco, relatorio)) {
+                LoteCadastros lote = new LoteCadastros();
+                for (Registro registro : bloco) {
+                    try {
+                        if (registro.erroLeitura != null) {
+                            throw new IllegalArgumentException(registro.erroLeitura);
+                        }
+                        String titulo = obrigatorio(registro, "titulo");
+                        float preco = decimal(registro, "preco");
+                        String nomeEditora = obrigatorio(registro, "editora");
+                        int paginas = inteiro(registro, "paginas", -1);
+                        String isbn = obrigatorio(registro, "isbn");
+                        if (preco < Sistema.PRECO_MINIMO_LIVRO) {
+                            throw new IllegalArgumentException("Preço do livro deve ser no mínimo R$ 15,00.");
+                        }
+                        if (paginas < Sistema.PAGINAS_MINIMAS_LIVRO) {
+                            throw new IllegalArgumentException("Quantidade de páginas do livro deve ser no mínimo 10.");
+                        }
+                        if (!Sistema.ISBN_PATTERN.matcher(isbn).matches()) {
+                            throw new IllegalArgumentException("Formato de ISBN inválido: '" + isbn + "'.");
+                        }
+                        int estoque = inteiro(registro, "estoque", 0);
+                        if (estoque < 0) {
+                            throw new IllegalArgumentException("Estoque não pode ser negativo.");
+                        }
+                        String chaveTitulo = IndiceUnico.chaveTexto(titulo);
+                        String chaveIsbn = IndiceUnico.chaveIsbn(isbn);
+                        verificarDuplicidade(titulosArquivo, chaveTitulo, sistema.existeLivroComTitulo(titulo), "Livro com o título '" + titulo + "'");
+                        verificarDuplicidade(isbnsArquivo, chaveIsbn, sistema.existeLivroComIsbn(isbn), "Livro com o ISBN '" + isbn + "'");
+
+                        Livro livro = new Livro(titulo, preco, referencias.editora(nomeEditora, lote, relatorio), paginas, isbn);
+                        for (String nomeAutor : separarAutores(registro.campos.get("autores"))) {
+                            livro.addAutor(referencias.autor(nomeAutor, lote, relatorio));
+                        }
+                        String nomeCategoria = opcional(registro, "categoria");
+                        if (nomeCategoria != null) {
+                            livro.setCategoria(referencias.categoria(nomeCategoria, lote, relatorio));
+                        }
+                        livro.setEstoqueDisponivel(estoque);
+                        lote.adicionarLivro(livro);
+                        titulosArquivo.put(chaveTitulo, registro.linha);
+                        isbnsArquivo.put(chaveIsbn, registro.linha);
+                    } catch (IllegalArgumentException e) {
+                        relatorio.registrarErro(registro.linha, e.getMessage());
+                    }
+                }
+                sistema.cadastrarLote(lote);
+                relatorio.registrarImportadas(lote.getLivros().size());
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o arquivo de importação: " + e.getMessage() + ". As linhas anteriores foram importadas.");
+        }
+        return concluir(relatorio, inicio);
+    }
+
+    /**
+     * Importa jornais de um arquivo CSV ou JSONL.
+     * @param entrada O conteúdo do arquivo (é fechado ao final).
+     * @param formato O formato do arquivo.
+     * @return O relatório da importação, já impresso no console.
+     */
+    public RelatorioImportacao importarJornais(Reader entrada, Formato formato) {
+        RelatorioImportacao relatorio = new RelatorioImportacao("jornais");
+        long inicio = System.nanoTime();
+        Referencias referencias = new Referencias();
+        Map<String, Integer> edicoesArquivo = new HashMap<>();
+
+        try (LeitorRegistros leitor = abrir(entrada, formato)) {
+            List<Registro> bloco = new ArrayList<>(tamanhoLote);
+            while (lerBloco(leitor, bloco, relatorio)) {
+                LoteCadastros lote = new LoteCadastros();
+                for (Registro registro : bloco) {
+                    try {
+                        if (registro.erroLeitura != null) {
+                            throw new IllegalArgumentException(registro.erroLeitura);
+                        }
+                        String titulo = obrigatorio(registro, "titulo");
+                        float preco = decimal(registro, "preco");
+                        String nomeEditora = obrigatorio(registro, "editora");
+                        LocalDate data = data(registro, "data");
+                        if (preco < Sistema.PRECO_MINIMO_JORNAL) {
+                            throw new IllegalArgumentException("Preço do jornal deve ser no mínimo R$ 3,00.");
+                        }
+                        int estoque = inteiro(registro, "estoque", 0);
+                        if (estoque < 0) {
+                            throw new IllegalArgumentException("Estoque não pode ser negativo.");
+                        }
+                        String chaveEdicao = IndiceUnico.chaveTexto(titulo) + '|' + data;
+                        verificarDuplicidade(edicoesArquivo, chaveEdicao, sistema.existeJornalComTituloEData(titulo, data),
+                                "Jornal com o título '" + titulo + "' e data '" + data + "'");
+
+                        Jornal jornal = new Jornal(titulo, preco, referencias.editora(nomeEditora, lote, relatorio), data);
+                        jornal.setEstoqueDisponivel(estoque);
+                        lote.adicionarJornal(jornal);
+                        edicoesArquivo.put(chaveEdicao, registro.linha);
+                    } catch (IllegalArgumentException e) {
+                        relatorio.registrarErro(registro.linha, e.getMessage());
+                    }
+                }
+                sistema.cadastrarLote(lote);
+                relatorio.registrarImportadas(lote.getJornais().size());
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao ler o arquivo de importação: " + e.getMessage() + ". As linhas anteriores foram importadas.");
+        }
+        return concluir(relatorio, inicio);
+    }
+
+    private static RelatorioImportacao concluir(RelatorioImportacao relatorio, long inicio) {
+        relatorio.concluir(System.nanoTime() - inicio);
+        relatorio.imprimir(System.out, System.err);
+        return relatorio;
+    }
+
+    private static LeitorRegistros abrir(Reader entrada, Formato formato) throws IOException {
+        BufferedReader leitor = entrada instanceof BufferedReader ? (BufferedReader) entrada : new BufferedReader(entrada);
+        return formato == Formato.JSONL ? new LeitorJsonl(leitor) : new LeitorCsv(leitor);
+    }
+
+    /**
+     * Lê o próximo bloco de até {@link #tamanhoLote} registros, incluindo as linhas malformadas (com o erro de leitura).
+     * @return {@code false} se o arquivo terminou e nenhum registro foi lido.
+     */
+    private boolean lerBloco(LeitorRegistros leitor, List<Registro> bloco, RelatorioImportacao relatorio) throws IOException {
+        bloco.clear();
+        while (bloco.size() < tamanhoLote) {
+            Registro registro;
+            try {
+                registro = leitor.proximo();
+            } catch (RegistroInvalidoException e) {
+                registro = new Registro(e.linha, null, e.getMessage());
+            }
+            if (registro == null) {
+                break;
+            }
+            relatorio.registrarLinhaLida();
+            bloco.add(registro);
+        }
+        return !bloco.isEmpty();
+    }
+
+    /**
+     * Rejeita a linha se a chave já apareceu em uma linha anterior do arquivo (verificado primeiro, pois os blocos
+     * anteriores já foram cadastrados) ou se já existe no catálogo.
+     */
+    private static void verificarDuplicidade(Map<String, Integer> arquivo, String chave, boolean existeNoCatalogo, String descricao) {
+        Integer linhaAnterior = arquivo.get(chave);
+        if (linhaAnterior != null) {
+            throw new IllegalArgumentException(descricao + " repete a linha " + linhaAnterior + ".");
+        }
+        if (existeNoCatalogo) {
+            throw new IllegalArgumentException(descricao + " já existe no catálogo.");
+        }
+    }
+
+    /**
+     * Chave de comparação de nomes de editoras, autores e categorias: a mesma dos índices de duplicidade do
+     * {@link Sistema} ({@link IndiceUnico#chaveTexto(String)}), sobre o nome sem espaços nas pontas, para que a
+     * importação reaproveite exatamente os cadastros que {@code existe*ComNome} consideraria repetidos.
+     */
+    private static String chave(String texto) {
+        return texto == null ? "" : IndiceUnico.chaveTexto(texto.trim());
+    }
+
+    private static String opcional(Registro registro, String coluna) {
+        String valor = registro.campos.get(coluna);
+        if (valor == null || valor.trim().isEmpty()) {
+            return null;
+        }
+        return valor.trim();
+    }
+
+    private static String obrigatorio(Registro registro, String coluna) {
+        String valor = opcional(registro, coluna);
+        if (valor == null) {
+            throw new IllegalArgumentException("Campo '" + coluna + "' não pode ser vazio.");
+        }
+        return valor;
+    }
+
+    private static float decimal(Registro registro, String coluna) {
+        String valor = obrigatorio(registro, coluna);
+        try {
+            return Float.parseFloat(valor.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Campo '" + coluna + "' não é um número: '" + valor + "'.");
+        }
+    }
+
+    private static int inteiro(Registro registro, String coluna, int padrao) {
+        String valor = opcional(registro, coluna);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Campo '" + coluna + "' não é um número inteiro: '" + valor + "'.");
+        }
+    }
+
+    private static LocalDate data(Registro registro, String coluna) {
+        String valor = obrigatorio(registro, coluna);
+        try {
+            return valor.indexOf('/') >= 0 ? LocalDate.parse(valor, Util.DATE_FORMATTER) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Campo '" + coluna + "' não é uma data válida: '" + valor + "'.");
+        }
+    }
+
+    private static List<String> separarAutores(String valor) {
+        List<String> nomes = new ArrayList<>();
+        if (valor == null) {
+            return nomes;
+        }
+        int inicio = 0;
+        while (inicio <= valor.length()) {
+            int fim = valor.indexOf(SEPARADOR_AUTORES, inicio);
+            if (fim < 0) {
+                fim = valor.length();
+            }
+            String nome = valor.substring(inicio, fim).trim();
+            if (!nome.isEmpty()) {
+                nomes.add(nome);
+            }
+            inicio = fim + SEPARADOR_AUTORES.length();
+        }
+        return nomes;
+    }
+
+    /**
+     * Normaliza o nome de uma coluna: minúsculas, sem acentos e apenas letras e dígitos
+     * ("Título" e "titulo" são a mesma coluna; "data_publicacao" e "dataPublicacao" são a coluna "data").
+     */
+    private static String normalizarColuna(String nome) {
+        String semAcentos = Normalizer.normalize(nome.trim(), Normalizer.Form.NFD);
+        StringBuilder coluna = new StringBuilder(semAcentos.length());
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.isLetterOrDigit(c) && c < 128) {
+                coluna.append(Character.toLowerCase(c));
+            }
+        }
+        String normalizada = coluna.toString();
+        return normalizada.equals("datapublicacao") ? "data" : normalizada;
+    }
+
+    /**
+     * Leitor de CSV (RFC 4180): campos entre aspas podem conter o separador, quebras de linha e aspas duplicadas.
+     */
+    private static final class LeitorCsv implements LeitorRegistros {
+        private final BufferedReader in;
+        private final List<String> colunas = new ArrayList<>();
+        private char separador = ',';
+        private int numeroLinha;
+
+        private LeitorCsv(BufferedReader in) throws IOException {
+            this.in = in;
+            String cabecalho = in.readLine();
+            if (cabecalho == null) {
+                return;
+            }
+            numeroLinha = 1;
+            if (!cabecalho.isEmpty() && cabecalho.charAt(0) == '\uFEFF') {
+                cabecalho = cabecalho.substring(1);
+            }
+            if (contar(cabecalho, ';') > contar(cabecalho, ',')) {
+                separador = ';';
+            }
+            for (String coluna : separar(cabecalho, 1)) {
+                colunas.add(normalizarColuna(coluna));
+            }
+        }
+
+        private static int contar(String texto, char caractere) {
+            int quantidade = 0;
+            for (int i = 0; i < texto.length(); i++) {
+                if (texto.charAt(i) == caractere) {
+                    quantidade++;
+                }
+            }
+            return quantidade;
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            String texto;
+            do {
+                texto = in.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                numeroLinha++;
+            } while (texto.trim().isEmpty());
+            int linha = numeroLinha;
+            List<String> campos = separar(texto, linha);
+            if (campos.size() != colunas.size()) {
+                throw new RegistroInvalidoException(linha, "Esperadas " + colunas.size() + " colunas, encontradas " + campos.size() + ".");
+            }
+            Map<String, String> registro = new LinkedHashMap<>();
+            for (int i = 0; i < campos.size(); i++) {
+                registro.put(colunas.get(i), campos.get(i));
+            }
+            return new Registro(linha, registro);
+        }
+
+        /**
+         * Separa os campos de um registro; se um campo entre aspas continuar na linha seguinte, ela também é lida.
+         */
+        private List<String> separar(String texto, int linha) throws IOException {
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            int i = 0;
+            while (true) {
+                if (i == texto.length()) {
+                    if (!entreAspas) {
+                        campos.add(campo.toString());
+                        return campos;
+                    }
+                    String continuacao = in.readLine();
+                    if (continuacao == null) {
+                        throw new RegistroInvalidoException(linha, "Aspas não fechadas até o fim do arquivo.");
+                    }
+                    numeroLinha++;
+                    campo.append('\n');
+                    texto = continuacao;
+                    i = 0;
+                    continue;
+                }
+                char c = texto.charAt(i++);
+                if (entreAspas) {
+                    if (c != '"') {
+                        campo.append(c);
+                    } else if (i < texto.length() && texto.charAt(i) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == separador) {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Leitor de JSONL: cada linha não vazia é um objeto JSON plano, cujos valores são textos, números,
+     * booleanos, {@code null} ou arrays desses valores (unidos por {@link #SEPARADOR_AUTORES}).
+     */
+    private static final class LeitorJsonl implements LeitorRegistros {
+        private final BufferedReader in;
+        private int numeroLinha;
+        private String texto;
+        private int posicao;
+
+        private LeitorJsonl(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            do {
+                texto = in.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                numeroLinha++;
+            } while (texto.trim().isEmpty());
+            if (numeroLinha == 1 && texto.charAt(0) == '\uFEFF') {
+                texto = texto.substring(1);
+            }
+            posicao = 0;
+            Map<String, String> campos = new LinkedHashMap<>();
+            esperar('{');
+            pularEspacos();
+            if (!consumir('}')) {
+                do {
+                    pularEspacos();
+                    String nome = lerTexto();
+                    pularEspacos();
+                    esperar(':');
+                    pularEspacos();
+                    campos.put(normalizarColuna(nome), lerValor(true));
+                    pularEspacos();
+                } while (consumir(','));
+                esperar('}');
+            }
+            pularEspacos();
+            if (posicao < texto.length()) {
+                throw invalido("conteúdo após o fim do objeto");
+            }
+            return new Registro(numeroLinha, campos);
+        }
+
+        private RegistroInvalidoException invalido(String detalhe) {
+            return new RegistroInvalidoException(numeroLinha, "JSON inválido na coluna " + (posicao + 1) + ": " + detalhe + ".");
+        }
+
+        private void pularEspacos() {
+            while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+                posicao++;
+            }
+        }
+
+        private boolean consumir(char esperado) {
+            if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+                posicao++;
+                return true;
+            }
+            return false;
+        }
+
+        private void esperar(char esperado) {
+            pularEspacos();
+            if (!consumir(esperado)) {
+                throw invalido("esperado '" + esperado + "'");
+            }
+        }
+
+        /**
+         * Lê um valor: texto, número, literal ou (se permitido) array de valores.
+         * @return O valor como texto, ou {@code null} para o literal {@code null}.
+         */
+        private String lerValor(boolean permitirArray) {
+            if (posicao >= texto.length()) {
+                throw invalido("valor ausente");
+            }
+            char c = texto.charAt(posicao);
+            if (c == '"') {
+                return lerTexto();
+            }
+            if (c == '[' && permitirArray) {
+                posicao++;
+                StringBuilder valores = new StringBuilder();
+                pularEspacos();
+                if (!consumir(']')) {
+                    do {
+                        pularEspacos();
+                        String valor = lerValor(false);
+                        if (valor != null) {
+                            if (valores.length() > 0) {
+                                valores.append(SEPARADOR_AUTORES);
+                            }
+                            valores.append(valor);
+                        }
+                        pularEspacos();
+                    } while (consumir(','));
+                    esperar(']');
+                }
+                return valores.toString();
+            }
+            if (c == '{' || c == '[') {
+                throw invalido("objetos e arrays aninhados não são suportados");
+            }
+            int inicio = posicao;
+            while (posicao < texto.length() && ",}] \t".indexOf(texto.charAt(posicao)) < 0) {
+                posicao++;
+            }
+            String literal = texto.substring(inicio, posicao);
+            if (literal.isEmpty()) {
+                throw invalido("valor ausente");
+            }
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String lerTexto() {
+            if (!consumir('"')) {
+                throw invalido("esperado texto entre aspas");
+            }
+            StringBuilder valor = new StringBuilder();
+            while (posicao < texto.length()) {
+                char c = texto.charAt(posicao++);
+                if (c == '"') {
+                    return valor.toString();
+                }
+                if (c != '\\') {
+                    valor.append(c);
+                    continue;
+                }
+                if (posicao >= texto.length()) {
+                    break;
+                }
+                char escape = texto.charAt(posicao++);
+                switch (escape) {
+                    case 'n': valor.append('\n'); break;
+                    case 't': valor.append('\t'); break;
+                    case 'r': valor.append('\r'); break;
+                    case 'b': valor.append('\b'); break;
+                    case 'f': valor.append('\f'); break;
+                    case 'u':
+                        if (posicao + 4 > texto.length()) {
+                            throw invalido("escape unicode incompleto");
+                        }
+                        try {
+                            valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw invalido("escape unicode inválido");
+                        }
+                        posicao += 4;
+                        break;
+                    default: valor.append(escape); // \" \\ \/
+                }
+            }
+            throw invalido("texto sem aspas de fechamento");
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
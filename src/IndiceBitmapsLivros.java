@@ -0,0 +1,208 @@
+package src;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Índice de bitmaps ({@link BitmapIds}) dos livros para a navegação no catálogo por vários critérios ao mesmo tempo.
+ * Há um bitmap por categoria, por editora e por autor, com os IDs dos livros associados, e bitmaps por faixa de
+ * preço e de estoque. Um {@link FiltroLivros} é avaliado com {@code OU} entre os bitmaps dos valores de um critério
+ * e {@code E} entre os critérios, sem percorrer o acervo.
+ * <p>
+ * As faixas cobertas inteiramente pelo intervalo pedido entram direto no resultado; apenas os livros das faixas
+ * das pontas, e que já passaram pelos demais critérios, têm o preço ou o estoque conferido.
+ * <p>
+ * Como as chaves vêm do estado atual do livro, ele deve ser removido antes de mudar a categoria, a editora,
+ * os autores, o preço ou o estoque, e adicionado de novo depois.
+ * As alterações e consultas devem ser feitas sob a trava do {@link Sistema}.
+ */
+public class IndiceBitmapsLivros {
+
+    /**
+     * Limites inferiores das faixas de preço, em reais; a primeira faixa vai até o primeiro limite (exclusive).
+     */
+    private static final double[] LIMITES_PRECO = {20, 30, 40, 50, 75, 100, 150, 200, 300, 500};
+    /**
+     * Limites inferiores das faixas de estoque; a primeira faixa é a dos livros sem estoque.
+     */
+    private static final double[] LIMITES_ESTOQUE = {1, 2, 5, 10, 20, 50, 100, 500};
+
+    /**
+     * Bitmaps de uma grandeza dividida em faixas fixas.
+     */
+    private static final class Faixas {
+        private final double[] limites;
+        private final BitmapIds[] bitmaps;
+
+        private Faixas(double[] limites) {
+            this.limites = limites;
+            this.bitmaps = new BitmapIds[limites.length + 1];
+            for (int i = 0; i < bitmaps.length; i++) {
+                bitmaps[i] = new BitmapIds();
+            }
+        }
+
+        private int faixa(double valor) {
+            int faixa = 0;
+            while (faixa < limites.length && valor >= limites[faixa]) {
+                faixa++;
+            }
+            return faixa;
+        }
+
+        private double inferior(int faixa) {
+            return faixa == 0 ? Double.NEGATIVE_INFINITY : limites[faixa - 1];
+        }
+
+        private double superior(int faixa) {
+            return faixa == limites.length ? Double.POSITIVE_INFINITY : limites[faixa];
+        }
+    }
+
+    private final IndiceIds<Livro> porId = new IndiceIds<>(Livro::getId);
+    private final BitmapIds todos = new BitmapIds();
+    private final Map<Integer, BitmapIds> porCategoria = new HashMap<>();
+    private final Map<Integer, BitmapIds> porEditora = new HashMap<>();
+    private final Map<Integer, BitmapIds> porAutor = new HashMap<>();
+    private final Faixas precos = new Faixas(LIMITES_PRECO);
+    private final Faixas estoques = new Faixas(LIMITES_ESTOQUE);
+
+    public IndiceBitmapsLivros() {
+    }
+
+    /**
+     * Cria um índice já preenchido com os livros informados.
+     */
+    public IndiceBitmapsLivros(Collection<Livro> iniciais) {
+        iniciais.forEach(this::adicionar);
+    }
+
+    /**
+     * Adiciona um livro, pelo seu estado atual.
+     */
+    public void adicionar(Livro livro) {
+        int id = livro.getId();
+        porId.adicionar(livro);
+        todos.adicionar(id);
+        if (livro.getCategoria() != null) {
+            porCategoria.computeIfAbsent(livro.getCategoria().getId(), k -> new BitmapIds()).adicionar(id);
+        }
+        if (livro.getEditora() != null) {
+            porEditora.computeIfAbsent(livro.getEditora().getId(), k -> new BitmapIds()).adicionar(id);
+        }
+        for (Autor autor : livro.getAutores()) {
+            porAutor.computeIfAbsent(autor.getId(), k -> new BitmapIds()).adicionar(id);
+        }
+        precos.bitmaps[precos.faixa(livro.getPreco())].adicionar(id);
+        estoques.bitmaps[estoques.faixa(livro.getEstoqueDisponivel())].adicionar(id);
+    }
+
+    /**
+     * Remove um livro, pelo seu estado atual.
+     */
+    public void remover(Livro livro) {
+        int id = livro.getId();
+        porId.remover(id);
+        todos.remover(id);
+        if (livro.getCategoria() != null) {
+            removerDe(porCategoria, livro.getCategoria().getId(), id);
+        }
+        if (livro.getEditora() != null) {
+            removerDe(porEditora, livro.getEditora().getId(), id);
+        }
+        for (Autor autor : livro.getAutores()) {
+            removerDe(porAutor, autor.getId(), id);
+        }
+        precos.bitmaps[precos.faixa(livro.getPreco())].remover(id);
+        estoques.bitmaps[estoques.faixa(livro.getEstoqueDisponivel())].remover(id);
+    }
+
+    private static void removerDe(Map<Integer, BitmapIds> bitmaps, int chave, int id) {
+        BitmapIds bitmap = bitmaps.get(chave);
+        if (bitmap != null && bitmap.remover(id) && bitmap.isVazio()) {
+            bitmaps.remove(chave);
+        }
+    }
+
+    /**
+     * @param id O ID de um livro indexado.
+     * @return O livro, ou {@code null} se não estiver indexado.
+     */
+    public Livro buscar(int id) {
+        return porId.buscar(id);
+    }
+
+    /**
+     * Avalia um filtro sobre os bitmaps.
+     * @param filtro Os critérios de seleção.
+     * @return Os IDs dos livros aceitos (somente leitura, pois pode compartilhar partes dos bitmaps do índice).
+     */
+    public BitmapIds filtrar(FiltroLivros filtro) {
+        BitmapIds resultado = avaliar(filtro);
+        for (FiltroLivros alternativa : filtro.alternativas) {
+            resultado = resultado.ou(filtrar(alternativa));
+        }
+        return resultado;
+    }
+
+    private BitmapIds avaliar(FiltroLivros filtro) {
+        BitmapIds candidatos = todos;
+        candidatos = intersectar(candidatos, porCategoria, filtro.categorias);
+        candidatos = intersectar(candidatos, porEditora, filtro.editoras);
+        candidatos = intersectar(candidatos, porAutor, filtro.autores);
+        if (filtro.filtraPreco()) {
+            candidatos = intersectar(candidatos, precos, filtro.precoMinimo, filtro.precoMaximo, Livro::getPreco);
+        }
+        if (filtro.filtraEstoque()) {
+            candidatos = intersectar(candidatos, estoques, filtro.estoqueMinimo, filtro.estoqueMaximo, Livro::getEstoqueDisponivel);
+        }
+        return candidatos;
+    }
+
+    /**
+     * Intersecta os candidatos com a união dos bitmaps dos valores aceitos de um critério.
+     */
+    private static BitmapIds intersectar(BitmapIds candidatos, Map<Integer, BitmapIds> bitmaps, ListaIds aceitos) {
+        if (aceitos.tamanho() == 0) {
+            return candidatos; // Critério não informado.
+        }
+        BitmapIds uniao = new BitmapIds();
+        for (int i = 0; i < aceitos.tamanho(); i++) {
+            BitmapIds bitmap = bitmaps.get(aceitos.get(i));
+            if (bitmap != null) {
+                uniao = uniao.ou(bitmap);
+            }
+        }
+        return candidatos.e(uniao);
+    }
+
+    /**
+     * Intersecta os candidatos com as faixas que se sobrepõem ao intervalo {@code [minimo, maximo]}, conferindo
+     * o valor exato apenas dos candidatos das faixas cobertas parcialmente.
+     */
+    private BitmapIds intersectar(BitmapIds candidatos, Faixas faixas, double minimo, double maximo, ToDoubleFunction<Livro> valor) {
+        if (minimo > maximo) {
+            return new BitmapIds();
+        }
+        BitmapIds inteiras = new BitmapIds();
+        BitmapIds parciais = new BitmapIds();
+        for (int faixa = faixas.faixa(minimo); faixa <= faixas.faixa(maximo); faixa++) {
+            if (minimo <= faixas.inferior(faixa) && faixas.superior(faixa) <= maximo) {
+                inteiras = inteiras.ou(faixas.bitmaps[faixa]);
+            } else {
+                parciais = parciais.ou(faixas.bitmaps[faixa]);
+            }
+        }
+        BitmapIds resultado = candidatos.e(inteiras);
+        BitmapIds conferidos = new BitmapIds();
+        candidatos.e(parciais).paraCada(id -> {
+            double v = valor.applyAsDouble(porId.buscar(id));
+            if (v >= minimo && v <= maximo) {
+                conferidos.adicionar(id);
+            }
+        });
+        return conferidos.isVazio() ? resultado : resultado.ou(conferidos);
+    }
+}
@@ -0,0 +1,715 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Motor de busca textual dos livros: índice invertido dos termos (ver {@link AnalisadorTexto}) do título, dos nomes
+ * dos autores, da categoria e da editora, com os resultados ordenados por relevância pela fórmula BM25.
+ * <p>
+ * Os campos têm pesos diferentes na frequência de cada termo (título {@value #PESO_TITULO}, autores
+ * {@value #PESO_AUTOR}, categoria e editora 1), e o comprimento do documento é a soma dos pesos dos seus termos.
+ * Cada livro ocupa uma posição (documento) em vetores densos, reaproveitada após a exclusão; as listas de
+ * postagens guardam a posição e a frequência ponderada, em ordem crescente de posição.
+ * <p>
+ * Cada postagem guarda também o seu impacto (a pontuação BM25 sem o peso do termo) arredondado para cima em um byte,
+ * e as listas longas guardam o maior impacto em cada bloco de {@value #TAMANHO_BLOCO} posições e em cada janela de
+ * {@value #TAMANHO_JANELA}. Uma consulta percorre as janelas em ordem e, com o heap das {@code k} melhores posições
+ * cheio, aplica a poda MaxScore com esses limites:
+ * <ul>
+ *   <li>a janela inteira é pulada se a soma dos limites dos termos nela não alcança a pior pontuação do heap, sem
+ *       avançar os cursores das listas longas;</li>
+ *   <li>os termos de menor limite cuja soma não alcança o heap são não essenciais: as suas postagens não geram
+ *       candidatos e só são consultadas, por busca galopante (ou por um mapa de bits, se os candidatos forem muitos),
+ *       para os candidatos dos demais termos;</li>
+ *   <li>os impactos dos termos essenciais são somados termo a termo em acumuladores da janela, pulando os blocos cuja
+ *       soma de limites não alcança o heap, e um candidato é descartado assim que essa soma mais os limites no bloco
+ *       dos termos ainda não consultados não alcança o heap.</li>
+ * </ul>
+ * Só os candidatos que sobram recebem a pontuação exata, somada na ordem dos termos da consulta, e disputam o heap de
+ * tamanho {@code k}; o resultado é o mesmo de pontuar todas as postagens. Os livros que contêm mais termos da
+ * consulta, e termos mais raros, vêm primeiro. Consultas de listas curtas (menos de
+ * {@value #MINIMO_POSTAGENS_PODA} postagens ao todo) dispensam as janelas e somam todas as postagens, termo a termo.
+ * <p>
+ * Os impactos guardados usam a normalização por comprimento de referência do último recálculo; como o impacto
+ * diminui com a normalização, eles continuam sendo limites válidos (corrigidos por um fator) enquanto o comprimento
+ * médio dos livros muda, e são recalculados quando ele se afasta demais da referência.
+ * <p>
+ * O documento guarda os próprios termos, de modo que a remoção não depende do estado atual do livro.
+ * Os métodos são sincronizados no próprio índice, como em {@link IndiceTrigramas}.
+ */
+public class IndiceBuscaLivros {
+
+    static final int PESO_TITULO = 3;
+    static final int PESO_AUTOR = 2;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    /**
+     * Parte fixa da normalização do BM25, k1 * (1 - b + b * comprimento / comprimentoMedio), escrita como
+     * a + c * comprimento.
+     */
+    private static final float NORMALIZACAO_FIXA = K1 * (1 - B);
+    private static final int BITS_JANELA = 9;
+    static final int TAMANHO_JANELA = 1 << BITS_JANELA;
+    private static final int BITS_BLOCO = 6;
+    static final int TAMANHO_BLOCO = 1 << BITS_BLOCO;
+    private static final int BLOCOS_POR_JANELA = 1 << (BITS_JANELA - BITS_BLOCO);
+    /**
+     * Listas menores que isso usam um único limite para todos os blocos: são baratas de percorrer.
+     */
+    private static final int MINIMO_POSTAGENS_POR_BLOCO = 1024;
+    /**
+     * Folga relativa das comparações de poda, para que os arredondamentos das somas em float nunca descartem
+     * um candidato que alcançaria o heap.
+     */
+    private static final float FOLGA_PODA = 0.9999f;
+    /**
+     * Consultas cujas listas somam menos postagens que isso são pontuadas por inteiro, termo a termo: com listas
+     * curtas, o custo de percorrer as janelas supera o das postagens que a poda evitaria.
+     */
+    private static final int MINIMO_POSTAGENS_PODA = 8 * 1024;
+    /**
+     * Candidatos de uma janela, por postagem do termo não essencial nela, a partir dos quais as postagens dele são
+     * marcadas em um mapa de bits em vez de buscadas uma a uma.
+     */
+    private static final int MINIMO_CANDIDATOS_MAPA = 16;
+
+    /**
+     * Um livro indexado: a sua posição nos vetores e os termos distintos do documento.
+     */
+    private static final class Documento {
+        private final Livro livro;
+        private final int posicao;
+        private final String[] termos;
+
+        private Documento(Livro livro, int posicao, String[] termos) {
+            this.livro = livro;
+            this.posicao = posicao;
+            this.termos = termos;
+        }
+    }
+
+    /**
+     * Lista de postagens de um termo: posições dos documentos em ordem crescente, frequências ponderadas e impactos,
+     * com o maior impacto do termo na lista e em cada bloco e janela de posições.
+     */
+    private static final class Postagens {
+        private int[] posicoes = new int[2];
+        private float[] frequencias = new float[2];
+        /**
+         * Impacto de cada postagem (ver {@link IndiceBuscaLivros#impacto}): um limite da contribuição que dispensa a divisão.
+         */
+        private byte[] impactos = new byte[2];
+        private int tamanho;
+        /**
+         * Maiores impactos na lista, por bloco e por janela (estes {@code null} em listas pequenas); 0 indica que não
+         * há postagens. Não são recalculados na remoção: continuam sendo limites válidos, apenas menos justos.
+         */
+        private int limite;
+        private byte[] limitesBlocos;
+        private byte[] limitesJanelas;
+
+        private void adicionar(int posicao, float frequencia, int impacto) {
+            int p = tamanho > 0 && posicoes[tamanho - 1] < posicao ? tamanho : -Arrays.binarySearch(posicoes, 0, tamanho, posicao) - 1;
+            if (tamanho == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, tamanho * 2);
+                frequencias = Arrays.copyOf(frequencias, tamanho * 2);
+                impactos = Arrays.copyOf(impactos, tamanho * 2);
+            }
+            System.arraycopy(posicoes, p, posicoes, p + 1, tamanho - p);
+            System.arraycopy(frequencias, p, frequencias, p + 1, tamanho - p);
+            System.arraycopy(impactos, p, impactos, p + 1, tamanho - p);
+            posicoes[p] = posicao;
+            frequencias[p] = frequencia;
+            impactos[p] = (byte) impacto;
+            tamanho++;
+            registrarLimite(posicao, impacto);
+        }
+
+        private void remover(int posicao) {
+            int p = Arrays.binarySearch(posicoes, 0, tamanho, posicao);
+            if (p >= 0) {
+                System.arraycopy(posicoes, p + 1, posicoes, p, tamanho - p - 1);
+                System.arraycopy(frequencias, p + 1, frequencias, p, tamanho - p - 1);
+                System.arraycopy(impactos, p + 1, impactos, p, tamanho - p - 1);
+                tamanho--;
+            }
+        }
+
+        private void registrarLimite(int posicao, int impacto) {
+            limite = Math.max(limite, impacto);
+            if (limitesBlocos != null) {
+                int bloco = posicao >>> BITS_BLOCO;
+                if (bloco >= limitesBlocos.length) {
+                    limitesBlocos = Arrays.copyOf(limitesBlocos, Math.max(bloco + 1, limitesBlocos.length * 2));
+                }
+                int janela = posicao >>> BITS_JANELA;
+                if (janela >= limitesJanelas.length) {
+                    limitesJanelas = Arrays.copyOf(limitesJanelas, Math.max(janela + 1, limitesJanelas.length * 2));
+                }
+                if (impacto > (limitesBlocos[bloco] & 0xFF)) {
+                    limitesBlocos[bloco] = (byte) impacto;
+                }
+                if (impacto > (limitesJanelas[janela] & 0xFF)) {
+                    limitesJanelas[janela] = (byte) impacto;
+                }
+            }
+        }
+
+        /**
+         * Limites do impacto no bloco e na janela, para listas com limites por bloco.
+         */
+        private int limiteBloco(int bloco) {
+            return bloco < limitesBlocos.length ? limitesBlocos[bloco] & 0xFF : 0;
+        }
+
+        private int limiteJanela(int janela) {
+            return janela < limitesJanelas.length ? limitesJanelas[janela] & 0xFF : 0;
+        }
+    }
+
+    private final Map<String, Postagens> postagens = new HashMap<>();
+    private final IndiceIds<Documento> porId = new IndiceIds<>(d -> d.livro.getId());
+    private Documento[] documentos = new Documento[16];
+    private float[] comprimentos = new float[16];
+    /**
+     * ID do livro de cada posição, para os desempates sem acessar o documento.
+     */
+    private int[] ids = new int[16];
+    /**
+     * Pontuação das posições da consulta em andamento (todas as tocadas, sem a poda; só as que entraram no heap,
+     * com ela), zeradas ao fim da consulta.
+     */
+    private float[] acumuladores = new float[16];
+    private int[] tocados = new int[16];
+    /**
+     * Acumuladores dos limites da janela em andamento e as posições (relativas à janela) tocadas nela, reaproveitados
+     * entre as consultas.
+     */
+    private final float[] parciais = new float[TAMANHO_JANELA];
+    private final int[] tocadosJanela = new int[TAMANHO_JANELA];
+    /**
+     * Mapa de bits das posições da janela em andamento que ocorrem no primeiro termo não essencial consultado.
+     */
+    private final long[] presentes = new long[TAMANHO_JANELA / Long.SIZE];
+    /**
+     * Posições liberadas por exclusões, reaproveitadas antes de estender os vetores.
+     */
+    private int[] livres = new int[4];
+    private int quantidadeLivres;
+    private int proximaPosicao;
+    private int quantidadeDocumentos;
+    private double comprimentoTotal;
+    /**
+     * Normalização por comprimento ({@code c}) usada no cálculo dos impactos guardados nas listas; 0 até o primeiro
+     * recálculo, o que torna os impactos limites válidos para qualquer normalização.
+     */
+    private float normalizacaoReferencia;
+
+    public IndiceBuscaLivros() {
+    }
+
+    /**
+     * Cria um índice já preenchido com os livros informados.
+     */
+    public IndiceBuscaLivros(Collection<Livro> iniciais) {
+        iniciais.forEach(this::adicionar);
+    }
+
+    /**
+     * Adiciona um livro, pelo título, autores, categoria e editora atuais.
+     */
+    public synchronized void adicionar(Livro livro) {
+        if (porId.buscar(livro.getId()) != null) {
+            remover(livro);
+        }
+        Map<String, Float> frequencias = new LinkedHashMap<>();
+        contar(frequencias, livro.getTitulo(), PESO_TITULO);
+        for (Autor autor : livro.getAutores()) {
+            contar(frequencias, autor.getNome(), PESO_AUTOR);
+        }
+        contar(frequencias, livro.getCategoria() != null ? livro.getCategoria().getNome() : null, 1);
+        contar(frequencias, livro.getEditora() != null ? livro.getEditora().getNome() : null, 1);
+
+        int posicao = quantidadeLivres > 0 ? livres[--quantidadeLivres] : proximaPosicao++;
+        if (posicao == documentos.length) {
+            int capacidade = documentos.length * 2;
+            documentos = Arrays.copyOf(documentos, capacidade);
+            comprimentos = Arrays.copyOf(comprimentos, capacidade);
+            ids = Arrays.copyOf(ids, capacidade);
+            acumuladores = Arrays.copyOf(acumuladores, capacidade);
+            tocados = Arrays.copyOf(tocados, capacidade);
+        }
+        float comprimento = 0;
+        for (float frequencia : frequencias.values()) {
+            comprimento += frequencia;
+        }
+        comprimentos[posicao] = comprimento;
+        for (Map.Entry<String, Float> entrada : frequencias.entrySet()) {
+            Postagens lista = postagens.computeIfAbsent(entrada.getKey(), k -> new Postagens());
+            lista.adicionar(posicao, entrada.getValue(), impacto(entrada.getValue(), comprimento));
+            if (lista.limitesBlocos == null && lista.tamanho >= MINIMO_POSTAGENS_POR_BLOCO) {
+                calcularLimites(lista);
+            }
+        }
+        Documento documento = new Documento(livro, posicao, frequencias.keySet().toArray(new String[0]));
+        documentos[posicao] = documento;
+        ids[posicao] = livro.getId();
+        porId.adicionar(documento);
+        quantidadeDocumentos++;
+        comprimentoTotal += comprimento;
+    }
+
+    private static void contar(Map<String, Float> frequencias, String texto, float peso) {
+        for (String termo : AnalisadorTexto.termos(texto)) {
+            frequencias.merge(termo, peso, Float::sum);
+        }
+    }
+
+    /**
+     * Impacto de uma postagem na normalização de referência: a pontuação BM25 sem o peso do termo, entre 0 e 1,
+     * arredondada para cima em 255 avos.
+     */
+    private int impacto(float frequencia, float comprimento) {
+        float impacto = frequencia / (frequencia + NORMALIZACAO_FIXA + normalizacaoReferencia * comprimento);
+        return Math.min(255, (int) (impacto * 255) + 1);
+    }
+
+    /**
+     * Recalcula os impactos e os limites de uma lista a partir das suas postagens, passando a guardar os limites por
+     * bloco se a lista já tiver {@value #MINIMO_POSTAGENS_POR_BLOCO} postagens.
+     */
+    private void calcularLimites(Postagens lista) {
+        lista.limite = 0;
+        boolean porBloco = lista.tamanho >= MINIMO_POSTAGENS_POR_BLOCO;
+        int ultima = lista.posicoes[lista.tamanho - 1];
+        lista.limitesBlocos = porBloco ? new byte[(ultima >>> BITS_BLOCO) + 1] : null;
+        lista.limitesJanelas = porBloco ? new byte[(ultima >>> BITS_JANELA) + 1] : null;
+        for (int i = 0; i < lista.tamanho; i++) {
+            int posicao = lista.posicoes[i];
+            int impacto = impacto(lista.frequencias[i], comprimentos[posicao]);
+            lista.impactos[i] = (byte) impacto;
+            lista.registrarLimite(posicao, impacto);
+        }
+    }
+
+    /**
+     * Remove um livro (pelos termos guardados na indexação, não pelo estado atual).
+     */
+    public synchronized void remover(Livro livro) {
+        Documento documento = porId.buscar(livro.getId());
+        if (documento == null) {
+            return;
+        }
+        porId.remover(livro.getId());
+        for (String termo : documento.termos) {
+            Postagens lista = postagens.get(termo);
+            lista.remover(documento.posicao);
+            if (lista.tamanho == 0) {
+                postagens.remove(termo);
+            }
+        }
+        documentos[documento.posicao] = null;
+        comprimentoTotal -= comprimentos[documento.posicao];
+        quantidadeDocumentos--;
+        if (quantidadeLivres == livres.length) {
+            livres = Arrays.copyOf(livres, livres.length * 2);
+        }
+        livres[quantidadeLivres++] = documento.posicao;
+    }
+
+    /**
+     * Busca os livros mais relevantes para a consulta.
+     * @param consulta O texto da consulta (acentos, maiúsculas e palavras vazias são ignorados).
+     * @param quantidade A quantidade máxima de resultados ({@code k}).
+     * @return Os livros encontrados, do mais para o menos relevante (empates em ordem de cadastro).
+     */
+    public synchronized List<Livro> buscar(String consulta, int quantidade) {
+        List<Livro> resultado = new ArrayList<>();
+        if (quantidade <= 0 || quantidadeDocumentos == 0) {
+            return resultado;
+        }
+        float normalizacaoPorComprimento = (float) (K1 * B * quantidadeDocumentos / comprimentoTotal);
+        if (normalizacaoReferencia == 0 || normalizacaoPorComprimento < normalizacaoReferencia * 0.8f
+                || normalizacaoPorComprimento > normalizacaoReferencia * 1.25f) {
+            normalizacaoReferencia = normalizacaoPorComprimento;
+            postagens.values().forEach(this::calcularLimites);
+        }
+        // Com a normalização atual abaixo da de referência, o impacto cresce no máximo na razão entre as duas.
+        float correcao = normalizacaoPorComprimento < normalizacaoReferencia
+                ? normalizacaoReferencia / normalizacaoPorComprimento * 1.0001f : 1.0001f;
+
+        List<Postagens> encontradas = new ArrayList<>();
+        for (String termo : new LinkedHashSet<>(AnalisadorTexto.termos(consulta))) {
+            Postagens lista = postagens.get(termo);
+            if (lista != null) {
+                encontradas.add(lista);
+            }
+        }
+        int m = encontradas.size();
+        if (m == 0) {
+            return resultado;
+        }
+        Postagens[] listas = encontradas.toArray(new Postagens[0]);
+        float[] pesos = new float[m];
+        for (int t = 0; t < m; t++) {
+            pesos[t] = (float) Math.log(1 + (quantidadeDocumentos - listas[t].tamanho + 0.5) / (listas[t].tamanho + 0.5)) * (K1 + 1);
+        }
+        int totalPostagens = 0;
+        for (Postagens lista : listas) {
+            totalPostagens += lista.tamanho;
+        }
+        int[] heap = new int[Math.min(quantidade, quantidadeDocumentos)];
+        Livro[] ordenados = totalPostagens < MINIMO_POSTAGENS_PODA
+                ? pontuarTodas(listas, pesos, normalizacaoPorComprimento, heap)
+                : pontuarComPoda(listas, pesos, normalizacaoPorComprimento, correcao, heap);
+        resultado.addAll(Arrays.asList(ordenados));
+        return resultado;
+    }
+
+    /**
+     * Soma a pontuação de todas as postagens de cada termo (termo a termo) e seleciona as melhores posições no heap.
+     */
+    private Livro[] pontuarTodas(Postagens[] listas, float[] pesos, float normalizacaoPorComprimento, int[] heap) {
+        int quantidadeTocados = 0;
+        for (int t = 0; t < listas.length; t++) {
+            Postagens lista = listas[t];
+            float peso = pesos[t];
+            int[] posicoes = lista.posicoes;
+            float[] frequencias = lista.frequencias;
+            for (int i = 0; i < lista.tamanho; i++) {
+                int posicao = posicoes[i];
+                float frequencia = frequencias[i];
+                float acumulado = acumuladores[posicao];
+                if (acumulado == 0) {
+                    tocados[quantidadeTocados++] = posicao;
+                }
+                acumuladores[posicao] = acumulado + peso * frequencia
+                        / (frequencia + NORMALIZACAO_FIXA + normalizacaoPorComprimento * comprimentos[posicao]);
+            }
+        }
+        int tamanhoHeap = 0;
+        for (int i = 0; i < quantidadeTocados; i++) {
+            int posicao = tocados[i];
+            if (tamanhoHeap < heap.length) {
+                heap[tamanhoHeap++] = posicao;
+                subir(heap, tamanhoHeap - 1);
+            } else if (melhor(posicao, heap[0])) {
+                heap[0] = posicao;
+                descer(heap, tamanhoHeap);
+            }
+        }
+        return ordenar(heap, tamanhoHeap, quantidadeTocados);
+    }
+
+    /**
+     * Percorre as janelas de posições com a poda MaxScore descrita na classe, selecionando as melhores posições no heap.
+     */
+    private Livro[] pontuarComPoda(Postagens[] listas, float[] pesos, float normalizacaoPorComprimento, float correcao,
+                                   int[] heap) {
+        int m = listas.length;
+        int[] cursores = new int[m];
+        // Cursores que repassam as postagens dos termos essenciais da janela para a pontuação exata dos candidatos; os
+        // dos termos não essenciais já param neles ao serem consultados.
+        int[] exatos = new int[m];
+        float[] limitesJanela = new float[m];
+        // Termos da janela em ordem crescente de limite; prefixos[i] é a soma dos limites de ordem[0..i-1].
+        int[] ordem = new int[m];
+        float[] prefixos = new float[m + 1];
+        // Por bloco da janela: o limite de cada termo (limitesBlocos[bloco * m + t]), a soma deles e as somas dos
+        // limites de ordem[0..i-1] (prefixosBlocos[bloco * (m + 1) + i]).
+        float[] limitesBlocos = new float[BLOCOS_POR_JANELA * m];
+        float[] somasBlocos = new float[BLOCOS_POR_JANELA];
+        float[] prefixosBlocos = new float[BLOCOS_POR_JANELA * (m + 1)];
+        boolean[] essencial = new boolean[m];
+        // Limite da contribuição do termo por 255 avos de impacto.
+        float[] escalas = new float[m];
+        for (int t = 0; t < m; t++) {
+            escalas[t] = pesos[t] * correcao / 255;
+        }
+
+        // Heap de mínimo com as k melhores posições: a raiz é a pior das selecionadas. Só as posições que entraram
+        // no heap guardam a pontuação nos acumuladores.
+        int tamanhoHeap = 0;
+        int quantidadeTocados = 0;
+        float poda = 0;
+        int janelas = ((proximaPosicao - 1) >>> BITS_JANELA) + 1;
+        for (int janela = 0; janela < janelas; janela++) {
+            int inicio = janela << BITS_JANELA;
+            int fim = inicio + TAMANHO_JANELA;
+            // Só as listas pequenas, sem limites por janela, avançam o cursor antes de decidir se a janela é pulada; as
+            // demais avançam quando são percorridas ou consultadas.
+            float soma = 0;
+            for (int t = 0; t < m; t++) {
+                Postagens lista = listas[t];
+                if (lista.limitesBlocos != null) {
+                    limitesJanela[t] = lista.limiteJanela(janela) * escalas[t];
+                } else {
+                    cursores[t] = avancar(lista, cursores[t], inicio);
+                    boolean presente = cursores[t] < lista.tamanho && lista.posicoes[cursores[t]] < fim;
+                    limitesJanela[t] = presente ? lista.limite * escalas[t] : 0;
+                }
+                soma += limitesJanela[t];
+                ordem[t] = t;
+            }
+            if (soma == 0 || soma < poda) {
+                continue;
+            }
+            int primeiroBloco = janela * BLOCOS_POR_JANELA;
+            for (int t = 0; t < m; t++) {
+                Postagens lista = listas[t];
+                if (lista.limitesBlocos == null) {
+                    for (int b = 0; b < BLOCOS_POR_JANELA; b++) {
+                        limitesBlocos[b * m + t] = limitesJanela[t];
+                    }
+                } else {
+                    for (int b = 0; b < BLOCOS_POR_JANELA; b++) {
+                        limitesBlocos[b * m + t] = lista.limiteBloco(primeiroBloco + b) * escalas[t];
+                    }
+                }
+            }
+            for (int i = 1; i < m; i++) {
+                int t = ordem[i];
+                int j = i - 1;
+                while (j >= 0 && limitesJanela[ordem[j]] > limitesJanela[t]) {
+                    ordem[j + 1] = ordem[j];
+                    j--;
+                }
+                ordem[j + 1] = t;
+            }
+            for (int i = 0; i < m; i++) {
+                prefixos[i + 1] = prefixos[i] + limitesJanela[ordem[i]];
+            }
+            int naoEssenciais = 0;
+            while (naoEssenciais < m && prefixos[naoEssenciais + 1] < poda) {
+                naoEssenciais++;
+            }
+            for (int b = 0; b < BLOCOS_POR_JANELA; b++) {
+                int base = b * (m + 1);
+                for (int i = 0; i < m; i++) {
+                    prefixosBlocos[base + i + 1] = prefixosBlocos[base + i] + limitesBlocos[b * m + ordem[i]];
+                }
+                somasBlocos[b] = prefixosBlocos[base + m];
+            }
+
+            // Limites dos termos essenciais, pelos impactos, somados termo a termo nos acumuladores da janela, pulando os
+            // blocos que não alcançam o heap. Com um só termo essencial, o limite dele já é o parcial do candidato e é
+            // filtrado na hora.
+            int quantidadeJanela = 0;
+            boolean unicoEssencial = naoEssenciais == m - 1;
+            for (int i = 0; i < m; i++) {
+                essencial[ordem[i]] = i >= naoEssenciais;
+            }
+            for (int i = naoEssenciais; i < m; i++) {
+                int t = ordem[i];
+                Postagens lista = listas[t];
+                int[] posicoes = lista.posicoes;
+                byte[] impactos = lista.impactos;
+                float escala = escalas[t];
+                int c = avancar(lista, cursores[t], inicio);
+                exatos[t] = c;
+                for (int b = 0; b < BLOCOS_POR_JANELA; b++) {
+                    int fimBloco = inicio + (b + 1) * TAMANHO_BLOCO;
+                    if (somasBlocos[b] < poda) {
+                        c = avancar(lista, c, fimBloco);
+                        continue;
+                    }
+                    float restante = unicoEssencial ? poda - prefixosBlocos[b * (m + 1) + naoEssenciais] : 0;
+                    for (; c < lista.tamanho && posicoes[c] < fimBloco; c++) {
+                        float limite = (impactos[c] & 0xFF) * escala;
+                        if (limite < restante) {
+                            continue;
+                        }
+                        int local = posicoes[c] - inicio;
+                        if (parciais[local] == 0) {
+                            tocadosJanela[quantidadeJanela++] = local;
+                        }
+                        parciais[local] += limite;
+                    }
+                }
+                cursores[t] = c;
+            }
+            if (m - naoEssenciais > 1) {
+                Arrays.sort(tocadosJanela, 0, quantidadeJanela);
+            }
+            // Com muitos candidatos na janela, é mais barato marcar as postagens do primeiro termo não essencial
+            // consultado e descartar os candidatos ausentes dele sem buscá-los na lista.
+            int marcado = -1;
+            if (naoEssenciais > 0 && quantidadeJanela > 0) {
+                int t = ordem[naoEssenciais - 1];
+                Postagens lista = listas[t];
+                if ((long) quantidadeJanela * MINIMO_CANDIDATOS_MAPA * proximaPosicao >= (long) lista.tamanho * TAMANHO_JANELA) {
+                    marcado = t;
+                    Arrays.fill(presentes, 0);
+                    int c = avancar(lista, cursores[t], inicio);
+                    cursores[t] = c;
+                    for (int[] posicoes = lista.posicoes; c < lista.tamanho && posicoes[c] < fim; c++) {
+                        int local = posicoes[c] - inicio;
+                        presentes[local >>> 6] |= 1L << local;
+                    }
+                }
+            }
+
+            for (int k = 0; k < quantidadeJanela; k++) {
+                int local = tocadosJanela[k];
+                int posicao = inicio + local;
+                float parcial = parciais[local];
+                parciais[local] = 0;
+                int base = (local >>> BITS_BLOCO) * (m + 1);
+                boolean descartado = false;
+                for (int i = naoEssenciais - 1; i >= -1; i--) {
+                    if (parcial + prefixosBlocos[base + i + 1] < poda) {
+                        descartado = true;
+                        break;
+                    }
+                    if (i >= 0) {
+                        int t = ordem[i];
+                        if (t == marcado && (presentes[local >>> 6] & 1L << local) == 0) {
+                            continue;
+                        }
+                        Postagens lista = listas[t];
+                        int c = avancar(lista, cursores[t], posicao);
+                        cursores[t] = c;
+                        if (c < lista.tamanho && lista.posicoes[c] == posicao) {
+                            parcial += (lista.impactos[c] & 0xFF) * escalas[t];
+                        }
+                    }
+                }
+                if (descartado) {
+                    continue;
+                }
+                // Pontuação exata, somada na ordem dos termos da consulta, como se todas as postagens fossem somadas.
+                float pontuacao = 0;
+                for (int t = 0; t < m; t++) {
+                    if (essencial[t]) {
+                        exatos[t] = avancar(listas[t], exatos[t], posicao);
+                    }
+                    int c = essencial[t] ? exatos[t] : cursores[t];
+                    pontuacao += contribuicao(listas[t], c, posicao, pesos[t], normalizacaoPorComprimento);
+                }
+                acumuladores[posicao] = pontuacao;
+                if (tamanhoHeap < heap.length) {
+                    tocados[quantidadeTocados++] = posicao;
+                    heap[tamanhoHeap++] = posicao;
+                    subir(heap, tamanhoHeap - 1);
+                } else if (melhor(posicao, heap[0])) {
+                    tocados[quantidadeTocados++] = posicao;
+                    heap[0] = posicao;
+                    descer(heap, tamanhoHeap);
+                } else {
+                    acumuladores[posicao] = 0;
+                    continue;
+                }
+                if (tamanhoHeap == heap.length) {
+                    poda = acumuladores[heap[0]] * FOLGA_PODA;
+                }
+            }
+        }
+        return ordenar(heap, tamanhoHeap, quantidadeTocados);
+    }
+
+    /**
+     * Contribuição do termo à pontuação da posição, dado o índice da primeira postagem da lista com posição maior ou
+     * igual a ela; 0 se o termo não ocorre no documento.
+     */
+    private float contribuicao(Postagens lista, int c, int posicao, float peso, float normalizacaoPorComprimento) {
+        if (c >= lista.tamanho || lista.posicoes[c] != posicao) {
+            return 0;
+        }
+        float frequencia = lista.frequencias[c];
+        return peso * frequencia / (frequencia + NORMALIZACAO_FIXA + normalizacaoPorComprimento * comprimentos[posicao]);
+    }
+
+    /**
+     * Esvazia o heap, da melhor para a pior posição, e zera os acumuladores das posições tocadas.
+     */
+    private Livro[] ordenar(int[] heap, int tamanhoHeap, int quantidadeTocados) {
+        Livro[] ordenados = new Livro[tamanhoHeap];
+        for (int i = tamanhoHeap - 1; i >= 0; i--) {
+            ordenados[i] = documentos[heap[0]].livro;
+            heap[0] = heap[i];
+            descer(heap, i);
+        }
+        for (int i = 0; i < quantidadeTocados; i++) {
+            acumuladores[tocados[i]] = 0;
+        }
+        return ordenados;
+    }
+
+    /**
+     * A primeira posição da lista, a partir de {@code inicio}, com documento maior ou igual ao alvo: percorre as
+     * postagens seguintes uma a uma, como nas listas densas em que o alvo costuma estar perto, e passa à busca
+     * galopante se ele estiver mais longe.
+     */
+    private static int avancar(Postagens lista, int inicio, int alvo) {
+        int[] posicoes = lista.posicoes;
+        int limite = Math.min(lista.tamanho, inicio + 8);
+        while (inicio < limite && posicoes[inicio] < alvo) {
+            inicio++;
+        }
+        if (inicio < limite || inicio >= lista.tamanho || posicoes[inicio] >= alvo) {
+            return inicio;
+        }
+        int passo = 1;
+        int anterior = inicio;
+        int atual = inicio + 1;
+        while (atual < lista.tamanho && posicoes[atual] < alvo) {
+            anterior = atual;
+            passo <<= 1;
+            atual = inicio + passo;
+        }
+        int p = Arrays.binarySearch(posicoes, anterior + 1, Math.min(atual, lista.tamanho), alvo);
+        return p >= 0 ? p : -p - 1;
+    }
+
+    /**
+     * @return {@code true} se o documento da posição {@code a} deve vir antes do da posição {@code b}.
+     */
+    private boolean melhor(int a, int b) {
+        if (acumuladores[a] != acumuladores[b]) {
+            return acumuladores[a] > acumuladores[b];
+        }
+        return ids[a] < ids[b];
+    }
+
+    private void subir(int[] heap, int i) {
+        while (i > 0) {
+            int pai = (i - 1) >>> 1;
+            if (!melhor(heap[pai], heap[i])) {
+                break;
+            }
+            int troca = heap[pai];
+            heap[pai] = heap[i];
+            heap[i] = troca;
+            i = pai;
+        }
+    }
+
+    private void descer(int[] heap, int tamanho) {
+        int i = 0;
+        while (true) {
+            int pior = i;
+            int esquerda = 2 * i + 1;
+            int direita = esquerda + 1;
+            if (esquerda < tamanho && melhor(heap[pior], heap[esquerda])) {
+                pior = esquerda;
+            }
+            if (direita < tamanho && melhor(heap[pior], heap[direita])) {
+                pior = direita;
+            }
+            if (pior == i) {
+                return;
+            }
+            int troca = heap[pior];
+            heap[pior] = heap[i];
+            heap[i] = troca;
+            i = pior;
+        }
+    }
+}
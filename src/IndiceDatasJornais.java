@@ -0,0 +1,199 @@
+package src;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Índice ordenado dos jornais pela data de publicação (em dias desde a época, {@link LocalDate#toEpochDay()}),
+ * para consultas por data ou período, contagens por mês e ano e as últimas edições de um título, sem percorrer a lista.
+ * <p>
+ * As edições ficam em vetores paralelos de dias e IDs ordenados pelo par (dia, ID): um para todos os jornais e
+ * um por título (normalizado como em {@link IndiceUnico#chaveTexto(String)}). Como as edições costumam ser
+ * cadastradas em ordem de data, a inclusão típica é um acréscimo no fim. Uma consulta por período localiza os
+ * limites por busca binária, e uma contagem é apenas a diferença entre as duas posições.
+ * O vetor de um título é também a chave composta (título, data) usada nas verificações de duplicidade.
+ * <p>
+ * Como a chave vem do estado atual do jornal, ele deve ser removido antes de mudar o título ou a data e
+ * adicionado de novo depois. Os métodos são sincronizados no próprio índice, como em {@link IndiceTrigramas}.
+ */
+public class IndiceDatasJornais {
+
+    /**
+     * Dia usado para os jornais sem data de publicação (registros antigos), anterior a qualquer data válida.
+     */
+    private static final long SEM_DATA = Long.MIN_VALUE;
+
+    /**
+     * Pares (dia, ID) em ordem crescente, em vetores paralelos.
+     */
+    private static final class Edicoes {
+        private long[] dias = new long[4];
+        private int[] ids = new int[4];
+        private int tamanho;
+
+        /**
+         * @return A primeira posição cujo par é maior ou igual a (dia, id).
+         */
+        private int posicao(long dia, int id) {
+            int inicio = 0;
+            int fim = tamanho;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (dias[meio] < dia || (dias[meio] == dia && ids[meio] < id)) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+            return inicio;
+        }
+
+        private void adicionar(long dia, int id) {
+            int p = tamanho > 0 && (dias[tamanho - 1] < dia || (dias[tamanho - 1] == dia && ids[tamanho - 1] < id))
+                    ? tamanho : posicao(dia, id);
+            if (p < tamanho && dias[p] == dia && ids[p] == id) {
+                return;
+            }
+            if (tamanho == dias.length) {
+                dias = Arrays.copyOf(dias, tamanho + (tamanho >> 1) + 1);
+                ids = Arrays.copyOf(ids, dias.length);
+            }
+            System.arraycopy(dias, p, dias, p + 1, tamanho - p);
+            System.arraycopy(ids, p, ids, p + 1, tamanho - p);
+            dias[p] = dia;
+            ids[p] = id;
+            tamanho++;
+        }
+
+        private void remover(long dia, int id) {
+            int p = posicao(dia, id);
+            if (p < tamanho && dias[p] == dia && ids[p] == id) {
+                System.arraycopy(dias, p + 1, dias, p, tamanho - p - 1);
+                System.arraycopy(ids, p + 1, ids, p, tamanho - p - 1);
+                tamanho--;
+            }
+        }
+    }
+
+    private final IndiceIds<Jornal> porId = new IndiceIds<>(Jornal::getId);
+    private final Edicoes todas = new Edicoes();
+    private final Map<String, Edicoes> porTitulo = new HashMap<>();
+
+    public IndiceDatasJornais() {
+    }
+
+    /**
+     * Cria um índice já preenchido com os jornais informados.
+     */
+    public IndiceDatasJornais(Collection<Jornal> iniciais) {
+        iniciais.forEach(this::adicionar);
+    }
+
+    private static long dia(LocalDate data) {
+        return data == null ? SEM_DATA : data.toEpochDay();
+    }
+
+    /**
+     * Adiciona um jornal, pelo título e pela data atuais.
+     */
+    public synchronized void adicionar(Jornal jornal) {
+        long dia = dia(jornal.getDataPublicacao());
+        porId.adicionar(jornal);
+        todas.adicionar(dia, jornal.getId());
+        porTitulo.computeIfAbsent(IndiceUnico.chaveTexto(jornal.getTitulo()), k -> new Edicoes()).adicionar(dia, jornal.getId());
+    }
+
+    /**
+     * Remove um jornal, pelo título e pela data atuais.
+     */
+    public synchronized void remover(Jornal jornal) {
+        long dia = dia(jornal.getDataPublicacao());
+        porId.remover(jornal.getId());
+        todas.remover(dia, jornal.getId());
+        String chave = IndiceUnico.chaveTexto(jornal.getTitulo());
+        Edicoes doTitulo = porTitulo.get(chave);
+        if (doTitulo != null) {
+            doTitulo.remover(dia, jornal.getId());
+            if (doTitulo.tamanho == 0) {
+                porTitulo.remove(chave);
+            }
+        }
+    }
+
+    /**
+     * @param titulo O título (sem diferenciar maiúsculas de minúsculas).
+     * @param data A data de publicação.
+     * @return {@code true} se existe um jornal com o título e a data.
+     */
+    public synchronized boolean contem(String titulo, LocalDate data) {
+        return contemOutro(titulo, data, Integer.MIN_VALUE);
+    }
+
+    /**
+     * @param titulo O título (sem diferenciar maiúsculas de minúsculas).
+     * @param data A data de publicação.
+     * @param idExcluir O ID do jornal que não deve ser considerado (o que está sendo editado).
+     * @return {@code true} se existe outro jornal com o título e a data.
+     */
+    public synchronized boolean contemOutro(String titulo, LocalDate data, int idExcluir) {
+        Edicoes doTitulo = porTitulo.get(IndiceUnico.chaveTexto(titulo));
+        if (doTitulo == null) {
+            return false;
+        }
+        long dia = dia(data);
+        for (int p = doTitulo.posicao(dia, Integer.MIN_VALUE); p < doTitulo.tamanho && doTitulo.dias[p] == dia; p++) {
+            if (doTitulo.ids[p] != idExcluir) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param inicio A primeira data (inclusive).
+     * @param fim A última data (inclusive).
+     * @return Os jornais publicados no período, em ordem de data e, na mesma data, de cadastro.
+     */
+    public synchronized List<Jornal> buscarEntre(LocalDate inicio, LocalDate fim) {
+        int de = todas.posicao(inicio.toEpochDay(), Integer.MIN_VALUE);
+        int ate = todas.posicao(fim.toEpochDay() + 1, Integer.MIN_VALUE);
+        List<Jornal> encontrados = new ArrayList<>(Math.max(0, ate - de));
+        for (int p = de; p < ate; p++) {
+            encontrados.add(porId.buscar(todas.ids[p]));
+        }
+        return encontrados;
+    }
+
+    /**
+     * @param inicio A primeira data (inclusive).
+     * @param fim A última data (inclusive).
+     * @return A quantidade de jornais publicados no período, calculada pelas posições dos limites.
+     */
+    public synchronized int contarEntre(LocalDate inicio, LocalDate fim) {
+        int de = todas.posicao(inicio.toEpochDay(), Integer.MIN_VALUE);
+        int ate = todas.posicao(fim.toEpochDay() + 1, Integer.MIN_VALUE);
+        return Math.max(0, ate - de);
+    }
+
+    /**
+     * @param titulo O título (sem diferenciar maiúsculas de minúsculas).
+     * @param quantidade A quantidade máxima de edições.
+     * @return As edições mais recentes do título, da mais nova para a mais antiga.
+     */
+    public synchronized List<Jornal> buscarUltimasEdicoes(String titulo, int quantidade) {
+        Edicoes doTitulo = porTitulo.get(IndiceUnico.chaveTexto(titulo));
+        List<Jornal> encontrados = new ArrayList<>();
+        if (doTitulo == null) {
+            return encontrados;
+        }
+        for (int p = doTitulo.tamanho - 1; p >= 0 && encontrados.size() < quantidade && doTitulo.dias[p] != SEM_DATA; p--) {
+            encontrados.add(porId.buscar(doTitulo.ids[p]));
+        }
+        return encontrados;
+    }
+}
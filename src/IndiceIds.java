@@ -0,0 +1,210 @@
+package src;
+
+import java.util.Collection;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice de entidades por ID: uma tabela hash de endereçamento aberto (sondagem linear) com chaves {@code int}
+ * primitivas, sem os objetos {@code Integer} e as entradas de um {@code HashMap<Integer, T>}.
+ * A busca é de tempo constante e não aloca memória.
+ * <p>
+ * A remoção usa deslocamento para trás (as entradas seguintes do mesmo agrupamento voltam uma posição),
+ * de modo que a tabela não acumula marcas de remoção e as buscas continuam curtas após muitas exclusões.
+ * <p>
+ * As alterações devem ser feitas sob a trava do {@link Sistema}. Ao crescer, a tabela é trocada por inteiro,
+ * para que uma leitura concorrente nunca combine chaves de uma tabela com valores de outra.
+ * @param <T> O tipo da entidade indexada.
+ */
+public class IndiceIds<T> {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+    /**
+     * Marca de posição livre no vetor de chaves; o ID 0 (não usado pelas entidades) é guardado à parte.
+     */
+    private static final int LIVRE = 0;
+
+    /**
+     * Vetores de chaves e valores, trocados juntos quando a tabela cresce.
+     */
+    private static final class Tabela {
+        private final int[] chaves;
+        private final Object[] valores;
+        private final int mascara;
+
+        private Tabela(int capacidade) {
+            chaves = new int[capacidade];
+            valores = new Object[capacidade];
+            mascara = capacidade - 1;
+        }
+    }
+
+    private final ToIntFunction<T> extratorId;
+    private volatile Tabela tabela = new Tabela(CAPACIDADE_INICIAL);
+    private T valorIdZero;
+    private int tamanho;
+
+    /**
+     * @param extratorId Função que devolve o ID de uma entidade.
+     */
+    public IndiceIds(ToIntFunction<T> extratorId) {
+        this.extratorId = extratorId;
+    }
+
+    /**
+     * Cria um índice já preenchido com as entidades informadas.
+     * @param extratorId Função que devolve o ID de uma entidade.
+     * @param entidades As entidades iniciais.
+     */
+    public IndiceIds(ToIntFunction<T> extratorId, Collection<? extends T> entidades) {
+        this(extratorId);
+        adicionarTodos(entidades);
+    }
+
+    private static int posicaoInicial(int id, int mascara) {
+        int h = id * 0x9E3779B9; // Multiplicação de Fibonacci: espalha IDs sequenciais pela tabela.
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Busca a entidade de um ID.
+     * @param id O ID buscado.
+     * @return A entidade, ou {@code null} se não estiver no índice.
+     */
+    @SuppressWarnings("unchecked")
+    public T buscar(int id) {
+        if (id == LIVRE) {
+            return valorIdZero;
+        }
+        Tabela t = tabela;
+        int i = posicaoInicial(id, t.mascara);
+        while (true) {
+            int chave = t.chaves[i];
+            if (chave == id) {
+                return (T) t.valores[i];
+            }
+            if (chave == LIVRE) {
+                return null;
+            }
+            i = (i + 1) & t.mascara;
+        }
+    }
+
+    /**
+     * Adiciona (ou substitui) uma entidade no índice, pelo seu ID.
+     * @param entidade A entidade.
+     */
+    public void adicionar(T entidade) {
+        int id = extratorId.applyAsInt(entidade);
+        if (id == LIVRE) {
+            if (valorIdZero == null) {
+                tamanho++;
+            }
+            valorIdZero = entidade;
+            return;
+        }
+        Tabela t = tabela;
+        if ((tamanho + 1) * 4 > t.chaves.length * 3) { // Fator de carga máximo de 75%.
+            t = redimensionar(t.chaves.length * 2);
+        }
+        int i = posicaoInicial(id, t.mascara);
+        while (t.chaves[i] != LIVRE && t.chaves[i] != id) {
+            i = (i + 1) & t.mascara;
+        }
+        if (t.chaves[i] == LIVRE) {
+            tamanho++;
+        }
+        t.valores[i] = entidade;
+        t.chaves[i] = id;
+    }
+
+    /**
+     * Adiciona várias entidades, crescendo a tabela uma única vez se necessário.
+     * @param entidades As entidades.
+     */
+    public void adicionarTodos(Collection<? extends T> entidades) {
+        int necessario = tamanho + entidades.size();
+        int capacidade = tabela.chaves.length;
+        while (necessario * 4 > capacidade * 3) {
+            capacidade *= 2;
+        }
+        if (capacidade != tabela.chaves.length) {
+            redimensionar(capacidade);
+        }
+        for (T entidade : entidades) {
+            adicionar(entidade);
+        }
+    }
+
+    /**
+     * Remove a entidade de um ID.
+     * @param id O ID removido.
+     * @return A entidade removida, ou {@code null} se não estava no índice.
+     */
+    @SuppressWarnings("unchecked")
+    public T remover(int id) {
+        if (id == LIVRE) {
+            T removido = valorIdZero;
+            if (removido != null) {
+                valorIdZero = null;
+                tamanho--;
+            }
+            return removido;
+        }
+        Tabela t = tabela;
+        int i = posicaoInicial(id, t.mascara);
+        while (t.chaves[i] != id) {
+            if (t.chaves[i] == LIVRE) {
+                return null;
+            }
+            i = (i + 1) & t.mascara;
+        }
+        T removido = (T) t.valores[i];
+        // Deslocamento para trás: traz para a posição liberada as entradas seguintes que pertencem a ela ou antes.
+        int livre = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & t.mascara;
+            int chave = t.chaves[j];
+            if (chave == LIVRE) {
+                break;
+            }
+            int ideal = posicaoInicial(chave, t.mascara);
+            // A entrada em j pode ir para "livre" se sua posição ideal não estiver no trecho circular (livre, j].
+            boolean podeMover = livre <= j ? (ideal <= livre || ideal > j) : (ideal <= livre && ideal > j);
+            if (podeMover) {
+                t.chaves[livre] = chave;
+                t.valores[livre] = t.valores[j];
+                livre = j;
+            }
+        }
+        t.chaves[livre] = LIVRE;
+        t.valores[livre] = null;
+        tamanho--;
+        return removido;
+    }
+
+    /**
+     * @return A quantidade de entidades no índice.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    private Tabela redimensionar(int capacidade) {
+        Tabela antiga = tabela;
+        Tabela nova = new Tabela(capacidade);
+        for (int i = 0; i < antiga.chaves.length; i++) {
+            int chave = antiga.chaves[i];
+            if (chave != LIVRE) {
+                int j = posicaoInicial(chave, nova.mascara);
+                while (nova.chaves[j] != LIVRE) {
+                    j = (j + 1) & nova.mascara;
+                }
+                nova.chaves[j] = chave;
+                nova.valores[j] = antiga.valores[i];
+            }
+        }
+        tabela = nova;
+        return nova;
+    }
+}
@@ -0,0 +1,540 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice secundário ordenado por uma chave das entidades (preço, estoque, chave de colação do título), para
+ * listagens ordenadas e paginadas sem copiar e ordenar a coleção a cada consulta.
+ * <p>
+ * As entradas (chave, ID, entidade) ficam em uma árvore B+ com contagens, ordenadas pela chave e, em caso de empate,
+ * pelo ID. As folhas guardam até {@value #CAPACIDADE} entradas em vetores paralelos e são encadeadas nos dois sentidos;
+ * cada nó interno guarda, para cada filho, a menor entrada e a quantidade de entradas da sua subárvore.
+ * A inclusão, a remoção e a posição de uma chave descem da raiz até uma folha, em O(log n), deslocando no máximo
+ * os vetores de um nó; uma página de {@code k} entradas a partir de qualquer posição é lida em O(log n + k),
+ * seguindo o encadeamento das folhas. A carga inicial ordena tudo uma única vez e monta a árvore de baixo para cima.
+ * <p>
+ * As chaves são calculadas na inclusão e guardadas; como a remoção recalcula a chave a partir do estado atual,
+ * a entidade deve ser removida antes de a chave mudar e adicionada de novo depois.
+ * Os métodos são sincronizados no próprio índice, como em {@link IndiceTrigramas}.
+ * @param <T> O tipo da entidade indexada.
+ * @param <K> O tipo da chave de ordenação.
+ */
+public class IndiceOrdenado<T, K extends Comparable<? super K>> {
+
+    /**
+     * Quantidade de entradas de uma folha, ou de filhos de um nó interno, que faz o nó ser dividido ao meio.
+     */
+    static final int CAPACIDADE = 64;
+    /**
+     * Ocupação abaixo da qual um nó é fundido com um vizinho ou recebe parte das entradas dele.
+     */
+    private static final int OCUPACAO_MINIMA = CAPACIDADE / 4;
+    /**
+     * Ocupação dos nós montados na carga inicial, com folga para inclusões sem dividi-los.
+     */
+    private static final int OCUPACAO_CARGA = CAPACIDADE * 3 / 4;
+
+    private abstract static class No {
+        /**
+         * Quantidade de entradas (folha) ou de filhos (nó interno).
+         */
+        int quantidade;
+    }
+
+    private static final class Folha extends No {
+        final Object[] chaves = new Object[CAPACIDADE];
+        final int[] ids = new int[CAPACIDADE];
+        final Object[] entidades = new Object[CAPACIDADE];
+        Folha anterior;
+        Folha proxima;
+    }
+
+    private static final class Interno extends No {
+        final No[] filhos = new No[CAPACIDADE];
+        /**
+         * Limite inferior das entradas de cada filho: toda entrada do filho {@code i} é maior ou igual a ele,
+         * e toda entrada do filho {@code i - 1} é menor. O do primeiro filho não é consultado na descida.
+         */
+        final Object[] chavesMinimas = new Object[CAPACIDADE];
+        final int[] idsMinimos = new int[CAPACIDADE];
+        /**
+         * Quantidade de entradas da subárvore de cada filho.
+         */
+        final int[] contagens = new int[CAPACIDADE];
+        /**
+         * Quantidade de entradas de toda a subárvore.
+         */
+        int total;
+    }
+
+    private final Function<T, K> extratorChave;
+    private final ToIntFunction<T> extratorId;
+    private No raiz;
+    private int tamanho;
+    /**
+     * Indica se a última inserção incluiu uma entrada nova (e não apenas substituiu a entidade de uma existente).
+     */
+    private boolean incluida;
+
+    /**
+     * @param extratorChave Função que devolve a chave de ordenação de uma entidade.
+     * @param extratorId Função que devolve o ID de uma entidade, usado para desempatar chaves iguais.
+     */
+    public IndiceOrdenado(Function<T, K> extratorChave, ToIntFunction<T> extratorId) {
+        this(extratorChave, extratorId, List.of());
+    }
+
+    /**
+     * Cria um índice já preenchido com as entidades informadas, ordenando-as uma única vez.
+     */
+    public IndiceOrdenado(Function<T, K> extratorChave, ToIntFunction<T> extratorId, Collection<? extends T> iniciais) {
+        this.extratorChave = extratorChave;
+        this.extratorId = extratorId;
+
+        Object[][] entradas = new Object[iniciais.size()][];
+        int n = 0;
+        for (T entidade : iniciais) {
+            entradas[n++] = new Object[]{extratorChave.apply(entidade), extratorId.applyAsInt(entidade), entidade};
+        }
+        Arrays.sort(entradas, (a, b) -> comparar(chave(a[0]), (Integer) a[1], chave(b[0]), (Integer) b[1]));
+        raiz = montar(entradas);
+        tamanho = entradas.length;
+    }
+
+    /**
+     * Monta a árvore a partir das entradas ordenadas: distribui as entradas igualmente entre folhas com
+     * cerca de {@link #OCUPACAO_CARGA} entradas e, nível a nível, agrupa os nós da mesma forma.
+     */
+    private No montar(Object[][] entradas) {
+        List<No> nivel = new ArrayList<>();
+        int quantidadeFolhas = Math.max(1, (entradas.length + OCUPACAO_CARGA - 1) / OCUPACAO_CARGA);
+        Folha anterior = null;
+        for (int f = 0, inicio = 0; f < quantidadeFolhas; f++) {
+            int fim = (int) ((long) entradas.length * (f + 1) / quantidadeFolhas);
+            Folha folha = new Folha();
+            for (int i = inicio; i < fim; i++) {
+                folha.chaves[folha.quantidade] = entradas[i][0];
+                folha.ids[folha.quantidade] = (Integer) entradas[i][1];
+                folha.entidades[folha.quantidade++] = entradas[i][2];
+            }
+            folha.anterior = anterior;
+            if (anterior != null) {
+                anterior.proxima = folha;
+            }
+            anterior = folha;
+            nivel.add(folha);
+            inicio = fim;
+        }
+        while (nivel.size() > 1) {
+            int quantidadeNos = (nivel.size() + OCUPACAO_CARGA - 1) / OCUPACAO_CARGA;
+            List<No> acima = new ArrayList<>(quantidadeNos);
+            for (int k = 0, inicio = 0; k < quantidadeNos; k++) {
+                int fim = (int) ((long) nivel.size() * (k + 1) / quantidadeNos);
+                Interno interno = new Interno();
+                for (int i = inicio; i < fim; i++) {
+                    inserirFilho(interno, interno.quantidade, nivel.get(i));
+                    interno.total += total(nivel.get(i));
+                }
+                acima.add(interno);
+                inicio = fim;
+            }
+            nivel = acima;
+        }
+        return nivel.get(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K chave(Object chave) {
+        return (K) chave;
+    }
+
+    private int comparar(K chaveA, int idA, K chaveB, int idB) {
+        int comparacao = chaveA.compareTo(chaveB);
+        return comparacao != 0 ? comparacao : Integer.compare(idA, idB);
+    }
+
+    private static int total(No no) {
+        return no instanceof Interno ? ((Interno) no).total : no.quantidade;
+    }
+
+    private static Folha primeiraFolha(No no) {
+        while (no instanceof Interno) {
+            no = ((Interno) no).filhos[0];
+        }
+        return (Folha) no;
+    }
+
+    /**
+     * @return O índice do filho cuja subárvore contém (ou receberia) a entrada (chave, id).
+     */
+    private int filho(Interno no, K chave, int id) {
+        int inicio = 1;
+        int fim = no.quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (comparar(chave(no.chavesMinimas[meio]), no.idsMinimos[meio], chave, id) <= 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio - 1;
+    }
+
+    /**
+     * @return A primeira posição da folha cuja entrada é maior ou igual a (chave, id).
+     */
+    private int posicaoNaFolha(Folha folha, K chave, int id) {
+        int inicio = 0;
+        int fim = folha.quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (comparar(chave(folha.chaves[meio]), folha.ids[meio], chave, id) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * @return A quantidade de entradas menores que (chave, id), somando as contagens dos filhos à esquerda da descida.
+     */
+    private int posicao(K chave, int id) {
+        int posicao = 0;
+        No no = raiz;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            int c = filho(interno, chave, id);
+            for (int i = 0; i < c; i++) {
+                posicao += interno.contagens[i];
+            }
+            no = interno.filhos[c];
+        }
+        return posicao + posicaoNaFolha((Folha) no, chave, id);
+    }
+
+    /**
+     * Adiciona uma entidade, pela chave do seu estado atual.
+     */
+    public synchronized void adicionar(T entidade) {
+        K chave = extratorChave.apply(entidade);
+        int id = extratorId.applyAsInt(entidade);
+        No novo = inserir(raiz, chave, id, entidade);
+        if (novo != null) {
+            Interno novaRaiz = new Interno();
+            inserirFilho(novaRaiz, 0, raiz);
+            inserirFilho(novaRaiz, 1, novo);
+            novaRaiz.total = total(raiz) + total(novo);
+            raiz = novaRaiz;
+        }
+        if (incluida) {
+            tamanho++;
+        }
+    }
+
+    /**
+     * Insere a entrada na subárvore.
+     * @return O novo irmão à direita, se o nó foi dividido; {@code null} caso contrário.
+     */
+    private No inserir(No no, K chave, int id, T entidade) {
+        if (no instanceof Folha) {
+            return inserirNaFolha((Folha) no, chave, id, entidade);
+        }
+        Interno interno = (Interno) no;
+        int c = filho(interno, chave, id);
+        No novo = inserir(interno.filhos[c], chave, id, entidade);
+        if (!incluida) {
+            return null;
+        }
+        interno.total++;
+        interno.contagens[c]++;
+        if (novo == null) {
+            return null;
+        }
+        interno.contagens[c] -= total(novo);
+        inserirFilho(interno, c + 1, novo);
+        return interno.quantidade == CAPACIDADE ? dividir(interno) : null;
+    }
+
+    private No inserirNaFolha(Folha folha, K chave, int id, T entidade) {
+        int p = posicaoNaFolha(folha, chave, id);
+        if (p < folha.quantidade && folha.ids[p] == id && chave.compareTo(chave(folha.chaves[p])) == 0) {
+            folha.entidades[p] = entidade;
+            incluida = false;
+            return null;
+        }
+        int deslocadas = folha.quantidade - p;
+        System.arraycopy(folha.chaves, p, folha.chaves, p + 1, deslocadas);
+        System.arraycopy(folha.ids, p, folha.ids, p + 1, deslocadas);
+        System.arraycopy(folha.entidades, p, folha.entidades, p + 1, deslocadas);
+        folha.chaves[p] = chave;
+        folha.ids[p] = id;
+        folha.entidades[p] = entidade;
+        folha.quantidade++;
+        incluida = true;
+        return folha.quantidade == CAPACIDADE ? dividir(folha) : null;
+    }
+
+    /**
+     * Insere um filho na posição informada, com a menor entrada da sua subárvore e a sua contagem.
+     * O total do nó não é alterado.
+     */
+    private static void inserirFilho(Interno interno, int posicao, No filho) {
+        int deslocados = interno.quantidade - posicao;
+        System.arraycopy(interno.filhos, posicao, interno.filhos, posicao + 1, deslocados);
+        System.arraycopy(interno.chavesMinimas, posicao, interno.chavesMinimas, posicao + 1, deslocados);
+        System.arraycopy(interno.idsMinimos, posicao, interno.idsMinimos, posicao + 1, deslocados);
+        System.arraycopy(interno.contagens, posicao, interno.contagens, posicao + 1, deslocados);
+        Folha primeira = primeiraFolha(filho);
+        interno.filhos[posicao] = filho;
+        interno.chavesMinimas[posicao] = primeira.chaves[0];
+        interno.idsMinimos[posicao] = primeira.ids[0];
+        interno.contagens[posicao] = total(filho);
+        interno.quantidade++;
+    }
+
+    private static Folha dividir(Folha folha) {
+        Folha direita = new Folha();
+        int metade = folha.quantidade / 2;
+        moverEntradas(folha, metade, direita, 0, folha.quantidade - metade);
+        direita.quantidade = folha.quantidade - metade;
+        folha.quantidade = metade;
+        direita.proxima = folha.proxima;
+        if (folha.proxima != null) {
+            folha.proxima.anterior = direita;
+        }
+        direita.anterior = folha;
+        folha.proxima = direita;
+        return direita;
+    }
+
+    private static Interno dividir(Interno interno) {
+        Interno direita = new Interno();
+        int metade = interno.quantidade / 2;
+        moverFilhos(interno, metade, direita, 0, interno.quantidade - metade);
+        direita.quantidade = interno.quantidade - metade;
+        interno.quantidade = metade;
+        for (int i = 0; i < direita.quantidade; i++) {
+            direita.total += direita.contagens[i];
+        }
+        interno.total -= direita.total;
+        return direita;
+    }
+
+    /**
+     * Copia entradas entre folhas (ou dentro da mesma) e limpa as referências das posições de origem que ficam vagas.
+     */
+    private static void moverEntradas(Folha origem, int de, Folha destino, int para, int quantidade) {
+        System.arraycopy(origem.chaves, de, destino.chaves, para, quantidade);
+        System.arraycopy(origem.ids, de, destino.ids, para, quantidade);
+        System.arraycopy(origem.entidades, de, destino.entidades, para, quantidade);
+        if (origem != destino) {
+            Arrays.fill(origem.chaves, de, de + quantidade, null);
+            Arrays.fill(origem.entidades, de, de + quantidade, null);
+        }
+    }
+
+    private static void moverFilhos(Interno origem, int de, Interno destino, int para, int quantidade) {
+        System.arraycopy(origem.filhos, de, destino.filhos, para, quantidade);
+        System.arraycopy(origem.chavesMinimas, de, destino.chavesMinimas, para, quantidade);
+        System.arraycopy(origem.idsMinimos, de, destino.idsMinimos, para, quantidade);
+        System.arraycopy(origem.contagens, de, destino.contagens, para, quantidade);
+        if (origem != destino) {
+            Arrays.fill(origem.filhos, de, de + quantidade, null);
+            Arrays.fill(origem.chavesMinimas, de, de + quantidade, null);
+        }
+    }
+
+    /**
+     * Remove uma entidade, pela chave do seu estado atual.
+     */
+    public synchronized void remover(T entidade) {
+        K chave = extratorChave.apply(entidade);
+        int id = extratorId.applyAsInt(entidade);
+        if (removerDe(raiz, chave, id)) {
+            tamanho--;
+            while (raiz instanceof Interno && raiz.quantidade == 1) {
+                raiz = ((Interno) raiz).filhos[0];
+            }
+        }
+    }
+
+    /**
+     * Remove a entrada da subárvore, equilibrando o filho de onde ela saiu se ele ficar abaixo da ocupação mínima.
+     * @return {@code true} se a entrada existia.
+     */
+    private boolean removerDe(No no, K chave, int id) {
+        if (no instanceof Folha) {
+            Folha folha = (Folha) no;
+            int p = posicaoNaFolha(folha, chave, id);
+            if (p == folha.quantidade || folha.ids[p] != id || chave.compareTo(chave(folha.chaves[p])) != 0) {
+                return false;
+            }
+            moverEntradas(folha, p + 1, folha, p, folha.quantidade - p - 1);
+            folha.quantidade--;
+            folha.chaves[folha.quantidade] = null;
+            folha.entidades[folha.quantidade] = null;
+            return true;
+        }
+        Interno interno = (Interno) no;
+        int c = filho(interno, chave, id);
+        if (!removerDe(interno.filhos[c], chave, id)) {
+            return false;
+        }
+        interno.total--;
+        interno.contagens[c]--;
+        if (interno.filhos[c].quantidade < OCUPACAO_MINIMA && interno.quantidade > 1) {
+            equilibrar(interno, c > 0 ? c - 1 : c);
+        }
+        return true;
+    }
+
+    /**
+     * Funde os filhos {@code e} e {@code e + 1}, se couberem em um só nó, ou divide as entradas igualmente entre eles.
+     */
+    private static void equilibrar(Interno pai, int e) {
+        int d = e + 1;
+        No esquerda = pai.filhos[e];
+        No direita = pai.filhos[d];
+        int soma = esquerda.quantidade + direita.quantidade;
+        if (soma < CAPACIDADE) {
+            if (esquerda instanceof Folha) {
+                Folha folhaEsquerda = (Folha) esquerda;
+                Folha folhaDireita = (Folha) direita;
+                moverEntradas(folhaDireita, 0, folhaEsquerda, folhaEsquerda.quantidade, folhaDireita.quantidade);
+                folhaEsquerda.proxima = folhaDireita.proxima;
+                if (folhaDireita.proxima != null) {
+                    folhaDireita.proxima.anterior = folhaEsquerda;
+                }
+            } else {
+                Interno internoEsquerda = (Interno) esquerda;
+                Interno internoDireita = (Interno) direita;
+                internoDireita.chavesMinimas[0] = pai.chavesMinimas[d];
+                internoDireita.idsMinimos[0] = pai.idsMinimos[d];
+                moverFilhos(internoDireita, 0, internoEsquerda, internoEsquerda.quantidade, internoDireita.quantidade);
+                internoEsquerda.total += internoDireita.total;
+            }
+            esquerda.quantidade = soma;
+            pai.contagens[e] += pai.contagens[d];
+            int deslocados = pai.quantidade - d - 1;
+            moverFilhos(pai, d + 1, pai, d, deslocados);
+            pai.quantidade--;
+            pai.filhos[pai.quantidade] = null;
+            pai.chavesMinimas[pai.quantidade] = null;
+            return;
+        }
+
+        int alvo = soma / 2;
+        if (esquerda instanceof Folha) {
+            Folha folhaEsquerda = (Folha) esquerda;
+            Folha folhaDireita = (Folha) direita;
+            if (folhaEsquerda.quantidade > alvo) {
+                int movidas = folhaEsquerda.quantidade - alvo;
+                moverEntradas(folhaDireita, 0, folhaDireita, movidas, folhaDireita.quantidade);
+                moverEntradas(folhaEsquerda, alvo, folhaDireita, 0, movidas);
+            } else {
+                int movidas = alvo - folhaEsquerda.quantidade;
+                moverEntradas(folhaDireita, 0, folhaEsquerda, folhaEsquerda.quantidade, movidas);
+                moverEntradas(folhaDireita, movidas, folhaDireita, 0, folhaDireita.quantidade - movidas);
+                Arrays.fill(folhaDireita.chaves, soma - alvo, folhaDireita.quantidade, null);
+                Arrays.fill(folhaDireita.entidades, soma - alvo, folhaDireita.quantidade, null);
+            }
+            pai.chavesMinimas[d] = folhaDireita.chaves[0];
+            pai.idsMinimos[d] = folhaDireita.ids[0];
+        } else {
+            Interno internoEsquerda = (Interno) esquerda;
+            Interno internoDireita = (Interno) direita;
+            internoDireita.chavesMinimas[0] = pai.chavesMinimas[d];
+            internoDireita.idsMinimos[0] = pai.idsMinimos[d];
+            int transferidas = 0;
+            if (internoEsquerda.quantidade > alvo) {
+                int movidos = internoEsquerda.quantidade - alvo;
+                moverFilhos(internoDireita, 0, internoDireita, movidos, internoDireita.quantidade);
+                moverFilhos(internoEsquerda, alvo, internoDireita, 0, movidos);
+                for (int i = 0; i < movidos; i++) {
+                    transferidas -= internoDireita.contagens[i];
+                }
+            } else {
+                int movidos = alvo - internoEsquerda.quantidade;
+                moverFilhos(internoDireita, 0, internoEsquerda, internoEsquerda.quantidade, movidos);
+                for (int i = 0; i < movidos; i++) {
+                    transferidas += internoEsquerda.contagens[internoEsquerda.quantidade + i];
+                }
+                moverFilhos(internoDireita, movidos, internoDireita, 0, internoDireita.quantidade - movidos);
+                Arrays.fill(internoDireita.filhos, soma - alvo, internoDireita.quantidade, null);
+                Arrays.fill(internoDireita.chavesMinimas, soma - alvo, internoDireita.quantidade, null);
+            }
+            internoEsquerda.total += transferidas;
+            internoDireita.total -= transferidas;
+            pai.chavesMinimas[d] = internoDireita.chavesMinimas[0];
+            pai.idsMinimos[d] = internoDireita.idsMinimos[0];
+        }
+        esquerda.quantidade = alvo;
+        direita.quantidade = soma - alvo;
+        pai.contagens[e] = total(esquerda);
+        pai.contagens[d] = total(direita);
+    }
+
+    /**
+     * @return A quantidade de entidades indexadas.
+     */
+    public synchronized int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @param chave Uma chave.
+     * @return A quantidade de entidades com chave menor que a informada, isto é, a posição da primeira entidade
+     * com chave maior ou igual a ela na ordem crescente.
+     */
+    public synchronized int posicaoDaChave(K chave) {
+        return posicao(chave, Integer.MIN_VALUE);
+    }
+
+    /**
+     * Retorna uma página da listagem ordenada: localiza a primeira entrada pelas contagens dos nós e segue
+     * o encadeamento das folhas.
+     * @param crescente {@code true} para a ordem crescente da chave; {@code false} para a decrescente.
+     * @param inicio A posição da primeira entidade da página (a partir de 0).
+     * @param quantidade O tamanho máximo da página.
+     * @return As entidades da página, na ordem pedida.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> pagina(boolean crescente, int inicio, int quantidade) {
+        int primeiro = Math.max(0, inicio);
+        int fim = (int) Math.min(tamanho, (long) primeiro + quantidade);
+        List<T> pagina = new ArrayList<>(Math.max(0, fim - primeiro));
+        if (primeiro >= fim) {
+            return pagina;
+        }
+        int posicao = crescente ? primeiro : tamanho - 1 - primeiro;
+        No no = raiz;
+        while (no instanceof Interno) {
+            Interno interno = (Interno) no;
+            int c = 0;
+            while (posicao >= interno.contagens[c]) {
+                posicao -= interno.contagens[c++];
+            }
+            no = interno.filhos[c];
+        }
+        Folha folha = (Folha) no;
+        for (int i = primeiro; i < fim; i++) {
+            pagina.add((T) folha.entidades[posicao]);
+            if (crescente && ++posicao == folha.quantidade && folha.proxima != null) {
+                folha = folha.proxima;
+                posicao = 0;
+            } else if (!crescente && --posicao < 0 && folha.anterior != null) {
+                folha = folha.anterior;
+                posicao = folha.quantidade - 1;
+            }
+        }
+        return pagina;
+    }
+}
@@ -0,0 +1,173 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice invertido de trigramas (sequências de três caracteres) de um texto das entidades, como o título,
+ * para a busca por trecho sem diferenciar maiúsculas de minúsculas.
+ * <p>
+ * Cada trigrama do texto normalizado aponta para a {@link ListaIds} das entidades que o contêm. Uma consulta com
+ * três ou mais caracteres intersecta as listas dos seus trigramas, começando pela menor, e só os candidatos
+ * que restam têm o texto conferido ({@link String#regionMatches(boolean, int, String, int, int)}, sem alocar cópias).
+ * Consultas de um ou dois caracteres conferem todas as entidades, como a busca linear.
+ * <p>
+ * O índice é atualizado a cada cadastro, edição e exclusão: como a chave vem do estado atual da entidade,
+ * ela deve ser removida antes de o texto mudar e adicionada de novo depois.
+ * Os métodos são sincronizados no próprio índice, de modo que as buscas não dependem da trava do {@link Sistema}.
+ * Os resultados vêm em ordem crescente de ID, que é a ordem de cadastro.
+ * @param <T> O tipo da entidade indexada.
+ */
+public class IndiceTrigramas<T> {
+
+    private final Function<T, String> extratorTexto;
+    private final IndiceIds<T> porId;
+    private final ToIntFunction<T> extratorId;
+    /**
+     * Listas de postagens por trigrama, codificado em um {@code long} (três caracteres de 16 bits).
+     */
+    private final Map<Long, ListaIds> postagens = new HashMap<>();
+    /**
+     * Todos os IDs indexados, para as consultas curtas demais para usar trigramas.
+     */
+    private final ListaIds todos = new ListaIds();
+
+    /**
+     * @param extratorTexto Função que devolve o texto indexado (por exemplo, o título).
+     * @param extratorId Função que devolve o ID de uma entidade.
+     */
+    public IndiceTrigramas(Function<T, String> extratorTexto, ToIntFunction<T> extratorId) {
+        this.extratorTexto = extratorTexto;
+        this.extratorId = extratorId;
+        this.porId = new IndiceIds<>(extratorId);
+    }
+
+    /**
+     * Cria um índice já preenchido com as entidades informadas.
+     */
+    public IndiceTrigramas(Function<T, String> extratorTexto, ToIntFunction<T> extratorId, Collection<? extends T> iniciais) {
+        this(extratorTexto, extratorId);
+        porId.adicionarTodos(iniciais);
+        for (T entidade : iniciais) {
+            indexar(entidade, extratorId.applyAsInt(entidade));
+        }
+    }
+
+    /**
+     * Normaliza um caractere como {@link String#regionMatches(boolean, int, String, int, int)} com {@code ignoreCase}.
+     */
+    private static char normalizar(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) normalizar(texto.charAt(inicio)) << 32)
+                | ((long) normalizar(texto.charAt(inicio + 1)) << 16)
+                | normalizar(texto.charAt(inicio + 2));
+    }
+
+    private void indexar(T entidade, int id) {
+        todos.adicionar(id);
+        String texto = extratorTexto.apply(entidade);
+        if (texto == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            postagens.computeIfAbsent(trigrama(texto, i), k -> new ListaIds()).adicionar(id);
+        }
+    }
+
+    /**
+     * Adiciona uma entidade, pelos trigramas do seu texto atual.
+     */
+    public synchronized void adicionar(T entidade) {
+        porId.adicionar(entidade);
+        indexar(entidade, extratorId.applyAsInt(entidade));
+    }
+
+    /**
+     * Remove uma entidade, pelos trigramas do seu texto atual.
+     */
+    public synchronized void remover(T entidade) {
+        int id = extratorId.applyAsInt(entidade);
+        porId.remover(id);
+        todos.remover(id);
+        String texto = extratorTexto.apply(entidade);
+        if (texto == null) {
+            return;
+        }
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            Long chave = trigrama(texto, i);
+            ListaIds lista = postagens.get(chave);
+            if (lista != null && lista.remover(id) && lista.tamanho() == 0) {
+                postagens.remove(chave);
+            }
+        }
+    }
+
+    /**
+     * Busca as entidades cujo texto contém o trecho informado, sem diferenciar maiúsculas de minúsculas.
+     * @param trecho O trecho procurado.
+     * @return As entidades encontradas, em ordem crescente de ID.
+     */
+    public synchronized List<T> buscar(String trecho) {
+        List<T> encontrados = new ArrayList<>();
+        if (trecho.length() < 3) {
+            for (int i = 0; i < todos.tamanho(); i++) {
+                conferir(porId.buscar(todos.get(i)), trecho, encontrados);
+            }
+            return encontrados;
+        }
+
+        int quantidade = trecho.length() - 2;
+        ListaIds[] listas = new ListaIds[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            listas[i] = postagens.get(trigrama(trecho, i));
+            if (listas[i] == null) {
+                return encontrados; // Um trigrama do trecho não aparece em nenhum texto.
+            }
+        }
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanho(), b.tamanho()));
+        ListaIds menor = listas[0];
+        int[] cursores = new int[quantidade];
+        candidatos:
+        for (int i = 0; i < menor.tamanho(); i++) {
+            int id = menor.get(i);
+            for (int j = 1; j < quantidade; j++) {
+                if (listas[j] == menor) {
+                    continue; // Trigramas repetidos no trecho compartilham a mesma lista.
+                }
+                int posicao = listas[j].buscarAPartirDe(id, cursores[j]);
+                if (posicao < 0) {
+                    cursores[j] = -posicao - 1;
+                    continue candidatos;
+                }
+                cursores[j] = posicao + 1;
+            }
+            conferir(porId.buscar(id), trecho, encontrados);
+        }
+        return encontrados;
+    }
+
+    /**
+     * Confere o candidato (os trigramas não garantem a ordem e a adjacência) e o acrescenta ao resultado.
+     */
+    private void conferir(T candidato, String trecho, List<T> encontrados) {
+        String texto = candidato != null ? extratorTexto.apply(candidato) : null;
+        if (texto == null) {
+            return;
+        }
+        for (int i = 0; i + trecho.length() <= texto.length(); i++) {
+            if (texto.regionMatches(true, i, trecho, 0, trecho.length())) {
+                encontrados.add(candidato);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Índice hash de uma chave normalizada (título sem diferença de maiúsculas, ISBN só com dígitos etc.),
+ * usado nas verificações de duplicidade do {@link Sistema}, que passam a ser de tempo constante.
+ * <p>
+ * A chave é calculada a partir do estado atual da entidade; por isso, antes de alterar um campo que compõe a chave,
+ * a entidade deve ser removida do índice e, depois da alteração, adicionada de novo.
+ * <p>
+ * O sistema não permite duplicidades, mas dados gravados por versões antigas podem conter entidades de mesma chave;
+ * nesse caso, todas são guardadas, para que a exclusão de uma não esconda a outra.
+ * As alterações devem ser feitas sob a trava do {@link Sistema}.
+ * @param <T> O tipo da entidade indexada.
+ */
+public class IndiceUnico<T> {
+
+    private final Function<T, String> extratorChave;
+    private final ToIntFunction<T> extratorId;
+    /**
+     * Entidade de cada chave, ou uma {@code ArrayList} das entidades, no caso raro de chave repetida.
+     */
+    private final Map<String, Object> entidades = new HashMap<>();
+
+    /**
+     * @param extratorChave Função que devolve a chave já normalizada de uma entidade.
+     * @param extratorId Função que devolve o ID de uma entidade, usado nas verificações que excluem a própria entidade.
+     */
+    public IndiceUnico(Function<T, String> extratorChave, ToIntFunction<T> extratorId) {
+        this.extratorChave = extratorChave;
+        this.extratorId = extratorId;
+    }
+
+    /**
+     * Cria um índice já preenchido com as entidades informadas.
+     */
+    public IndiceUnico(Function<T, String> extratorChave, ToIntFunction<T> extratorId, Collection<? extends T> iniciais) {
+        this(extratorChave, extratorId);
+        iniciais.forEach(this::adicionar);
+    }
+
+    /**
+     * Normaliza um texto para comparação sem diferenciar maiúsculas de minúsculas, como {@link String#equalsIgnoreCase(String)}.
+     * @param texto O texto (título ou nome).
+     * @return A chave normalizada ({@code ""} para {@code null}).
+     */
+    public static String chaveTexto(String texto) {
+        return texto == null ? "" : texto.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normaliza um ISBN mantendo apenas os dígitos ({@code "123-45-678-9123-4"} e {@code "1234567891234"} são o mesmo ISBN).
+     * @param isbn O ISBN.
+     * @return A chave normalizada ({@code ""} para {@code null}).
+     */
+    public static String chaveIsbn(String isbn) {
+        if (isbn == null) {
+            return "";
+        }
+        StringBuilder digitos = new StringBuilder(isbn.length());
+        for (int i = 0; i < isbn.length(); i++) {
+            char c = isbn.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * @param chave Uma chave já normalizada.
+     * @return {@code true} se alguma entidade do índice tem a chave.
+     */
+    public boolean contem(String chave) {
+        return entidades.containsKey(chave);
+    }
+
+    /**
+     * @param chave Uma chave já normalizada.
+     * @param idExcluir O ID da entidade que não deve ser considerada (a que está sendo editada).
+     * @return {@code true} se alguma entidade do índice, além da de ID {@code idExcluir}, tem a chave.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean contemOutro(String chave, int idExcluir) {
+        Object valor = entidades.get(chave);
+        if (valor == null) {
+            return false;
+        }
+        if (valor instanceof ArrayList) {
+            for (T entidade : (List<T>) valor) {
+                if (extratorId.applyAsInt(entidade) != idExcluir) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return extratorId.applyAsInt((T) valor) != idExcluir;
+    }
+
+    /**
+     * Adiciona uma entidade, pela chave do seu estado atual.
+     */
+    @SuppressWarnings("unchecked")
+    public void adicionar(T entidade) {
+        entidades.merge(extratorChave.apply(entidade), entidade, (atual, nova) -> {
+            List<T> repetidas;
+            if (atual instanceof ArrayList) {
+                repetidas = (List<T>) atual;
+            } else {
+                repetidas = new ArrayList<>(2);
+                repetidas.add((T) atual);
+            }
+            repetidas.add((T) nova);
+            return repetidas;
+        });
+    }
+
+    /**
+     * Remove uma entidade, pela chave do seu estado atual.
+     */
+    @SuppressWarnings("unchecked")
+    public void remover(T entidade) {
+        entidades.computeIfPresent(extratorChave.apply(entidade), (chave, atual) -> {
+            if (!(atual instanceof ArrayList)) {
+                return atual == entidade ? null : atual;
+            }
+            List<T> repetidas = (List<T>) atual;
+            repetidas.removeIf(e -> e == entidade);
+            return repetidas.size() == 1 ? repetidas.get(0) : repetidas;
+        });
+    }
+}
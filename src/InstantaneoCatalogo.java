@@ -0,0 +1,286 @@
+package src;
+
+import java.io.File;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Instantâneo (snapshot) do catálogo: uma visão de todas as coleções congelada em um ponto no tempo,
+ * criada por {@link Sistema#criarInstantaneo()}, para backups, exportações e relatórios demorados.
+ * <p>
+ * A criação tem custo constante: guarda, de cada uma das cinco listas vivas do sistema, a referência e o tamanho
+ * naquele instante, sem copiar nada. Como as listas só crescem por acréscimos no fim, esse prefixo continua
+ * intacto enquanto não houver exclusões; antes de excluir um livro ou jornal, o sistema faz o instantâneo copiar
+ * o prefixo daquela lista ({@link #preservarLista(List)}), e a leitura passa a usar a cópia. Cada elemento ainda
+ * não copiado é lido da lista viva sob a trava do {@link Sistema}, de modo que a leitura espera no máximo pela
+ * operação de escrita em andamento, nunca por toda a exportação ou backup.
+ * <p>
+ * Livros e jornais também são protegidos por cópia na escrita: antes de editar uma publicação ou alterar seu estoque,
+ * o sistema entrega ao instantâneo uma cópia do estado anterior ({@link #preservar(Publicacao)}), e a leitura
+ * passa a usar essa cópia. Cada escritor paga no máximo uma cópia por publicação alterada, e uma cópia por lista
+ * na primeira exclusão, enquanto o instantâneo estiver aberto.
+ * <p>
+ * Autores, editoras e categorias não são editados nem excluídos e são compartilhados com o sistema. A exceção é a
+ * lista de livros publicados de cada autor ({@link Autor#getLivrosPublicados()}), que o sistema continua atualizando:
+ * ela reflete o estado atual, e não o do instantâneo, e não deve ser usada a partir dele (os autores de cada livro
+ * do instantâneo estão em {@link Livro#getAutores()}).
+ * <p>
+ * As publicações devolvidas são cópias pertencentes ao instantâneo e não devem ser alteradas.
+ * O instantâneo deve ser fechado ({@link #close()}) ao fim do uso, para que o sistema pare de preservar cópias,
+ * e não deve ser lido depois disso.
+ */
+public class InstantaneoCatalogo implements AutoCloseable {
+
+    /**
+     * O prefixo de uma lista viva do sistema no momento da criação: a lista e o tamanho de então, até que uma
+     * exclusão obrigue a copiar o prefixo.
+     */
+    private final class ListaCapturada<T> extends AbstractList<T> {
+        private final List<T> viva;
+        private final int tamanho;
+        private volatile List<T> copia;
+
+        private ListaCapturada(List<T> viva) {
+            this.viva = viva;
+            this.tamanho = viva.size();
+        }
+
+        @Override
+        public T get(int indice) {
+            if (indice < 0 || indice >= tamanho) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora do tamanho " + tamanho);
+            }
+            List<T> copiada = copia;
+            if (copiada != null) {
+                return copiada.get(indice);
+            }
+            synchronized (trava) {
+                copiada = copia;
+                return copiada != null ? copiada.get(indice) : viva.get(indice);
+            }
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+
+        /**
+         * Copia o prefixo capturado. Chamado com a trava do {@link Sistema}, antes de uma exclusão na lista viva.
+         */
+        private void copiar() {
+            if (copia == null) {
+                copia = new ArrayList<>(viva.subList(0, tamanho));
+            }
+        }
+    }
+
+    private final long criadoEm;
+    /**
+     * Trava do {@link Sistema}, mantida pelos escritores durante cada alteração das listas vivas.
+     */
+    private final Object trava;
+    private final ListaCapturada<Livro> livros;
+    private final ListaCapturada<Jornal> jornais;
+    private final ListaCapturada<Autor> autores;
+    private final ListaCapturada<Editora> editoras;
+    private final ListaCapturada<Categoria> categorias;
+    /**
+     * Manifesto dos backups, com os próximos IDs de cada entidade no momento da criação.
+     */
+    private final Manifesto manifesto = new Manifesto();
+    /**
+     * Cópias do estado anterior das publicações alteradas depois da criação, por ID.
+     */
+    private final Map<Integer, Publicacao> preservadas = new HashMap<>();
+    private final Consumer<InstantaneoCatalogo> aoFechar;
+    private boolean fechado;
+
+    /**
+     * Cria o instantâneo. Deve ser chamado com a trava do {@link Sistema}, para que as listas estejam estáveis.
+     * @param trava A trava do {@link Sistema}, sob a qual as listas vivas são alteradas.
+     */
+    InstantaneoCatalogo(Object trava, List<Livro> livros, List<Jornal> jornais, List<Autor> autores, List<Editora> editoras,
+                        List<Categoria> categorias, Consumer<InstantaneoCatalogo> aoFechar) {
+        this.criadoEm = System.currentTimeMillis();
+        this.trava = trava;
+        this.livros = new ListaCapturada<>(livros);
+        this.jornais = new ListaCapturada<>(jornais);
+        this.autores = new ListaCapturada<>(autores);
+        this.editoras = new ListaCapturada<>(editoras);
+        this.categorias = new ListaCapturada<>(categorias);
+        this.manifesto.capturarProximosIds();
+        this.aoFechar = aoFechar;
+    }
+
+    /**
+     * Copia o prefixo capturado de uma lista viva, que está prestes a ter um elemento excluído.
+     * Deve ser chamado com a trava do {@link Sistema}; listas que o instantâneo não capturou são ignoradas.
+     * @param viva A lista do sistema que será alterada.
+     */
+    void preservarLista(List<?> viva) {
+        for (ListaCapturada<?> capturada : Arrays.asList(livros, jornais, autores, editoras, categorias)) {
+            if (capturada.viva == viva) {
+                capturada.copiar();
+            }
+        }
+    }
+
+    /**
+     * Guarda uma cópia do estado atual de uma publicação, que está prestes a ser alterada.
+     * Apenas a primeira alteração depois da criação do instantâneo é preservada.
+     * @param publicacao O {@link Livro} ou {@link Jornal} que será alterado.
+     */
+    synchronized void preservar(Publicacao publicacao) {
+        if (!fechado && !preservadas.containsKey(publicacao.getId())) {
+            preservadas.put(publicacao.getId(), copiar(publicacao));
+        }
+    }
+
+    /**
+     * Lê uma publicação no estado do instantâneo: a cópia preservada, se houver, ou uma cópia do objeto vivo,
+     * que ainda não foi alterado (toda alteração é precedida de {@link #preservar(Publicacao)}, sob esta mesma trava).
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T extends Publicacao> T ler(T viva) {
+        Publicacao preservada = preservadas.get(viva.getId());
+        return preservada != null ? (T) preservada : (T) copiar(viva);
+    }
+
+    private static Publicacao copiar(Publicacao publicacao) {
+        Publicacao copia;
+        if (publicacao instanceof Livro) {
+            Livro livro = (Livro) publicacao;
+            Livro copiaLivro = new Livro(livro.getId(), livro.getTitulo(), livro.getPreco(), livro.getEditora(),
+                    livro.getQuantidadePaginas(), livro.getIsbn());
+            for (Autor autor : livro.getAutores()) {
+                copiaLivro.addAutor(autor);
+            }
+            copiaLivro.setCategoria(livro.getCategoria());
+            copia = copiaLivro;
+        } else {
+            Jornal jornal = (Jornal) publicacao;
+            copia = new Jornal(jornal.getId(), jornal.getTitulo(), jornal.getPreco(), jornal.getEditora(), jornal.getDataPublicacao());
+        }
+        copia.setEstoqueDisponivel(publicacao.getEstoqueDisponivel());
+        return copia;
+    }
+
+    /**
+     * Visão somente leitura de uma lista de publicações no estado do instantâneo; cada elemento é lido sob demanda.
+     */
+    private <T extends Publicacao> List<T> visao(List<T> capturadas) {
+        return new AbstractList<T>() {
+            @Override
+            public T get(int indice) {
+                return ler(capturadas.get(indice));
+            }
+
+            @Override
+            public int size() {
+                return capturadas.size();
+            }
+        };
+    }
+
+    /**
+     * @return O momento da criação do instantâneo, em milissegundos desde a época.
+     */
+    public long getCriadoEm() {
+        return criadoEm;
+    }
+
+    /**
+     * @return Os livros no momento da criação (lista somente leitura, lida sob demanda).
+     */
+    public List<Livro> getLivros() {
+        return visao(livros);
+    }
+
+    /**
+     * @return Os jornais no momento da criação (lista somente leitura, lida sob demanda).
+     */
+    public List<Jornal> getJornais() {
+        return visao(jornais);
+    }
+
+    /**
+     * @return Os autores no momento da criação (lista somente leitura). A lista de livros publicados de cada
+     * autor é a atual, e não a do instantâneo.
+     */
+    public List<Autor> getAutores() {
+        return autores;
+    }
+
+    /**
+     * @return As editoras no momento da criação (lista somente leitura).
+     */
+    public List<Editora> getEditoras() {
+        return editoras;
+    }
+
+    /**
+     * @return As categorias no momento da criação (lista somente leitura).
+     */
+    public List<Categoria> getCategorias() {
+        return categorias;
+    }
+
+    /**
+     * Grava um backup completo do instantâneo em um subdiretório do diretório de dados, no mesmo formato
+     * do {@link ArmazenamentoArquivos} (arquivos das coleções e {@link Manifesto}), de modo que o backup
+     * pode ser aberto diretamente apontando {@link Configuracao#getDiretorioDados()} para ele.
+     * O sistema continua aceitando alterações durante toda a gravação.
+     * @param subdiretorio O subdiretório, dentro de {@link Util#DIRETORIO_DADOS}, onde o backup será gravado.
+     * @return {@code true} se todos os arquivos do backup foram gravados com sucesso.
+     */
+    public boolean salvarBackup(String subdiretorio) {
+        return salvarBackup(new File(Util.DIRETORIO_DADOS, subdiretorio));
+    }
+
+    /**
+     * Grava um backup completo do instantâneo em qualquer diretório (ver {@link #salvarBackup(String)});
+     * o backup pode ser aberto com {@link ArmazenamentoArquivos#ArmazenamentoArquivos(java.nio.file.Path)}.
+     * @param diretorio O diretório onde o backup será gravado.
+     * @return {@code true} se todos os arquivos do backup foram gravados com sucesso.
+     */
+    public boolean salvarBackup(File diretorio) {
+        synchronized (manifesto) {
+            boolean sucesso = gravarColecao(diretorio, ArmazenamentoArquivos.ARQUIVO_LIVROS, getLivros(), CodecBinario.LIVRO)
+                    & gravarColecao(diretorio, ArmazenamentoArquivos.ARQUIVO_JORNAIS, getJornais(), CodecBinario.JORNAL)
+                    & gravarColecao(diretorio, ArmazenamentoArquivos.ARQUIVO_AUTORES, autores, CodecBinario.AUTOR)
+                    & gravarColecao(diretorio, ArmazenamentoArquivos.ARQUIVO_EDITORAS, editoras, CodecBinario.EDITORA)
+                    & gravarColecao(diretorio, ArmazenamentoArquivos.ARQUIVO_CATEGORIAS, categorias, CodecBinario.CATEGORIA);
+            return sucesso && manifesto.gravar(new File(diretorio, ArmazenamentoArquivos.ARQUIVO_MANIFESTO));
+        }
+    }
+
+    private <T> boolean gravarColecao(File diretorio, String arquivo, List<T> lista, CodecBinario.Entidade<T> codec) {
+        Manifesto.Colecao gravada = Util.salvarDados(lista, new File(diretorio, arquivo), codec);
+        if (gravada == null) {
+            return false;
+        }
+        manifesto.registrarColecao(gravada);
+        return true;
+    }
+
+    /**
+     * Fecha o instantâneo: o sistema deixa de preservar cópias para ele, e as cópias já guardadas são liberadas.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            preservadas.clear();
+        }
+        aoFechar.accept(this);
+    }
+}
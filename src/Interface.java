@@ -1,10 +1,18 @@
 package src;
 
 import javax.swing.JOptionPane;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -13,6 +21,10 @@ import java.util.stream.Collectors;
  * e orquestra as operações chamando os métodos da classe {@link Sistema}.
  */
 public class Interface {
+    /**
+     * Quantidade de publicações exibidas por página nas listagens.
+     */
+    private static final int ITENS_POR_PAGINA = 20;
     private Sistema sistema;
 
     /**
@@ -37,6 +49,7 @@ public class Interface {
                           "4. Gerenciar Editoras\n" +
                           "5. Gerenciar Categorias\n" +
                           "6. Visualizar Catálogo Completo\n" +
+                          "7. Exportar Catálogo (CSV/JSONL)\n" +
                           "0. Sair\n\n" +
                           "Escolha uma opção:";
 
@@ -60,8 +73,10 @@ public class Interface {
                 case 4: gerenciarEditoras(); break;
                 case 5: gerenciarCategorias(); break;
                 case 6: visualizarCatalogoCompleto(); break;
+                case 7: exportarCatalogo(); break;
                 case 0:
-                    sistema.salvarTodosDados(); // Salva todos os dados antes de encerrar a aplicação.
+                    sistema.salvarDadosAlterados(); // Grava as coleções alteradas antes de encerrar a aplicação.
+                    sistema.fechar();
                     JOptionPane.showMessageDialog(null, "Saindo da aplicação. Dados salvos!", "Adeus!", JOptionPane.INFORMATION_MESSAGE);
                     break;
                 default:
@@ -88,6 +103,7 @@ public class Interface {
                   "5. Buscar Livro\n" +
                   "6. Adicionar ao Estoque\n" + 
                   "7. Remover do Estoque\n" +   
+                  "8. Importar Livros (CSV/JSONL)\n" +
                   "0. Voltar ao Menu Principal\n\n" +
                   "Escolha uma opção:";
             String input = JOptionPane.showInputDialog(null, menu, "Gerenciar Livros", JOptionPane.PLAIN_MESSAGE);
@@ -101,6 +117,7 @@ public class Interface {
             case 5: buscarLivro(); break;
             case 6: adicionarEstoqueLivro(); break;
             case 7: removerEstoqueLivro(); break;  
+            case 8: importarArquivo("livros"); break;
             case 0: break; 
             default: JOptionPane.showMessageDialog(null, "Opção inválida.", "Erro", JOptionPane.ERROR_MESSAGE);
         }
@@ -249,24 +266,78 @@ public class Interface {
      * Exibe uma lista formatada de todos os livros atualmente cadastrados no sistema.
      */
     private void visualizarLivros() {
-        List<Livro> livros = sistema.getTodosLivros();
-        if (livros.isEmpty()) {
-            JOptionPane.showMessageDialog(null, "Nenhum livro cadastrado.", "Visualizar Livros", JOptionPane.INFORMATION_MESSAGE);
-            return;
+        Sistema.Ordenacao ordem = escolherOrdenacao("Visualizar Livros");
+        if (ordem == null) return;
+        boolean apenasEmEstoque = JOptionPane.showConfirmDialog(null, "Listar apenas livros em estoque?", "Visualizar Livros",
+                JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+        exibirPaginas("Visualizar Livros", "Lista de Livros", "Nenhum livro encontrado.",
+                (inicio, quantidade) -> sistema.listarLivros(ordem, apenasEmEstoque, inicio, quantidade));
+    }
+
+    /**
+     * Pergunta ao usuário a ordem de uma listagem de publicações.
+     * @param tituloJanela O título da caixa de diálogo.
+     * @return A ordem escolhida, ou {@code null} se o usuário voltar ou a opção for inválida.
+     */
+    private Sistema.Ordenacao escolherOrdenacao(String tituloJanela) {
+        String opcaoStr = JOptionPane.showInputDialog(null, "Ordenar por:\n1. Ordem de cadastro\n2. Título\n3. Menor preço\n4. Maior preço\n" +
+                "5. Menor estoque\n6. Maior estoque\n0. Voltar", tituloJanela, JOptionPane.PLAIN_MESSAGE);
+        if (opcaoStr == null) return null;
+        try {
+            int opcao = Integer.parseInt(opcaoStr);
+            if (opcao == 0) return null; // Voltar.
+            if (opcao < 1 || opcao > Sistema.Ordenacao.values().length) {
+                JOptionPane.showMessageDialog(null, "Opção inválida.", "Erro", JOptionPane.ERROR_MESSAGE);
+                return null;
+            }
+            return Sistema.Ordenacao.values()[opcao - 1];
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(null, "Opção inválida. Digite um número.", "Erro", JOptionPane.ERROR_MESSAGE);
+            return null;
         }
-        StringBuilder sb = new StringBuilder("--- Lista de Livros ---\n\n");
-        for (Livro livro : livros) {
-            sb.append(livro.toString()).append("\n\n");
+    }
+
+    /**
+     * Exibe uma listagem de publicações em páginas de {@value #ITENS_POR_PAGINA} itens, buscando cada página
+     * apenas quando o usuário pede para avançar.
+     * @param tituloJanela O título das caixas de diálogo.
+     * @param cabecalho O cabeçalho da listagem.
+     * @param mensagemVazia A mensagem exibida se a listagem estiver vazia.
+     * @param paginas Função que devolve a página a partir de uma posição e com um tamanho máximo.
+     * @return {@code true} se a listagem foi exibida até o fim; {@code false} se o usuário parou antes.
+     */
+    private <T extends Publicacao> boolean exibirPaginas(String tituloJanela, String cabecalho, String mensagemVazia,
+                                                      BiFunction<Integer, Integer, List<T>> paginas) {
+        for (int inicio = 0, numero = 1; ; inicio += ITENS_POR_PAGINA, numero++) {
+            List<T> pagina = paginas.apply(inicio, ITENS_POR_PAGINA);
+            if (pagina.isEmpty()) {
+                if (inicio == 0) {
+                    JOptionPane.showMessageDialog(null, mensagemVazia, tituloJanela, JOptionPane.INFORMATION_MESSAGE);
+                }
+                return true;
+            }
+            StringBuilder sb = new StringBuilder("--- " + cabecalho + " (página " + numero + ") ---\n\n");
+            for (T publicacao : pagina) {
+                sb.append(publicacao.toString()).append("\n\n");
+            }
+            if (pagina.size() < ITENS_POR_PAGINA) {
+                JOptionPane.showMessageDialog(null, sb.toString(), tituloJanela, JOptionPane.PLAIN_MESSAGE);
+                return true;
+            }
+            sb.append("Ver a próxima página?");
+            if (JOptionPane.showConfirmDialog(null, sb.toString(), tituloJanela, JOptionPane.YES_NO_OPTION,
+                    JOptionPane.PLAIN_MESSAGE) != JOptionPane.YES_OPTION) {
+                return false;
+            }
         }
-        JOptionPane.showMessageDialog(null, sb.toString(), "Visualizar Livros", JOptionPane.PLAIN_MESSAGE);
     }
 
     /**
-     * Permite ao usuário buscar livros por diferentes critérios (título, autor ou categoria)
+     * Permite ao usuário buscar livros por diferentes critérios (título, autor, categoria ou texto livre)
      * e exibe os resultados da busca.
      */
     private void buscarLivro() {
-        String tipoBusca = JOptionPane.showInputDialog("Buscar Livro por:\n1. Título\n2. Autor\n3. Categoria\n0. Voltar");
+        String tipoBusca = JOptionPane.showInputDialog("Buscar Livro por:\n1. Título\n2. Autor\n3. Categoria\n4. Texto livre (título, autor, categoria e editora)\n5. Título aproximado (tolera erros de digitação)\n0. Voltar");
         if (tipoBusca == null) return;
 
         List<Livro> resultados = new ArrayList<>();
@@ -284,6 +355,8 @@ public class Interface {
                 case 1: resultados = sistema.buscarLivrosPorTitulo(termo); break;
                 case 2: resultados = sistema.buscarLivrosPorAutor(termo); break;
                 case 3: resultados = sistema.buscarLivrosPorCategoria(termo); break;
+                case 4: resultados = sistema.pesquisarLivros(termo, ITENS_POR_PAGINA); break;
+                case 5: resultados = sistema.buscarLivrosPorTituloAproximado(termo, Sistema.DISTANCIA_SEMELHANCA); break;
                 default: JOptionPane.showMessageDialog(null, "Opção de busca inválida.", "Erro", JOptionPane.ERROR_MESSAGE); return;
             }
             exibirResultsadosBuscaLivro(resultados, termo);
@@ -324,6 +397,7 @@ public class Interface {
                         "5. Buscar Jornal\n" +
                         "6. Adicionar ao Estoque\n" + 
                         "7. Remover do Estoque\n" +   
+                        "8. Importar Jornais (CSV/JSONL)\n" +
                         "0. Voltar ao Menu Principal\n\n" +
                         "Escolha uma opção:";
             String input = JOptionPane.showInputDialog(null, menu, "Gerenciar Jornais", JOptionPane.PLAIN_MESSAGE);
@@ -337,6 +411,7 @@ public class Interface {
                     case 5: buscarJornal(); break;
                     case 6: adicionarEstoqueJornal(); break; 
                     case 7: removerEstoqueJornal(); break;   
+                    case 8: importarArquivo("jornais"); break;
                     case 0: break;
                     default: JOptionPane.showMessageDialog(null, "Opção inválida.", "Erro", JOptionPane.ERROR_MESSAGE);
             }
@@ -475,16 +550,12 @@ public class Interface {
      * Exibe uma lista formatada de todos os jornais atualmente cadastrados no sistema.
      */
     private void visualizarJornais() {
-        List<Jornal> jornais = sistema.getTodosJornais();
-        if (jornais.isEmpty()) {
-            JOptionPane.showMessageDialog(null, "Nenhum jornal cadastrado.", "Visualizar Jornais", JOptionPane.INFORMATION_MESSAGE);
-            return;
-        }
-        StringBuilder sb = new StringBuilder("--- Lista de Jornais ---\n\n");
-        for (Jornal jornal : jornais) {
-            sb.append(jornal.toString()).append("\n\n");
-        }
-        JOptionPane.showMessageDialog(null, sb.toString(), "Visualizar Jornais", JOptionPane.PLAIN_MESSAGE);
+        Sistema.Ordenacao ordem = escolherOrdenacao("Visualizar Jornais");
+        if (ordem == null) return;
+        boolean apenasEmEstoque = JOptionPane.showConfirmDialog(null, "Listar apenas jornais em estoque?", "Visualizar Jornais",
+                JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+        exibirPaginas("Visualizar Jornais", "Lista de Jornais", "Nenhum jornal encontrado.",
+                (inicio, quantidade) -> sistema.listarJornais(ordem, apenasEmEstoque, inicio, quantidade));
     }
 
     /**
@@ -542,6 +613,91 @@ public class Interface {
         }
     }
 
+    /**
+     * Solicita o caminho de um arquivo CSV ou JSONL e importa os livros ou jornais nele contidos
+     * com o {@link ImportadorCatalogo}, exibindo o resumo do {@link RelatorioImportacao} ao final.
+     * @param tipo "livros" ou "jornais".
+     */
+    private void importarArquivo(String tipo) {
+        String caminho = JOptionPane.showInputDialog("Caminho do arquivo de " + tipo + " (.csv ou .jsonl):");
+        if (caminho == null || caminho.trim().isEmpty()) return;
+        caminho = caminho.trim();
+        ImportadorCatalogo importador = new ImportadorCatalogo(sistema);
+        ImportadorCatalogo.Formato formato = ImportadorCatalogo.Formato.porNomeArquivo(caminho);
+        RelatorioImportacao relatorio;
+        try {
+            Reader entrada = Files.newBufferedReader(Paths.get(caminho), StandardCharsets.UTF_8);
+            relatorio = tipo.equals("livros") ? importador.importarLivros(entrada, formato) : importador.importarJornais(entrada, formato);
+        } catch (IOException | InvalidPathException e) {
+            JOptionPane.showMessageDialog(null, "Não foi possível abrir o arquivo: " + e.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        StringBuilder resumo = new StringBuilder();
+        resumo.append(relatorio.getImportadas()).append(" ").append(tipo).append(" importados, ")
+              .append(relatorio.getRejeitadas()).append(" linhas rejeitadas.\n");
+        resumo.append(String.format("%.0f linhas/s.%n", relatorio.getLinhasPorSegundo()));
+        List<String> erros = relatorio.getErros();
+        for (int i = 0; i < Math.min(10, erros.size()); i++) {
+            resumo.append("\n").append(erros.get(i));
+        }
+        if (relatorio.getRejeitadas() > 10) {
+            resumo.append("\n... (relatório completo no console)");
+        }
+        JOptionPane.showMessageDialog(null, resumo.toString(), "Importação Concluída", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Solicita a coleção, o arquivo de destino e os filtros opcionais, e exporta o catálogo
+     * com o {@link ExportadorCatalogo} (CSV ou JSONL, conforme a extensão do arquivo).
+     */
+    private void exportarCatalogo() {
+        String tipoStr = JOptionPane.showInputDialog("Exportar:\n1. Livros\n2. Jornais\n3. Autores\n4. Editoras\n5. Categorias\n0. Voltar");
+        if (tipoStr == null) return;
+        ExportadorCatalogo.Tipo tipo;
+        try {
+            int opcao = Integer.parseInt(tipoStr);
+            if (opcao == 0) return; // Voltar.
+            if (opcao < 1 || opcao > 5) {
+                JOptionPane.showMessageDialog(null, "Opção inválida.", "Erro", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            tipo = ExportadorCatalogo.Tipo.values()[opcao - 1];
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(null, "Opção inválida. Digite um número.", "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        String caminho = JOptionPane.showInputDialog("Caminho do arquivo de destino (.csv ou .jsonl):");
+        if (caminho == null || caminho.trim().isEmpty()) return;
+
+        FiltroExportacao filtro = new FiltroExportacao();
+        if (tipo == ExportadorCatalogo.Tipo.LIVROS || tipo == ExportadorCatalogo.Tipo.CATEGORIAS) {
+            filtro.porCategoria(JOptionPane.showInputDialog("Filtrar pela categoria (deixe vazio para todas):"));
+        }
+        if (tipo == ExportadorCatalogo.Tipo.LIVROS || tipo == ExportadorCatalogo.Tipo.JORNAIS || tipo == ExportadorCatalogo.Tipo.EDITORAS) {
+            filtro.porEditora(JOptionPane.showInputDialog("Filtrar pela editora (deixe vazio para todas):"));
+        }
+        if (tipo == ExportadorCatalogo.Tipo.JORNAIS || tipo == ExportadorCatalogo.Tipo.AUTORES) {
+            try {
+                String inicio = JOptionPane.showInputDialog("Data inicial (DD/MM/AAAA, deixe vazio para não limitar):");
+                String fim = JOptionPane.showInputDialog("Data final (DD/MM/AAAA, deixe vazio para não limitar):");
+                filtro.porPeriodo(inicio == null || inicio.trim().isEmpty() ? null : LocalDate.parse(inicio.trim(), Util.DATE_FORMATTER),
+                        fim == null || fim.trim().isEmpty() ? null : LocalDate.parse(fim.trim(), Util.DATE_FORMATTER));
+            } catch (DateTimeParseException e) {
+                JOptionPane.showMessageDialog(null, "Formato de data inválido. Use DD/MM/AAAA.", "Erro", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+        }
+
+        int exportados = new ExportadorCatalogo(sistema).exportarArquivo(tipo, caminho.trim(), filtro);
+        if (exportados < 0) {
+            JOptionPane.showMessageDialog(null, "Falha ao exportar o catálogo.", "Erro", JOptionPane.ERROR_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(null, exportados + " registros exportados para " + caminho.trim() + ".", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+        }
+    }
+
     /**
      * Exibe o menu de opções para gerenciamento de Autores (cadastro e visualização).
      * Permite ao usuário navegar e realizar operações específicas de autores.
@@ -574,6 +730,7 @@ public class Interface {
     private void cadastrarAutor() {
         String nome = JOptionPane.showInputDialog("Nome do Autor:");
         if (nome == null) return;
+        if (!sistema.existeAutorComNome(nome) && !confirmarSemelhantes("autores", sistema.autoresSemelhantes(nome), Autor::getNome)) return;
         String nacionalidade = JOptionPane.showInputDialog("Nacionalidade:");
         if (nacionalidade == null) return;
         LocalDate dataNascimento = null;
@@ -597,6 +754,27 @@ public class Interface {
         }
     }
 
+    /**
+     * Avisa sobre cadastros com nome semelhante ao informado (possível duplicidade com erro de digitação)
+     * e pergunta se o cadastro deve continuar.
+     * @param tipo O nome, no plural, do tipo de cadastro (por exemplo, "autores").
+     * @param semelhantes Os cadastros com nome semelhante.
+     * @param nome Função que devolve o nome de um cadastro.
+     * @return {@code true} se não há nomes semelhantes ou se o usuário confirmou o cadastro.
+     */
+    private <T> boolean confirmarSemelhantes(String tipo, List<T> semelhantes, Function<T, String> nome) {
+        if (semelhantes.isEmpty()) {
+            return true;
+        }
+        StringBuilder sb = new StringBuilder("Já existem " + tipo + " com nome semelhante:\n\n");
+        for (T semelhante : semelhantes) {
+            sb.append("- ").append(nome.apply(semelhante)).append("\n");
+        }
+        sb.append("\nDeseja continuar o cadastro?");
+        return JOptionPane.showConfirmDialog(null, sb.toString(), "Nome Semelhante", JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE) == JOptionPane.YES_OPTION;
+    }
+
     /**
      * Exibe uma lista formatada de todos os autores atualmente cadastrados no sistema.
      */
@@ -645,6 +823,7 @@ public class Interface {
     private void cadastrarEditora() {
         String nome = JOptionPane.showInputDialog("Nome da Editora:");
         if (nome == null) return;
+        if (!sistema.existeEditoraComNome(nome) && !confirmarSemelhantes("editoras", sistema.editorasSemelhantes(nome), Editora::getNome)) return;
 
         try {
             if (sistema.cadastrarEditora(nome)) {
@@ -868,32 +1047,15 @@ public class Interface {
     }
 
     /**
-     * Exibe o catálogo completo de todas as publicações (livros e jornais)
-     * cadastradas no sistema em uma única caixa de diálogo.
+     * Exibe o catálogo completo de todas as publicações (livros e jornais) cadastradas no sistema,
+     * em ordem de título e em páginas, primeiro os livros e depois os jornais.
      */
     private void visualizarCatalogoCompleto() {
-        StringBuilder sb = new StringBuilder("--- CATÁLOGO COMPLETO ---\n\n");
-        sb.append("--- LIVROS ---\n\n");
-        List<Livro> livros = sistema.getTodosLivros();
-        if (livros.isEmpty()) {
-            sb.append("Nenhum livro cadastrado.\n\n");
-        } else {
-            for (Livro livro : livros) {
-                sb.append(livro.toString()).append("\n\n");
-            }
+        if (exibirPaginas("Catálogo Completo", "Catálogo Completo: Livros", "Nenhum livro cadastrado.",
+                (inicio, quantidade) -> sistema.listarLivros(Sistema.Ordenacao.TITULO, false, inicio, quantidade))) {
+            exibirPaginas("Catálogo Completo", "Catálogo Completo: Jornais", "Nenhum jornal cadastrado.",
+                    (inicio, quantidade) -> sistema.listarJornais(Sistema.Ordenacao.TITULO, false, inicio, quantidade));
         }
-
-        sb.append("--- JORNAIS ---\n\n");
-        List<Jornal> jornais = sistema.getTodosJornais();
-        if (jornais.isEmpty()) {
-            sb.append("Nenhum jornal cadastrado.\n\n");
-        } else {
-            for (Jornal jornal : jornais) {
-                sb.append(jornal.toString()).append("\n\n");
-            }
-        }
-
-        JOptionPane.showMessageDialog(null, sb.toString(), "Catálogo Completo", JOptionPane.PLAIN_MESSAGE);
     }
 
         /**
@@ -30,6 +30,19 @@ public class Jornal extends Publicacao implements Serializable {
         this.dataPublicacao = dataPublicacao;
     }
 
+    /**
+     * Construtor para restaurar um Jornal com um ID já conhecido (usado na reprodução do {@link DiarioOperacoes}).
+     * @param id O ID original do jornal.
+     * @param titulo O título do jornal.
+     * @param preco O preço de venda do jornal.
+     * @param editora A {@link Editora} responsável pela publicação do jornal.
+     * @param dataPublicacao A data específica de publicação do jornal.
+     */
+    Jornal(int id, String titulo, float preco, Editora editora, LocalDate dataPublicacao) {
+        super(id, titulo, preco, editora);
+        this.dataPublicacao = dataPublicacao;
+    }
+
     /**
      * Retorna a data de publicação do jornal.
      * @return A data de publicação do jornal.
@@ -0,0 +1,107 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto ordenado de IDs em um vetor {@code int[]} crescente, usado como lista de postagens dos índices invertidos.
+ * Como os IDs novos são sempre maiores que os existentes, a inclusão típica é um acréscimo no fim;
+ * inclusões fora de ordem (reindexação após uma edição) e remoções deslocam o restante do vetor.
+ * A pertinência é verificada por busca binária.
+ */
+public class ListaIds {
+
+    private int[] ids;
+    private int tamanho;
+
+    public ListaIds() {
+        this(4);
+    }
+
+    /**
+     * @param capacidade A capacidade inicial do vetor.
+     */
+    public ListaIds(int capacidade) {
+        ids = new int[Math.max(1, capacidade)];
+    }
+
+    /**
+     * @return A quantidade de IDs.
+     */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * @param posicao A posição, de 0 a {@code tamanho() - 1}.
+     * @return O ID na posição (os IDs estão em ordem crescente).
+     */
+    public int get(int posicao) {
+        return ids[posicao];
+    }
+
+    /**
+     * @param id O ID procurado.
+     * @return {@code true} se o ID pertence ao conjunto.
+     */
+    public boolean contem(int id) {
+        return Arrays.binarySearch(ids, 0, tamanho, id) >= 0;
+    }
+
+    /**
+     * Procura um ID a partir de uma posição, avançando em saltos exponenciais e terminando com busca binária.
+     * Usado na interseção de listas ordenadas, em que as buscas sucessivas são sempre crescentes.
+     * @param id O ID procurado.
+     * @param inicio A primeira posição a considerar.
+     * @return A posição do ID, se encontrado; caso contrário, {@code -(ponto de inserção) - 1}, como em {@link Arrays#binarySearch(int[], int)}.
+     */
+    public int buscarAPartirDe(int id, int inicio) {
+        int passo = 1;
+        int fim = inicio;
+        while (fim < tamanho && ids[fim] < id) {
+            inicio = fim + 1;
+            fim += passo;
+            passo <<= 1;
+        }
+        return Arrays.binarySearch(ids, inicio, Math.min(fim + 1, tamanho), id);
+    }
+
+    /**
+     * Adiciona um ID, mantendo a ordem.
+     * @param id O ID.
+     * @return {@code true} se o ID foi adicionado; {@code false} se já pertencia ao conjunto.
+     */
+    public boolean adicionar(int id) {
+        int posicao;
+        if (tamanho == 0 || ids[tamanho - 1] < id) {
+            posicao = tamanho;
+        } else {
+            posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+            if (posicao >= 0) {
+                return false;
+            }
+            posicao = -posicao - 1;
+        }
+        if (tamanho == ids.length) {
+            ids = Arrays.copyOf(ids, tamanho + (tamanho >> 1) + 1);
+        }
+        System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+        ids[posicao] = id;
+        tamanho++;
+        return true;
+    }
+
+    /**
+     * Remove um ID.
+     * @param id O ID.
+     * @return {@code true} se o ID foi removido; {@code false} se não pertencia ao conjunto.
+     */
+    public boolean remover(int id) {
+        int posicao = Arrays.binarySearch(ids, 0, tamanho, id);
+        if (posicao < 0) {
+            return false;
+        }
+        System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+        tamanho--;
+        return true;
+    }
+}
@@ -0,0 +1,107 @@
+package src;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Índices ordenados ({@link IndiceOrdenado}) das publicações de um tipo, usados nas listagens paginadas do
+ * {@link Sistema}: por preço, por estoque e por título, este pelas chaves de colação em português
+ * (maiúsculas e acentos só desempatam títulos de mesmas letras), calculadas uma vez por título.
+ * <p>
+ * Preço e título têm também um índice só das publicações em estoque, para que páginas como "os 50 mais baratos
+ * em estoque" sejam lidas diretamente, sem pular as esgotadas. Na ordem de estoque, as esgotadas formam o
+ * início da listagem crescente e são puladas pela posição da chave 1.
+ * <p>
+ * Como os índices dependem do preço, do estoque e do título, a publicação deve ser removida antes de qualquer um
+ * deles mudar e adicionada de novo depois.
+ * @param <T> O tipo da publicação.
+ */
+class ListagemOrdenada<T extends Publicacao> {
+
+    private final IndiceOrdenado<T, Float> precos;
+    private final IndiceOrdenado<T, Float> precosEmEstoque;
+    private final IndiceOrdenado<T, Integer> estoques;
+    private final IndiceOrdenado<T, CollationKey> titulos;
+    private final IndiceOrdenado<T, CollationKey> titulosEmEstoque;
+
+    /**
+     * @param iniciais As publicações já cadastradas.
+     */
+    ListagemOrdenada(List<T> iniciais) {
+        Collator colacao = Collator.getInstance(new Locale("pt", "BR"));
+        List<T> emEstoque = iniciais.stream().filter(p -> p.getEstoqueDisponivel() > 0).collect(Collectors.toList());
+        precos = new IndiceOrdenado<>(Publicacao::getPreco, Publicacao::getId, iniciais);
+        precosEmEstoque = new IndiceOrdenado<>(Publicacao::getPreco, Publicacao::getId, emEstoque);
+        estoques = new IndiceOrdenado<>(Publicacao::getEstoqueDisponivel, Publicacao::getId, iniciais);
+        titulos = new IndiceOrdenado<>(p -> colacao.getCollationKey(p.getTitulo() == null ? "" : p.getTitulo()), Publicacao::getId, iniciais);
+        titulosEmEstoque = new IndiceOrdenado<>(p -> colacao.getCollationKey(p.getTitulo() == null ? "" : p.getTitulo()), Publicacao::getId, emEstoque);
+    }
+
+    /**
+     * Adiciona uma publicação, pelo seu estado atual.
+     */
+    void adicionar(T publicacao) {
+        precos.adicionar(publicacao);
+        estoques.adicionar(publicacao);
+        titulos.adicionar(publicacao);
+        if (publicacao.getEstoqueDisponivel() > 0) {
+            precosEmEstoque.adicionar(publicacao);
+            titulosEmEstoque.adicionar(publicacao);
+        }
+    }
+
+    /**
+     * Remove uma publicação, pelo seu estado atual.
+     */
+    void remover(T publicacao) {
+        precos.remover(publicacao);
+        estoques.remover(publicacao);
+        titulos.remover(publicacao);
+        precosEmEstoque.remover(publicacao);
+        titulosEmEstoque.remover(publicacao);
+    }
+
+    /**
+     * Retorna uma página da listagem na ordem pedida. A ordem de cadastro não usa índice e lê a própria lista.
+     * @param cadastro As publicações na ordem de cadastro.
+     * @param ordem O critério de ordenação.
+     * @param apenasEmEstoque {@code true} para listar apenas as publicações com estoque disponível.
+     * @param inicio A posição da primeira publicação da página (a partir de 0).
+     * @param quantidade O tamanho máximo da página.
+     * @return As publicações da página.
+     */
+    List<T> pagina(List<T> cadastro, Sistema.Ordenacao ordem, boolean apenasEmEstoque, int inicio, int quantidade) {
+        switch (ordem) {
+            case TITULO:
+                return (apenasEmEstoque ? titulosEmEstoque : titulos).pagina(true, inicio, quantidade);
+            case MENOR_PRECO:
+                return (apenasEmEstoque ? precosEmEstoque : precos).pagina(true, inicio, quantidade);
+            case MAIOR_PRECO:
+                return (apenasEmEstoque ? precosEmEstoque : precos).pagina(false, inicio, quantidade);
+            case MENOR_ESTOQUE:
+                return estoques.pagina(true, (apenasEmEstoque ? estoques.posicaoDaChave(1) : 0) + inicio, quantidade);
+            case MAIOR_ESTOQUE:
+                if (apenasEmEstoque) {
+                    quantidade = Math.min(quantidade, estoques.tamanho() - estoques.posicaoDaChave(1) - inicio);
+                }
+                return estoques.pagina(false, inicio, quantidade);
+            default:
+                List<T> pagina = new ArrayList<>();
+                for (int i = 0; i < cadastro.size() && pagina.size() < quantidade; i++) {
+                    T publicacao = cadastro.get(i);
+                    if (!apenasEmEstoque || publicacao.getEstoqueDisponivel() > 0) {
+                        if (inicio > 0) {
+                            inicio--;
+                        } else {
+                            pagina.add(publicacao);
+                        }
+                    }
+                }
+                return pagina;
+        }
+    }
+}
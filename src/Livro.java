@@ -47,6 +47,22 @@ public class Livro extends Publicacao implements Serializable {
         this.autores = new ArrayList<>();
     }
 
+    /**
+     * Construtor para restaurar um Livro com um ID já conhecido (usado na reprodução do {@link DiarioOperacoes}).
+     * @param id O ID original do livro.
+     * @param titulo O título do livro.
+     * @param preco O preço de venda do livro.
+     * @param editora A {@link Editora} responsável pela publicação do livro.
+     * @param quantidadePaginas A quantidade de páginas do livro.
+     * @param isbn O ISBN do livro.
+     */
+    Livro(int id, String titulo, float preco, Editora editora, int quantidadePaginas, String isbn) {
+        super(id, titulo, preco, editora);
+        this.quantidadePaginas = quantidadePaginas;
+        this.isbn = isbn;
+        this.autores = new ArrayList<>();
+    }
+
     /**
      * Retorna a quantidade de páginas do livro.
      * @return A quantidade de páginas.
@@ -90,12 +106,12 @@ public class Livro extends Publicacao implements Serializable {
     /**
      * Adiciona um {@link Autor} à lista de autores deste livro.
      * O autor não será adicionado se for nulo ou já estiver presente na lista.
+     * A lista inversa ({@link Autor#getLivrosPublicados()}) é mantida pelo {@link Sistema} no cadastro e na edição do livro.
      * @param autor O {@link Autor} a ser adicionado.
      */
     public void addAutor(Autor autor) {
         if (autor != null && !this.autores.contains(autor)) {
             this.autores.add(autor);
-            // Opcional: autor.adicionarLivro(this); // Para manter a bidirecionalidade, se Autor tiver essa lógica.
         }
     }
 
@@ -106,7 +122,6 @@ public class Livro extends Publicacao implements Serializable {
     public void removerAutor(Autor autor) {
         if (autor != null) {
             this.autores.remove(autor);
-            // Opcional: autor.removerLivro(this); // Para manter a bidirecionalidade.
         }
     }
 
@@ -0,0 +1,65 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conjunto de entidades recém-criadas que são cadastradas e persistidas juntas, com uma única gravação
+ * (ver {@link Sistema#cadastrarLote(LoteCadastros)} e {@link MotorArmazenamento#salvarLote(LoteCadastros)}).
+ * Usado pela importação em massa, em que cada bloco de linhas do arquivo vira um lote.
+ */
+public class LoteCadastros {
+
+    private final List<Editora> editoras = new ArrayList<>();
+    private final List<Autor> autores = new ArrayList<>();
+    private final List<Categoria> categorias = new ArrayList<>();
+    private final List<Livro> livros = new ArrayList<>();
+    private final List<Jornal> jornais = new ArrayList<>();
+
+    public void adicionarEditora(Editora editora) {
+        editoras.add(editora);
+    }
+
+    public void adicionarAutor(Autor autor) {
+        autores.add(autor);
+    }
+
+    public void adicionarCategoria(Categoria categoria) {
+        categorias.add(categoria);
+    }
+
+    public void adicionarLivro(Livro livro) {
+        livros.add(livro);
+    }
+
+    public void adicionarJornal(Jornal jornal) {
+        jornais.add(jornal);
+    }
+
+    public List<Editora> getEditoras() {
+        return editoras;
+    }
+
+    public List<Autor> getAutores() {
+        return autores;
+    }
+
+    public List<Categoria> getCategorias() {
+        return categorias;
+    }
+
+    public List<Livro> getLivros() {
+        return livros;
+    }
+
+    public List<Jornal> getJornais() {
+        return jornais;
+    }
+
+    /**
+     * @return {@code true} se o lote não contém nenhuma entidade.
+     */
+    public boolean isVazio() {
+        return editoras.isEmpty() && autores.isEmpty() && categorias.isEmpty() && livros.isEmpty() && jornais.isEmpty();
+    }
+}
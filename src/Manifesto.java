@@ -0,0 +1,238 @@
+package src;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Manifesto de um checkpoint do {@link ArmazenamentoArquivos}: um arquivo pequeno, gravado de forma atômica
+ * depois de todas as coleções, que descreve o conjunto de arquivos que formam uma gravação consistente.
+ * <p>
+ * Para cada coleção são guardados a quantidade de registros, o tamanho do arquivo e o CRC32 do seu conteúdo;
+ * além disso, o manifesto guarda os próximos IDs de {@link Publicacao}, {@link Autor}, {@link Editora} e {@link Categoria},
+ * que são restaurados na inicialização sem percorrer as coleções.
+ * <p>
+ * Como o manifesto só é substituído depois que todas as coleções foram gravadas, uma queda no meio de um checkpoint
+ * deixa arquivos mais novos que o manifesto: o tamanho (verificado na abertura) ou o CRC32 (verificado durante a leitura)
+ * deixam de conferir, e a gravação incompleta é detectada.
+ * <p>
+ * Formato: {@code int MAGICO, byte VERSAO}, os quatro próximos IDs em varint, a quantidade de coleções e, para cada uma,
+ * {@code texto arquivo, varint registros, long tamanho, int crc}; por fim, o CRC32 de todos os bytes anteriores.
+ */
+public class Manifesto {
+
+    private static final int MAGICO = 0x4D414E49; // "MANI"
+    private static final byte VERSAO = 1;
+
+    /**
+     * Descrição de um arquivo de coleção no momento em que foi gravado.
+     */
+    public static final class Colecao {
+        private final String arquivo;
+        private final int registros;
+        private final long tamanho;
+        private final int crc;
+
+        /**
+         * @param arquivo O nome do arquivo dentro do diretório de dados.
+         * @param registros A quantidade de registros gravados.
+         * @param tamanho O tamanho do arquivo, em bytes.
+         * @param crc O CRC32 de todo o conteúdo do arquivo.
+         */
+        public Colecao(String arquivo, int registros, long tamanho, int crc) {
+            this.arquivo = arquivo;
+            this.registros = registros;
+            this.tamanho = tamanho;
+            this.crc = crc;
+        }
+
+        public String getArquivo() {
+            return arquivo;
+        }
+
+        public int getRegistros() {
+            return registros;
+        }
+
+        public long getTamanho() {
+            return tamanho;
+        }
+
+        public int getCrc() {
+            return crc;
+        }
+    }
+
+    private int proximoIdPublicacao = 1;
+    private int proximoIdAutor = 1;
+    private int proximoIdEditora = 1;
+    private int proximoIdCategoria = 1;
+    private final Map<String, Colecao> colecoes = new LinkedHashMap<>();
+
+    /**
+     * Lê o manifesto do diretório de dados.
+     * @param nomeArquivo O nome do arquivo dentro de {@link Util#DIRETORIO_DADOS}.
+     * @return O manifesto lido, ou {@code null} se o arquivo não existir ou estiver inválido (com uma mensagem de erro).
+     */
+    public static Manifesto ler(String nomeArquivo) {
+        return ler(new File(Util.DIRETORIO_DADOS + nomeArquivo));
+    }
+
+    /**
+     * Lê o manifesto de qualquer diretório (ver {@link #ler(String)}).
+     * @param arquivo O arquivo do manifesto.
+     * @return O manifesto lido, ou {@code null} se o arquivo não existir ou estiver inválido (com uma mensagem de erro).
+     */
+    public static Manifesto ler(File arquivo) {
+        String nomeArquivo = arquivo.getName();
+        if (!arquivo.exists()) {
+            return null;
+        }
+        byte[] conteudo;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(arquivo)))) {
+            conteudo = in.readAllBytes();
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar o manifesto " + nomeArquivo + ": " + e.getMessage());
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(conteudo, 0, Math.max(conteudo.length - 4, 0));
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(conteudo))) {
+            if (conteudo.length < 9 || in.readInt() != MAGICO || in.readByte() != VERSAO) {
+                System.err.println("Manifesto " + nomeArquivo + " inválido. Os IDs serão recalculados.");
+                return null;
+            }
+            Manifesto manifesto = new Manifesto();
+            manifesto.proximoIdPublicacao = CodecBinario.lerVarInt(in);
+            manifesto.proximoIdAutor = CodecBinario.lerVarInt(in);
+            manifesto.proximoIdEditora = CodecBinario.lerVarInt(in);
+            manifesto.proximoIdCategoria = CodecBinario.lerVarInt(in);
+            int quantidade = CodecBinario.lerVarInt(in);
+            for (int i = 0; i < quantidade; i++) {
+                String nome = CodecBinario.lerTexto(in);
+                manifesto.registrarColecao(new Colecao(nome, CodecBinario.lerVarInt(in), in.readLong(), in.readInt()));
+            }
+            if (in.readInt() != (int) crc.getValue()) {
+                System.err.println("Manifesto " + nomeArquivo + " corrompido (CRC inválido). Os IDs serão recalculados.");
+                return null;
+            }
+            return manifesto;
+        } catch (IOException e) {
+            System.err.println("Manifesto " + nomeArquivo + " ilegível: " + e.getMessage() + ". Os IDs serão recalculados.");
+            return null;
+        }
+    }
+
+    /**
+     * Grava o manifesto de forma atômica (ver {@link Util#gravarArquivoAtomico(String, Util.GravacaoArquivo)}).
+     * @param nomeArquivo O nome do arquivo dentro de {@link Util#DIRETORIO_DADOS}.
+     * @return {@code true} se o manifesto foi gravado com sucesso.
+     */
+    public boolean gravar(String nomeArquivo) {
+        return gravar(new File(Util.DIRETORIO_DADOS + nomeArquivo));
+    }
+
+    /**
+     * Grava o manifesto de forma atômica em qualquer diretório (ver {@link #gravar(String)}).
+     * @param arquivo O arquivo do manifesto.
+     * @return {@code true} se o manifesto foi gravado com sucesso.
+     */
+    public boolean gravar(File arquivo) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGICO);
+            out.writeByte(VERSAO);
+            CodecBinario.escreverVarInt(out, proximoIdPublicacao);
+            CodecBinario.escreverVarInt(out, proximoIdAutor);
+            CodecBinario.escreverVarInt(out, proximoIdEditora);
+            CodecBinario.escreverVarInt(out, proximoIdCategoria);
+            CodecBinario.escreverVarInt(out, colecoes.size());
+            for (Colecao colecao : colecoes.values()) {
+                CodecBinario.escreverTexto(out, colecao.getArquivo());
+                CodecBinario.escreverVarInt(out, colecao.getRegistros());
+                out.writeLong(colecao.getTamanho());
+                out.writeInt(colecao.getCrc());
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao montar o manifesto " + arquivo.getName() + ": " + e.getMessage());
+            return false;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray(), 0, bytes.size());
+        return Util.gravarArquivoAtomico(arquivo, null, out -> {
+            bytes.writeTo(out);
+            out.writeInt((int) crc.getValue());
+        });
+    }
+
+    /**
+     * Guarda os valores atuais dos contadores estáticos de ID das entidades.
+     */
+    public void capturarProximosIds() {
+        proximoIdPublicacao = Publicacao.getProximoIdEstatico();
+        proximoIdAutor = Autor.getProximoIdEstatico();
+        proximoIdEditora = Editora.getProximoIdEstatico();
+        proximoIdCategoria = Categoria.getProximoIdEstatico();
+    }
+
+    /**
+     * Restaura os contadores estáticos de ID das entidades (que apenas crescem) com os valores do manifesto.
+     */
+    public void restaurarProximosIds() {
+        Publicacao.setProximoIdEstatico(proximoIdPublicacao);
+        Autor.setProximoIdEstatico(proximoIdAutor);
+        Editora.setProximoIdEstatico(proximoIdEditora);
+        Categoria.setProximoIdEstatico(proximoIdCategoria);
+    }
+
+    /**
+     * Registra (ou substitui) a descrição de um arquivo de coleção.
+     * @param colecao A descrição do arquivo recém-gravado.
+     */
+    public void registrarColecao(Colecao colecao) {
+        colecoes.put(colecao.getArquivo(), colecao);
+    }
+
+    /**
+     * @param arquivo O nome do arquivo da coleção.
+     * @return A descrição do arquivo no manifesto, ou {@code null} se ele não estiver no manifesto.
+     */
+    public Colecao getColecao(String arquivo) {
+        return colecoes.get(arquivo);
+    }
+
+    /**
+     * @return As descrições de todos os arquivos do manifesto.
+     */
+    public Collection<Colecao> getColecoes() {
+        return colecoes.values();
+    }
+
+    /**
+     * Compara o tamanho atual de cada arquivo do manifesto com o tamanho registrado; é uma verificação
+     * de custo constante por arquivo, que não lê o conteúdo.
+     * @param diretorio O diretório onde estão os arquivos das coleções.
+     * @return Os nomes dos arquivos ausentes ou com tamanho diferente do registrado.
+     */
+    public List<String> verificarTamanhos(File diretorio) {
+        List<String> divergentes = new ArrayList<>();
+        for (Colecao colecao : colecoes.values()) {
+            File arquivo = new File(diretorio, colecao.getArquivo());
+            if (!arquivo.exists() || arquivo.length() != colecao.getTamanho()) {
+                divergentes.add(colecao.getArquivo());
+            }
+        }
+        return divergentes;
+    }
+}
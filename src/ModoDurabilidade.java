@@ -0,0 +1,22 @@
+package src;
+
+/**
+ * Define quando os dados gravados pela aplicação são forçados para o disco ({@code force}/fsync).
+ * Permite trocar latência por segurança de forma explícita, conforme a instalação.
+ */
+public enum ModoDurabilidade {
+    /**
+     * Nunca força a sincronização; o sistema operacional decide quando gravar no disco.
+     * É o modo mais rápido, mas alterações recentes podem se perder em uma queda de energia.
+     */
+    NENHUMA,
+    /**
+     * Força a sincronização a cada gravação confirmada. É o modo mais seguro e o mais lento.
+     */
+    FSYNC_POR_COMMIT,
+    /**
+     * Força a sincronização periodicamente, a cada {@link Configuracao#getIntervaloSincronizacaoMs()} milissegundos.
+     * Limita a janela de perda a esse intervalo.
+     */
+    FSYNC_PERIODICO
+}
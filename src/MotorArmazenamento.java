@@ -0,0 +1,107 @@
+package src;
+
+import java.io.Closeable;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Motor de armazenamento do catálogo: fornece um {@link Repositorio} por tipo de entidade
+ * e as operações de persistência que não pertencem a uma única coleção.
+ * <p>
+ * Implementações disponíveis:
+ * <ul>
+ *   <li>{@link ArmazenamentoArquivos}: arquivos das coleções no diretório de dados, diário de operações
+ *       e arquivo mapeado de estoque (padrão);</li>
+ *   <li>{@link ArmazenamentoJdbc}: banco de dados SQL embutido, acessado por JDBC.</li>
+ * </ul>
+ * O motor usado por {@link Sistema#Sistema()} é escolhido por {@link Configuracao#getArmazenamento()}.
+ */
+public interface MotorArmazenamento extends Closeable {
+
+    /**
+     * @return O repositório de livros.
+     */
+    Repositorio<Livro> getLivros();
+
+    /**
+     * @return O repositório de jornais.
+     */
+    Repositorio<Jornal> getJornais();
+
+    /**
+     * @return O repositório de autores.
+     */
+    Repositorio<Autor> getAutores();
+
+    /**
+     * @return O repositório de editoras.
+     */
+    Repositorio<Editora> getEditoras();
+
+    /**
+     * @return O repositório de categorias.
+     */
+    Repositorio<Categoria> getCategorias();
+
+    /**
+     * Persiste apenas o estoque e o preço atuais de uma publicação, sem regravar os demais atributos.
+     * @param publicacao A {@link Publicacao} cujo estoque ou preço foi alterado.
+     * @return Um {@link CompletableFuture} concluído quando o estoque e o preço estiverem gravados.
+     */
+    CompletableFuture<Void> gravarEstoque(Publicacao publicacao);
+
+    /**
+     * Persiste todas as entidades de um lote recém-cadastrado com uma única gravação.
+     * @param lote As entidades cadastradas.
+     * @return Um {@link CompletableFuture} concluído quando todo o lote estiver gravado.
+     */
+    CompletableFuture<Void> salvarLote(LoteCadastros lote);
+
+    /**
+     * Restaura os contadores estáticos de ID de {@link Publicacao}, {@link Autor}, {@link Editora} e {@link Categoria}
+     * a partir dos metadados do armazenamento, sem percorrer as coleções.
+     * @return {@code true} se os contadores foram restaurados; {@code false} se o {@link Sistema} deve calculá-los.
+     */
+    boolean restaurarProximosIds();
+
+    /**
+     * Marca o ponto de corte de um checkpoint. Chamado com a trava do {@link Sistema}, no mesmo instante em que é
+     * criado o instantâneo do qual as coleções serão regravadas; as alterações seguintes pertencem ao próximo
+     * checkpoint.
+     */
+    void iniciarCheckpoint();
+
+    /**
+     * Chamado depois de o {@link Sistema} regravar as coleções em um checkpoint, fora da trava: descarta apenas o que
+     * foi persistido até o ponto de corte.
+     */
+    void concluirCheckpoint();
+
+    /**
+     * Indica se o volume de alterações pendentes justifica um checkpoint em segundo plano.
+     * @return {@code true} se um checkpoint deve ser agendado.
+     */
+    boolean precisaCheckpoint();
+
+    /**
+     * Reorganiza o armazenamento, descartando dados substituídos ou excluídos.
+     * @return A quantidade de bytes liberados (0 se não houver nada a fazer).
+     */
+    long compactar();
+
+    /**
+     * Grava as alterações pendentes e libera os recursos do armazenamento.
+     */
+    @Override
+    void close();
+
+    /**
+     * Abre o motor de armazenamento escolhido na configuração.
+     * @return O {@link MotorArmazenamento} configurado.
+     */
+    static MotorArmazenamento abrir() {
+        if ("JDBC".equalsIgnoreCase(Configuracao.getArmazenamento())) {
+            return new ArmazenamentoJdbc(Configuracao.getUrlJdbc(), Configuracao.getUsuarioJdbc(), Configuracao.getSenhaJdbc());
+        }
+        return new ArmazenamentoArquivos();
+    }
+}
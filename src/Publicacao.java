@@ -45,6 +45,40 @@ public abstract class Publicacao implements Serializable {
      * @param editora A {@link Editora} associada a esta publicação.
      */
     public Publicacao(String titulo, float preco, Editora editora) { // ESTA LINHA É A CHAVE
+        validar(titulo, preco, editora);
+
+        this.id = proximoId++;
+        this.titulo = titulo;
+        this.preco = preco;
+        this.estoqueDisponivel = 0; // Estoque inicial é sempre 0 agora
+        this.editora = editora;
+    }
+
+    /**
+     * Construtor para restaurar uma Publicação com um ID já conhecido,
+     * por exemplo ao reproduzir o {@link DiarioOperacoes}.
+     * O contador estático é ajustado para que novos IDs não colidam com o ID restaurado.
+     * @param id O ID original da publicação.
+     * @param titulo O título da publicação.
+     * @param preco O preço de venda da publicação.
+     * @param editora A {@link Editora} associada a esta publicação.
+     */
+    Publicacao(int id, String titulo, float preco, Editora editora) {
+        validar(titulo, preco, editora);
+
+        this.id = id;
+        this.titulo = titulo;
+        this.preco = preco;
+        this.estoqueDisponivel = 0;
+        this.editora = editora;
+        setProximoIdEstatico(id + 1);
+    }
+
+    /**
+     * Valida os atributos obrigatórios de uma publicação.
+     * @throws IllegalArgumentException Se o título for vazio, o preço não for positivo ou a editora for nula.
+     */
+    private static void validar(String titulo, float preco, Editora editora) {
         // Validações que permanecerão no construtor de Publicacao
         if (titulo == null || titulo.trim().isEmpty()) {
             throw new IllegalArgumentException("Título da publicação não pode ser vazio.");
@@ -55,12 +89,6 @@ public abstract class Publicacao implements Serializable {
         if (editora == null) {
             throw new IllegalArgumentException("Publicação deve ter uma editora associada.");
         }
-
-        this.id = proximoId++;
-        this.titulo = titulo;
-        this.preco = preco;
-        this.estoqueDisponivel = 0; // Estoque inicial é sempre 0 agora
-        this.editora = editora;
     }
 
     /**
@@ -180,6 +208,15 @@ public abstract class Publicacao implements Serializable {
         }
     }
 
+    /**
+     * Retorna o próximo ID estático que será atribuído a um novo objeto Publicacao.
+     * Utilizado para persistir os contadores de ID junto com os dados.
+     * @return O próximo ID a ser gerado.
+     */
+    public static int getProximoIdEstatico() {
+        return proximoId;
+    }
+
     /**
      * Método abstrato que deve ser implementado por todas as subclasses
      * para fornecer uma representação em String detalhada da publicação.
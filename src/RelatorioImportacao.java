@@ -0,0 +1,134 @@
+package src;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de uma importação feita pelo {@link ImportadorCatalogo}: contagens, entidades criadas automaticamente,
+ * tempo total e as linhas rejeitadas com o motivo.
+ */
+public class RelatorioImportacao {
+
+    /**
+     * Quantidade máxima de mensagens de erro guardadas; as demais linhas rejeitadas são apenas contadas.
+     */
+    public static final int LIMITE_ERROS = 100;
+
+    private final String tipo;
+    private int linhasLidas;
+    private int importadas;
+    private int rejeitadas;
+    private int lotes;
+    private int editorasCriadas;
+    private int autoresCriados;
+    private int categoriasCriadas;
+    private long nanos;
+    private final List<String> erros = new ArrayList<>();
+
+    /**
+     * @param tipo O tipo de publicação importada ("livros" ou "jornais"), usado nas mensagens.
+     */
+    RelatorioImportacao(String tipo) {
+        this.tipo = tipo;
+    }
+
+    void registrarLinhaLida() {
+        linhasLidas++;
+    }
+
+    void registrarImportadas(int quantidade) {
+        importadas += quantidade;
+        lotes++;
+    }
+
+    void registrarErro(int numeroLinha, String mensagem) {
+        rejeitadas++;
+        if (erros.size() < LIMITE_ERROS) {
+            erros.add("Linha " + numeroLinha + ": " + mensagem);
+        }
+    }
+
+    void registrarEditoraCriada() {
+        editorasCriadas++;
+    }
+
+    void registrarAutorCriado() {
+        autoresCriados++;
+    }
+
+    void registrarCategoriaCriada() {
+        categoriasCriadas++;
+    }
+
+    void concluir(long nanos) {
+        this.nanos = nanos;
+    }
+
+    public int getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public int getImportadas() {
+        return importadas;
+    }
+
+    public int getRejeitadas() {
+        return rejeitadas;
+    }
+
+    public int getLotes() {
+        return lotes;
+    }
+
+    public int getEditorasCriadas() {
+        return editorasCriadas;
+    }
+
+    public int getAutoresCriados() {
+        return autoresCriados;
+    }
+
+    public int getCategoriasCriadas() {
+        return categoriasCriadas;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return As mensagens das linhas rejeitadas (no máximo {@value #LIMITE_ERROS}), no formato "Linha N: motivo".
+     */
+    public List<String> getErros() {
+        return Collections.unmodifiableList(erros);
+    }
+
+    /**
+     * @return A taxa de linhas lidas por segundo durante a importação.
+     */
+    public double getLinhasPorSegundo() {
+        return nanos > 0 ? linhasLidas * 1_000_000_000.0 / nanos : 0;
+    }
+
+    /**
+     * Imprime o resumo da importação em {@code saida} e as linhas rejeitadas em {@code saidaErros}.
+     * @param saida Onde o resumo é impresso.
+     * @param saidaErros Onde as linhas rejeitadas são impressas.
+     */
+    public void imprimir(PrintStream saida, PrintStream saidaErros) {
+        saida.printf("Importação de %s: %d linhas lidas, %d importadas em %d lotes, %d rejeitadas (%.1f ms, %.0f linhas/s).%n",
+                tipo, linhasLidas, importadas, lotes, rejeitadas, nanos / 1_000_000.0, getLinhasPorSegundo());
+        if (editorasCriadas + autoresCriados + categoriasCriadas > 0) {
+            saida.printf("Criados automaticamente: %d editoras, %d autores, %d categorias.%n",
+                    editorasCriadas, autoresCriados, categoriasCriadas);
+        }
+        for (String erro : erros) {
+            saidaErros.println(erro);
+        }
+        if (rejeitadas > erros.size()) {
+            saidaErros.println("... e mais " + (rejeitadas - erros.size()) + " linhas rejeitadas.");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package src;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Repositório de um tipo de entidade do catálogo, fornecido por um {@link MotorArmazenamento}.
+ * O {@link Sistema} mantém as coleções em memória e informa ao repositório cada alteração;
+ * cabe à implementação decidir como e quando persisti-la.
+ *
+ * @param <T> O tipo da entidade.
+ */
+public interface Repositorio<T> {
+
+    /**
+     * Carrega todas as entidades persistidas.
+     * Editora, autores e categoria de livros e jornais podem vir como instâncias provisórias (apenas com o ID),
+     * que o {@link Sistema} religa às instâncias canônicas.
+     * @return Uma lista mutável com as entidades carregadas.
+     */
+    List<T> carregarTodos();
+
+    /**
+     * Persiste o estado atual de uma entidade (cadastro ou edição).
+     * @param entidade A entidade cadastrada ou editada.
+     * @return Um {@link CompletableFuture} concluído quando a alteração estiver gravada.
+     */
+    CompletableFuture<Void> salvar(T entidade);
+
+    /**
+     * Persiste a exclusão de uma entidade.
+     * @param id O ID da entidade excluída.
+     * @return Um {@link CompletableFuture} concluído quando a exclusão estiver gravada.
+     */
+    CompletableFuture<Void> excluir(int id);
+
+    /**
+     * Grava a coleção inteira, substituindo o que estiver persistido (checkpoint ou sincronização completa).
+     * @param entidades Todas as entidades da coleção.
+     */
+    void salvarTodos(List<T> entidades);
+
+    /**
+     * Indica se há alterações que só estarão consolidadas após {@link #salvarTodos(List)}.
+     * @return {@code true} se a coleção precisa ser regravada no próximo checkpoint.
+     */
+    boolean possuiAlteracoes();
+}
@@ -1,10 +1,17 @@
 package src;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
 import java.util.regex.Pattern;
 
 /**
@@ -13,57 +20,317 @@ import java.util.regex.Pattern;
  * realizar as operações de negócio (CRUD - Inclusão, Exclusão, Alteração, Consulta, Lista),
  * gerenciar a persistência em arquivos
  * e inicializar IDs sequenciais após o carregamento de dados.
+ * <p>
+ * Todos os métodos públicos que leem ou alteram as coleções e os índices são sincronizados na própria instância,
+ * pois os índices (como {@link IndiceIds} e {@link IndiceUnico}) são estruturas simples, redimensionadas no lugar
+ * pelas alterações, e o sistema pode ser usado ao mesmo tempo pela interface e por threads de segundo plano
+ * (importação, exportação, checkpoint). Os índices de busca que se sincronizam sozinhos (como {@link IndiceTrigramas})
+ * são consultados sob a mesma trava, para que a regra não tenha exceções. Os instantâneos ({@link InstantaneoCatalogo})
+ * também leem as listas vivas sob esta trava, um elemento por vez; apenas a compactação do diário
+ * ({@link #compactarDiario()}) roda fora dela, pois não toca nas coleções.
  */
 public class Sistema {
     private List<Livro> livros;
-    private List<Jornal> jornais;
+    /**
+     * Jornais carregados sob demanda, no primeiro acesso; {@code null} enquanto o arquivo ainda não foi lido.
+     * Deve ser acessado por {@link #jornais()}.
+     */
+    private volatile List<Jornal> jornais;
     private List<Autor> autores;
     private List<Editora> editoras;
     private List<Categoria> categorias;
+    /**
+     * Índices por ID de cada coleção, mantidos em todos os cadastros e exclusões (ver {@link IndiceIds}).
+     * O índice de jornais é criado junto com a carga preguiçosa da lista.
+     */
+    private IndiceIds<Livro> indiceLivros;
+    private volatile IndiceIds<Jornal> indiceJornais;
+    private IndiceIds<Autor> indiceAutores;
+    private IndiceIds<Editora> indiceEditoras;
+    private IndiceIds<Categoria> indiceCategorias;
+    /**
+     * Índices das chaves que não podem se repetir, usados nas verificações de duplicidade (ver {@link IndiceUnico}).
+     * Os índices de jornais são criados junto com a carga preguiçosa da lista.
+     */
+    private IndiceUnico<Livro> titulosLivros;
+    private IndiceUnico<Livro> isbnsLivros;
+    private IndiceUnico<Autor> nomesAutores;
+    private IndiceUnico<Editora> nomesEditoras;
+    private IndiceUnico<Categoria> nomesCategorias;
+    /**
+     * Índices de trigramas dos títulos, usados na busca por trecho do título (ver {@link IndiceTrigramas}).
+     */
+    private IndiceTrigramas<Livro> trigramasLivros;
+    private volatile IndiceTrigramas<Jornal> trigramasJornais;
+    /**
+     * Índice dos jornais pela data de publicação, que também responde pela chave composta (título, data)
+     * nas verificações de duplicidade (ver {@link IndiceDatasJornais}). Criado junto com a carga preguiçosa da lista.
+     */
+    private volatile IndiceDatasJornais datasJornais;
+    /**
+     * Índices ordenados por preço, estoque e título das publicações, usados nas listagens paginadas
+     * (ver {@link ListagemOrdenada}). O de jornais é criado junto com a carga preguiçosa da lista.
+     */
+    private ListagemOrdenada<Livro> ordemLivros;
+    private volatile ListagemOrdenada<Jornal> ordemJornais;
+    /**
+     * Índices de trigramas dos nomes dos autores e das categorias, usados nas buscas de livros por autor e por categoria.
+     */
+    private IndiceTrigramas<Autor> trigramasAutores;
+    private IndiceTrigramas<Categoria> trigramasCategorias;
+    /**
+     * Bitmaps dos livros por categoria, editora, autor e faixas de preço e estoque, usados na
+     * filtragem por vários critérios (ver {@link IndiceBitmapsLivros}).
+     */
+    private IndiceBitmapsLivros bitmapsLivros;
+    /**
+     * Índice de busca textual dos livros, com resultados ordenados por relevância (ver {@link IndiceBuscaLivros}).
+     * Criado depois de religadas as referências, pois indexa os nomes dos autores, da categoria e da editora.
+     */
+    private IndiceBuscaLivros buscaLivros;
+    /**
+     * Árvores BK dos nomes e títulos, usadas na busca tolerante a erros de digitação e no aviso de nomes
+     * semelhantes no cadastro (ver {@link ArvoreBK}).
+     */
+    private ArvoreBK<Autor> aproximadosAutores;
+    private ArvoreBK<Editora> aproximadosEditoras;
+    private ArvoreBK<Categoria> aproximadosCategorias;
+    private ArvoreBK<Livro> aproximadosLivros;
 
-    private final String ARQUIVO_LIVROS = "livros.dat";
-    private final String ARQUIVO_JORNAIS = "jornais.dat";
-    private final String ARQUIVO_AUTORES = "autores.dat";
-    private final String ARQUIVO_EDITORAS = "editoras.dat";
-    private final String ARQUIVO_CATEGORIAS = "categorias.dat";
+    /**
+     * Critérios de ordenação das listagens paginadas de publicações.
+     */
+    public enum Ordenacao {
+        CADASTRO, TITULO, MENOR_PRECO, MAIOR_PRECO, MENOR_ESTOQUE, MAIOR_ESTOQUE
+    }
+
+    /**
+     * Motor de armazenamento onde cada alteração é persistida (ver {@link MotorArmazenamento}).
+     */
+    private final MotorArmazenamento motor;
+    /**
+     * Executor de uma única thread (daemon) que realiza os checkpoints em segundo plano.
+     */
+    private final ExecutorService executorCheckpoint = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "checkpoint-diario");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Indica se já existe um checkpoint agendado, evitando agendamentos repetidos.
+     */
+    private final AtomicBoolean checkpointAgendado = new AtomicBoolean(false);
+    /**
+     * Serializa os checkpoints (agendados e explícitos). Obtida sempre antes da trava da instância.
+     */
+    private final Object travaCheckpoint = new Object();
+    /**
+     * Trava usada apenas na carga preguiçosa dos jornais, para não bloquear as demais operações do sistema.
+     */
+    private final Object travaJornais = new Object();
+    /**
+     * Futuro da gravação de todas as alterações registradas até agora.
+     */
+    private CompletableFuture<Void> ultimaGravacao = CompletableFuture.completedFuture(null);
+    /**
+     * Futuro da gravação das alterações feitas dentro de {@link #executarAlteracao(Runnable)}; {@code null} fora dela.
+     */
+    private CompletableFuture<Void> gravacaoDaChamada;
+    /**
+     * Instantâneos abertos, que recebem uma cópia de cada publicação antes de ela ser alterada.
+     */
+    private final List<InstantaneoCatalogo> instantaneosAtivos = new CopyOnWriteArrayList<>();
 
-    private static final Pattern ISBN_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{3}-\\d{4}-\\d{1}$");
+    static final Pattern ISBN_PATTERN = Pattern.compile("^\\d{3}-\\d{2}-\\d{3}-\\d{4}-\\d{1}$");
+    /**
+     * Preço mínimo de um livro, em reais.
+     */
+    public static final float PRECO_MINIMO_LIVRO = 15.00f;
+    /**
+     * Quantidade mínima de páginas de um livro.
+     */
+    public static final int PAGINAS_MINIMAS_LIVRO = 10;
+    /**
+     * Preço mínimo de um jornal, em reais.
+     */
+    public static final float PRECO_MINIMO_JORNAL = 3.00f;
+    /**
+     * Distância de edição máxima para que dois nomes sejam considerados semelhantes no aviso de possível duplicidade.
+     */
+    public static final int DISTANCIA_SEMELHANCA = 2;
 
     /**
-     * Construtor da classe Sistema.
-     * Ao ser instanciado, ele tenta carregar todos os dados persistidos dos arquivos
-     * e inicializa os geradores de ID estáticos para garantir a continuidade correta da numeração.
+     * Construtor da classe Sistema, usando o motor de armazenamento escolhido na configuração
+     * (ver {@link MotorArmazenamento#abrir()}).
      */
     public Sistema(){
+        this(MotorArmazenamento.abrir());
+    }
+
+    /**
+     * Construtor da classe Sistema com um motor de armazenamento específico.
+     * Ao ser instanciado, ele carrega os dados persistidos pelo motor, inicializa os geradores de ID estáticos
+     * para garantir a continuidade correta da numeração e religa as referências entre as entidades.
+     * Os jornais não são carregados aqui, e sim no primeiro acesso (veja {@link #jornais()}).
+     * @param motor O {@link MotorArmazenamento} onde os dados são persistidos.
+     */
+    public Sistema(MotorArmazenamento motor) {
+        this.motor = motor;
         carregarTodosDados();
         inicializarProximosIds();
+        resolverReferencias();
     }
 
     /**
-     * Carrega todos os dados das entidades (Livros, Jornais, Autores, Editoras, Categorias)
-     * a partir de seus respectivos arquivos persistidos, utilizando a classe utilitária {@link Util}.
+     * Carrega os dados das entidades (Livros, Autores, Editoras, Categorias) a partir dos repositórios do motor de armazenamento.
      */
     private void carregarTodosDados() {
-        livros = Util.carregarDados(ARQUIVO_LIVROS);
-        jornais = Util.carregarDados(ARQUIVO_JORNAIS);
-        autores = Util.carregarDados(ARQUIVO_AUTORES);
-        editoras = Util.carregarDados(ARQUIVO_EDITORAS);
-        categorias = Util.carregarDados(ARQUIVO_CATEGORIAS);
+        livros = motor.getLivros().carregarTodos();
+        autores = motor.getAutores().carregarTodos();
+        editoras = motor.getEditoras().carregarTodos();
+        categorias = motor.getCategorias().carregarTodos();
+        indiceLivros = new IndiceIds<>(Livro::getId, livros);
+        indiceAutores = new IndiceIds<>(Autor::getId, autores);
+        indiceEditoras = new IndiceIds<>(Editora::getId, editoras);
+        indiceCategorias = new IndiceIds<>(Categoria::getId, categorias);
+        titulosLivros = new IndiceUnico<>(l -> IndiceUnico.chaveTexto(l.getTitulo()), Livro::getId, livros);
+        isbnsLivros = new IndiceUnico<>(l -> IndiceUnico.chaveIsbn(l.getIsbn()), Livro::getId, livros);
+        nomesAutores = new IndiceUnico<>(a -> IndiceUnico.chaveTexto(a.getNome()), Autor::getId, autores);
+        nomesEditoras = new IndiceUnico<>(e -> IndiceUnico.chaveTexto(e.getNome()), Editora::getId, editoras);
+        nomesCategorias = new IndiceUnico<>(c -> IndiceUnico.chaveTexto(c.getNome()), Categoria::getId, categorias);
+        trigramasLivros = new IndiceTrigramas<>(Livro::getTitulo, Livro::getId, livros);
+        trigramasAutores = new IndiceTrigramas<>(Autor::getNome, Autor::getId, autores);
+        trigramasCategorias = new IndiceTrigramas<>(Categoria::getNome, Categoria::getId, categorias);
+        bitmapsLivros = new IndiceBitmapsLivros(livros);
+        ordemLivros = new ListagemOrdenada<>(livros);
+        aproximadosAutores = new ArvoreBK<>(Autor::getNome, Autor::getId, autores);
+        aproximadosEditoras = new ArvoreBK<>(Editora::getNome, Editora::getId, editoras);
+        aproximadosCategorias = new ArvoreBK<>(Categoria::getNome, Categoria::getId, categorias);
+        aproximadosLivros = new ArvoreBK<>(Livro::getTitulo, Livro::getId, livros);
+    }
+
+    /**
+     * Retorna a lista de jornais, carregando-a do repositório no primeiro acesso.
+     * Na carga, as editoras são religadas às instâncias canônicas, como é feito com os livros na inicialização.
+     * @return A lista (interna) de jornais.
+     */
+    private List<Jornal> jornais() {
+        List<Jornal> carregados = jornais;
+        if (carregados == null) {
+            synchronized (travaJornais) {
+                carregados = jornais;
+                if (carregados == null) {
+                    carregados = motor.getJornais().carregarTodos();
+                    for (Jornal jornal : carregados) {
+                        jornal.setEditora(resolver(indiceEditoras, jornal.getEditora(), Editora::getId));
+                    }
+                    indiceJornais = new IndiceIds<>(Jornal::getId, carregados);
+                    datasJornais = new IndiceDatasJornais(carregados);
+                    ordemJornais = new ListagemOrdenada<>(carregados);
+                    trigramasJornais = new IndiceTrigramas<>(Jornal::getTitulo, Jornal::getId, carregados);
+                    jornais = carregados;
+                }
+            }
+        }
+        return carregados;
+    }
+
+    /**
+     * Religa as referências de livros e jornais (editora, autores e categoria) às instâncias canônicas
+     * mantidas nas coleções do sistema, usando o ID de cada entidade.
+     * Os arquivos guardam essas referências apenas pelo ID (e versões antigas guardavam cópias inteiras),
+     * de modo que, sem esta etapa, cada livro teria instâncias próprias e as verificações por identidade falhariam.
+     */
+    private void resolverReferencias() {
+        autores.forEach(Autor::limparLivrosPublicados);
+        for (Livro livro : livros) {
+            livro.setEditora(resolver(indiceEditoras, livro.getEditora(), Editora::getId));
+            livro.getAutores().replaceAll(a -> resolver(indiceAutores, a, Autor::getId));
+            livro.setCategoria(resolver(indiceCategorias, livro.getCategoria(), Categoria::getId));
+            vincularAutores(livro);
+        }
+        if (jornais != null) {
+            for (Jornal jornal : jornais) {
+                jornal.setEditora(resolver(indiceEditoras, jornal.getEditora(), Editora::getId));
+            }
+        }
+        buscaLivros = new IndiceBuscaLivros(livros);
+    }
+
+    /**
+     * Registra o livro na lista de livros publicados ({@link Autor#getLivrosPublicados()}) de cada um dos seus autores,
+     * o índice inverso autor → livros usado por {@link #buscarLivrosPorAutor(String)}.
+     */
+    private static void vincularAutores(Livro livro) {
+        for (Autor autor : livro.getAutores()) {
+            autor.adicionarLivro(livro);
+        }
+    }
+
+    /**
+     * Adiciona a publicação aos índices ordenados de preço, estoque e título do seu tipo.
+     */
+    private void indexarOrdem(Publicacao publicacao) {
+        if (publicacao instanceof Livro) {
+            ordemLivros.adicionar((Livro) publicacao);
+        } else if (publicacao instanceof Jornal) {
+            ordemJornais.adicionar((Jornal) publicacao);
+        }
+    }
+
+    /**
+     * Retira a publicação dos índices ordenados; deve ser chamado antes de alterar o preço, o estoque ou o título.
+     */
+    private void desindexarOrdem(Publicacao publicacao) {
+        if (publicacao instanceof Livro) {
+            ordemLivros.remover((Livro) publicacao);
+        } else if (publicacao instanceof Jornal) {
+            ordemJornais.remover((Jornal) publicacao);
+        }
+    }
+
+    /**
+     * Retira o livro da lista de livros publicados de cada um dos seus autores.
+     */
+    private static void desvincularAutores(Livro livro) {
+        for (Autor autor : livro.getAutores()) {
+            autor.removerLivro(livro);
+        }
+    }
+
+    /**
+     * Retorna a instância canônica de mesmo ID da referência informada.
+     * Se a entidade não existir mais na coleção, a referência original é mantida e um aviso é exibido.
+     */
+    private static <T> T resolver(IndiceIds<T> canonicos, T referencia, ToIntFunction<T> extratorId) {
+        if (referencia == null) {
+            return null;
+        }
+        T canonico = canonicos.buscar(extratorId.applyAsInt(referencia));
+        if (canonico == null) {
+            System.err.println("Referência não encontrada: " + referencia.getClass().getSimpleName() + " de ID " + extratorId.applyAsInt(referencia));
+            return referencia;
+        }
+        return canonico;
     }
 
     /**
      * Inicializa os contadores estáticos de ID para cada tipo de entidade
-     * (`Publicacao`, `Autor`, `Editora`, `Categoria`) com base no maior ID existente
-     * nos dados que foram carregados. Isso é crucial para evitar a duplicação de IDs
-     * ao adicionar novos itens após o reinício da aplicação.
+     * (`Publicacao`, `Autor`, `Editora`, `Categoria`). Os valores são restaurados pelo motor de armazenamento
+     * sem percorrer as coleções; se ele não os tiver (dados de uma versão anterior), os contadores
+     * são calculados a partir do maior ID existente nos dados carregados.
+     * Isso é crucial para evitar a duplicação de IDs ao adicionar novos itens após o reinício da aplicação.
      */
     private void inicializarProximosIds() {
+        if (motor.restaurarProximosIds()) {
+            return;
+        }
         int maiorIdPublicacao = 0;
         if (!livros.isEmpty()) {
             maiorIdPublicacao = Math.max(maiorIdPublicacao, livros.stream().mapToInt(Publicacao::getId).max().orElse(0));
         }
-        if (!jornais.isEmpty()) {
-            maiorIdPublicacao = Math.max(maiorIdPublicacao, jornais.stream().mapToInt(Publicacao::getId).max().orElse(0));
+        if (!jornais().isEmpty()) {
+            maiorIdPublicacao = Math.max(maiorIdPublicacao, jornais().stream().mapToInt(Publicacao::getId).max().orElse(0));
         }
         Publicacao.setProximoIdEstatico(maiorIdPublicacao + 1);
 
@@ -79,14 +346,182 @@ public class Sistema {
 
     /**
      * Salva todos os dados das entidades (Livros, Jornais, Autores, Editoras, Categorias)
-     * de volta em seus respectivos arquivos persistidos, utilizando a classe utilitária {@link Util}.
+     * de volta em seus respectivos repositórios do motor de armazenamento.
+     * Se os jornais ainda não foram carregados e não têm alterações pendentes, eles não são regravados.
+     * As coleções são gravadas a partir de um instantâneo, sem bloquear as alterações (ver {@link #checkpoint(boolean)}).
      */
     public void salvarTodosDados() {
-        Util.salvarDados(livros, ARQUIVO_LIVROS);
-        Util.salvarDados(jornais, ARQUIVO_JORNAIS);
-        Util.salvarDados(autores, ARQUIVO_AUTORES);
-        Util.salvarDados(editoras, ARQUIVO_EDITORAS);
-        Util.salvarDados(categorias, ARQUIVO_CATEGORIAS);
+        checkpoint(true);
+    }
+
+    /**
+     * Salva apenas as coleções com alterações pendentes desde a última gravação (checkpoint).
+     * O custo da gravação passa a depender do tamanho das coleções modificadas, e não do catálogo inteiro,
+     * e as alterações continuam sendo aceitas enquanto isso (ver {@link #checkpoint(boolean)}).
+     */
+    public void salvarDadosAlterados() {
+        checkpoint(false);
+    }
+
+    /**
+     * Realiza um checkpoint. Com a trava da instância, apenas marca o ponto de corte: escolhe as coleções a gravar,
+     * cria um {@link InstantaneoCatalogo} e faz o motor selar o diário de operações ({@link MotorArmazenamento#iniciarCheckpoint()}).
+     * A gravação das coleções, proporcional ao catálogo, é feita a partir do instantâneo, fora da trava; o motor então
+     * descarta apenas o diário anterior ao corte, e as alterações feitas durante a gravação continuam nele.
+     * Checkpoints simultâneos são feitos um de cada vez.
+     * @param todas {@code true} para gravar todas as coleções; {@code false} para gravar apenas as alteradas.
+     */
+    private void checkpoint(boolean todas) {
+        synchronized (travaCheckpoint) {
+            boolean gravarLivros;
+            boolean gravarJornais;
+            boolean gravarAutores;
+            boolean gravarEditoras;
+            boolean gravarCategorias;
+            InstantaneoCatalogo instantaneo;
+            synchronized (this) {
+                gravarLivros = todas || motor.getLivros().possuiAlteracoes();
+                gravarJornais = (todas && jornais != null) || motor.getJornais().possuiAlteracoes();
+                gravarAutores = todas || motor.getAutores().possuiAlteracoes();
+                gravarEditoras = todas || motor.getEditoras().possuiAlteracoes();
+                gravarCategorias = todas || motor.getCategorias().possuiAlteracoes();
+                // Jornais que não serão gravados não precisam ser carregados para o instantâneo.
+                instantaneo = abrirInstantaneo(gravarJornais ? jornais() : List.of());
+                motor.iniciarCheckpoint();
+            }
+            try (instantaneo) {
+                if (gravarLivros) motor.getLivros().salvarTodos(instantaneo.getLivros());
+                if (gravarJornais) motor.getJornais().salvarTodos(instantaneo.getJornais());
+                if (gravarAutores) motor.getAutores().salvarTodos(instantaneo.getAutores());
+                if (gravarEditoras) motor.getEditoras().salvarTodos(instantaneo.getEditoras());
+                if (gravarCategorias) motor.getCategorias().salvarTodos(instantaneo.getCategorias());
+                motor.concluirCheckpoint();
+            }
+        }
+    }
+
+    /**
+     * Registra a gravação de uma alteração já enviada ao motor de armazenamento (sempre com a trava da instância).
+     * Quando o motor indica que há alterações pendentes demais, um checkpoint é agendado em segundo plano.
+     * @param gravacao O futuro da gravação da alteração.
+     */
+    private void registrarAlteracao(CompletableFuture<Void> gravacao) {
+        // O motor pode concluir as gravações fora de ordem (o estoque, por exemplo, não passa pelo diário),
+        // então o futuro acumulado só é substituído quando as gravações anteriores já terminaram.
+        ultimaGravacao = combinar(ultimaGravacao, gravacao);
+        if (gravacaoDaChamada != null) {
+            gravacaoDaChamada = combinar(gravacaoDaChamada, gravacao);
+        }
+        if (motor.precisaCheckpoint() && checkpointAgendado.compareAndSet(false, true)) {
+            executorCheckpoint.execute(() -> {
+                try {
+                    salvarDadosAlterados();
+                } finally {
+                    checkpointAgendado.set(false);
+                }
+            });
+        }
+    }
+
+    private static CompletableFuture<Void> combinar(CompletableFuture<Void> anteriores, CompletableFuture<Void> gravacao) {
+        return anteriores.isDone() ? gravacao : CompletableFuture.allOf(anteriores, gravacao);
+    }
+
+    /**
+     * Executa uma ou mais alterações do sistema e retorna o futuro da gravação apenas delas, para quem precisa
+     * confirmar a durabilidade de uma operação específica, por exemplo
+     * {@code sistema.executarAlteracao(() -> sistema.removerEstoquePublicacao(id, 1, "Livro")).join()}.
+     * As alterações são feitas com a trava da instância, sem que alterações de outras threads se intercalem a elas.
+     * @param alteracao As chamadas aos métodos de cadastro, edição, exclusão ou estoque.
+     * @return Um {@link CompletableFuture} concluído quando todas as alterações feitas em {@code alteracao} estiverem
+     *         gravadas (já concluído se nenhuma alteração foi feita).
+     */
+    public synchronized CompletableFuture<Void> executarAlteracao(Runnable alteracao) {
+        CompletableFuture<Void> externa = gravacaoDaChamada;
+        gravacaoDaChamada = CompletableFuture.completedFuture(null);
+        try {
+            alteracao.run();
+            return gravacaoDaChamada;
+        } finally {
+            gravacaoDaChamada = externa == null ? null : combinar(externa, gravacaoDaChamada);
+        }
+    }
+
+    /**
+     * Cria um instantâneo consistente de todas as coleções, para backups, exportações e relatórios
+     * que podem demorar sem bloquear as alterações feitas enquanto isso (ver {@link InstantaneoCatalogo}).
+     * O instantâneo deve ser fechado ao fim do uso.
+     * @return O {@link InstantaneoCatalogo} do momento atual.
+     */
+    public synchronized InstantaneoCatalogo criarInstantaneo() {
+        return abrirInstantaneo(jornais());
+    }
+
+    private InstantaneoCatalogo abrirInstantaneo(List<Jornal> jornaisCapturados) {
+        InstantaneoCatalogo instantaneo = new InstantaneoCatalogo(this, livros, jornaisCapturados, autores, editoras,
+                categorias, instantaneosAtivos::remove);
+        instantaneosAtivos.add(instantaneo);
+        return instantaneo;
+    }
+
+    /**
+     * Faz os instantâneos abertos copiarem o que capturaram de uma lista antes que um elemento seja excluído dela.
+     */
+    private void preservarListaParaInstantaneos(List<?> lista) {
+        for (InstantaneoCatalogo instantaneo : instantaneosAtivos) {
+            instantaneo.preservarLista(lista);
+        }
+    }
+
+    /**
+     * Entrega aos instantâneos abertos uma cópia da publicação antes que ela seja alterada.
+     */
+    private void preservarParaInstantaneos(Publicacao publicacao) {
+        for (InstantaneoCatalogo instantaneo : instantaneosAtivos) {
+            instantaneo.preservar(publicacao);
+        }
+    }
+
+    /**
+     * Aguarda o checkpoint em segundo plano já agendado, se houver, e fecha o motor de armazenamento, que conclui
+     * as gravações ainda enfileiradas no diário de operações. Não faz um checkpoint: as alterações posteriores ao
+     * último continuam no diário e são reproduzidas na próxima abertura.
+     * O sistema não deve ser usado depois disso.
+     */
+    public void fechar() {
+        // A espera é feita fora da trava da instância, que o checkpoint agendado precisa obter para gravar.
+        executorCheckpoint.shutdown();
+        try {
+            executorCheckpoint.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            motor.close();
+        }
+    }
+
+    /**
+     * Compacta imediatamente os segmentos selados do diário de operações, descartando os registros substituídos
+     * por edições posteriores e os estados de publicações excluídas.
+     * Permite agendar a compactação para horários de menor movimento (com a compactação automática desativada
+     * por {@link Configuracao#getSegmentosCompactacao()}). As alterações feitas durante a compactação não são bloqueadas.
+     * @return A quantidade de bytes liberados no diário.
+     */
+    public long compactarDiario() {
+        return motor.compactar();
+    }
+
+    /**
+     * Retorna um {@link CompletableFuture} concluído quando todas as alterações feitas no sistema até agora,
+     * de qualquer thread, estiverem gravadas pelo motor de armazenamento.
+     * Os métodos de cadastro, edição, exclusão e estoque não esperam pela gravação, que é feita em segundo plano
+     * e agrupada com as demais alterações próximas; quem precisar da confirmação de durabilidade deve aguardar este futuro
+     * ou, para uma operação específica, o de {@link #executarAlteracao(Runnable)}.
+     * @return O futuro da gravação das alterações feitas até agora.
+     */
+    public synchronized CompletableFuture<Void> getUltimaGravacao() {
+        return ultimaGravacao;
     }
 
     // Métodos de Verificação de Existência (Para validação de duplicidade)
@@ -96,8 +531,8 @@ public class Sistema {
      * @param nome O nome do autor a ser verificado.
      * @return {@code true} se um autor com o nome já existe, {@code false} caso contrário.
      */
-    public boolean existeAutorComNome(String nome) {
-        return autores.stream().anyMatch(a -> a.getNome().equalsIgnoreCase(nome));
+    public synchronized boolean existeAutorComNome(String nome) {
+        return nomesAutores.contem(IndiceUnico.chaveTexto(nome));
     }
 
     /**
@@ -105,8 +540,8 @@ public class Sistema {
      * @param nome O nome da editora a ser verificado.
      * @return {@code true} se uma editora com o nome já existe, {@code false} caso contrário.
      */
-    public boolean existeEditoraComNome(String nome) {
-        return editoras.stream().anyMatch(e -> e.getNome().equalsIgnoreCase(nome));
+    public synchronized boolean existeEditoraComNome(String nome) {
+        return nomesEditoras.contem(IndiceUnico.chaveTexto(nome));
     }
 
     /**
@@ -114,8 +549,35 @@ public class Sistema {
      * @param nome O nome da categoria a ser verificado.
      * @return {@code true} se uma categoria com o nome já existe, {@code false} caso contrário.
      */
-    public boolean existeCategoriaComNome(String nome) {
-        return categorias.stream().anyMatch(c -> c.getNome().equalsIgnoreCase(nome));
+    public synchronized boolean existeCategoriaComNome(String nome) {
+        return nomesCategorias.contem(IndiceUnico.chaveTexto(nome));
+    }
+
+    /**
+     * Retorna os autores com nome semelhante ao fornecido (possível cadastro duplicado com erro de digitação),
+     * a no máximo {@link #DISTANCIA_SEMELHANCA} edições; nomes curtos toleram menos edições.
+     * @param nome O nome do autor a ser cadastrado.
+     * @return Os autores com nome semelhante, do mais para o menos parecido (inclui o de mesmo nome, se existir).
+     */
+    public synchronized List<Autor> autoresSemelhantes(String nome) {
+        return aproximadosAutores.buscar(nome, distanciaSemelhanca(nome));
+    }
+
+    /**
+     * Retorna as editoras com nome semelhante ao fornecido, como em {@link #autoresSemelhantes(String)}.
+     * @param nome O nome da editora a ser cadastrada.
+     * @return As editoras com nome semelhante, da mais para a menos parecida.
+     */
+    public synchronized List<Editora> editorasSemelhantes(String nome) {
+        return aproximadosEditoras.buscar(nome, distanciaSemelhanca(nome));
+    }
+
+    /**
+     * Tolerância da verificação de nomes semelhantes: uma edição a cada quatro caracteres, até {@link #DISTANCIA_SEMELHANCA},
+     * para que nomes curtos (siglas de editoras, por exemplo) não sejam todos considerados parecidos.
+     */
+    private static int distanciaSemelhanca(String nome) {
+        return nome == null ? 0 : Math.min(DISTANCIA_SEMELHANCA, nome.trim().length() / 4);
     }
 
     /**
@@ -123,17 +585,17 @@ public class Sistema {
      * @param titulo O título do livro a ser verificado.
      * @return {@code true} se um livro com o título já existe, {@code false} caso contrário.
      */
-    public boolean existeLivroComTitulo(String titulo) {
-        return livros.stream().anyMatch(l -> l.getTitulo().equalsIgnoreCase(titulo));
+    public synchronized boolean existeLivroComTitulo(String titulo) {
+        return titulosLivros.contem(IndiceUnico.chaveTexto(titulo));
     }
 
     /**
-     * Verifica se já existe um livro cadastrado com o ISBN fornecido (a comparação não diferencia maiúsculas de minúsculas).
+     * Verifica se já existe um livro cadastrado com o ISBN fornecido (a comparação considera apenas os dígitos).
      * @param isbn O ISBN do livro a ser verificado.
      * @return {@code true} se um livro com o ISBN já existe, {@code false} caso contrário.
      */
-    public boolean existeLivroComIsbn(String isbn) {
-        return livros.stream().anyMatch(l -> l.getIsbn().equalsIgnoreCase(isbn));
+    public synchronized boolean existeLivroComIsbn(String isbn) {
+        return isbnsLivros.contem(IndiceUnico.chaveIsbn(isbn));
     }
 
     /**
@@ -145,9 +607,9 @@ public class Sistema {
      * @param idExcluir O ID do livro a ser excluído da verificação de duplicidade.
      * @return {@code true} se houver um livro com o mesmo título ou ISBN (excluindo o ID informado), {@code false} caso contrário.
      */
-    public boolean existeLivroComTituloEIsbnExcluindoId(String titulo, String isbn, int idExcluir) {
-        return livros.stream()
-                     .anyMatch(l -> (l.getTitulo().equalsIgnoreCase(titulo) || l.getIsbn().equalsIgnoreCase(isbn)) && l.getId() != idExcluir);
+    public synchronized boolean existeLivroComTituloEIsbnExcluindoId(String titulo, String isbn, int idExcluir) {
+        return titulosLivros.contemOutro(IndiceUnico.chaveTexto(titulo), idExcluir)
+                || isbnsLivros.contemOutro(IndiceUnico.chaveIsbn(isbn), idExcluir);
     }
 
     /**
@@ -157,8 +619,9 @@ public class Sistema {
      * @param data A data de publicação do jornal a ser verificada.
      * @return {@code true} se um jornal com o título e a data já existe, {@code false} caso contrário.
      */
-    public boolean existeJornalComTituloEData(String titulo, LocalDate data) {
-        return jornais.stream().anyMatch(j -> j.getTitulo().equalsIgnoreCase(titulo) && j.getDataPublicacao().equals(data));
+    public synchronized boolean existeJornalComTituloEData(String titulo, LocalDate data) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return datasJornais.contem(titulo, data);
     }
 
     /**
@@ -170,9 +633,9 @@ public class Sistema {
      * @param idExcluir O ID do jornal a ser excluído da verificação de duplicidade.
      * @return {@code true} se houver um jornal com o mesmo título e data (excluindo o ID informado), {@code false} caso contrário.
      */
-    public boolean existeJornalComTituloEDataExcluindoId(String titulo, LocalDate data, int idExcluir) {
-        return jornais.stream()
-                     .anyMatch(j -> j.getTitulo().equalsIgnoreCase(titulo) && j.getDataPublicacao().equals(data) && j.getId() != idExcluir);
+    public synchronized boolean existeJornalComTituloEDataExcluindoId(String titulo, LocalDate data, int idExcluir) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return datasJornais.contemOutro(titulo, data, idExcluir);
     }
 
     // Métodos de Cadastro (R.F._1, R.F._6, R.F._7, R.F._8)
@@ -192,11 +655,11 @@ public class Sistema {
      * @return {@code true} se o livro foi cadastrado com sucesso, {@code false} caso contrário.
      * @throws DuplicidadeException Se já existir um livro com o mesmo título ou ISBN.
      */
-    public boolean cadastrarLivro(String titulo, float preco, Editora editora, int paginas, String isbn, List<Autor> autoresAssociar, Categoria categoriaAssociar) {
-        if (preco < 15.00) {
+    public synchronized boolean cadastrarLivro(String titulo, float preco, Editora editora, int paginas, String isbn, List<Autor> autoresAssociar, Categoria categoriaAssociar) {
+        if (preco < PRECO_MINIMO_LIVRO) {
             throw new DuplicidadeException("Preço do livro deve ser no mínimo R$ 15,00.");
         }
-        if (paginas < 10) {
+        if (paginas < PAGINAS_MINIMAS_LIVRO) {
             throw new DuplicidadeException("Quantidade de páginas do livro deve ser no mínimo 10.");
         }
         if (isbn == null || isbn.trim().isEmpty()) {
@@ -219,7 +682,18 @@ public class Sistema {
         }
         novoLivro.setCategoria(categoriaAssociar);
         boolean adicionado = livros.add(novoLivro);
-        if (adicionado) salvarTodosDados(); // Persiste os dados após o cadastro.
+        if (adicionado) {
+            indiceLivros.adicionar(novoLivro);
+            titulosLivros.adicionar(novoLivro);
+            isbnsLivros.adicionar(novoLivro);
+            trigramasLivros.adicionar(novoLivro);
+            aproximadosLivros.adicionar(novoLivro);
+            bitmapsLivros.adicionar(novoLivro);
+            buscaLivros.adicionar(novoLivro);
+            indexarOrdem(novoLivro);
+            vincularAutores(novoLivro);
+            registrarAlteracao(motor.getLivros().salvar(novoLivro)); // Persiste os dados após o cadastro.
+        }
         return adicionado;
     }
 
@@ -235,8 +709,8 @@ public class Sistema {
      * @return {@code true} se o jornal foi cadastrado com sucesso, {@code false} caso contrário.
      * @throws DuplicidadeException Se já existir um jornal com o mesmo título e data de publicação.
      */
-    public boolean cadastrarJornal(String titulo, float preco, Editora editora, LocalDate dataPublicacao) {
-        if (preco < 3.00) {
+    public synchronized boolean cadastrarJornal(String titulo, float preco, Editora editora, LocalDate dataPublicacao) {
+        if (preco < PRECO_MINIMO_JORNAL) {
             throw new DuplicidadeException("Preço do jornal deve ser no mínimo R$ 3,00.");
         }
         if (existeJornalComTituloEData(titulo, dataPublicacao)) {
@@ -244,8 +718,14 @@ public class Sistema {
         }
 
         Jornal novoJornal = new Jornal(titulo, preco, editora, dataPublicacao);
-        boolean adicionado = jornais.add(novoJornal);
-        if (adicionado) salvarTodosDados();
+        boolean adicionado = jornais().add(novoJornal);
+        if (adicionado) {
+            indiceJornais.adicionar(novoJornal);
+            datasJornais.adicionar(novoJornal);
+            trigramasJornais.adicionar(novoJornal);
+            indexarOrdem(novoJornal);
+            registrarAlteracao(motor.getJornais().salvar(novoJornal));
+        }
         return adicionado;
     }
 
@@ -260,13 +740,19 @@ public class Sistema {
      * @return {@code true} se o autor foi cadastrado com sucesso, {@code false} caso contrário.
      * @throws DuplicidadeException Se já existir um autor com o mesmo nome.
      */
-    public boolean cadastrarAutor(String nome, String nacionalidade, LocalDate dataNascimento) {
+    public synchronized boolean cadastrarAutor(String nome, String nacionalidade, LocalDate dataNascimento) {
         if (existeAutorComNome(nome)) {
             throw new DuplicidadeException("Autor com o nome '" + nome + "' já existe.");
         }
         Autor novoAutor = new Autor(nome, nacionalidade, dataNascimento);
         boolean adicionado = autores.add(novoAutor);
-        if (adicionado) salvarTodosDados(); // Persiste os dados após o cadastro.
+        if (adicionado) {
+            indiceAutores.adicionar(novoAutor);
+            nomesAutores.adicionar(novoAutor);
+            trigramasAutores.adicionar(novoAutor);
+            aproximadosAutores.adicionar(novoAutor);
+            registrarAlteracao(motor.getAutores().salvar(novoAutor)); // Persiste os dados após o cadastro.
+        }
         return adicionado;
     }
 
@@ -279,13 +765,18 @@ public class Sistema {
      * @return {@code true} se a editora foi cadastrada com sucesso, {@code false} caso contrário.
      * @throws DuplicidadeException Se já existir uma editora com o mesmo nome.
      */
-    public boolean cadastrarEditora(String nome) {
+    public synchronized boolean cadastrarEditora(String nome) {
         if (existeEditoraComNome(nome)) {
             throw new DuplicidadeException("Editora com o nome '" + nome + "' já existe.");
         }
         Editora novaEditora = new Editora(nome);
         boolean adicionado = editoras.add(novaEditora);
-        if (adicionado) salvarTodosDados(); // Persiste os dados após o cadastro.
+        if (adicionado) {
+            indiceEditoras.adicionar(novaEditora);
+            nomesEditoras.adicionar(novaEditora);
+            aproximadosEditoras.adicionar(novaEditora);
+            registrarAlteracao(motor.getEditoras().salvar(novaEditora)); // Persiste os dados após o cadastro.
+        }
         return adicionado;
     }
 
@@ -298,16 +789,69 @@ public class Sistema {
      * @return {@code true} se a categoria foi cadastrada com sucesso, {@code false} caso contrário.
      * @throws DuplicidadeException Se já existir uma categoria com o mesmo nome.
      */
-    public boolean cadastrarCategoria(String nome) {
+    public synchronized boolean cadastrarCategoria(String nome) {
         if (existeCategoriaComNome(nome)) {
             throw new DuplicidadeException("Categoria com o nome '" + nome + "' já existe.");
         }
         Categoria novaCategoria = new Categoria(nome);
         boolean adicionado = categorias.add(novaCategoria);
-        if (adicionado) salvarTodosDados(); // Persiste os dados após o cadastro.
+        if (adicionado) {
+            indiceCategorias.adicionar(novaCategoria);
+            nomesCategorias.adicionar(novaCategoria);
+            trigramasCategorias.adicionar(novaCategoria);
+            aproximadosCategorias.adicionar(novaCategoria);
+            registrarAlteracao(motor.getCategorias().salvar(novaCategoria)); // Persiste os dados após o cadastro.
+        }
         return adicionado;
     }
 
+    /**
+     * Cadastra de uma só vez todas as entidades de um lote já validado (importação em massa), persistindo-as
+     * com uma única gravação do motor de armazenamento, em vez de uma gravação por entidade.
+     * A validação (formato, valores mínimos e duplicidade) é responsabilidade de quem monta o lote,
+     * como o {@link ImportadorCatalogo}.
+     * @param lote As entidades a serem cadastradas.
+     */
+    public synchronized void cadastrarLote(LoteCadastros lote) {
+        if (lote.isVazio()) {
+            return;
+        }
+        editoras.addAll(lote.getEditoras());
+        indiceEditoras.adicionarTodos(lote.getEditoras());
+        lote.getEditoras().forEach(nomesEditoras::adicionar);
+        lote.getEditoras().forEach(aproximadosEditoras::adicionar);
+        autores.addAll(lote.getAutores());
+        indiceAutores.adicionarTodos(lote.getAutores());
+        lote.getAutores().forEach(nomesAutores::adicionar);
+        lote.getAutores().forEach(trigramasAutores::adicionar);
+        lote.getAutores().forEach(aproximadosAutores::adicionar);
+        categorias.addAll(lote.getCategorias());
+        indiceCategorias.adicionarTodos(lote.getCategorias());
+        lote.getCategorias().forEach(nomesCategorias::adicionar);
+        lote.getCategorias().forEach(trigramasCategorias::adicionar);
+        lote.getCategorias().forEach(aproximadosCategorias::adicionar);
+        livros.addAll(lote.getLivros());
+        indiceLivros.adicionarTodos(lote.getLivros());
+        for (Livro livro : lote.getLivros()) {
+            titulosLivros.adicionar(livro);
+            isbnsLivros.adicionar(livro);
+            trigramasLivros.adicionar(livro);
+            aproximadosLivros.adicionar(livro);
+            bitmapsLivros.adicionar(livro);
+            buscaLivros.adicionar(livro);
+            indexarOrdem(livro);
+            vincularAutores(livro);
+        }
+        if (!lote.getJornais().isEmpty()) {
+            jornais().addAll(lote.getJornais());
+            indiceJornais.adicionarTodos(lote.getJornais());
+            lote.getJornais().forEach(datasJornais::adicionar);
+            lote.getJornais().forEach(trigramasJornais::adicionar);
+            lote.getJornais().forEach(this::indexarOrdem);
+        }
+        registrarAlteracao(motor.salvarLote(lote));
+    }
+
     // Métodos de Edição (R.F._2)
 
     /**
@@ -326,13 +870,13 @@ public class Sistema {
      * @return {@code true} se o livro foi editado com sucesso, {@code false} caso não seja encontrado ou falhe na edição.
      * @throws DuplicidadeException Se o novo título ou ISBN já pertencer a outro livro.
      */
-    public boolean editarLivro(int idLivro, String novoTitulo, float novoPreco, Editora novaEditora, int novaPaginas, String novoIsbn, List<Autor> novosAutores, Categoria novaCategoria) {
+    public synchronized boolean editarLivro(int idLivro, String novoTitulo, float novoPreco, Editora novaEditora, int novaPaginas, String novoIsbn, List<Autor> novosAutores, Categoria novaCategoria) {
         Livro livro = buscarLivroPorId(idLivro);
         if (livro != null) {
-            if (novoPreco < 15.00) {
+            if (novoPreco < PRECO_MINIMO_LIVRO) {
             throw new DuplicidadeException("Preço do livro deve ser no mínimo R$ 15,00.");
             }
-            if (novaPaginas < 10) {
+            if (novaPaginas < PAGINAS_MINIMAS_LIVRO) {
                 throw new DuplicidadeException("Quantidade de páginas do livro deve ser no mínimo 10.");
             }
             if (novoIsbn == null || novoIsbn.trim().isEmpty()) {
@@ -345,11 +889,20 @@ public class Sistema {
                 throw new DuplicidadeException("O título ou ISBN '" + novoTitulo + "' / '" + novoIsbn + "' já pertence a outro livro.");
             }
 
+            preservarParaInstantaneos(livro);
+            titulosLivros.remover(livro);
+            isbnsLivros.remover(livro);
+            trigramasLivros.remover(livro);
+            aproximadosLivros.remover(livro);
+            bitmapsLivros.remover(livro);
+            buscaLivros.remover(livro);
+            desindexarOrdem(livro);
             livro.setTitulo(novoTitulo);
             livro.setPreco(novoPreco);
             livro.setEditora(novaEditora);
             livro.setQuantidadePaginas(novaPaginas);
             livro.setIsbn(novoIsbn);
+            desvincularAutores(livro);
             livro.getAutores().clear(); // Limpa autores antigos
             if (novosAutores != null) {
                 for (Autor autor : novosAutores) {
@@ -357,7 +910,15 @@ public class Sistema {
                 }
             }
             livro.setCategoria(novaCategoria);
-            salvarTodosDados(); // Persiste os dados após a edição.
+            titulosLivros.adicionar(livro);
+            isbnsLivros.adicionar(livro);
+            trigramasLivros.adicionar(livro);
+            aproximadosLivros.adicionar(livro);
+            bitmapsLivros.adicionar(livro);
+            buscaLivros.adicionar(livro);
+            indexarOrdem(livro);
+            vincularAutores(livro);
+            registrarAlteracao(motor.getLivros().salvar(livro)); // Persiste os dados após a edição.
             return true;
         }
         return false;
@@ -376,21 +937,28 @@ public class Sistema {
      * @return {@code true} se o jornal foi editado com sucesso, {@code false} caso não seja encontrado ou falhe na edição.
      * @throws DuplicidadeException Se o novo título e data de publicação já pertencerem a outro jornal.
      */
-    public boolean editarJornal(int idJornal, String novoTitulo, float novoPreco, Editora novaEditora, LocalDate novaDataPublicacao) {
+    public synchronized boolean editarJornal(int idJornal, String novoTitulo, float novoPreco, Editora novaEditora, LocalDate novaDataPublicacao) {
         Jornal jornal = buscarJornalPorId(idJornal);
             if (jornal != null) {
-                if (novoPreco < 3.00) {
+                if (novoPreco < PRECO_MINIMO_JORNAL) {
                 throw new DuplicidadeException("Preço do jornal deve ser no mínimo R$ 3,00.");
             }
             if (existeJornalComTituloEDataExcluindoId(novoTitulo, novaDataPublicacao, jornal.getId())) {
                 throw new DuplicidadeException("Jornal com o título '" + novoTitulo + "' e data '" + novaDataPublicacao + "' já existe.");
             }
 
+            preservarParaInstantaneos(jornal);
+            datasJornais.remover(jornal);
+            trigramasJornais.remover(jornal);
+            desindexarOrdem(jornal);
             jornal.setTitulo(novoTitulo);
             jornal.setPreco(novoPreco);
             jornal.setEditora(novaEditora);
             jornal.setDataPublicacao(novaDataPublicacao);
-            salvarTodosDados(); // Persiste os dados após a edição.
+            datasJornais.adicionar(jornal);
+            trigramasJornais.adicionar(jornal);
+            indexarOrdem(jornal);
+            registrarAlteracao(motor.getJornais().salvar(jornal)); // Persiste os dados após a edição.
             return true;
         }
         return false;
@@ -403,11 +971,23 @@ public class Sistema {
      * @param idLivro O ID do livro a ser excluído.
      * @return {@code true} se o livro foi encontrado e removido com sucesso, {@code false} caso contrário.
      */
-    public boolean excluirLivro(int idLivro) {
+    public synchronized boolean excluirLivro(int idLivro) {
         Livro livroParaRemover = buscarLivroPorId(idLivro);
         if (livroParaRemover != null) {
+            preservarListaParaInstantaneos(livros);
             boolean removido = livros.remove(livroParaRemover);
-            if (removido) salvarTodosDados(); // Persiste os dados após a exclusão.
+            if (removido) {
+                indiceLivros.remover(idLivro);
+                titulosLivros.remover(livroParaRemover);
+                isbnsLivros.remover(livroParaRemover);
+                trigramasLivros.remover(livroParaRemover);
+                aproximadosLivros.remover(livroParaRemover);
+                bitmapsLivros.remover(livroParaRemover);
+                buscaLivros.remover(livroParaRemover);
+                desindexarOrdem(livroParaRemover);
+                desvincularAutores(livroParaRemover);
+                registrarAlteracao(motor.getLivros().excluir(idLivro)); // Persiste os dados após a exclusão.
+            }
             return removido;
         }
         return false;
@@ -418,11 +998,18 @@ public class Sistema {
      * @param idJornal O ID do jornal a ser excluído.
      * @return {@code true} se o jornal foi encontrado e removido com sucesso, {@code false} caso contrário.
      */
-    public boolean excluirJornal(int idJornal) {
+    public synchronized boolean excluirJornal(int idJornal) {
         Jornal jornalParaRemover = buscarJornalPorId(idJornal);
         if (jornalParaRemover != null) {
-            boolean removido = jornais.remove(jornalParaRemover);
-            if (removido) salvarTodosDados(); // Persiste os dados após a exclusão.
+            preservarListaParaInstantaneos(jornais());
+            boolean removido = jornais().remove(jornalParaRemover);
+            if (removido) {
+                indiceJornais.remover(idJornal);
+                datasJornais.remover(jornalParaRemover);
+                trigramasJornais.remover(jornalParaRemover);
+                desindexarOrdem(jornalParaRemover);
+                registrarAlteracao(motor.getJornais().excluir(idJornal)); // Persiste os dados após a exclusão.
+            }
             return removido;
         }
         return false;
@@ -434,7 +1021,7 @@ public class Sistema {
      * Retorna uma nova lista contendo todos os livros cadastrados no sistema.
      * @return Uma {@code List} de objetos {@link Livro}.
      */
-    public List<Livro> getTodosLivros() {
+    public synchronized List<Livro> getTodosLivros() {
         return new ArrayList<>(livros);
     }
 
@@ -442,15 +1029,41 @@ public class Sistema {
      * Retorna uma nova lista contendo todos os jornais cadastrados no sistema.
      * @return Uma {@code List} de objetos {@link Jornal}.
      */
-    public List<Jornal> getTodosJornais() {
-        return new ArrayList<>(jornais);
+    public synchronized List<Jornal> getTodosJornais() {
+        return new ArrayList<>(jornais());
+    }
+
+    /**
+     * Retorna uma página da listagem de livros na ordem pedida, pelos índices ordenados, sem ordenar o acervo.
+     * Por exemplo, os 50 livros mais baratos em estoque: {@code listarLivros(Ordenacao.MENOR_PRECO, true, 0, 50)}.
+     * @param ordem O critério de ordenação.
+     * @param apenasEmEstoque {@code true} para listar apenas os livros com estoque disponível.
+     * @param inicio A posição do primeiro livro da página na listagem (a partir de 0).
+     * @param quantidade O tamanho máximo da página.
+     * @return Os livros da página.
+     */
+    public synchronized List<Livro> listarLivros(Ordenacao ordem, boolean apenasEmEstoque, int inicio, int quantidade) {
+        return ordemLivros.pagina(livros, ordem, apenasEmEstoque, inicio, quantidade);
+    }
+
+    /**
+     * Retorna uma página da listagem de jornais na ordem pedida, pelos índices ordenados.
+     * @param ordem O critério de ordenação.
+     * @param apenasEmEstoque {@code true} para listar apenas os jornais com estoque disponível.
+     * @param inicio A posição do primeiro jornal da página na listagem (a partir de 0).
+     * @param quantidade O tamanho máximo da página.
+     * @return Os jornais da página.
+     */
+    public synchronized List<Jornal> listarJornais(Ordenacao ordem, boolean apenasEmEstoque, int inicio, int quantidade) {
+        List<Jornal> cadastro = jornais();
+        return ordemJornais.pagina(cadastro, ordem, apenasEmEstoque, inicio, quantidade);
     }
 
     /**
      * Retorna uma nova lista contendo todos os autores cadastrados no sistema.
      * @return Uma {@code List} de objetos {@link Autor}.
      */
-    public List<Autor> getTodosAutores() {
+    public synchronized List<Autor> getTodosAutores() {
         return new ArrayList<>(autores);
     }
 
@@ -458,7 +1071,7 @@ public class Sistema {
      * Retorna uma nova lista contendo todas as editoras cadastradas no sistema.
      * @return Uma {@code List} de objetos {@link Editora}.
      */
-    public List<Editora> getTodasEditoras() {
+    public synchronized List<Editora> getTodasEditoras() {
         return new ArrayList<>(editoras);
     }
 
@@ -466,7 +1079,7 @@ public class Sistema {
      * Retorna uma nova lista contendo todas as categorias cadastradas no sistema.
      * @return Uma {@code List} de objetos {@link Categoria}.
      */
-    public List<Categoria> getTodasCategorias() {
+    public synchronized List<Categoria> getTodasCategorias() {
         return new ArrayList<>(categorias);
     }
 
@@ -477,8 +1090,8 @@ public class Sistema {
      * @param id O ID do livro a ser buscado.
      * @return O objeto {@link Livro} correspondente ao ID, ou {@code null} se não for encontrado.
      */
-    public Livro buscarLivroPorId(int id) {
-        return livros.stream().filter(l -> l.getId() == id).findFirst().orElse(null);
+    public synchronized Livro buscarLivroPorId(int id) {
+        return indiceLivros.buscar(id);
     }
 
     /**
@@ -486,8 +1099,9 @@ public class Sistema {
      * @param id O ID do jornal a ser buscado.
      * @return O objeto {@link Jornal} correspondente ao ID, ou {@code null} se não for encontrado.
      */
-    public Jornal buscarJornalPorId(int id) {
-        return jornais.stream().filter(j -> j.getId() == id).findFirst().orElse(null);
+    public synchronized Jornal buscarJornalPorId(int id) {
+        jornais(); // Garante a carga dos jornais e de seu índice.
+        return indiceJornais.buscar(id);
     }
 
     /**
@@ -495,8 +1109,8 @@ public class Sistema {
      * @param id O ID do autor a ser buscado.
      * @return O objeto {@link Autor} correspondente ao ID, ou {@code null} se não for encontrado.
      */
-    public Autor buscarAutorPorId(int id) {
-        return autores.stream().filter(a -> a.getId() == id).findFirst().orElse(null);
+    public synchronized Autor buscarAutorPorId(int id) {
+        return indiceAutores.buscar(id);
     }
 
     /**
@@ -504,8 +1118,8 @@ public class Sistema {
      * @param id O ID da editora a ser buscada.
      * @return O objeto {@link Editora} correspondente ao ID, ou {@code null} se não for encontrado.
      */
-    public Editora buscarEditoraPorId(int id) {
-        return editoras.stream().filter(e -> e.getId() == id).findFirst().orElse(null);
+    public synchronized Editora buscarEditoraPorId(int id) {
+        return indiceEditoras.buscar(id);
     }
 
     /**
@@ -513,68 +1127,200 @@ public class Sistema {
      * @param id O ID da categoria a ser buscada.
      * @return O objeto {@link Categoria} correspondente ao ID, ou {@code null} se não for encontrado.
      */
-    public Categoria buscarCategoriaPorId(int id) {
-        return categorias.stream().filter(c -> c.getId() == id).findFirst().orElse(null);
+    public synchronized Categoria buscarCategoriaPorId(int id) {
+        return indiceCategorias.buscar(id);
     }
 
     /**
      * Busca e retorna uma lista de livros cujos títulos contêm o termo de busca fornecido
-     * (a busca não diferencia maiúsculas de minúsculas).
+     * (a busca não diferencia maiúsculas de minúsculas), pelo índice de trigramas dos títulos.
      * @param titulo O termo de busca para o título do livro.
      * @return Uma {@code List} de objetos {@link Livro} que correspondem ao critério de busca.
      */
-    public List<Livro> buscarLivrosPorTitulo(String titulo) {
-        return livros.stream()
-                .filter(l -> l.getTitulo().toLowerCase().contains(titulo.toLowerCase()))
-                .collect(Collectors.toList());
+    public synchronized List<Livro> buscarLivrosPorTitulo(String titulo) {
+        return trigramasLivros.buscar(titulo);
     }
 
     /**
      * Busca e retorna uma lista de livros cujos autores contêm o nome de autor fornecido
      * (a busca não diferencia maiúsculas de minúsculas).
+     * Os autores são encontrados pelo índice de trigramas dos nomes, e os livros, pela união das listas de
+     * livros publicados desses autores, sem percorrer o acervo.
      * @param nomeAutor O termo de busca para o nome do autor.
-     * @return Uma {@code List} de objetos {@link Livro} que correspondem ao critério de busca.
+     * @return Uma {@code List} de objetos {@link Livro} que correspondem ao critério de busca, na ordem de cadastro.
+     */
+    public synchronized List<Livro> buscarLivrosPorAutor(String nomeAutor) {
+        ListaIds ids = new ListaIds();
+        for (Autor autor : trigramasAutores.buscar(nomeAutor)) {
+            for (Livro livro : autor.getLivrosPublicados()) {
+                ids.adicionar(livro.getId());
+            }
+        }
+        List<Livro> encontrados = new ArrayList<>(ids.tamanho());
+        for (int i = 0; i < ids.tamanho(); i++) {
+            encontrados.add(indiceLivros.buscar(ids.get(i)));
+        }
+        return encontrados;
+    }
+
+    /**
+     * Pesquisa livros por texto livre no título, nos nomes dos autores, na categoria e na editora,
+     * sem diferenciar acentos e maiúsculas (por exemplo, {@code "dom casmurro machado"} ou {@code "historia do brasil"}).
+     * @param consulta O texto da consulta.
+     * @param quantidade A quantidade máxima de resultados.
+     * @return Os livros mais relevantes, do mais para o menos relevante.
+     */
+    public synchronized List<Livro> pesquisarLivros(String consulta, int quantidade) {
+        return buscaLivros.buscar(consulta, quantidade);
+    }
+
+    /**
+     * Busca os livros cujo título está a no máximo {@code distanciaMaxima} edições do título informado
+     * (sem diferenciar acentos e maiúsculas), tolerando erros de digitação.
+     * @param titulo O título procurado.
+     * @param distanciaMaxima A distância de edição máxima aceita.
+     * @return Os livros encontrados, do título mais próximo para o mais distante.
      */
-    public List<Livro> buscarLivrosPorAutor(String nomeAutor) {
-        return livros.stream()
-                .filter(l -> l.getAutores().stream()
-                        .anyMatch(a -> a.getNome().toLowerCase().contains(nomeAutor.toLowerCase())))
-                .collect(Collectors.toList());
+    public synchronized List<Livro> buscarLivrosPorTituloAproximado(String titulo, int distanciaMaxima) {
+        return aproximadosLivros.buscar(titulo, distanciaMaxima);
+    }
+
+    /**
+     * Busca os autores cujo nome está a no máximo {@code distanciaMaxima} edições do nome informado
+     * (por exemplo, {@code "Clarisse Lispector"} encontra {@code "Clarice Lispector"} com distância 2).
+     * @param nome O nome procurado.
+     * @param distanciaMaxima A distância de edição máxima aceita.
+     * @return Os autores encontrados, do nome mais próximo para o mais distante.
+     */
+    public synchronized List<Autor> buscarAutoresAproximados(String nome, int distanciaMaxima) {
+        return aproximadosAutores.buscar(nome, distanciaMaxima);
+    }
+
+    /**
+     * Busca as editoras cujo nome está a no máximo {@code distanciaMaxima} edições do nome informado.
+     * @param nome O nome procurado.
+     * @param distanciaMaxima A distância de edição máxima aceita.
+     * @return As editoras encontradas, do nome mais próximo para o mais distante.
+     */
+    public synchronized List<Editora> buscarEditorasAproximadas(String nome, int distanciaMaxima) {
+        return aproximadosEditoras.buscar(nome, distanciaMaxima);
+    }
+
+    /**
+     * Busca as categorias cujo nome está a no máximo {@code distanciaMaxima} edições do nome informado.
+     * @param nome O nome procurado.
+     * @param distanciaMaxima A distância de edição máxima aceita.
+     * @return As categorias encontradas, do nome mais próximo para o mais distante.
+     */
+    public synchronized List<Categoria> buscarCategoriasAproximadas(String nome, int distanciaMaxima) {
+        return aproximadosCategorias.buscar(nome, distanciaMaxima);
     }
 
     /**
      * Busca e retorna uma lista de livros cujas categorias contêm o nome de categoria fornecido
      * (a busca não diferencia maiúsculas de minúsculas).
+     * As categorias são encontradas pelo índice de trigramas dos nomes, como os autores em
+     * {@link #buscarLivrosPorAutor(String)}, e os livros vêm da união dos bitmaps das categorias encontradas.
      * @param nomeCategoria O termo de busca para o nome da categoria.
-     * @return Uma {@code List} de objetos {@link Livro} que correspondem ao critério de busca.
+     * @return Uma {@code List} de objetos {@link Livro} que correspondem ao critério de busca, na ordem de cadastro.
+     */
+    public synchronized List<Livro> buscarLivrosPorCategoria(String nomeCategoria) {
+        List<Categoria> encontradas = trigramasCategorias.buscar(nomeCategoria);
+        if (encontradas.isEmpty()) {
+            return new ArrayList<>();
+        }
+        FiltroLivros filtro = new FiltroLivros();
+        encontradas.forEach(filtro::daCategoria);
+        return filtrarLivros(filtro);
+    }
+
+    /**
+     * Seleciona os livros que atendem a vários critérios ao mesmo tempo (categoria, editora, autor, faixas de preço
+     * e de estoque), combinando os bitmaps do {@link IndiceBitmapsLivros} em vez de percorrer o acervo.
+     * @param filtro Os critérios de seleção.
+     * @return Os livros aceitos pelo filtro, na ordem de cadastro.
+     */
+    public synchronized List<Livro> filtrarLivros(FiltroLivros filtro) {
+        BitmapIds ids = bitmapsLivros.filtrar(filtro);
+        List<Livro> encontrados = new ArrayList<>(ids.cardinalidade());
+        ids.paraCada(id -> encontrados.add(bitmapsLivros.buscar(id)));
+        return encontrados;
+    }
+
+    /**
+     * Conta os livros que atendem a um filtro, sem montar a lista de resultados.
+     * @param filtro Os critérios de seleção.
+     * @return A quantidade de livros aceitos pelo filtro.
      */
-    public List<Livro> buscarLivrosPorCategoria(String nomeCategoria) {
-        return livros.stream()
-                .filter(l -> l.getCategoria() != null && l.getCategoria().getNome().toLowerCase().contains(nomeCategoria.toLowerCase()))
-                .collect(Collectors.toList());
+    public synchronized int contarLivros(FiltroLivros filtro) {
+        return bitmapsLivros.filtrar(filtro).cardinalidade();
     }
 
     /**
      * Busca e retorna uma lista de jornais cujos títulos contêm o termo de busca fornecido
-     * (a busca não diferencia maiúsculas de minúsculas).
+     * (a busca não diferencia maiúsculas de minúsculas), pelo índice de trigramas dos títulos.
      * @param titulo O termo de busca para o título do jornal.
      * @return Uma {@code List} de objetos {@link Jornal} que correspondem ao critério de busca.
      */
-    public List<Jornal> buscarJornaisPorTitulo(String titulo) {
-        return jornais.stream()
-                .filter(j -> j.getTitulo().toLowerCase().contains(titulo.toLowerCase()))
-                .collect(Collectors.toList());
+    public synchronized List<Jornal> buscarJornaisPorTitulo(String titulo) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return trigramasJornais.buscar(titulo);
     }
 
     /**
-     * Busca e retorna uma lista de jornais com a data de publicação fornecida.
+     * Busca e retorna uma lista de jornais com a data de publicação fornecida, pelo índice de datas.
      * @param data A data de publicação a ser buscada.
-     * @return Uma {@code List} de objetos {@link Jornal} que correspondem ao critério de busca.
+     * @return Uma {@code List} de objetos {@link Jornal} que correspondem ao critério de busca, na ordem de cadastro.
+     */
+    public synchronized List<Jornal> buscarJornaisPorData(LocalDate data) {
+        return buscarJornaisEntre(data, data);
+    }
+
+    /**
+     * Busca os jornais publicados em um período, pelo índice de datas.
+     * @param inicio A primeira data do período (inclusive).
+     * @param fim A última data do período (inclusive).
+     * @return Os jornais do período, em ordem de data de publicação.
+     */
+    public synchronized List<Jornal> buscarJornaisEntre(LocalDate inicio, LocalDate fim) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return datasJornais.buscarEntre(inicio, fim);
+    }
+
+    /**
+     * Busca as edições mais recentes de um título de jornal.
+     * @param titulo O título exato do jornal (sem diferenciar maiúsculas de minúsculas).
+     * @param quantidade A quantidade máxima de edições.
+     * @return As edições, da mais recente para a mais antiga.
+     */
+    public synchronized List<Jornal> buscarUltimasEdicoes(String titulo, int quantidade) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return datasJornais.buscarUltimasEdicoes(titulo, quantidade);
+    }
+
+    /**
+     * Conta os jornais publicados em um ano, sem percorrer a lista.
+     * @param ano O ano.
+     * @return A quantidade de jornais publicados no ano.
      */
-    public List<Jornal> buscarJornaisPorData(LocalDate data) {
-        return jornais.stream()
-                .filter(j -> j.getDataPublicacao().equals(data))
-                .collect(Collectors.toList());
+    public synchronized int contarJornaisNoAno(int ano) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        return datasJornais.contarEntre(LocalDate.of(ano, 1, 1), LocalDate.of(ano, 12, 31));
+    }
+
+    /**
+     * Conta os jornais publicados em cada mês de um ano, sem percorrer a lista.
+     * @param ano O ano.
+     * @return Um vetor de 12 posições com a quantidade de jornais de cada mês (janeiro na posição 0).
+     */
+    public synchronized int[] contarJornaisPorMes(int ano) {
+        jornais(); // Garante a carga dos jornais e de seus índices.
+        int[] contagens = new int[12];
+        for (int mes = 1; mes <= 12; mes++) {
+            YearMonth periodo = YearMonth.of(ano, mes);
+            contagens[mes - 1] = datasJornais.contarEntre(periodo.atDay(1), periodo.atEndOfMonth());
+        }
+        return contagens;
     }
 
     /**
@@ -585,7 +1331,7 @@ public class Sistema {
  * @return {@code true} se o estoque foi adicionado com sucesso, {@code false} caso a publicação não seja encontrada.
  * @throws DuplicidadeException Se a quantidade for inválida.
  */
-    public boolean adicionarEstoquePublicacao(int idPublicacao, int quantidade, String tipoPublicacao) {
+    public synchronized boolean adicionarEstoquePublicacao(int idPublicacao, int quantidade, String tipoPublicacao) {
         if (quantidade <= 0) {
             throw new DuplicidadeException("Quantidade a adicionar deve ser maior que zero.");
         }
@@ -598,8 +1344,17 @@ public class Sistema {
         }
 
         if (publicacao != null) {
+            preservarParaInstantaneos(publicacao);
+            if (publicacao instanceof Livro) {
+                bitmapsLivros.remover((Livro) publicacao);
+            }
+            desindexarOrdem(publicacao);
             publicacao.addEstoque(quantidade);
-            salvarTodosDados();
+            if (publicacao instanceof Livro) {
+                bitmapsLivros.adicionar((Livro) publicacao); // Atualiza a faixa de estoque.
+            }
+            indexarOrdem(publicacao);
+            registrarAlteracao(motor.gravarEstoque(publicacao)); // Apenas estoque e preço, sem regravar a coleção.
             return true;
         }
         return false;
@@ -613,7 +1368,7 @@ public class Sistema {
  * @return {@code true} se o estoque foi removido com sucesso, {@code false} caso a publicação não seja encontrada.
  * @throws DuplicidadeException Se a quantidade for inválida ou o estoque for insuficiente.
  */
-    public boolean removerEstoquePublicacao(int idPublicacao, int quantidade, String tipoPublicacao) {
+    public synchronized boolean removerEstoquePublicacao(int idPublicacao, int quantidade, String tipoPublicacao) {
         if (quantidade <= 0) {
             throw new DuplicidadeException("Quantidade a remover deve ser maior que zero.");
         }
@@ -629,8 +1384,17 @@ public class Sistema {
             if (publicacao.getEstoqueDisponivel() < quantidade) {
                 throw new DuplicidadeException("Estoque insuficiente para remover " + quantidade + " unidades. Estoque atual: " + publicacao.getEstoqueDisponivel());
             }
+            preservarParaInstantaneos(publicacao);
+            if (publicacao instanceof Livro) {
+                bitmapsLivros.remover((Livro) publicacao);
+            }
+            desindexarOrdem(publicacao);
             publicacao.remEstoque(quantidade); // Chama o método da superclasse Publicacao
-            salvarTodosDados();
+            if (publicacao instanceof Livro) {
+                bitmapsLivros.adicionar((Livro) publicacao); // Atualiza a faixa de estoque.
+            }
+            indexarOrdem(publicacao);
+            registrarAlteracao(motor.gravarEstoque(publicacao)); // Apenas estoque e preço, sem regravar a coleção.
             return true;
         }
         return false;
@@ -1,57 +1,307 @@
 package src;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Checksum;
 import java.time.format.DateTimeFormatter;
 
 /**
  * Classe utilitária responsável por operações de persistência de dados em arquivos.
- * Contém métodos genéricos para salvar e carregar listas de objetos serializáveis.
+ * Contém métodos genéricos para salvar e carregar listas de entidades no formato do {@link CodecBinario}.
  */
 public class Util {
 
     public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     /**
-     * Salva uma lista de objetos serializáveis em um arquivo binário.
-     * A lista é escrita no caminho "data/" + nomeArquivo.
-     * Em caso de sucesso, uma mensagem é impressa no console. Em caso de erro, uma mensagem de erro é exibida.
+     * Diretório onde todos os arquivos de persistência da aplicação são gravados (ver {@link Configuracao#getDiretorioDados()}).
+     */
+    public static final String DIRETORIO_DADOS = Configuracao.getDiretorioDados();
+
+    /**
+     * Tamanho máximo aceito para um único registro; um tamanho maior indica um quadro corrompido.
+     */
+    private static final int TAMANHO_MAXIMO_REGISTRO = 1 << 24;
+
+    /**
+     * Conteúdo a ser escrito por {@link #gravarArquivoAtomico(String, GravacaoArquivo)}.
+     */
+    public interface GravacaoArquivo {
+        /**
+         * Escreve o conteúdo completo do arquivo.
+         * @param out A saída do arquivo temporário.
+         * @throws IOException Em caso de erro de escrita.
+         */
+        void escrever(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Salva uma lista de entidades em um arquivo binário, usando o {@link CodecBinario} informado.
+     * A lista é escrita no caminho {@link #DIRETORIO_DADOS} + nomeArquivo, precedida do cabeçalho do formato
+     * e da quantidade de registros; cada entidade é gravada em um quadro com seu tamanho e CRC32. A gravação é atômica (ver {@link #gravarArquivoAtomico(String, GravacaoArquivo)}).
+     * Se {@link Configuracao#getCompressao()} indicar um algoritmo, o corpo do arquivo (tudo após o cabeçalho)
+     * é comprimido em blocos por {@link CompressaoBlocos}, e o algoritmo fica registrado no cabeçalho.
+     * Em caso de sucesso, uma mensagem é impressa no console (com a taxa e o tempo de compressão, quando houver). Em caso de erro, uma mensagem de erro é exibida.
      *
-     * @param <T> O tipo dos objetos na lista, que deve implementar {@link Serializable}.
-     * @param lista A lista de objetos a ser salva.
+     * @param <T> O tipo das entidades na lista.
+     * @param lista A lista de entidades a ser salva.
      * @param nomeArquivo O nome do arquivo onde a lista será persistida.
+     * @param codec O codec binário do tipo de entidade.
+     * @return A descrição do arquivo gravado (quantidade de registros, tamanho e CRC32, ver {@link Manifesto}),
+     *         ou {@code null} em caso de erro.
+     */
+    public static <T> Manifesto.Colecao salvarDados(List<T> lista, String nomeArquivo, CodecBinario.Entidade<T> codec) {
+        return salvarDados(lista, new File(DIRETORIO_DADOS + nomeArquivo), codec);
+    }
+
+    /**
+     * Salva uma lista de entidades em um arquivo binário em qualquer diretório
+     * (ver {@link #salvarDados(List, String, CodecBinario.Entidade)}).
+     *
+     * @param <T> O tipo das entidades na lista.
+     * @param lista A lista de entidades a ser salva.
+     * @param arquivo O arquivo onde a lista será persistida.
+     * @param codec O codec binário do tipo de entidade.
+     * @return A descrição do arquivo gravado, identificado pelo nome (sem o diretório), ou {@code null} em caso de erro.
+     */
+    public static <T> Manifesto.Colecao salvarDados(List<T> lista, File arquivo, CodecBinario.Entidade<T> codec) {
+        CompressaoBlocos.Algoritmo compressao = Configuracao.getCompressao();
+        CompressaoBlocos.SaidaBlocos[] blocos = new CompressaoBlocos.SaidaBlocos[1];
+        CRC32 soma = new CRC32();
+        boolean salvo = gravarArquivoAtomico(arquivo, soma, out -> {
+            CodecBinario.escreverCabecalho(out, codec, compressao);
+            if (compressao == CompressaoBlocos.NENHUMA) {
+                escreverRegistros(out, lista, codec);
+            } else {
+                blocos[0] = new CompressaoBlocos.SaidaBlocos(out, compressao,
+                        Configuracao.getTamanhoBlocoCompressao(), Configuracao.getNivelCompressao());
+                DataOutputStream corpo = new DataOutputStream(new BufferedOutputStream(blocos[0]));
+                escreverRegistros(corpo, lista, codec);
+                corpo.flush();
+                blocos[0].finalizar();
+            }
+        });
+        if (salvo && blocos[0] != null) {
+            System.out.printf("Dados salvos com sucesso em: %s (%s: %d -> %d bytes, %.1f ms de compressão)%n",
+                    arquivo.getPath(), compressao.getNome(), blocos[0].getTotalOriginal(),
+                    blocos[0].getTotalGravado(), blocos[0].getNanosCompressao() / 1_000_000.0);
+        } else if (salvo) {
+            System.out.println("Dados salvos com sucesso em: " + arquivo.getPath());
+        }
+        if (!salvo) {
+            return null;
+        }
+        return new Manifesto.Colecao(arquivo.getName(), lista.size(), arquivo.length(), (int) soma.getValue());
+    }
+
+    /**
+     * Escreve a quantidade de registros e, em seguida, cada entidade em um quadro com seu tamanho e CRC32.
+     */
+    private static <T> void escreverRegistros(DataOutputStream out, List<T> lista, CodecBinario.Entidade<T> codec) throws IOException {
+        CodecBinario.escreverVarInt(out, lista.size());
+        ByteArrayOutputStream registro = new ByteArrayOutputStream();
+        DataOutputStream dadosRegistro = new DataOutputStream(registro);
+        CRC32 crc = new CRC32();
+        for (T entidade : lista) {
+            registro.reset();
+            codec.escrever(dadosRegistro, entidade);
+            crc.reset();
+            crc.update(registro.toByteArray(), 0, registro.size());
+            CodecBinario.escreverVarInt(out, registro.size());
+            out.writeInt((int) crc.getValue());
+            registro.writeTo(out);
+        }
+    }
+
+    /**
+     * Grava um arquivo de dados de forma atômica: o conteúdo é escrito em um arquivo temporário ({@code nomeArquivo.tmp}),
+     * opcionalmente forçado para o disco e, por fim, renomeado sobre o arquivo definitivo com {@link Files#move}.
+     * Uma queda no meio da gravação deixa intacta a versão anterior do arquivo, nunca uma versão truncada.
+     * <p>
+     * Nos modos {@link ModoDurabilidade#FSYNC_POR_COMMIT} e {@link ModoDurabilidade#FSYNC_PERIODICO}, o arquivo temporário
+     * e o diretório são sincronizados com {@code force}, pois um checkpoint só pode descartar o diário se estiver no disco.
+     *
+     * @param nomeArquivo O nome do arquivo dentro de {@link #DIRETORIO_DADOS}.
+     * @param gravacao O conteúdo a ser escrito.
+     * @return {@code true} se o arquivo foi gravado e substituído com sucesso, {@code false} caso contrário.
      */
-    public static <T extends Serializable> void salvarDados(List<T> lista, String nomeArquivo) {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream("data/" + nomeArquivo))) {
-            oos.writeObject(lista);
-            System.out.println("Dados salvos com sucesso em: " + "data/" + nomeArquivo);
+    public static boolean gravarArquivoAtomico(String nomeArquivo, GravacaoArquivo gravacao) {
+        return gravarArquivoAtomico(nomeArquivo, null, gravacao);
+    }
+
+    /**
+     * Grava um arquivo de dados de forma atômica (ver {@link #gravarArquivoAtomico(String, GravacaoArquivo)}),
+     * calculando ao mesmo tempo a soma de verificação de todos os bytes escritos.
+     *
+     * @param nomeArquivo O nome do arquivo dentro de {@link #DIRETORIO_DADOS}.
+     * @param soma A soma de verificação a ser atualizada com o conteúdo do arquivo, ou {@code null}.
+     * @param gravacao O conteúdo a ser escrito.
+     * @return {@code true} se o arquivo foi gravado e substituído com sucesso, {@code false} caso contrário.
+     */
+    public static boolean gravarArquivoAtomico(String nomeArquivo, Checksum soma, GravacaoArquivo gravacao) {
+        return gravarArquivoAtomico(new File(DIRETORIO_DADOS + nomeArquivo), soma, gravacao);
+    }
+
+    /**
+     * Grava um arquivo de forma atômica em qualquer diretório (ver {@link #gravarArquivoAtomico(String, GravacaoArquivo)}).
+     *
+     * @param destino O arquivo definitivo; o temporário fica ao lado dele, com a extensão {@code .tmp}.
+     * @param soma A soma de verificação a ser atualizada com o conteúdo do arquivo, ou {@code null}.
+     * @param gravacao O conteúdo a ser escrito.
+     * @return {@code true} se o arquivo foi gravado e substituído com sucesso, {@code false} caso contrário.
+     */
+    public static boolean gravarArquivoAtomico(File destino, Checksum soma, GravacaoArquivo gravacao) {
+        File temporario = new File(destino.getPath() + ".tmp");
+        boolean sincronizar = Configuracao.getDurabilidade() != ModoDurabilidade.NENHUMA;
+        destino.getAbsoluteFile().getParentFile().mkdirs();
+        try {
+            try (FileOutputStream fos = new FileOutputStream(temporario);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                         soma == null ? fos : new CheckedOutputStream(fos, soma)))) {
+                gravacao.escrever(out);
+                out.flush();
+                if (sincronizar) {
+                    fos.getChannel().force(true);
+                }
+            }
+            try {
+                Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporario.toPath(), destino.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (sincronizar) {
+                sincronizarDiretorio(destino.getAbsoluteFile().getParentFile());
+            }
+            return true;
         } catch (IOException e) {
-            System.err.println("Erro ao salvar dados em " + nomeArquivo + ": " + e.getMessage());
+            System.err.println("Erro ao salvar dados em " + destino.getName() + ": " + e.getMessage());
+            temporario.delete();
+            return false;
         }
     }
 
     /**
-     * Carrega uma lista de objetos serializáveis de um arquivo binário.
-     * Procura o arquivo no caminho "data/" + nomeArquivo.
+     * Sincroniza a entrada de diretório para que a renomeação sobreviva a uma queda de energia.
+     * Em sistemas que não permitem abrir diretórios (como o Windows), a falha é ignorada.
+     */
+    private static void sincronizarDiretorio(File diretorio) {
+        try (FileChannel canal = FileChannel.open(diretorio.toPath(), StandardOpenOption.READ)) {
+            canal.force(true);
+        } catch (IOException e) {
+            // Sincronização de diretório não suportada nesta plataforma.
+        }
+    }
+
+    /**
+     * Carrega uma lista de entidades de um arquivo binário.
+     * Procura o arquivo no caminho {@link #DIRETORIO_DADOS} + nomeArquivo.
      * Se o arquivo não existir, uma nova lista vazia é retornada.
-     * Em caso de erro de leitura ou desserialização, uma mensagem de erro é exibida e uma lista vazia é retornada.
+     * As entidades são lidas e decodificadas uma de cada vez, direto para a lista de destino, sem montar o arquivo
+     * inteiro em memória. Um registro com CRC32 inválido ou que não possa ser decodificado é ignorado (com uma
+     * mensagem de erro) e a leitura continua no registro seguinte; se o arquivo terminar antes do esperado,
+     * as entidades lidas até ali são mantidas.
+     * Arquivos gravados por versões anteriores (serialização padrão do Java ou versões antigas do {@link CodecBinario})
+     * são lidos e imediatamente regravados no formato atual, migrando os dados de forma transparente.
+     * Em caso de erro no cabeçalho, uma mensagem de erro é exibida e uma lista vazia é retornada.
      *
-     * @param <T> O tipo dos objetos na lista a ser carregada, que deve implementar {@link Serializable}.
+     * @param <T> O tipo das entidades na lista a ser carregada.
      * @param nomeArquivo O nome do arquivo de onde a lista será carregada.
-     * @return Uma {@code List} de objetos do tipo {@code T} carregada do arquivo, ou uma lista vazia em caso de falha ou arquivo inexistente.
+     * @param codec O codec binário do tipo de entidade.
+     * @return Uma {@code List} de entidades do tipo {@code T} carregada do arquivo, ou uma lista vazia em caso de falha ou arquivo inexistente.
      */
-    @SuppressWarnings("unchecked") // Suprime o aviso de unchecked cast ao converter Object para List<T>.
-    public static <T extends Serializable> List<T> carregarDados(String nomeArquivo) {
-        File file = new File("data/" + nomeArquivo);
+    public static <T> List<T> carregarDados(String nomeArquivo, CodecBinario.Entidade<T> codec) {
+        return carregarDados(nomeArquivo, codec, null);
+    }
+
+    /**
+     * Carrega uma lista de entidades de um arquivo binário (ver {@link #carregarDados(String, CodecBinario.Entidade)}),
+     * calculando ao mesmo tempo a soma de verificação do arquivo inteiro, para conferência com o {@link Manifesto}.
+     * O restante do arquivo após o último registro também entra na soma.
+     *
+     * @param <T> O tipo das entidades na lista a ser carregada.
+     * @param nomeArquivo O nome do arquivo de onde a lista será carregada.
+     * @param codec O codec binário do tipo de entidade.
+     * @param soma A soma de verificação a ser atualizada com o conteúdo do arquivo, ou {@code null}.
+     * @return Uma {@code List} de entidades do tipo {@code T} carregada do arquivo, ou uma lista vazia em caso de falha ou arquivo inexistente.
+     */
+    public static <T> List<T> carregarDados(String nomeArquivo, CodecBinario.Entidade<T> codec, Checksum soma) {
+        return carregarDados(new File(DIRETORIO_DADOS + nomeArquivo), codec, soma);
+    }
+
+    /**
+     * Carrega uma lista de entidades de um arquivo binário em qualquer diretório
+     * (ver {@link #carregarDados(String, CodecBinario.Entidade)}).
+     *
+     * @param <T> O tipo das entidades na lista a ser carregada.
+     * @param file O arquivo de onde a lista será carregada.
+     * @param codec O codec binário do tipo de entidade.
+     * @return Uma {@code List} de entidades do tipo {@code T} carregada do arquivo, ou uma lista vazia em caso de falha ou arquivo inexistente.
+     */
+    public static <T> List<T> carregarDados(File file, CodecBinario.Entidade<T> codec) {
+        return carregarDados(file, codec, null);
+    }
+
+    /**
+     * Carrega uma lista de entidades de um arquivo binário em qualquer diretório
+     * (ver {@link #carregarDados(String, CodecBinario.Entidade, Checksum)}).
+     *
+     * @param <T> O tipo das entidades na lista a ser carregada.
+     * @param file O arquivo de onde a lista será carregada.
+     * @param codec O codec binário do tipo de entidade.
+     * @param soma A soma de verificação a ser atualizada com o conteúdo do arquivo, ou {@code null}.
+     * @return Uma {@code List} de entidades do tipo {@code T} carregada do arquivo, ou uma lista vazia em caso de falha ou arquivo inexistente.
+     */
+    public static <T> List<T> carregarDados(File file, CodecBinario.Entidade<T> codec, Checksum soma) {
+        String nomeArquivo = file.getName();
         if (!file.exists()) {
             System.out.println("Arquivo " + nomeArquivo + " não encontrado. Criando nova lista.");
             return new ArrayList<>();
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file))) {
-            List<T> lista = (List<T>) ois.readObject();
-            System.out.println("Dados carregados com sucesso de: " + "data/" + nomeArquivo);
+        try (DataInputStream arquivo = new DataInputStream(new BufferedInputStream(
+                soma == null ? new FileInputStream(file) : new CheckedInputStream(new FileInputStream(file), soma)))) {
+            arquivo.mark(4);
+            if (arquivo.readInt() != CodecBinario.MAGICO) {
+                arquivo.reset();
+                List<T> lista = carregarDadosSerializados(arquivo);
+                System.out.println("Arquivo " + nomeArquivo + " no formato antigo. Migrando para o formato binário.");
+                salvarDados(lista, file, codec);
+                return lista;
+            }
+            int versao = CodecBinario.validarCabecalho(arquivo, codec);
+            DataInputStream in = arquivo;
+            if (versao > CodecBinario.VERSAO_SEM_COMPRESSAO) {
+                CompressaoBlocos.Algoritmo compressao = CompressaoBlocos.buscar(arquivo.readByte());
+                if (compressao != CompressaoBlocos.NENHUMA) {
+                    in = new DataInputStream(new BufferedInputStream(new CompressaoBlocos.EntradaBlocos(arquivo, compressao)));
+                }
+            }
+            int quantidade = CodecBinario.lerVarInt(in);
+            List<T> lista = new ArrayList<>(Math.min(quantidade, 1 << 16));
+            if (versao <= CodecBinario.VERSAO_REGISTROS_SEM_QUADRO) {
+                for (int i = 0; i < quantidade; i++) {
+                    lista.add(codec.ler(in, versao));
+                }
+            } else {
+                lerRegistros(in, nomeArquivo, codec, versao, quantidade, lista);
+            }
+            System.out.println("Dados carregados com sucesso de: " + file.getPath());
+            if (soma != null) {
+                arquivo.transferTo(OutputStream.nullOutputStream());
+            }
+            if (versao < CodecBinario.VERSAO_FORMATO) {
+                System.out.println("Arquivo " + nomeArquivo + " na versão " + versao + " do formato. Migrando para a versão " + CodecBinario.VERSAO_FORMATO + ".");
+                salvarDados(lista, file, codec);
+            }
             return lista;
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Erro ao carregar dados de " + nomeArquivo + ": " + e.getMessage());
@@ -59,4 +309,63 @@ public class Util {
             return new ArrayList<>();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Lê os quadros de registros de um arquivo, decodificando cada entidade assim que seu quadro é lido.
+     * O mesmo buffer é reaproveitado entre registros, de modo que a memória extra usada na leitura
+     * é a do maior registro, e não a do arquivo inteiro.
+     */
+    private static <T> void lerRegistros(DataInputStream in, String nomeArquivo, CodecBinario.Entidade<T> codec,
+                                         int versao, int quantidade, List<T> lista) throws IOException {
+        byte[] buffer = new byte[256];
+        CRC32 crc = new CRC32();
+        int ignorados = 0;
+        for (int i = 0; i < quantidade; i++) {
+            int tamanho;
+            int crcEsperado;
+            try {
+                tamanho = CodecBinario.lerVarInt(in);
+                crcEsperado = in.readInt();
+                if (tamanho < 0 || tamanho > TAMANHO_MAXIMO_REGISTRO) {
+                    System.err.println("Quadro inválido no registro " + (i + 1) + " de " + nomeArquivo + ". Os registros seguintes foram descartados.");
+                    break;
+                }
+                if (tamanho > buffer.length) {
+                    buffer = new byte[Math.max(tamanho, buffer.length * 2)];
+                }
+                in.readFully(buffer, 0, tamanho);
+            } catch (EOFException e) {
+                System.err.println("Arquivo " + nomeArquivo + " truncado: " + i + " de " + quantidade + " registros lidos.");
+                break;
+            } catch (IOException e) {
+                System.err.println("Dados ilegíveis a partir do registro " + (i + 1) + " de " + nomeArquivo + ": " + e.getMessage() + ". Os registros seguintes foram descartados.");
+                break;
+            }
+            crc.reset();
+            crc.update(buffer, 0, tamanho);
+            if ((int) crc.getValue() != crcEsperado) {
+                System.err.println("Registro " + (i + 1) + " de " + nomeArquivo + " corrompido (CRC inválido). Ignorando.");
+                ignorados++;
+                continue;
+            }
+            try {
+                lista.add(codec.ler(new DataInputStream(new ByteArrayInputStream(buffer, 0, tamanho)), versao));
+            } catch (IOException e) {
+                System.err.println("Registro " + (i + 1) + " de " + nomeArquivo + " não pôde ser decodificado: " + e.getMessage() + ". Ignorando.");
+                ignorados++;
+            }
+        }
+        if (ignorados > 0) {
+            System.err.println(ignorados + " registros ignorados ao carregar " + nomeArquivo + ".");
+        }
+    }
+
+    /**
+     * Lê uma lista gravada com a serialização padrão do Java (formato anterior ao {@link CodecBinario}).
+     */
+    @SuppressWarnings("unchecked") // Suprime o aviso de unchecked cast ao converter Object para List<T>.
+    private static <T> List<T> carregarDadosSerializados(InputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream ois = new ObjectInputStream(in);
+        return (List<T>) ois.readObject();
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ArmazenamentoJdbcTest {
+
+    private static final String URL = "jdbc:h2:mem:catalogo_teste;DB_CLOSE_DELAY=-1";
+
+    @BeforeEach
+    void setUp() {
+        boolean driverDisponivel;
+        try {
+            DriverManager.getDriver(URL);
+            driverDisponivel = true;
+        } catch (SQLException e) {
+            driverDisponivel = false;
+        }
+        assumeTrue(driverDisponivel, "Driver JDBC do H2 não está no classpath");
+    }
+
+    @Test
+    @DisplayName("Deve persistir cadastros e estoque no banco de dados e recarregá-los")
+    void devePersistirERecarregarDoBanco() {
+        try (ArmazenamentoJdbc banco = new ArmazenamentoJdbc(URL, "sa", "")) {
+            Sistema sistema = new Sistema(banco);
+            sistema.cadastrarEditora("Editora Banco");
+            sistema.cadastrarAutor("Autor Banco", "Brasileira", LocalDate.of(1980, 5, 10));
+            sistema.cadastrarCategoria("Categoria Banco");
+            Editora editora = sistema.getTodasEditoras().get(0);
+            List<Autor> autores = sistema.getTodosAutores();
+            sistema.cadastrarLivro("Livro Banco", 40.0f, editora, 120, "123-45-678-9123-4", autores, sistema.getTodasCategorias().get(0));
+            Livro livro = sistema.getTodosLivros().get(0);
+            sistema.adicionarEstoquePublicacao(livro.getId(), 3, "Livro");
+            sistema.getUltimaGravacao().join();
+            banco.iniciarCheckpoint();
+
+            Sistema recarregado = new Sistema(banco);
+            Livro livroCarregado = recarregado.buscarLivroPorId(livro.getId());
+            assertNotNull(livroCarregado);
+            assertEquals(3, livroCarregado.getEstoqueDisponivel());
+            assertSame(recarregado.getTodasEditoras().get(0), livroCarregado.getEditora());
+            assertSame(recarregado.getTodosAutores().get(0), livroCarregado.getAutores().get(0));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve atualizar no próprio lugar as linhas de livros editados e de seus autores")
+    void deveAtualizarLinhasEditadas() {
+        try (ArmazenamentoJdbc banco = new ArmazenamentoJdbc("jdbc:h2:mem:catalogo_edicao;DB_CLOSE_DELAY=-1", "sa", "")) {
+            Sistema sistema = new Sistema(banco);
+            sistema.cadastrarEditora("Editora Edição");
+            sistema.cadastrarAutor("Autora Um", "Brasileira", null);
+            sistema.cadastrarAutor("Autor Dois", "Brasileira", null);
+            Editora editora = sistema.getTodasEditoras().get(0);
+            List<Autor> autores = sistema.getTodosAutores();
+            sistema.cadastrarLivro("Livro Original", 40.0f, editora, 120, "123-45-678-9123-5", autores, null);
+            Livro livro = sistema.getTodosLivros().get(0);
+            sistema.executarAlteracao(() -> sistema.editarLivro(livro.getId(), "Livro Editado", 45.0f, editora, 130,
+                    "123-45-678-9123-5", List.of(autores.get(1)), null)).join();
+
+            Sistema recarregado = new Sistema(banco);
+            assertEquals(1, recarregado.getTodosLivros().size());
+            Livro livroCarregado = recarregado.buscarLivroPorId(livro.getId());
+            assertEquals("Livro Editado", livroCarregado.getTitulo());
+            assertEquals(130, livroCarregado.getQuantidadePaginas());
+            assertEquals(List.of(recarregado.buscarAutorPorId(autores.get(1).getId())), livroCarregado.getAutores());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArvoreBKTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Rocco");
+        sistema.cadastrarEditora("Companhia das Letras");
+        sistema.cadastrarAutor("Clarice Lispector", "Brasileira", null);
+        sistema.cadastrarAutor("Machado de Assis", "Brasileira", null);
+        sistema.cadastrarCategoria("Romance");
+        editora = sistema.getTodasEditoras().get(0);
+        Autor clarice = sistema.getTodosAutores().get(0);
+        sistema.cadastrarLivro("A Hora da Estrela", 30.0f, editora, 90, "444-44-444-4444-1", List.of(clarice), null);
+        sistema.cadastrarLivro("Perto do Coração Selvagem", 35.0f, editora, 200, "444-44-444-4444-2", List.of(clarice), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar nomes com erros de digitação, do mais para o menos próximo")
+    void deveEncontrarNomesAproximados() {
+        List<Autor> autores = sistema.buscarAutoresAproximados("Clarisse Lispector", 2);
+        assertEquals(1, autores.size());
+        assertEquals("Clarice Lispector", autores.get(0).getNome());
+        assertTrue(sistema.buscarAutoresAproximados("Clarisse Lispector", 1).isEmpty());
+        assertEquals("Machado de Assis", sistema.buscarAutoresAproximados("machado de asis", 1).get(0).getNome());
+        assertEquals("Companhia das Letras", sistema.buscarEditorasAproximadas("Companhia da Letras", 1).get(0).getNome());
+        assertEquals("Romance", sistema.buscarCategoriasAproximadas("Românce", 0).get(0).getNome());
+        assertEquals(List.of("A Hora da Estrela"), titulos(sistema.buscarLivrosPorTituloAproximado("a hora da estrella", 2)));
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar edições e exclusões de livros e apontar nomes semelhantes no cadastro")
+    void deveAcompanharAlteracoesEApontarSemelhantes() {
+        Livro hora = sistema.getTodosLivros().get(0);
+        sistema.editarLivro(hora.getId(), "Água Viva", 30.0f, editora, 90, "444-44-444-4444-1", hora.getAutores(), null);
+        assertTrue(sistema.buscarLivrosPorTituloAproximado("A Hora da Estrela", 2).isEmpty());
+        assertEquals(List.of("Água Viva"), titulos(sistema.buscarLivrosPorTituloAproximado("agua vida", 1)));
+        sistema.excluirLivro(hora.getId());
+        assertTrue(sistema.buscarLivrosPorTituloAproximado("Água Viva", 2).isEmpty());
+        sistema.cadastrarLivro("Água Viva", 30.0f, editora, 90, "444-44-444-4444-3", List.of(), null);
+        assertEquals(1, sistema.buscarLivrosPorTituloAproximado("Água Viva", 0).size());
+
+        assertEquals("Clarice Lispector", sistema.autoresSemelhantes("Clarisse Lispector").get(0).getNome());
+        assertTrue(sistema.autoresSemelhantes("Cecília Meireles").isEmpty());
+        assertTrue(sistema.editorasSemelhantes("Record").isEmpty(), "nomes curtos toleram menos edições");
+        assertEquals("Rocco", sistema.editorasSemelhantes("Roco").get(0).getNome());
+    }
+
+    private static List<String> titulos(List<Livro> livros) {
+        List<String> titulos = new ArrayList<>();
+        for (Livro livro : livros) {
+            titulos.add(livro.getTitulo());
+        }
+        return titulos;
+    }
+}
@@ -0,0 +1,161 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes da carga dos dados gravados pelo {@link Sistema}: cada teste grava com uma instância
+ * e confere o que uma nova instância, aberta sobre o mesmo diretório, reconstrói.
+ */
+public class CargaSistemaTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Sistema novoSistema;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+        if (novoSistema != null) {
+            novoSistema.fechar();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a mesma instância de editora, autor e categoria após carregar os dados")
+    void deveCompartilharInstanciasAposCarregar() {
+        sistema.cadastrarEditora("Editora Única");
+        sistema.cadastrarAutor("Autor Único", "Brasileira", LocalDate.of(1990, 1, 1));
+        sistema.cadastrarCategoria("Categoria Única");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        List<Autor> autores = sistema.getTodosAutores();
+        Categoria categoria = sistema.getTodasCategorias().get(0);
+        sistema.cadastrarLivro("Livro Único", 50.0f, editora, 300, "123-45-678-9123-4", autores, categoria);
+        sistema.cadastrarJornal("Jornal Único", 5.0f, editora, LocalDate.of(2025, 9, 1));
+        sistema.salvarTodosDados();
+
+        novoSistema = abrirSistema();
+        Editora editoraCarregada = novoSistema.getTodasEditoras().get(0);
+        Livro livroCarregado = novoSistema.getTodosLivros().get(0);
+        assertSame(editoraCarregada, livroCarregado.getEditora());
+        assertSame(editoraCarregada, novoSistema.getTodosJornais().get(0).getEditora());
+        assertSame(novoSistema.getTodosAutores().get(0), livroCarregado.getAutores().get(0));
+        assertSame(novoSistema.getTodasCategorias().get(0), livroCarregado.getCategoria());
+    }
+
+    @Test
+    @DisplayName("Deve carregar os jornais sob demanda com o estoque atualizado e gravar o manifesto")
+    void deveCarregarJornaisSobDemanda() {
+        sistema.cadastrarEditora("Editora Sob Demanda");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarJornal("Jornal Sob Demanda", 5.0f, editora, LocalDate.of(2025, 9, 2));
+        Jornal jornal = sistema.getTodosJornais().get(sistema.getTodosJornais().size() - 1);
+        sistema.salvarTodosDados();
+        sistema.adicionarEstoquePublicacao(jornal.getId(), 7, "Jornal");
+
+        assertTrue(arquivo("manifesto.dat").exists());
+        novoSistema = abrirSistema();
+        Jornal jornalCarregado = novoSistema.buscarJornalPorId(jornal.getId());
+        assertNotNull(jornalCarregado);
+        assertEquals(7, jornalCarregado.getEstoqueDisponivel());
+        assertSame(novoSistema.buscarEditoraPorId(editora.getId()), jornalCarregado.getEditora());
+    }
+
+    @Test
+    @DisplayName("Deve devolver o futuro da gravação das alterações feitas na chamada, inclusive de estoque")
+    void deveAguardarGravacaoDaChamada() {
+        sistema.cadastrarEditora("Editora Durável");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.executarAlteracao(() -> sistema.cadastrarJornal("Jornal Durável", 5.0f, editora, LocalDate.of(2025, 9, 4))).join();
+        int idJornal = sistema.getTodosJornais().get(0).getId();
+        sistema.executarAlteracao(() -> {
+            sistema.adicionarEstoquePublicacao(idJornal, 9, "Jornal");
+            sistema.removerEstoquePublicacao(idJornal, 2, "Jornal");
+        }).join();
+        assertTrue(sistema.executarAlteracao(() -> sistema.buscarJornalPorId(idJornal)).isDone());
+
+        novoSistema = abrirSistema();
+        assertEquals(7, novoSistema.buscarJornalPorId(idJornal).getEstoqueDisponivel());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar os cadastros pelo motor de armazenamento em arquivos sem um checkpoint")
+    void deveRecuperarCadastrosPeloMotorDeArquivos() {
+        sistema.cadastrarEditora("Editora Motor");
+        Editora editora = sistema.getTodasEditoras().get(sistema.getTodasEditoras().size() - 1);
+        sistema.cadastrarJornal("Jornal Motor", 4.0f, editora, LocalDate.of(2025, 9, 3));
+        sistema.getUltimaGravacao().join();
+
+        novoSistema = abrirSistema();
+        Editora editoraCarregada = novoSistema.buscarEditoraPorId(editora.getId());
+        assertNotNull(editoraCarregada);
+        assertEquals("Editora Motor", editoraCarregada.getNome());
+        Jornal jornalCarregado = novoSistema.getTodosJornais().stream()
+                .filter(j -> j.getTitulo().equals("Jornal Motor")).findFirst().orElseThrow();
+        assertSame(editoraCarregada, jornalCarregado.getEditora());
+    }
+
+    @Test
+    @DisplayName("Deve manter a lista de livros publicados de cada autor e buscar livros por autor por ela")
+    void deveManterLivrosPublicadosDosAutores() {
+        sistema.cadastrarEditora("Editora Inversa");
+        sistema.cadastrarAutor("Clarice Inversa", "Brasileira", LocalDate.of(1920, 12, 10));
+        sistema.cadastrarAutor("Graciliano Inverso", "Brasileira", LocalDate.of(1892, 10, 27));
+        Editora editora = sistema.getTodasEditoras().get(sistema.getTodasEditoras().size() - 1);
+        List<Autor> autores = sistema.getTodosAutores();
+        Autor clarice = autores.get(autores.size() - 2);
+        Autor graciliano = autores.get(autores.size() - 1);
+
+        sistema.cadastrarLivro("Livro Inverso A", 30.0f, editora, 100, "987-65-432-1098-1", List.of(clarice), null);
+        sistema.cadastrarLivro("Livro Inverso B", 30.0f, editora, 100, "987-65-432-1098-2", List.of(clarice, graciliano), null);
+        Livro livroA = sistema.buscarLivrosPorTitulo("Livro Inverso A").get(0);
+        Livro livroB = sistema.buscarLivrosPorTitulo("Livro Inverso B").get(0);
+        assertEquals(List.of(livroA, livroB), clarice.getLivrosPublicados());
+        assertEquals(List.of(livroB), sistema.buscarLivrosPorAutor("INVERSO"));
+        assertEquals(List.of(livroA, livroB), sistema.buscarLivrosPorAutor("invers"));
+
+        sistema.editarLivro(livroA.getId(), "Livro Inverso A", 30.0f, editora, 100, "987-65-432-1098-1", List.of(graciliano), null);
+        assertEquals(List.of(livroB), clarice.getLivrosPublicados());
+        assertEquals(List.of(livroA, livroB), sistema.buscarLivrosPorAutor("Graciliano Inverso"));
+
+        sistema.excluirLivro(livroB.getId());
+        assertTrue(clarice.getLivrosPublicados().isEmpty());
+        assertEquals(List.of(livroA), sistema.buscarLivrosPorAutor("inverso"));
+
+        sistema.getUltimaGravacao().join();
+        novoSistema = abrirSistema();
+        assertEquals(1, novoSistema.buscarAutorPorId(graciliano.getId()).getLivrosPublicados().size());
+        assertSame(novoSistema.buscarLivroPorId(livroA.getId()), novoSistema.buscarAutorPorId(graciliano.getId()).getLivrosPublicados().get(0));
+    }
+
+    @Test
+    @DisplayName("Deve manter o diário de operações quando uma coleção não pode ser gravada no checkpoint")
+    void deveManterDiarioQuandoCheckpointFalha() {
+        sistema.cadastrarEditora("Editora Resistente");
+        sistema.getUltimaGravacao().join();
+        File temporario = arquivo("editoras.dat.tmp");
+        assertTrue(temporario.mkdir());
+        try {
+            sistema.salvarTodosDados();
+        } finally {
+            temporario.delete();
+        }
+
+        novoSistema = abrirSistema();
+        assertEquals(1, novoSistema.getTodasEditoras().size());
+        assertEquals("Editora Resistente", novoSistema.getTodasEditoras().get(0).getNome());
+    }
+}
@@ -0,0 +1,95 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CodecBinarioTest {
+
+    private static final String ARQUIVO = "codec_teste.dat";
+
+    @BeforeEach
+    void setUp() {
+        new File(Util.DIRETORIO_DADOS).mkdirs();
+        new File(Util.DIRETORIO_DADOS + ARQUIVO).delete();
+    }
+
+    private static <T> T idaEVolta(CodecBinario.Entidade<T> codec, T entidade) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        codec.escrever(new DataOutputStream(buffer), entidade);
+        return codec.ler(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())), CodecBinario.VERSAO_FORMATO);
+    }
+
+    @Test
+    @DisplayName("Deve codificar e decodificar varints, textos e datas")
+    void deveCodificarPrimitivos() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        CodecBinario.escreverVarInt(out, 0);
+        CodecBinario.escreverVarInt(out, 300);
+        CodecBinario.escreverVarInt(out, Integer.MAX_VALUE);
+        CodecBinario.escreverTexto(out, "Ação e Reação");
+        CodecBinario.escreverTexto(out, null);
+        CodecBinario.escreverData(out, LocalDate.of(1839, 6, 21));
+        CodecBinario.escreverData(out, null);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        assertEquals(0, CodecBinario.lerVarInt(in));
+        assertEquals(300, CodecBinario.lerVarInt(in));
+        assertEquals(Integer.MAX_VALUE, CodecBinario.lerVarInt(in));
+        assertEquals("Ação e Reação", CodecBinario.lerTexto(in));
+        assertNull(CodecBinario.lerTexto(in));
+        assertEquals(LocalDate.of(1839, 6, 21), CodecBinario.lerData(in));
+        assertNull(CodecBinario.lerData(in));
+    }
+
+    @Test
+    @DisplayName("Deve preservar os atributos de um livro e referenciar as entidades relacionadas pelo ID")
+    void devePreservarLivro() throws IOException {
+        Editora editora = new Editora("Editora Codec");
+        Livro livro = new Livro("Dom Casmurro", 50.0f, editora, 250, "123-45-678-9123-4");
+        Autor autor = new Autor("Machado de Assis", "Brasileiro", LocalDate.of(1839, 6, 21));
+        Categoria categoria = new Categoria("Romance");
+        livro.addAutor(autor);
+        livro.setCategoria(categoria);
+        livro.addEstoque(4);
+
+        Livro lido = idaEVolta(CodecBinario.LIVRO, livro);
+        assertEquals(livro.getId(), lido.getId());
+        assertEquals("Dom Casmurro", lido.getTitulo());
+        assertEquals(50.0f, lido.getPreco(), 0.001);
+        assertEquals(4, lido.getEstoqueDisponivel());
+        assertEquals(250, lido.getQuantidadePaginas());
+        assertEquals("123-45-678-9123-4", lido.getIsbn());
+        assertEquals(autor.getId(), lido.getAutores().get(0).getId());
+        assertEquals(categoria.getId(), lido.getCategoria().getId());
+        assertEquals(editora.getId(), lido.getEditora().getId());
+    }
+
+    @Test
+    @DisplayName("Deve migrar arquivo gravado com a serialização padrão do Java")
+    void deveMigrarArquivoAntigo() throws IOException {
+        List<Autor> autores = new ArrayList<>();
+        autores.add(new Autor("Clarice Lispector", "Brasileira", LocalDate.of(1920, 12, 10)));
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(Util.DIRETORIO_DADOS + ARQUIVO))) {
+            oos.writeObject(autores);
+        }
+
+        List<Autor> migrados = Util.carregarDados(ARQUIVO, CodecBinario.AUTOR);
+        assertEquals(1, migrados.size());
+        assertEquals("Clarice Lispector", migrados.get(0).getNome());
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(Util.DIRETORIO_DADOS + ARQUIVO))) {
+            assertEquals(CodecBinario.MAGICO, in.readInt());
+        }
+        assertEquals("Clarice Lispector", Util.carregarDados(ARQUIVO, CodecBinario.AUTOR).get(0).getNome());
+    }
+}
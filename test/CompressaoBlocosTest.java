@@ -0,0 +1,87 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressaoBlocosTest {
+
+    private static final String ARQUIVO = "compressao_teste.dat";
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("estacao.compressao");
+        System.clearProperty("estacao.compressao.tamanhoBloco");
+        new File(Util.DIRETORIO_DADOS + ARQUIVO).delete();
+    }
+
+    private static byte[] comprimir(byte[] dados, int tamanhoBloco) throws IOException {
+        ByteArrayOutputStream destino = new ByteArrayOutputStream();
+        CompressaoBlocos.SaidaBlocos saida = new CompressaoBlocos.SaidaBlocos(destino, CompressaoBlocos.DEFLATE, tamanhoBloco, 6);
+        saida.write(dados);
+        saida.finalizar();
+        return destino.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Deve comprimir e descomprimir dados que ocupam vários blocos")
+    void deveComprimirEDescomprimirVariosBlocos() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            texto.append("Editora Brasileira de Literatura ").append(i % 7).append('\n');
+        }
+        byte[] original = texto.toString().getBytes(StandardCharsets.UTF_8);
+
+        byte[] comprimido = comprimir(original, 4096);
+        assertTrue(comprimido.length < original.length / 4);
+
+        byte[] lido = new CompressaoBlocos.EntradaBlocos(new ByteArrayInputStream(comprimido), CompressaoBlocos.DEFLATE).readAllBytes();
+        assertArrayEquals(original, lido);
+    }
+
+    @Test
+    @DisplayName("Deve detectar um bloco comprimido corrompido")
+    void deveDetectarBlocoCorrompido() throws IOException {
+        byte[] original = "Dom Casmurro, Dom Casmurro, Dom Casmurro, Dom Casmurro".repeat(50).getBytes(StandardCharsets.UTF_8);
+        byte[] comprimido = comprimir(original, 1 << 16);
+        comprimido[comprimido.length / 2] ^= 0x55;
+
+        CompressaoBlocos.EntradaBlocos entrada = new CompressaoBlocos.EntradaBlocos(new ByteArrayInputStream(comprimido), CompressaoBlocos.DEFLATE);
+        assertThrows(IOException.class, entrada::readAllBytes);
+        assertThrows(StreamCorruptedException.class, () -> CompressaoBlocos.buscar((byte) 99));
+    }
+
+    @Test
+    @DisplayName("Deve gravar arquivos comprimidos e lê-los pelo algoritmo registrado no cabeçalho")
+    void deveLerArquivoComprimidoPeloCabecalho() {
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            categorias.add(new Categoria("Literatura Brasileira Contemporânea " + (i % 10)));
+        }
+        Util.salvarDados(categorias, ARQUIVO, CodecBinario.CATEGORIA);
+        long semCompressao = new File(Util.DIRETORIO_DADOS + ARQUIVO).length();
+
+        System.setProperty("estacao.compressao", "DEFLATE");
+        System.setProperty("estacao.compressao.tamanhoBloco", "1024");
+        Util.salvarDados(categorias, ARQUIVO, CodecBinario.CATEGORIA);
+        long comCompressao = new File(Util.DIRETORIO_DADOS + ARQUIVO).length();
+        System.clearProperty("estacao.compressao");
+
+        assertTrue(comCompressao < semCompressao / 2);
+        List<Categoria> carregadas = Util.carregarDados(ARQUIVO, CodecBinario.CATEGORIA);
+        assertEquals(500, carregadas.size());
+        assertEquals(categorias.get(499).getNome(), carregadas.get(499).getNome());
+    }
+}
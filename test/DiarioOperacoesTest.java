@@ -0,0 +1,194 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiarioOperacoesTest extends TesteComDiretorioDados {
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty("estacao.diario.tamanhoSegmento");
+        System.clearProperty("estacao.diario.segmentosCompactacao");
+    }
+
+    private File[] segmentos() {
+        File[] arquivos = diretorio.toFile().listFiles((dir, nome) -> nome.startsWith("diario-"));
+        Arrays.sort(arquivos);
+        return arquivos;
+    }
+
+    @Test
+    @DisplayName("Deve recuperar as alterações a partir do diário sem checkpoint")
+    void deveRecuperarAlteracoesDoDiario() {
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Diário");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarJornal("Jornal Diário", 5.0f, editora, LocalDate.of(2025, 6, 22));
+        int idJornal = sistema.getTodosJornais().get(0).getId();
+        sistema.adicionarEstoquePublicacao(idJornal, 7, "Jornal");
+
+        sistema.getUltimaGravacao().join();
+        assertFalse(arquivo("jornais.dat").exists());
+
+        Sistema recarregado = abrirSistema();
+        assertEquals(1, recarregado.getTodasEditoras().size());
+        Jornal jornal = recarregado.buscarJornalPorId(idJornal);
+        assertNotNull(jornal);
+        assertEquals(7, jornal.getEstoqueDisponivel());
+        assertEquals(LocalDate.of(2025, 6, 22), jornal.getDataPublicacao());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar exclusões registradas no diário")
+    void deveReaplicarExclusoes() {
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Diário");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarJornal("Jornal Excluído", 5.0f, editora, LocalDate.of(2025, 6, 22));
+        sistema.excluirJornal(sistema.getTodosJornais().get(0).getId());
+        sistema.getUltimaGravacao().join();
+
+        assertTrue(abrirSistema().getTodosJornais().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar edições e exclusões sobre o checkpoint mantendo a ordem da lista")
+    void deveReaplicarEdicoesEExclusoesSobreCheckpoint() {
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Diário");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        for (int i = 1; i <= 4; i++) {
+            sistema.cadastrarLivro("Livro " + i, 20.0f, editora, 100, "555-55-555-5555-" + i, null, null);
+        }
+        sistema.salvarTodosDados();
+        Livro segundo = sistema.getTodosLivros().get(1);
+        Livro terceiro = sistema.getTodosLivros().get(2);
+        sistema.editarLivro(terceiro.getId(), "Livro 3 Revisto", 25.0f, editora, 100, "555-55-555-5555-3", null, null);
+        sistema.excluirLivro(segundo.getId());
+        sistema.adicionarEstoquePublicacao(terceiro.getId(), 4, "Livro");
+        sistema.cadastrarLivro("Livro 5", 20.0f, editora, 100, "555-55-555-5555-5", null, null);
+        sistema.getUltimaGravacao().join();
+        sistema.fechar();
+
+        Sistema recarregado = abrirSistema();
+        assertEquals(Arrays.asList("Livro 1", "Livro 3 Revisto", "Livro 4", "Livro 5"),
+                recarregado.getTodosLivros().stream().map(Livro::getTitulo).collect(Collectors.toList()));
+        assertNull(recarregado.buscarLivroPorId(segundo.getId()));
+        assertEquals(4, recarregado.buscarLivroPorId(terceiro.getId()).getEstoqueDisponivel());
+        recarregado.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve reaplicar exclusões de autores, editoras e categorias pelo motor de arquivos")
+    void deveReaplicarExclusoesDeCadastrosAuxiliares() {
+        ArmazenamentoArquivos motor = abrirArmazenamento();
+        Editora editora = new Editora("Editora Excluída");
+        Autor autor = new Autor("Autor Excluído", "Brasileira", null);
+        Categoria categoria = new Categoria("Categoria Excluída");
+        motor.getEditoras().carregarTodos().add(editora);
+        motor.getAutores().carregarTodos().add(autor);
+        motor.getCategorias().carregarTodos().add(categoria);
+        motor.getEditoras().salvar(editora);
+        motor.getAutores().salvar(autor);
+        motor.getCategorias().salvar(categoria);
+        motor.getEditoras().excluir(editora.getId());
+        motor.getAutores().excluir(autor.getId());
+        motor.getCategorias().excluir(categoria.getId()).join();
+        motor.close();
+
+        ArmazenamentoArquivos recarregado = abrirArmazenamento();
+        assertTrue(recarregado.getEditoras().carregarTodos().isEmpty());
+        assertTrue(recarregado.getAutores().carregarTodos().isEmpty());
+        assertTrue(recarregado.getCategorias().carregarTodos().isEmpty());
+        recarregado.close();
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro incompleto no final do diário")
+    void deveDescartarFinalCorrompido() throws IOException {
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarCategoria("Ficção");
+        sistema.getUltimaGravacao().join();
+
+        File[] segmentos = segmentos();
+        try (FileOutputStream out = new FileOutputStream(segmentos[segmentos.length - 1], true)) {
+            out.write(new byte[] {0, 0, 0, 50, 1, 2, 3});
+        }
+
+        Sistema recarregado = abrirSistema();
+        assertEquals(1, recarregado.getTodasCategorias().size());
+        recarregado.cadastrarCategoria("Suspense");
+        recarregado.getUltimaGravacao().join();
+        assertEquals(2, abrirSistema().getTodasCategorias().size());
+    }
+
+    @Test
+    @DisplayName("Deve esvaziar o diário após o checkpoint")
+    void deveEsvaziarDiarioAposCheckpoint() {
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarAutor("Autor Diário", "Brasileira", LocalDate.of(1990, 1, 1));
+        sistema.getUltimaGravacao().join();
+        assertTrue(segmentos()[0].length() > 0);
+
+        sistema.salvarDadosAlterados();
+        assertEquals(0, segmentos().length);
+        assertEquals(1, abrirSistema().getTodosAutores().size());
+    }
+
+    @Test
+    @DisplayName("Deve manter no diário os registros posteriores ao ponto de corte do checkpoint")
+    void deveTruncarApenasAteOCorte() {
+        DiarioOperacoes diario = new DiarioOperacoes(diretorio.toFile(), "diario.log");
+        diario.registrarAutor(new Autor("Autor Antes", "Brasileira", LocalDate.of(1990, 1, 1))).join();
+        long corte = diario.selar();
+        diario.registrarAutor(new Autor("Autor Depois", "Brasileira", LocalDate.of(1991, 1, 1))).join();
+        diario.truncarAte(corte);
+        diario.close();
+
+        assertEquals(1, segmentos().length);
+        assertEquals("Autor Depois", abrirSistema().getTodosAutores().get(0).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve descartar na compactação os registros substituídos e os de publicações excluídas")
+    void deveCompactarSegmentosSelados() {
+        System.setProperty("estacao.diario.tamanhoSegmento", "64");
+        System.setProperty("estacao.diario.segmentosCompactacao", "0");
+        Sistema sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Compactada");
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarJornal("Jornal Editado", 5.0f, editora, LocalDate.of(2025, 6, 22));
+        sistema.cadastrarJornal("Jornal Excluído", 5.0f, editora, LocalDate.of(2025, 6, 23));
+        int idEditado = sistema.getTodosJornais().get(0).getId();
+        int idExcluido = sistema.getTodosJornais().get(1).getId();
+        for (int i = 1; i <= 10; i++) {
+            sistema.editarJornal(idEditado, "Jornal Editado " + i, 5.0f + i, editora, LocalDate.of(2025, 6, 22));
+            sistema.getUltimaGravacao().join(); // Um lote por edição, para que cada uma sele seu próprio segmento.
+        }
+        sistema.excluirJornal(idExcluido);
+        sistema.cadastrarCategoria("Ativa");
+        sistema.getUltimaGravacao().join();
+        int segmentosAntes = segmentos().length;
+
+        assertTrue(sistema.compactarDiario() > 0);
+        assertTrue(segmentos().length < segmentosAntes);
+
+        Sistema recarregado = abrirSistema();
+        assertEquals(1, recarregado.getTodosJornais().size());
+        assertEquals("Jornal Editado 10", recarregado.buscarJornalPorId(idEditado).getTitulo());
+        assertNull(recarregado.buscarJornalPorId(idExcluido));
+        assertEquals(1, recarregado.getTodasCategorias().size());
+        assertSame(recarregado.getTodasEditoras().get(0), recarregado.buscarJornalPorId(idEditado).getEditora());
+    }
+}
@@ -0,0 +1,78 @@
+package test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.EscritorAssincrono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EscritorAssincronoTest {
+
+    @Test
+    @DisplayName("Deve agrupar pedidos próximos em um único lote, preservando a ordem")
+    void deveAgruparPedidosEmLote() {
+        List<List<Integer>> lotes = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futuros = new ArrayList<>();
+        try (EscritorAssincrono<Integer> escritor = new EscritorAssincrono<>("escritor-teste", 200, 1000,
+                itens -> lotes.add(new ArrayList<>(itens)))) {
+            for (int i = 0; i < 100; i++) {
+                futuros.add(escritor.enviar(i));
+            }
+            futuros.get(99).join();
+        }
+
+        assertTrue(futuros.stream().allMatch(CompletableFuture::isDone));
+        assertTrue(lotes.size() < 100);
+        List<Integer> gravados = new ArrayList<>();
+        lotes.forEach(gravados::addAll);
+        assertEquals(100, gravados.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, gravados.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo do lote")
+    void deveRespeitarTamanhoMaximoDoLote() {
+        List<Integer> tamanhos = Collections.synchronizedList(new ArrayList<>());
+        try (EscritorAssincrono<Integer> escritor = new EscritorAssincrono<>("escritor-teste", 200, 10,
+                itens -> tamanhos.add(itens.size()))) {
+            CompletableFuture<Void> ultimo = null;
+            for (int i = 0; i < 50; i++) {
+                ultimo = escritor.enviar(i);
+            }
+            ultimo.join();
+        }
+        assertTrue(tamanhos.stream().allMatch(t -> t <= 10));
+        assertEquals(50, tamanhos.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    @DisplayName("Deve concluir os futuros com erro quando a gravação falhar")
+    void deveConcluirFuturosComErro() {
+        try (EscritorAssincrono<Integer> escritor = new EscritorAssincrono<>("escritor-teste", 0, 10,
+                itens -> { throw new IOException("disco cheio"); })) {
+            CompletableFuture<Void> futuro = escritor.enviar(1);
+            assertThrows(CompletionException.class, futuro::join);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar os pedidos pendentes ao encerrar")
+    void deveGravarPendentesAoEncerrar() {
+        List<Integer> gravados = Collections.synchronizedList(new ArrayList<>());
+        EscritorAssincrono<Integer> escritor = new EscritorAssincrono<>("escritor-teste", 1000, 1000, gravados::addAll);
+        CompletableFuture<Void> futuro = escritor.enviar(7);
+        escritor.close();
+        assertTrue(futuro.isDone());
+        assertEquals(List.of(7), gravados);
+        assertThrows(IllegalStateException.class, () -> escritor.enviar(8));
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EstoqueMapeadoTest {
+
+    private static final String ARQUIVO = "estoque_teste.map";
+    private Editora editora;
+
+    @BeforeEach
+    void setUp() {
+        new File(Util.DIRETORIO_DADOS).mkdirs();
+        new File(Util.DIRETORIO_DADOS + ARQUIVO).delete();
+        editora = new Editora("Editora Estoque");
+    }
+
+    @Test
+    @DisplayName("Deve restaurar estoque e preço gravados no arquivo mapeado")
+    void deveRestaurarEstoqueEPreco() {
+        Jornal jornal = new Jornal("Jornal Mapeado", 5.0f, editora, LocalDate.of(2025, 1, 1));
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.FSYNC_POR_COMMIT)) {
+            jornal.addEstoque(12);
+            jornal.setPreco(6.5f);
+            estoque.gravar(jornal);
+        }
+
+        jornal.setEstoqueDisponivel(0);
+        jornal.setPreco(5.0f);
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.NENHUMA)) {
+            estoque.aplicar(List.of(jornal));
+        }
+        assertEquals(12, jornal.getEstoqueDisponivel());
+        assertEquals(6.5f, jornal.getPreco(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Deve ampliar o mapeamento para IDs além da capacidade inicial")
+    void deveAmpliarMapeamento() {
+        Publicacao.setProximoIdEstatico(50_000);
+        Jornal jornal = new Jornal("Jornal Distante", 5.0f, editora, LocalDate.of(2025, 1, 1));
+        jornal.addEstoque(3);
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.NENHUMA)) {
+            estoque.gravar(jornal);
+        }
+        assertTrue(new File(Util.DIRETORIO_DADOS + ARQUIVO).length() > (long) jornal.getId() * EstoqueMapeado.TAMANHO_REGISTRO);
+
+        jornal.setEstoqueDisponivel(0);
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.NENHUMA)) {
+            estoque.aplicar(List.of(jornal));
+        }
+        assertEquals(3, jornal.getEstoqueDisponivel());
+    }
+
+    @Test
+    @DisplayName("Não deve aplicar registro de publicação removida")
+    void naoDeveAplicarRegistroRemovido() {
+        Jornal jornal = new Jornal("Jornal Removido", 5.0f, editora, LocalDate.of(2025, 1, 1));
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.NENHUMA)) {
+            jornal.addEstoque(9);
+            estoque.gravar(jornal);
+            estoque.remover(jornal.getId());
+        }
+
+        jornal.setEstoqueDisponivel(1);
+        try (EstoqueMapeado estoque = new EstoqueMapeado(ARQUIVO, ModoDurabilidade.NENHUMA)) {
+            estoque.aplicar(List.of(jornal));
+        }
+        assertEquals(1, jornal.getEstoqueDisponivel());
+    }
+}
@@ -0,0 +1,100 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExportadorCatalogoTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private ExportadorCatalogo exportador;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora \"Aspas\", Ltda");
+        sistema.cadastrarEditora("Outra Editora");
+        sistema.cadastrarAutor("Souza, Ana", "Brasileira", LocalDate.of(1970, 5, 4));
+        sistema.cadastrarAutor("Bruno", null, null);
+        sistema.cadastrarCategoria("Romance");
+        List<Editora> editoras = sistema.getTodasEditoras();
+        sistema.cadastrarLivro("Livro\nQuebrado", 29.9f, editoras.get(0), 120, "123-45-678-9123-1",
+                sistema.getTodosAutores(), sistema.getTodasCategorias().get(0));
+        sistema.cadastrarLivro("Sem Categoria", 15.0f, editoras.get(1), 50, "123-45-678-9123-2", List.of(), null);
+        sistema.cadastrarJornal("Diário", 4.5f, editoras.get(1), LocalDate.of(2025, 3, 1));
+        sistema.cadastrarJornal("Diário", 4.5f, editoras.get(1), LocalDate.of(2025, 4, 1));
+        exportador = new ExportadorCatalogo(sistema);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve exportar livros em CSV e JSONL escapando os textos")
+    void deveExportarLivrosEscapandoTextos() {
+        StringWriter csv = new StringWriter();
+        assertEquals(2, exportador.exportar(ExportadorCatalogo.Tipo.LIVROS, csv, ImportadorCatalogo.Formato.CSV, null));
+        int id = sistema.getTodosLivros().get(0).getId();
+        assertTrue(csv.toString().startsWith("id,titulo,preco,editora,paginas,isbn,autores,categoria,estoque\n"
+                + id + ",\"Livro\nQuebrado\",29.90,\"Editora \"\"Aspas\"\", Ltda\",120,123-45-678-9123-1,\"Souza, Ana|Bruno\",Romance,0\n"));
+
+        StringWriter jsonl = new StringWriter();
+        exportador.exportar(ExportadorCatalogo.Tipo.LIVROS, jsonl, ImportadorCatalogo.Formato.JSONL, null);
+        String[] linhas = jsonl.toString().split("\n");
+        assertEquals(2, linhas.length);
+        assertEquals("{\"id\":" + id + ",\"titulo\":\"Livro\\nQuebrado\",\"preco\":29.90,\"editora\":\"Editora \\\"Aspas\\\", Ltda\","
+                + "\"paginas\":120,\"isbn\":\"123-45-678-9123-1\",\"autores\":[\"Souza, Ana\",\"Bruno\"],\"categoria\":\"Romance\",\"estoque\":0}", linhas[0]);
+        assertTrue(linhas[1].endsWith("\"preco\":15.00,\"editora\":\"Outra Editora\",\"paginas\":50,\"isbn\":\"123-45-678-9123-2\",\"autores\":[],\"categoria\":null,\"estoque\":0}"));
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os filtros de categoria, editora e período")
+    void deveAplicarFiltros() {
+        StringWriter saida = new StringWriter();
+        assertEquals(1, exportador.exportar(ExportadorCatalogo.Tipo.LIVROS, saida, ImportadorCatalogo.Formato.CSV,
+                new FiltroExportacao().porCategoria("romance")));
+        assertEquals(1, exportador.exportar(ExportadorCatalogo.Tipo.LIVROS, new StringWriter(), ImportadorCatalogo.Formato.CSV,
+                new FiltroExportacao().porEditora("OUTRA EDITORA")));
+        assertEquals(1, exportador.exportar(ExportadorCatalogo.Tipo.JORNAIS, new StringWriter(), ImportadorCatalogo.Formato.JSONL,
+                new FiltroExportacao().porPeriodo(LocalDate.of(2025, 3, 15), null)));
+        assertEquals(2, exportador.exportar(ExportadorCatalogo.Tipo.JORNAIS, new StringWriter(), ImportadorCatalogo.Formato.JSONL,
+                new FiltroExportacao().porPeriodo(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 4, 1))));
+        assertEquals(1, exportador.exportar(ExportadorCatalogo.Tipo.AUTORES, new StringWriter(), ImportadorCatalogo.Formato.CSV,
+                new FiltroExportacao().porPeriodo(LocalDate.of(1900, 1, 1), LocalDate.of(2000, 1, 1))));
+        assertEquals(2, exportador.exportar(ExportadorCatalogo.Tipo.EDITORAS, new StringWriter(), ImportadorCatalogo.Formato.CSV, null));
+    }
+
+    @Test
+    @DisplayName("Deve gerar arquivos que o importador aceita")
+    void deveGerarArquivosImportaveis() {
+        StringWriter livros = new StringWriter();
+        StringWriter jornais = new StringWriter();
+        exportador.exportar(ExportadorCatalogo.Tipo.LIVROS, livros, ImportadorCatalogo.Formato.CSV, null);
+        exportador.exportar(ExportadorCatalogo.Tipo.JORNAIS, jornais, ImportadorCatalogo.Formato.JSONL, null);
+        for (Livro livro : sistema.getTodosLivros()) {
+            sistema.excluirLivro(livro.getId());
+        }
+        for (Jornal jornal : sistema.getTodosJornais()) {
+            sistema.excluirJornal(jornal.getId());
+        }
+
+        ImportadorCatalogo importador = new ImportadorCatalogo(sistema);
+        assertEquals(2, importador.importarLivros(new StringReader(livros.toString()), ImportadorCatalogo.Formato.CSV).getImportadas());
+        assertEquals(2, importador.importarJornais(new StringReader(jornais.toString()), ImportadorCatalogo.Formato.JSONL).getImportadas());
+        Livro reimportado = sistema.buscarLivrosPorTitulo("Livro\nQuebrado").get(0);
+        assertEquals(2, reimportado.getAutores().size());
+        assertEquals("Souza, Ana", reimportado.getAutores().get(0).getNome());
+        assertEquals(29.9f, reimportado.getPreco(), 0.001f);
+    }
+}
@@ -0,0 +1,131 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImportadorCatalogoTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Existente");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve importar livros de CSV em lotes, criando editoras, autores e categorias ausentes")
+    void deveImportarLivrosDeCsv() {
+        String csv = "Título;Preço;Editora;Páginas;ISBN;Autores;Categoria;Estoque\n"
+                + "Livro Um;29,90;Editora Existente;120;123-45-678-9123-1;Ana Souza|Bruno Lima;Romance;4\n"
+                + "\"Livro; Dois\";35.00;editora nova;200;123-45-678-9123-2;Ana Souza;romance;\n"
+                + "Livro Três;40;Editora Nova;90;123-45-678-9123-3;;;2\n";
+
+        RelatorioImportacao relatorio = new ImportadorCatalogo(sistema, 2)
+                .importarLivros(new StringReader(csv), ImportadorCatalogo.Formato.CSV);
+
+        assertEquals(3, relatorio.getLinhasLidas());
+        assertEquals(3, relatorio.getImportadas());
+        assertEquals(0, relatorio.getRejeitadas());
+        assertEquals(2, relatorio.getLotes());
+        assertEquals(1, relatorio.getEditorasCriadas());
+        assertEquals(2, relatorio.getAutoresCriados());
+        assertEquals(1, relatorio.getCategoriasCriadas());
+
+        assertEquals(3, sistema.getTodosLivros().size());
+        assertEquals(2, sistema.getTodasEditoras().size());
+        Livro dois = sistema.buscarLivrosPorTitulo("Livro; Dois").get(0);
+        assertEquals("editora nova", dois.getEditora().getNome());
+        assertEquals("Romance", dois.getCategoria().getNome());
+        assertEquals(0, dois.getEstoqueDisponivel());
+        Livro um = sistema.buscarLivrosPorTitulo("Livro Um").get(0);
+        assertEquals(2, um.getAutores().size());
+        assertEquals(29.90f, um.getPreco(), 0.001f);
+        assertEquals(4, um.getEstoqueDisponivel());
+
+        sistema.getUltimaGravacao().join();
+        sistema.fechar();
+        Sistema reaberto = abrirSistema();
+        assertEquals(3, reaberto.getTodosLivros().size());
+        assertEquals(2, reaberto.buscarLivrosPorAutor("Ana Souza").size());
+        reaberto.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar as editoras que o cadastro consideraria repetidas")
+    void deveReaproveitarEditorasPelaMesmaChaveDoCadastro() {
+        sistema.cadastrarEditora("Editora Straße");
+        String csv = "Título;Preço;Editora;Páginas;ISBN\n"
+                + "Livro Alemão;29,90;  EDITORA STRASSE ;120;123-45-678-9123-7\n";
+
+        RelatorioImportacao relatorio = new ImportadorCatalogo(sistema)
+                .importarLivros(new StringReader(csv), ImportadorCatalogo.Formato.CSV);
+
+        assertEquals(1, relatorio.getImportadas());
+        assertEquals(0, relatorio.getEditorasCriadas());
+        assertTrue(sistema.existeEditoraComNome("EDITORA STRASSE"));
+        assertEquals("Editora Straße", sistema.buscarLivrosPorTitulo("Livro Alemão").get(0).getEditora().getNome());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar linhas inválidas e duplicadas no arquivo ou no catálogo, importando as demais")
+    void deveRejeitarLinhasInvalidasEDuplicadas() {
+        Editora editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarLivro("Livro Existente", 30.0f, editora, 100, "123-45-678-9123-9", sistema.getTodosAutores(), null);
+
+        String jsonl = "{\"titulo\": \"Válido\", \"preco\": 20, \"editora\": \"Editora Existente\", \"paginas\": 50, \"isbn\": \"123-45-678-9123-1\", \"autores\": [\"Carla\", \"Davi\"]}\n"
+                + "{\"titulo\": \"Barato\", \"preco\": 10, \"editora\": \"Editora Existente\", \"paginas\": 50, \"isbn\": \"123-45-678-9123-2\"}\n"
+                + "{\"titulo\": \"Curto\", \"preco\": 20, \"editora\": \"Editora Existente\", \"paginas\": 5, \"isbn\": \"123-45-678-9123-3\"}\n"
+                + "{\"titulo\": \"ISBN Ruim\", \"preco\": 20, \"editora\": \"Editora Existente\", \"paginas\": 50, \"isbn\": \"123\"}\n"
+                + "{\"titulo\": \"livro existente\", \"preco\": 20, \"editora\": \"Editora Existente\", \"paginas\": 50, \"isbn\": \"123-45-678-9123-4\"}\n"
+                + "{\"titulo\": \"Outro\", \"preco\": 20, \"editora\": \"Editora Existente\", \"paginas\": 50, \"isbn\": \"123-45-678-9123-1\"}\n"
+                + "{\"titulo\": \"Quebrado\", \"preco\": \n"
+                + "\n"
+                + "{\"titulo\": \"Também Válido\", \"preco\": \"25,5\", \"editora\": \"Editora Existente\", \"paginas\": 80, \"isbn\": \"123-45-678-9123-5\"}\n";
+
+        RelatorioImportacao relatorio = new ImportadorCatalogo(sistema, 100)
+                .importarLivros(new StringReader(jsonl), ImportadorCatalogo.Formato.JSONL);
+
+        assertEquals(8, relatorio.getLinhasLidas());
+        assertEquals(2, relatorio.getImportadas());
+        assertEquals(6, relatorio.getRejeitadas());
+        assertEquals(3, sistema.getTodosLivros().size());
+        assertTrue(relatorio.getErros().get(0).startsWith("Linha 2:"));
+        assertTrue(relatorio.getErros().stream().anyMatch(e -> e.startsWith("Linha 6:") && e.contains("repete a linha 1")));
+        assertTrue(relatorio.getErros().stream().anyMatch(e -> e.startsWith("Linha 5:") && e.contains("já existe no catálogo")));
+        assertTrue(relatorio.getErros().stream().anyMatch(e -> e.startsWith("Linha 7:") && e.contains("JSON inválido")));
+        assertEquals(2, sistema.buscarLivrosPorTitulo("Válido").get(0).getAutores().size());
+    }
+
+    @Test
+    @DisplayName("Deve importar jornais rejeitando a mesma edição repetida")
+    void deveImportarJornais() {
+        String csv = "titulo,preco,editora,data_publicacao,estoque\n"
+                + "Diário,4.50,Editora Existente,2025-03-01,10\n"
+                + "Diário,4.50,Editora Existente,02/03/2025,\n"
+                + "DIÁRIO,4.50,Editora Existente,01/03/2025,\n"
+                + "Gazeta,2.00,Editora Existente,2025-03-01,\n"
+                + "Gazeta,3.00,Editora Existente,sem data,\n";
+
+        RelatorioImportacao relatorio = new ImportadorCatalogo(sistema)
+                .importarJornais(new StringReader(csv), ImportadorCatalogo.Formato.CSV);
+
+        assertEquals(2, relatorio.getImportadas());
+        assertEquals(3, relatorio.getRejeitadas());
+        assertEquals(2, sistema.getTodosJornais().size());
+        assertEquals(10, sistema.buscarJornaisPorData(LocalDate.of(2025, 3, 1)).get(0).getEstoqueDisponivel());
+    }
+}
@@ -0,0 +1,141 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceBitmapsLivrosTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editoraA;
+    private Editora editoraB;
+    private Autor autorA;
+    private Autor autorB;
+    private Categoria romance;
+    private Categoria tecnico;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora A");
+        sistema.cadastrarEditora("Editora B");
+        sistema.cadastrarAutor("Autora A", "Brasileira", null);
+        sistema.cadastrarAutor("Autor B", "Português", null);
+        sistema.cadastrarCategoria("Romance");
+        sistema.cadastrarCategoria("Técnico");
+        editoraA = sistema.getTodasEditoras().get(0);
+        editoraB = sistema.getTodasEditoras().get(1);
+        autorA = sistema.getTodosAutores().get(0);
+        autorB = sistema.getTodosAutores().get(1);
+        romance = sistema.getTodasCategorias().get(0);
+        tecnico = sistema.getTodasCategorias().get(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve manter o conjunto de IDs ao passar de vetor para mapa de bits e voltar")
+    void deveManterConjuntoEntreRepresentacoes() {
+        BitmapIds pares = new BitmapIds();
+        BitmapIds multiplosDeTres = new BitmapIds();
+        TreeSet<Integer> esperadoE = new TreeSet<>();
+        TreeSet<Integer> esperadoOu = new TreeSet<>();
+        for (int i = 0; i < 30000; i++) {
+            pares.adicionar(i * 2);
+            multiplosDeTres.adicionar(i * 3);
+            esperadoOu.add(i * 2);
+            esperadoOu.add(i * 3);
+        }
+        for (int id : esperadoOu) {
+            if (id % 6 == 0 && id < 60000) {
+                esperadoE.add(id);
+            }
+        }
+        assertEquals(30000, pares.cardinalidade());
+        assertTrue(pares.contem(40000));
+        assertFalse(pares.contem(40001));
+        assertEquals(new ArrayList<>(esperadoE), ids(pares.e(multiplosDeTres)));
+        assertEquals(new ArrayList<>(esperadoOu), ids(pares.ou(multiplosDeTres)));
+
+        for (int i = 0; i < 30000; i++) {
+            if (i % 10 != 0) {
+                pares.remover(i * 2);
+            }
+        }
+        assertEquals(3000, pares.cardinalidade());
+        assertTrue(pares.contem(20));
+        assertFalse(pares.contem(22));
+        assertFalse(pares.remover(22));
+    }
+
+    @Test
+    @DisplayName("Deve combinar categoria, autor, preço e estoque nos filtros")
+    void deveCombinarCriterios() {
+        sistema.cadastrarLivro("Livro 1", 25.0f, editoraA, 100, "111-11-111-1111-1", List.of(autorA), romance);
+        sistema.cadastrarLivro("Livro 2", 60.0f, editoraA, 100, "111-11-111-1111-2", List.of(autorA, autorB), romance);
+        sistema.cadastrarLivro("Livro 3", 29.99f, editoraB, 100, "111-11-111-1111-3", List.of(autorB), tecnico);
+        sistema.cadastrarLivro("Livro 4", 30.0f, editoraB, 100, "111-11-111-1111-4", List.of(autorA), romance);
+        List<Livro> todos = sistema.getTodosLivros();
+        sistema.adicionarEstoquePublicacao(todos.get(0).getId(), 3, "Livro");
+        sistema.adicionarEstoquePublicacao(todos.get(3).getId(), 1, "Livro");
+
+        assertEquals(List.of("Livro 1", "Livro 2", "Livro 4"), titulos(new FiltroLivros().daCategoria(romance)));
+        assertEquals(List.of("Livro 1", "Livro 4"), titulos(new FiltroLivros().daCategoria(romance).doAutor(autorA).emEstoque()));
+        assertEquals(List.of("Livro 1", "Livro 3"), titulos(new FiltroLivros().precoAte(29.99f)));
+        assertEquals(List.of("Livro 2", "Livro 3"), titulos(new FiltroLivros().doAutor(autorB)));
+        assertEquals(List.of("Livro 2", "Livro 3"),
+                titulos(new FiltroLivros().daCategoria(tecnico).ou(new FiltroLivros().precoEntre(50f, 100f))));
+        assertEquals(List.of("Livro 3", "Livro 4"), titulos(new FiltroLivros().daEditora(editoraB)));
+        assertEquals(4, sistema.contarLivros(new FiltroLivros()));
+        assertEquals(List.of("Livro 3"), nomes(sistema.buscarLivrosPorCategoria("técn")));
+        assertEquals(List.of("Livro 3"), nomes(sistema.buscarLivrosPorCategoria("TÉCNICO")));
+        assertTrue(sistema.buscarLivrosPorCategoria("Poesia").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar os bitmaps com edições de livros, movimentos de estoque e exclusões")
+    void deveAcompanharAlteracoes() {
+        sistema.cadastrarLivro("Livro 1", 25.0f, editoraA, 100, "111-11-111-1111-1", List.of(autorA), romance);
+        Livro livro = sistema.getTodosLivros().get(0);
+        sistema.adicionarEstoquePublicacao(livro.getId(), 2, "Livro");
+        assertEquals(1, sistema.contarLivros(new FiltroLivros().emEstoque()));
+        sistema.removerEstoquePublicacao(livro.getId(), 2, "Livro");
+        assertEquals(0, sistema.contarLivros(new FiltroLivros().emEstoque()));
+
+        sistema.editarLivro(livro.getId(), "Livro 1", 80.0f, editoraB, 100, "111-11-111-1111-1", List.of(autorB), tecnico);
+        assertEquals(0, sistema.contarLivros(new FiltroLivros().daCategoria(romance)));
+        assertEquals(0, sistema.contarLivros(new FiltroLivros().doAutor(autorA)));
+        assertEquals(1, sistema.contarLivros(new FiltroLivros().daCategoria(tecnico).daEditora(editoraB).precoEntre(75f, 80f)));
+
+        sistema.excluirLivro(livro.getId());
+        assertEquals(0, sistema.contarLivros(new FiltroLivros()));
+        assertEquals(0, sistema.contarLivros(new FiltroLivros().daCategoria(tecnico)));
+    }
+
+    private List<String> titulos(FiltroLivros filtro) {
+        return nomes(sistema.filtrarLivros(filtro));
+    }
+
+    private static List<String> nomes(List<Livro> livros) {
+        List<String> titulos = new ArrayList<>();
+        livros.forEach(l -> titulos.add(l.getTitulo()));
+        return titulos;
+    }
+
+    private static List<Integer> ids(BitmapIds bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.paraCada(ids::add);
+        return ids;
+    }
+}
@@ -0,0 +1,115 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceBuscaLivrosTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+    private Autor machado;
+    private Autor boris;
+    private Categoria historia;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Companhia das Letras");
+        sistema.cadastrarAutor("Machado de Assis", "Brasileira", null);
+        sistema.cadastrarAutor("Boris Fausto", "Brasileira", null);
+        sistema.cadastrarCategoria("História");
+        editora = sistema.getTodasEditoras().get(0);
+        machado = sistema.getTodosAutores().get(0);
+        boris = sistema.getTodosAutores().get(1);
+        historia = sistema.getTodasCategorias().get(0);
+        sistema.cadastrarLivro("Dom Casmurro", 30.0f, editora, 200, "333-33-333-3333-1", List.of(machado), null);
+        sistema.cadastrarLivro("Memórias Póstumas de Brás Cubas", 35.0f, editora, 200, "333-33-333-3333-2", List.of(machado), null);
+        sistema.cadastrarLivro("História do Brasil", 80.0f, editora, 600, "333-33-333-3333-3", List.of(boris), historia);
+        sistema.cadastrarLivro("Canções do Exílio", 25.0f, editora, 90, "333-33-333-3333-4", List.of(), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve analisar textos sem acentos, sem palavras vazias e com plurais reduzidos")
+    void deveAnalisarTextos() {
+        assertEquals(List.of("historia", "brasil"), AnalisadorTexto.termos("Histórias do BRASIL"));
+        assertEquals(List.of("cancao", "jornal", "flor", "homem", "livro"), AnalisadorTexto.termos("canções, jornais; flores - homens livros"));
+        assertTrue(AnalisadorTexto.termos(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar os livros por relevância em título, autor, categoria e editora")
+    void deveOrdenarPorRelevancia() {
+        assertEquals(List.of("Dom Casmurro", "Memórias Póstumas de Brás Cubas"), titulos(sistema.pesquisarLivros("dom casmurro machado", 10)));
+        assertEquals("História do Brasil", titulos(sistema.pesquisarLivros("historia do brasil", 10)).get(0));
+        assertEquals(List.of("Canções do Exílio"), titulos(sistema.pesquisarLivros("cancao exilio", 10)));
+        assertEquals(1, sistema.pesquisarLivros("assis", 1).size());
+        assertEquals(4, sistema.pesquisarLivros("companhia letras", 10).size());
+        assertTrue(sistema.pesquisarLivros("de do", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar a busca com edições e exclusões de livros")
+    void deveAcompanharAlteracoes() {
+        Livro dom = sistema.getTodosLivros().get(0);
+        sistema.editarLivro(dom.getId(), "Quincas Borba", 30.0f, editora, 200, "333-33-333-3333-1", List.of(machado), null);
+        assertTrue(sistema.pesquisarLivros("casmurro", 10).isEmpty());
+        assertEquals(List.of("Quincas Borba"), titulos(sistema.pesquisarLivros("quincas", 10)));
+
+        sistema.excluirLivro(dom.getId());
+        assertTrue(sistema.pesquisarLivros("quincas", 10).isEmpty());
+        sistema.cadastrarLivro("Esaú e Jacó", 30.0f, editora, 200, "333-33-333-3333-5", List.of(machado), null);
+        // O título mais curto tem menos termos competindo com o autor e pontua mais.
+        assertEquals(List.of("Esaú e Jacó", "Memórias Póstumas de Brás Cubas"), titulos(sistema.pesquisarLivros("machado", 10)));
+        assertEquals(List.of("Esaú e Jacó"), titulos(sistema.pesquisarLivros("esau jaco", 10)));
+    }
+
+    @Test
+    @DisplayName("Deve podar a busca sem mudar os primeiros resultados da ordenação completa")
+    void devePodarSemMudarResultados() {
+        String[] palavras = {"mar", "sol", "vento", "terra", "fogo", "noite", "lua", "rio", "pedra", "casa", "tempo", "sonho"};
+        Random random = new Random(7);
+        Categoria[] categorias = {new Categoria("romance"), new Categoria("poesia"), new Categoria("conto")};
+        IndiceBuscaLivros indice = new IndiceBuscaLivros();
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 0; i < 12000; i++) {
+            StringBuilder titulo = new StringBuilder();
+            for (int j = 1 + random.nextInt(5); j > 0; j--) {
+                titulo.append(palavras[(int) Math.min(palavras.length - 1, -Math.log(random.nextDouble()) * 3)]).append(' ');
+            }
+            Livro livro = new Livro(titulo.toString().trim(), 10.0f, editora, 100, "isbn-" + i);
+            livro.setCategoria(categorias[random.nextInt(categorias.length)]);
+            livros.add(livro);
+            indice.adicionar(livro);
+        }
+        for (int i = 0; i < 3000; i++) {
+            indice.remover(livros.get(random.nextInt(livros.size())));
+        }
+
+        for (String consulta : List.of("mar sol", "sol vento terra", "mar fogo noite romance", "pedra casa", "sonho")) {
+            List<Livro> todos = indice.buscar(consulta, livros.size());
+            for (int quantidade : new int[]{1, 10, 100}) {
+                assertEquals(todos.subList(0, Math.min(quantidade, todos.size())), indice.buscar(consulta, quantidade), consulta);
+            }
+        }
+    }
+
+    private static List<String> titulos(List<Livro> livros) {
+        List<String> titulos = new ArrayList<>();
+        livros.forEach(l -> titulos.add(l.getTitulo()));
+        return titulos;
+    }
+}
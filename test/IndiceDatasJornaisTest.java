@@ -0,0 +1,77 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceDatasJornaisTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Datas");
+        editora = sistema.getTodasEditoras().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve consultar jornais por período, últimas edições e contagens por mês e ano")
+    void deveConsultarPorDatas() {
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 3, 2));
+        sistema.cadastrarJornal("Gazeta", 5.0f, editora, LocalDate.of(2025, 1, 31));
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 1, 31));
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2024, 12, 31));
+        sistema.cadastrarJornal("Gazeta", 5.0f, editora, LocalDate.of(2025, 2, 1));
+
+        assertEquals(List.of("Gazeta 2025-01-31", "Diário 2025-01-31"), edicoes(sistema.buscarJornaisPorData(LocalDate.of(2025, 1, 31))));
+        assertEquals(List.of("Gazeta 2025-01-31", "Diário 2025-01-31", "Gazeta 2025-02-01"),
+                edicoes(sistema.buscarJornaisEntre(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28))));
+        assertEquals(List.of("Diário 2025-03-02", "Diário 2025-01-31"), edicoes(sistema.buscarUltimasEdicoes("DIÁRIO", 2)));
+        assertEquals(4, sistema.contarJornaisNoAno(2025));
+        assertArrayEquals(new int[]{2, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0}, sistema.contarJornaisPorMes(2025));
+        assertTrue(sistema.buscarJornaisEntre(LocalDate.of(2025, 4, 1), LocalDate.of(2025, 3, 1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice de datas em dia com edições, exclusões e recarga")
+    void deveAcompanharAlteracoes() {
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 1, 1));
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 1, 2));
+        List<Jornal> jornais = sistema.getTodosJornais();
+        Jornal primeiro = jornais.get(0);
+
+        sistema.editarJornal(primeiro.getId(), "Diário", 4.0f, editora, LocalDate.of(2025, 6, 1));
+        assertEquals(List.of("Diário 2025-06-01", "Diário 2025-01-02"), edicoes(sistema.buscarUltimasEdicoes("Diário", 5)));
+        assertTrue(sistema.buscarJornaisPorData(LocalDate.of(2025, 1, 1)).isEmpty());
+        assertFalse(sistema.existeJornalComTituloEData("Diário", LocalDate.of(2025, 1, 1)));
+        assertTrue(sistema.existeJornalComTituloEDataExcluindoId("Diário", LocalDate.of(2025, 6, 1), primeiro.getId() + 1));
+        assertFalse(sistema.existeJornalComTituloEDataExcluindoId("Diário", LocalDate.of(2025, 6, 1), primeiro.getId()));
+
+        sistema.excluirJornal(jornais.get(1).getId());
+        sistema.fechar();
+        sistema = abrirSistema();
+        assertEquals(List.of("Diário 2025-06-01"), edicoes(sistema.buscarUltimasEdicoes("Diário", 5)));
+        assertEquals(1, sistema.contarJornaisNoAno(2025));
+    }
+
+    private static List<String> edicoes(List<Jornal> jornais) {
+        List<String> edicoes = new ArrayList<>();
+        jornais.forEach(j -> edicoes.add(j.getTitulo() + " " + j.getDataPublicacao()));
+        return edicoes;
+    }
+}
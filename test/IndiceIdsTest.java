@@ -0,0 +1,69 @@
+package test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceIdsTest {
+
+    /**
+     * Entidade mínima para os testes, com ID arbitrário.
+     */
+    private static final class Item {
+        private final int id;
+
+        private Item(int id) {
+            this.id = id;
+        }
+    }
+
+    @Test
+    @DisplayName("Deve buscar, substituir e remover entidades por ID")
+    void deveBuscarSubstituirERemover() {
+        IndiceIds<Item> indice = new IndiceIds<>(i -> i.id, List.of(new Item(1), new Item(2), new Item(0)));
+        assertEquals(3, indice.tamanho());
+        assertEquals(2, indice.buscar(2).id);
+        assertEquals(0, indice.buscar(0).id);
+        assertNull(indice.buscar(3));
+
+        Item substituto = new Item(2);
+        indice.adicionar(substituto);
+        assertSame(substituto, indice.buscar(2));
+        assertEquals(3, indice.tamanho());
+
+        assertSame(substituto, indice.remover(2));
+        assertNull(indice.remover(2));
+        assertNotNull(indice.remover(0));
+        assertNull(indice.buscar(0));
+        assertEquals(1, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve se comportar como um HashMap em uma sequência aleatória de inclusões e remoções")
+    void deveEquivalerAUmHashMap() {
+        IndiceIds<Item> indice = new IndiceIds<>(i -> i.id);
+        Map<Integer, Item> referencia = new HashMap<>();
+        Random aleatorio = new Random(42);
+        for (int passo = 0; passo < 50_000; passo++) {
+            int id = 1 + aleatorio.nextInt(2_000);
+            if (aleatorio.nextInt(3) == 0) {
+                assertSame(referencia.remove(id), indice.remover(id));
+            } else {
+                Item item = new Item(id);
+                referencia.put(id, item);
+                indice.adicionar(item);
+            }
+        }
+        assertEquals(referencia.size(), indice.tamanho());
+        for (int id = 0; id <= 2_001; id++) {
+            assertSame(referencia.get(id), indice.buscar(id), "ID " + id);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceTrigramasTest {
+
+    private static List<Livro> buscaLinear(List<Livro> livros, String trecho) {
+        return livros.stream()
+                .filter(l -> l.getTitulo().toLowerCase().contains(trecho.toLowerCase()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Deve encontrar os mesmos títulos que a busca linear, sem diferenciar maiúsculas")
+    void deveEquivalerABuscaLinear() {
+        Editora editora = new Editora("Editora Trigramas");
+        String[] palavras = {"Dom", "Casmurro", "Memórias", "Póstumas", "Brás", "Cubas", "Iracema", "o", "de", "AAA", "aaaa"};
+        Random aleatorio = new Random(7);
+        List<Livro> livros = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            StringBuilder titulo = new StringBuilder();
+            for (int p = 0; p < 1 + aleatorio.nextInt(4); p++) {
+                titulo.append(palavras[aleatorio.nextInt(palavras.length)]).append(' ');
+            }
+            livros.add(new Livro(titulo.toString().trim(), 20.0f, editora, 100, "123-45-678-9123-" + (i % 10)));
+        }
+        IndiceTrigramas<Livro> indice = new IndiceTrigramas<>(Livro::getTitulo, Livro::getId, livros);
+
+        for (String trecho : new String[]{"casmurro", "MEMÓRIAS PÓS", "s b", "aaa", "aaaaa", "o", "", "zzz", "de dom", "cubas iracema"}) {
+            assertEquals(buscaLinear(livros, trecho), indice.buscar(trecho), "Trecho '" + trecho + "'");
+        }
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar a edição e a remoção dos títulos")
+    void deveAcompanharEdicoesERemocoes() {
+        Editora editora = new Editora("Editora Trigramas");
+        Livro livro = new Livro("O Guarani", 20.0f, editora, 100, "123-45-678-9123-1");
+        Livro outro = new Livro("Senhora", 20.0f, editora, 100, "123-45-678-9123-2");
+        IndiceTrigramas<Livro> indice = new IndiceTrigramas<>(Livro::getTitulo, Livro::getId, List.of(livro, outro));
+        assertEquals(List.of(livro), indice.buscar("guar"));
+
+        indice.remover(livro);
+        livro.setTitulo("Lucíola");
+        indice.adicionar(livro);
+        assertTrue(indice.buscar("guar").isEmpty());
+        assertEquals(List.of(livro), indice.buscar("LUCÍ"));
+
+        indice.remover(outro);
+        assertTrue(indice.buscar("senh").isEmpty());
+        assertTrue(indice.buscar("s").isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceUnicoTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Índice");
+        editora = sistema.getTodasEditoras().get(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve normalizar títulos sem diferenciar maiúsculas e ISBNs pelos dígitos")
+    void deveNormalizarChaves() {
+        assertEquals(IndiceUnico.chaveTexto("Ação e REAÇÃO"), IndiceUnico.chaveTexto("ação e reação"));
+        assertEquals("1234567891234", IndiceUnico.chaveIsbn("123-45-678-9123-4"));
+        assertEquals("", IndiceUnico.chaveTexto(null));
+    }
+
+    @Test
+    @DisplayName("Deve manter entidades de chave repetida até a remoção da última")
+    void deveManterChavesRepetidas() {
+        Editora a = new Editora("Repetida");
+        Editora b = new Editora("REPETIDA");
+        IndiceUnico<Editora> indice = new IndiceUnico<>(e -> IndiceUnico.chaveTexto(e.getNome()), Editora::getId, List.of(a, b));
+        assertTrue(indice.contemOutro("repetida", a.getId()));
+        indice.remover(b);
+        assertTrue(indice.contem("repetida"));
+        assertFalse(indice.contemOutro("repetida", a.getId()));
+        indice.remover(a);
+        assertFalse(indice.contem("repetida"));
+    }
+
+    @Test
+    @DisplayName("Deve manter as verificações de duplicidade do sistema em dia com edições e exclusões")
+    void deveAcompanharEdicoesEExclusoes() {
+        sistema.cadastrarLivro("Título Antigo", 20.0f, editora, 100, "123-45-678-9123-1", List.of(), null);
+        Livro livro = sistema.getTodosLivros().get(0);
+        assertTrue(sistema.existeLivroComTitulo("TÍTULO ANTIGO"));
+        assertTrue(sistema.existeLivroComIsbn("1234567891231"));
+        assertThrows(DuplicidadeException.class,
+                () -> sistema.cadastrarLivro("título antigo", 20.0f, editora, 100, "123-45-678-9123-2", List.of(), null));
+
+        sistema.editarLivro(livro.getId(), "Título Novo", 20.0f, editora, 100, "123-45-678-9123-3", List.of(), null);
+        assertFalse(sistema.existeLivroComTitulo("Título Antigo"));
+        assertFalse(sistema.existeLivroComIsbn("123-45-678-9123-1"));
+        assertTrue(sistema.existeLivroComTitulo("título novo"));
+        assertFalse(sistema.existeLivroComTituloEIsbnExcluindoId("Título Novo", "123-45-678-9123-3", livro.getId()));
+        assertTrue(sistema.existeLivroComTituloEIsbnExcluindoId("Outro", "123-45-678-9123-3", livro.getId() + 1));
+
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 1, 1));
+        Jornal jornal = sistema.getTodosJornais().get(0);
+        assertTrue(sistema.existeJornalComTituloEData("DIÁRIO", LocalDate.of(2025, 1, 1)));
+        assertFalse(sistema.existeJornalComTituloEData("Diário", LocalDate.of(2025, 1, 2)));
+        sistema.editarJornal(jornal.getId(), "Diário", 4.0f, editora, LocalDate.of(2025, 1, 2));
+        assertFalse(sistema.existeJornalComTituloEData("Diário", LocalDate.of(2025, 1, 1)));
+        assertFalse(sistema.existeJornalComTituloEDataExcluindoId("Diário", LocalDate.of(2025, 1, 2), jornal.getId()));
+
+        sistema.excluirLivro(livro.getId());
+        sistema.excluirJornal(jornal.getId());
+        assertFalse(sistema.existeLivroComTitulo("Título Novo"));
+        assertFalse(sistema.existeJornalComTituloEData("Diário", LocalDate.of(2025, 1, 2)));
+        assertTrue(sistema.existeEditoraComNome("editora índice"));
+    }
+}
@@ -0,0 +1,86 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstantaneoCatalogoTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+    private Livro livro;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Instantâneo");
+        sistema.cadastrarAutor("Autor Instantâneo", "Brasileira", LocalDate.of(1960, 2, 3));
+        sistema.cadastrarCategoria("Categoria Instantâneo");
+        editora = sistema.getTodasEditoras().get(0);
+        List<Autor> autores = sistema.getTodosAutores();
+        sistema.cadastrarLivro("Livro Original", 30.0f, editora, 100, "123-45-678-9123-4", autores, sistema.getTodasCategorias().get(0));
+        livro = sistema.getTodosLivros().get(0);
+        sistema.adicionarEstoquePublicacao(livro.getId(), 5, "Livro");
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve manter no instantâneo o estado do momento da criação após edições, cadastros e exclusões")
+    void deveCongelarEstadoDoMomentoDaCriacao() {
+        sistema.cadastrarJornal("Jornal Antigo", 4.0f, editora, LocalDate.of(2025, 1, 1));
+        int idJornal = sistema.getTodosJornais().get(0).getId();
+
+        try (InstantaneoCatalogo instantaneo = sistema.criarInstantaneo()) {
+            sistema.editarLivro(livro.getId(), "Livro Editado", 45.0f, editora, 120, "123-45-678-9123-4",
+                    sistema.getTodosAutores(), sistema.getTodasCategorias().get(0));
+            sistema.adicionarEstoquePublicacao(livro.getId(), 10, "Livro");
+            sistema.excluirJornal(idJornal);
+            sistema.cadastrarJornal("Jornal Novo", 4.0f, editora, LocalDate.of(2025, 2, 1));
+            int autoresAntes = instantaneo.getAutores().size();
+            sistema.cadastrarAutor("Autor Novo", "Brasileira", null);
+            assertEquals(autoresAntes, instantaneo.getAutores().size());
+
+            Livro congelado = instantaneo.getLivros().get(0);
+            assertEquals("Livro Original", congelado.getTitulo());
+            assertEquals(30.0f, congelado.getPreco());
+            assertEquals(5, congelado.getEstoqueDisponivel());
+            assertEquals(1, instantaneo.getJornais().size());
+            assertEquals("Jornal Antigo", instantaneo.getJornais().get(0).getTitulo());
+            assertSame(editora, congelado.getEditora());
+
+            assertEquals("Livro Editado", livro.getTitulo());
+            assertEquals(15, livro.getEstoqueDisponivel());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gravar um backup do instantâneo que pode ser aberto como diretório de dados")
+    void deveGravarBackupDoInstantaneo() {
+        File backup = arquivo("backup_teste");
+        try (InstantaneoCatalogo instantaneo = sistema.criarInstantaneo()) {
+            sistema.removerEstoquePublicacao(livro.getId(), 5, "Livro");
+            assertTrue(instantaneo.salvarBackup(backup));
+        }
+
+        Manifesto manifesto = Manifesto.ler(new File(backup, "manifesto.dat"));
+        assertNotNull(manifesto);
+        assertEquals(1, manifesto.getColecao("livros.dat").getRegistros());
+        try (ArmazenamentoArquivos motor = new ArmazenamentoArquivos(backup.toPath())) {
+            List<Livro> livros = motor.getLivros().carregarTodos();
+            assertEquals(5, livros.get(0).getEstoqueDisponivel());
+        }
+        assertEquals(0, livro.getEstoqueDisponivel());
+    }
+}
@@ -51,7 +51,7 @@ public class InterfaceTest {
     }
 
     @Test
-    @DisplayName("Deve chamar salvarTodosDados ao sair da aplicação")
+    @DisplayName("Deve chamar salvarDadosAlterados ao sair da aplicação")
     void deveChamarSalvarDadosAoSair() {
     }
 
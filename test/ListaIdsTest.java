@@ -0,0 +1,39 @@
+package test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListaIdsTest {
+
+    @Test
+    @DisplayName("Deve manter os IDs ordenados e sem repetição, como um TreeSet")
+    void deveEquivalerAUmTreeSet() {
+        ListaIds lista = new ListaIds();
+        TreeSet<Integer> referencia = new TreeSet<>();
+        Random aleatorio = new Random(3);
+        for (int passo = 0; passo < 20_000; passo++) {
+            int id = aleatorio.nextInt(1_000);
+            if (aleatorio.nextBoolean()) {
+                assertEquals(referencia.add(id), lista.adicionar(id));
+            } else {
+                assertEquals(referencia.remove(id), lista.remover(id));
+            }
+        }
+        assertEquals(referencia.size(), lista.tamanho());
+        int posicao = 0;
+        for (int id : referencia) {
+            assertEquals(id, lista.get(posicao));
+            assertEquals(posicao, lista.buscarAPartirDe(id, 0));
+            assertEquals(posicao, lista.buscarAPartirDe(id, posicao));
+            posicao++;
+        }
+        assertTrue(lista.buscarAPartirDe(1_000, 0) < 0);
+        assertFalse(lista.contem(-1));
+    }
+}
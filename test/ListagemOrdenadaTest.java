@@ -0,0 +1,122 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ListagemOrdenadaTest extends TesteComDiretorioDados {
+
+    private Sistema sistema;
+    private Editora editora;
+
+    @BeforeEach
+    void setUp() {
+        sistema = abrirSistema();
+        sistema.cadastrarEditora("Editora Listagem");
+        editora = sistema.getTodasEditoras().get(0);
+        sistema.cadastrarLivro("brasil", 40.0f, editora, 100, "222-22-222-2222-1", List.of(), null);
+        sistema.cadastrarLivro("Ágata", 20.0f, editora, 100, "222-22-222-2222-2", List.of(), null);
+        sistema.cadastrarLivro("Abelha", 30.0f, editora, 100, "222-22-222-2222-3", List.of(), null);
+        sistema.cadastrarLivro("Zebra", 15.0f, editora, 100, "222-22-222-2222-4", List.of(), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sistema.fechar();
+    }
+
+    @Test
+    @DisplayName("Deve listar por título em colação portuguesa e paginar por preço")
+    void deveListarEmOrdem() {
+        assertEquals(List.of("Abelha", "Ágata", "brasil", "Zebra"), titulos(sistema.listarLivros(Sistema.Ordenacao.TITULO, false, 0, 10)));
+        assertEquals(List.of("Ágata", "Abelha"), titulos(sistema.listarLivros(Sistema.Ordenacao.MENOR_PRECO, false, 1, 2)));
+        assertEquals(List.of("brasil", "Abelha"), titulos(sistema.listarLivros(Sistema.Ordenacao.MAIOR_PRECO, false, 0, 2)));
+        assertEquals(List.of("Zebra"), titulos(sistema.listarLivros(Sistema.Ordenacao.CADASTRO, false, 3, 10)));
+        assertTrue(sistema.listarLivros(Sistema.Ordenacao.TITULO, false, 4, 10).isEmpty());
+
+        sistema.cadastrarJornal("Gazeta", 5.0f, editora, LocalDate.of(2025, 1, 1));
+        sistema.cadastrarJornal("Diário", 4.0f, editora, LocalDate.of(2025, 1, 1));
+        assertEquals(List.of("Diário", "Gazeta"), titulos(sistema.listarJornais(Sistema.Ordenacao.MENOR_PRECO, false, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Deve acompanhar estoque e preço nas listagens de itens em estoque")
+    void deveAcompanharEstoqueEPreco() {
+        List<Livro> livros = sistema.getTodosLivros();
+        sistema.adicionarEstoquePublicacao(livros.get(0).getId(), 5, "Livro"); // brasil
+        sistema.adicionarEstoquePublicacao(livros.get(2).getId(), 2, "Livro"); // Abelha
+        assertEquals(List.of("Abelha", "brasil"), titulos(sistema.listarLivros(Sistema.Ordenacao.MENOR_PRECO, true, 0, 50)));
+        assertEquals(List.of("Abelha", "brasil"), titulos(sistema.listarLivros(Sistema.Ordenacao.MENOR_ESTOQUE, true, 0, 50)));
+        assertEquals(List.of("brasil", "Abelha"), titulos(sistema.listarLivros(Sistema.Ordenacao.MAIOR_ESTOQUE, true, 0, 50)));
+        assertEquals(List.of("Abelha"), titulos(sistema.listarLivros(Sistema.Ordenacao.TITULO, true, 0, 1)));
+
+        sistema.removerEstoquePublicacao(livros.get(2).getId(), 2, "Livro");
+        sistema.editarLivro(livros.get(0).getId(), "Brasil", 16.0f, editora, 100, "222-22-222-2222-1", List.of(), null);
+        assertEquals(List.of("Brasil"), titulos(sistema.listarLivros(Sistema.Ordenacao.MENOR_PRECO, true, 0, 50)));
+        assertEquals(List.of("Zebra", "Brasil", "Ágata", "Abelha"), titulos(sistema.listarLivros(Sistema.Ordenacao.MENOR_PRECO, false, 0, 50)));
+
+        sistema.excluirLivro(livros.get(0).getId());
+        assertTrue(sistema.listarLivros(Sistema.Ordenacao.TITULO, true, 0, 50).isEmpty());
+        assertEquals(3, sistema.listarLivros(Sistema.Ordenacao.MAIOR_ESTOQUE, false, 0, 50).size());
+    }
+
+    @Test
+    @DisplayName("Deve manter o índice ordenado igual a uma lista ordenada após muitas inclusões e remoções")
+    void deveManterIndiceOrdenadoAposAlteracoes() {
+        Random aleatorio = new Random(42);
+        Comparator<int[]> ordem = Comparator.<int[]>comparingInt(e -> e[1]).thenComparingInt(e -> e[0]);
+        List<int[]> esperado = new ArrayList<>();
+        for (int id = 0; id < 3000; id++) {
+            esperado.add(new int[]{id, aleatorio.nextInt(500)});
+        }
+        IndiceOrdenado<int[], Integer> indice = new IndiceOrdenado<>(e -> e[1], e -> e[0], esperado);
+        esperado.sort(ordem);
+        int proximoId = esperado.size();
+
+        for (int rodada = 0; rodada < 40; rodada++) {
+            for (int i = 0; i < 500; i++) {
+                if (aleatorio.nextInt(10) < (rodada < 20 ? 3 : 8) && !esperado.isEmpty()) {
+                    int[] removida = esperado.remove(aleatorio.nextInt(esperado.size()));
+                    indice.remover(removida);
+                } else {
+                    int[] incluida = new int[]{proximoId++, aleatorio.nextInt(500)};
+                    esperado.add(incluida);
+                    indice.adicionar(incluida);
+                }
+            }
+            esperado.sort(ordem);
+            int[] substituta = esperado.isEmpty() ? null : esperado.get(0).clone();
+            if (substituta != null) {
+                indice.adicionar(substituta);
+                esperado.set(0, substituta);
+            }
+
+            assertEquals(esperado.size(), indice.tamanho());
+            assertEquals(esperado, indice.pagina(true, 0, Integer.MAX_VALUE));
+            int inicio = aleatorio.nextInt(esperado.size() + 1);
+            assertEquals(esperado.subList(inicio, Math.min(esperado.size(), inicio + 37)), indice.pagina(true, inicio, 37));
+            List<int[]> decrescente = new ArrayList<>(esperado);
+            Collections.reverse(decrescente);
+            assertEquals(decrescente.subList(inicio, Math.min(esperado.size(), inicio + 37)), indice.pagina(false, inicio, 37));
+            int chave = aleatorio.nextInt(500);
+            assertEquals(esperado.stream().filter(e -> e[1] < chave).count(), indice.posicaoDaChave(chave));
+        }
+    }
+
+    private static List<String> titulos(List<? extends Publicacao> publicacoes) {
+        List<String> titulos = new ArrayList<>();
+        publicacoes.forEach(p -> titulos.add(p.getTitulo()));
+        return titulos;
+    }
+}
@@ -0,0 +1,79 @@
+package test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ManifestoTest extends TesteComDiretorioDados {
+
+    private void popularESalvar() {
+        try (ArmazenamentoArquivos motor = abrirArmazenamento()) {
+            Sistema sistema = new Sistema(motor);
+            sistema.cadastrarAutor("Autor Manifesto", "Brasileira", LocalDate.of(1970, 3, 4));
+            sistema.cadastrarAutor("Autora Manifesto", "Portuguesa", LocalDate.of(1975, 8, 9));
+            sistema.cadastrarEditora("Editora Manifesto");
+            sistema.salvarTodosDados();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descrever no manifesto a quantidade de registros, o tamanho e os próximos IDs de cada coleção")
+    void deveDescreverColecoesNoManifesto() {
+        popularESalvar();
+        int proximoIdAutor = Autor.getProximoIdEstatico();
+
+        Manifesto manifesto = Manifesto.ler(arquivo("manifesto.dat"));
+        assertNotNull(manifesto);
+        Manifesto.Colecao autores = manifesto.getColecao("autores.dat");
+        assertEquals(2, autores.getRegistros());
+        assertEquals(arquivo("autores.dat").length(), autores.getTamanho());
+        assertEquals(1, manifesto.getColecao("editoras.dat").getRegistros());
+        assertTrue(manifesto.verificarTamanhos(diretorio.toFile()).isEmpty());
+
+        try (ArmazenamentoArquivos motor = abrirArmazenamento()) {
+            assertTrue(motor.restaurarProximosIds());
+            assertEquals(proximoIdAutor, Autor.getProximoIdEstatico());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve detectar uma gravação incompleta e recalcular os IDs a partir das coleções")
+    void deveDetectarGravacaoIncompleta() {
+        popularESalvar();
+        // Simula um checkpoint interrompido: autores.dat foi regravado, mas o manifesto não.
+        List<Autor> autores = new ArrayList<>(Util.carregarDados(arquivo("autores.dat"), CodecBinario.AUTOR));
+        autores.add(new Autor("Autor Sem Manifesto", "Angolana", LocalDate.of(1980, 1, 1)));
+        Util.salvarDados(autores, arquivo("autores.dat"), CodecBinario.AUTOR);
+
+        try (ArmazenamentoArquivos motor = abrirArmazenamento()) {
+            assertFalse(motor.restaurarProximosIds());
+            assertTrue(motor.getAutores().possuiAlteracoes());
+            assertTrue(motor.getLivros().possuiAlteracoes());
+            Sistema sistema = new Sistema(motor);
+            assertEquals(3, sistema.getTodosAutores().size());
+            assertTrue(Autor.getProximoIdEstatico() > autores.get(2).getId());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar um manifesto corrompido")
+    void deveRejeitarManifestoCorrompido() throws Exception {
+        popularESalvar();
+        File arquivo = arquivo("manifesto.dat");
+        try (RandomAccessFile raf = new RandomAccessFile(arquivo, "rw")) {
+            raf.seek(6);
+            int original = raf.read();
+            raf.seek(6);
+            raf.write(original ^ 0x7F);
+        }
+        assertNull(Manifesto.ler(arquivo("manifesto.dat")));
+    }
+}
@@ -0,0 +1,34 @@
+package test;
+
+import org.junit.jupiter.api.io.TempDir;
+import src.ArmazenamentoArquivos;
+import src.Sistema;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * Base dos testes que gravam arquivos de dados. Cada teste recebe um diretório temporário próprio,
+ * criado e apagado pelo JUnit, e nunca toca o diretório de dados da aplicação ({@code Util.DIRETORIO_DADOS}).
+ */
+abstract class TesteComDiretorioDados {
+
+    @TempDir
+    Path diretorio;
+
+    /**
+     * Abre um sistema com o armazenamento em arquivos no diretório do teste.
+     * Cada chamada equivale a uma nova execução da aplicação sobre os mesmos arquivos.
+     */
+    Sistema abrirSistema() {
+        return new Sistema(abrirArmazenamento());
+    }
+
+    ArmazenamentoArquivos abrirArmazenamento() {
+        return new ArmazenamentoArquivos(diretorio);
+    }
+
+    File arquivo(String nome) {
+        return diretorio.resolve(nome).toFile();
+    }
+}
@@ -0,0 +1,89 @@
+package test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import src.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UtilTest {
+
+    private static final String ARQUIVO = "util_teste.dat";
+
+    @BeforeEach
+    void setUp() {
+        new File(Util.DIRETORIO_DADOS).mkdirs();
+        new File(Util.DIRETORIO_DADOS + ARQUIVO).delete();
+        new File(Util.DIRETORIO_DADOS + ARQUIVO + ".tmp").delete();
+    }
+
+    @Test
+    @DisplayName("Deve salvar e carregar uma lista sem deixar arquivo temporário")
+    void deveSalvarECarregarSemArquivoTemporario() {
+        Util.salvarDados(List.of(new Categoria("Ficção"), new Categoria("Poesia")), ARQUIVO, CodecBinario.CATEGORIA);
+
+        assertFalse(new File(Util.DIRETORIO_DADOS + ARQUIVO + ".tmp").exists());
+        List<Categoria> carregadas = Util.carregarDados(ARQUIVO, CodecBinario.CATEGORIA);
+        assertEquals(2, carregadas.size());
+        assertEquals("Poesia", carregadas.get(1).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve manter a versão anterior do arquivo quando a gravação falhar")
+    void deveManterVersaoAnteriorQuandoGravacaoFalhar() {
+        Util.salvarDados(List.of(new Categoria("Original")), ARQUIVO, CodecBinario.CATEGORIA);
+
+        boolean salvo = Util.gravarArquivoAtomico(ARQUIVO, out -> {
+            out.writeInt(CodecBinario.MAGICO);
+            throw new IOException("falha simulada");
+        });
+
+        assertFalse(salvo);
+        assertFalse(new File(Util.DIRETORIO_DADOS + ARQUIVO + ".tmp").exists());
+        assertEquals("Original", Util.carregarDados(ARQUIVO, CodecBinario.CATEGORIA).get(0).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve retornar lista vazia quando o arquivo não existir")
+    void deveRetornarListaVaziaQuandoArquivoNaoExistir() {
+        assertTrue(Util.carregarDados(ARQUIVO, CodecBinario.AUTOR).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar apenas o registro corrompido e manter os demais")
+    void deveIgnorarRegistroCorrompido() throws IOException {
+        Util.salvarDados(List.of(new Categoria("Ficção"), new Categoria("Poesia"), new Categoria("Drama")), ARQUIVO, CodecBinario.CATEGORIA);
+        Path caminho = Path.of(Util.DIRETORIO_DADOS + ARQUIVO);
+        byte[] conteudo = Files.readAllBytes(caminho);
+        String texto = new String(conteudo, StandardCharsets.ISO_8859_1);
+        conteudo[texto.indexOf("Poesia")] ^= 0x20;
+        Files.write(caminho, conteudo);
+
+        List<Categoria> carregadas = Util.carregarDados(ARQUIVO, CodecBinario.CATEGORIA);
+        assertEquals(2, carregadas.size());
+        assertEquals("Ficção", carregadas.get(0).getNome());
+        assertEquals("Drama", carregadas.get(1).getNome());
+    }
+
+    @Test
+    @DisplayName("Deve manter os registros lidos antes do fim inesperado do arquivo")
+    void deveManterRegistrosAntesDoFimInesperado() throws IOException {
+        Util.salvarDados(List.of(new Categoria("Ficção"), new Categoria("Poesia")), ARQUIVO, CodecBinario.CATEGORIA);
+        Path caminho = Path.of(Util.DIRETORIO_DADOS + ARQUIVO);
+        byte[] conteudo = Files.readAllBytes(caminho);
+        Files.write(caminho, Arrays.copyOf(conteudo, conteudo.length - 3));
+
+        List<Categoria> carregadas = Util.carregarDados(ARQUIVO, CodecBinario.CATEGORIA);
+        assertEquals(1, carregadas.size());
+        assertEquals("Ficção", carregadas.get(0).getNome());
+    }
+}